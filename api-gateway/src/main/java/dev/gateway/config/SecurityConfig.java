@@ -26,7 +26,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/file/images/resource/**",
                                 "/api/v1/movies", "/api/v1/movies/*",
                                 "/api/v1/sessions", "/api/v1/sessions/*",
-                                "/api/v1/places/*", "/api/v1/places/session/*",
+                                "/api/v1/places/*", "/api/v1/places/session/*", "/api/v1/places/search/sessions/availability",
                                 "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**",
                                 "/swagger-resources/**", "/aggregate/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
@@ -1,13 +1,23 @@
 package dev.booking.config;
 
+import dev.library.core.rabbitmq.RabbitListenerUtils;
+import dev.library.core.rabbitmq.RabbitMetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateCustomizer;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
 
 @Configuration
 public class RabbitMQConfig {
@@ -149,6 +159,26 @@ public class RabbitMQConfig {
                 .noargs();
     }
 
+    @Bean
+    public SimpleRabbitListenerContainerFactory checkBySessionBookingListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return RabbitListenerUtils.createFactory(configurer, connectionFactory,
+                RabbitListenerUtils.getSettings(environment, "rabbitmq.booking.listener.check-by-session"), meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder bookingQueueMetrics(AmqpAdmin amqpAdmin) {
+        return meterRegistry -> RabbitMetricsUtils.bindQueueMetrics(meterRegistry, amqpAdmin, List.of(
+                checkBySessionBookingQueue()
+        ));
+    }
+
+    @Bean
+    public RabbitTemplateCustomizer timestampRabbitTemplateCustomizer() {
+        return rabbitTemplate -> rabbitTemplate.addBeforePublishPostProcessors(RabbitListenerUtils.timestampPostProcessor());
+    }
+
     @Bean
     public MessageConverter converter() {
         return new Jackson2JsonMessageConverter();
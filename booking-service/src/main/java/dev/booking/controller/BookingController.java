@@ -4,6 +4,7 @@ import dev.booking.entity.Booking;
 import dev.booking.service.BookingService;
 import dev.library.core.exception.BadRequestException;
 import dev.library.core.exception.dto.ApiErrorResponse;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.util.DataValidation;
 import dev.library.core.util.ResponseUtils;
 import dev.library.domain.booking.dto.BookingRequest;
@@ -15,6 +16,7 @@ import dev.library.security.auth.util.UserDataUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -30,6 +32,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -49,11 +52,11 @@ public class BookingController {
     private String errorBookingUserIdBadRequest;
 
     /**
-     * Получение всех записей о бронированиях
+     * Получение страницы записей о бронированиях
      * @param searchRequest - объект типа {@link BookingSearchRequest}
      */
     @Operation(
-            summary = "Получение всех записей о бронированиях",
+            summary = "Получение страницы записей о бронированиях",
             parameters = {
                     @Parameter(
                             name = "searchRequest",
@@ -68,6 +71,10 @@ public class BookingController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "OK",
+                            headers = @Header(
+                                    name = ResponseUtils.NEXT_CURSOR_HEADER,
+                                    description = "Курсор следующей страницы, отсутствует на последней странице"
+                            ),
                             content = {
                                     @Content(
                                             mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -79,6 +86,18 @@ public class BookingController {
                                     )
                             }
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = ApiErrorResponse.class
+                                            )
+                                    )
+                            }
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Unauthorized",
@@ -106,12 +125,143 @@ public class BookingController {
         if (RoleUtils.checkRole(authentication, "client")) {
             searchRequest.setUserId(authentication.getName());
         }
-        List<Booking> bookings = service.getAll(searchRequest);
-        List<BookingResponse> response = bookings.stream()
-                .map(service::buildResponse)
+        CursorPage<Booking> page = service.getAll(searchRequest);
+        List<BookingResponse> response = service.buildResponses(page.content());
+
+        return ResponseEntity.ok()
+                .headers(ResponseUtils.createCursorHeaders(page.nextCursor()))
+                .body(response);
+    }
+
+    /**
+     * Получение идентификаторов бронирований постранично. Используется для выгрузки квитанций
+     * @param searchRequest - объект типа {@link BookingSearchRequest}
+     */
+    @Operation(
+            summary = "Получение идентификаторов бронирований",
+            parameters = {
+                    @Parameter(
+                            name = "searchRequest",
+                            description = "Объект для фильтрации поиска бронирований",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = BookingSearchRequest.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            headers = @Header(
+                                    name = ResponseUtils.NEXT_CURSOR_HEADER,
+                                    description = "Курсор следующей страницы, отсутствует на последней странице"
+                            ),
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(
+                                                    schema = @Schema(
+                                                            implementation = Long.class
+                                                    )
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/ids")
+    @PreAuthorize("hasAnyRole('admin', 'manager')")
+    public ResponseEntity<List<Long>> getIds(@ModelAttribute BookingSearchRequest searchRequest) {
+        CursorPage<Booking> page = service.getAll(searchRequest);
+        List<Long> response = page.content().stream()
+                .map(Booking::getId)
                 .toList();
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .headers(ResponseUtils.createCursorHeaders(page.nextCursor()))
+                .body(response);
+    }
+
+    /**
+     * Выгрузка всех записей о бронированиях в формате NDJSON
+     * @param searchRequest - объект типа {@link BookingSearchRequest}
+     */
+    @Operation(
+            summary = "Выгрузка всех записей о бронированиях в формате NDJSON",
+            parameters = {
+                    @Parameter(
+                            name = "searchRequest",
+                            description = "Объект для фильтрации поиска бронирований",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = BookingSearchRequest.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = BookingResponse.class
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('admin', 'manager', 'client')")
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute BookingSearchRequest searchRequest) {
+        Authentication authentication = UserDataUtils.getAuthentication();
+        if (RoleUtils.checkRole(authentication, "client")) {
+            searchRequest.setUserId(authentication.getName());
+        }
+        StreamingResponseBody body = outputStream -> service.export(searchRequest, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
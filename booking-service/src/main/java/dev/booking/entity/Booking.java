@@ -4,6 +4,7 @@ import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.security.audit.entity.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcType;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
@@ -50,5 +51,6 @@ public class Booking extends Auditable {
      * Список мест
      */
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<BookingPlace> places;
 }
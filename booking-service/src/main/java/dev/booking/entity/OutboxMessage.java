@@ -0,0 +1,60 @@
+package dev.booking.entity;
+
+import dev.library.domain.rabbitmq.constant.ActionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Сущность для описания сообщения, ожидающего отправки в брокер сообщений
+ */
+@Entity
+@Table(name = "outbox_messages")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@Builder
+public class OutboxMessage {
+    /**
+     * Идентификатор
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    /**
+     * Тип действия
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action_type", length = 30, nullable = false)
+    private ActionType actionType;
+    /**
+     * Идентификатор пользователя
+     */
+    @Column(name = "user_id", length = 36, nullable = false)
+    private String userId;
+    /**
+     * Данные сообщения в формате JSON: объект типа {@link dev.library.domain.booking.dto.BookingResponse} или
+     * идентификатор бронирования для удаления
+     */
+    @Column(name = "payload", nullable = false)
+    private String payload;
+    /**
+     * Количество неудачных попыток отправки
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    /**
+     * Дата и время следующей попытки отправки
+     */
+    @Column(name = "next_attempt_date", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime nextAttemptDate;
+    /**
+     * Дата и время создания записи
+     */
+    @Column(name = "created_date", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime createdDate;
+}
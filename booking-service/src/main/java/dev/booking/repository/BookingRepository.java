@@ -4,11 +4,11 @@ import dev.booking.entity.Booking;
 import dev.library.domain.booking.dto.constant.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Репозиторий для сущности {@link Booking}
@@ -29,17 +29,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     boolean existsByIdAndBookingStatus(Long id, BookingStatus bookingStatus);
 
     /**
-     * Обновление статуса бронирований по списку идентификаторов бронирований
-     * @param ids - список идентификаторов бронирований
-     * @param bookingStatus - статус бронирования
-     */
-    @Modifying
-    @Query("UPDATE Booking b SET b.bookingStatus = :bookingStatus WHERE b.id IN :ids")
-    void updateStatus(Set<Long> ids, BookingStatus bookingStatus);
-
-    /**
-     * Проверка на существование бронирований по идентификатору сеанса
+     * Отмена неоплаченных бронирований сеанса одним запросом
      * @param sessionId - идентификатор сеанса
+     * @return список идентификаторов мест отмененных бронирований
      */
-    boolean existsBySessionId(Long sessionId);
+    @Transactional
+    @Query(value = "WITH canceled AS (UPDATE bookings SET status = 'CANCELED', updated_date = CURRENT_TIMESTAMP " +
+            "WHERE session_id = :sessionId AND status = 'CREATED' RETURNING id) " +
+            "SELECT bp.place_id FROM booking_places bp JOIN canceled c ON bp.booking_id = c.id", nativeQuery = true)
+    List<Long> cancelCreatedBySessionId(Long sessionId);
 }
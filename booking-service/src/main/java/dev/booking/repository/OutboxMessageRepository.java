@@ -0,0 +1,87 @@
+package dev.booking.repository;
+
+import dev.booking.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Репозиторий для сущности {@link OutboxMessage}
+ */
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    /**
+     * Получение очередной части сообщений, время следующей попытки отправки которых наступило, без блокировки
+     * @param limit - количество сообщений
+     */
+    @Query(
+            value = """
+                    SELECT * FROM outbox_messages
+                    WHERE next_attempt_date <= CURRENT_TIMESTAMP
+                    ORDER BY id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<OutboxMessage> findBatch(int limit);
+
+    /**
+     * Получение и блокировка сообщений для отправки по идентификаторам. Строки, заблокированные другим экземпляром
+     * сервиса, уже удаленные строки и строки, отправка которых отложена другим экземпляром, пропускаются
+     * @param ids - список идентификаторов
+     */
+    @Query(
+            value = """
+                    SELECT * FROM outbox_messages
+                    WHERE id IN (:ids) AND next_attempt_date <= CURRENT_TIMESTAMP
+                    ORDER BY id
+                    FOR UPDATE SKIP LOCKED
+                    """,
+            nativeQuery = true
+    )
+    List<OutboxMessage> findAllByIdForUpdate(Collection<Long> ids);
+
+    /**
+     * Увеличение количества неудачных попыток отправки сообщений и перенос следующей попытки. Интервал до следующей
+     * попытки удваивается с каждой неудачной попыткой, начиная с initialInterval, и не превышает maxInterval
+     * @param ids - список идентификаторов
+     * @param initialInterval - интервал после первой неудачной попытки в секундах
+     * @param maxInterval - максимальный интервал в секундах
+     */
+    @Modifying
+    @Query(
+            value = """
+                    UPDATE outbox_messages
+                    SET attempts = attempts + 1,
+                        next_attempt_date = CURRENT_TIMESTAMP
+                            + make_interval(secs => LEAST(:initialInterval * power(2, attempts), :maxInterval))
+                    WHERE id IN (:ids)
+                    """,
+            nativeQuery = true
+    )
+    void postpone(Set<Long> ids, double initialInterval, double maxInterval);
+
+    /**
+     * Перенос сообщений, исчерпавших попытки отправки, в таблицу outbox_dead_messages
+     * @param ids - список идентификаторов
+     * @param maxAttempts - максимальное количество неудачных попыток отправки
+     * @return идентификаторы перенесенных сообщений
+     */
+    @Query(
+            value = """
+                    WITH moved AS (
+                        DELETE FROM outbox_messages
+                        WHERE id IN (:ids) AND attempts >= :maxAttempts
+                        RETURNING id, action_type, user_id, payload, attempts, created_date
+                    )
+                    INSERT INTO outbox_dead_messages (id, action_type, user_id, payload, attempts, created_date)
+                    SELECT id, action_type, user_id, payload, attempts, created_date FROM moved
+                    RETURNING id
+                    """,
+            nativeQuery = true
+    )
+    List<Long> moveToDeadMessages(Set<Long> ids, int maxAttempts);
+}
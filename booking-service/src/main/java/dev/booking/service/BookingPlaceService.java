@@ -2,7 +2,7 @@ package dev.booking.service;
 
 import dev.booking.entity.Booking;
 import dev.booking.entity.BookingPlace;
-import dev.library.domain.booking.dto.constant.BookingStatus;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 
 import java.util.List;
@@ -19,11 +19,11 @@ public interface BookingPlaceService {
     List<PlaceResponse> getPlaceResponses(Set<Long> placeIds);
 
     /**
-     * Получение занятого номера места у сеанса
+     * Атомарный захват мест сеанса
      * @param sessionId - идентификатор сеанса
      * @param ids - список идентификаторов мест
      */
-    long getPlaceBySessionIdAndIdsAndAvailableFalse(Long sessionId, Set<Long> ids);
+    PlaceHoldResponse hold(Long sessionId, Set<Long> ids);
 
     /**
      * Получение места, который не принадлежит сеансу
@@ -33,12 +33,11 @@ public interface BookingPlaceService {
     long getPlaceNotEqualsSessionBySessionIdAndIds(Long sessionId, Set<Long> ids);
 
     /**
-     * Создание мест для бронирования
-     * @param sessionId - идентификатор сеанса
+     * Создание мест для бронирования. Места должны быть предварительно захвачены через {@link #hold(Long, Set)}
      * @param booking - объект типа {@link Booking}
      * @param placeIds - список идентификаторов мест
      */
-    List<BookingPlace> create(Long sessionId, Booking booking, Set<Long> placeIds);
+    List<BookingPlace> create(Booking booking, Set<Long> placeIds);
 
     /**
      * Обновление мест для бронирования
@@ -71,11 +70,4 @@ public interface BookingPlaceService {
      * @param placeIds - новый список идентификаторов мест
      */
     Set<Long> getIdsForCreate(Set<Long> currentPlaceIds, Set<Long> placeIds);
-
-    /**
-     * Получение записей о местах для бронирования по идентификатору сеанса и статусу бронирования
-     * @param sessionId - идентификатор сеанса
-     * @param bookingStatus - статус бронирования
-     */
-    List<BookingPlace> findByBooking_SessionIdAndBooking_BookingStatus(Long sessionId, BookingStatus bookingStatus);
 }
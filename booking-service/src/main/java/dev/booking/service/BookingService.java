@@ -1,25 +1,32 @@
 package dev.booking.service;
 
 import dev.booking.entity.Booking;
+import dev.library.core.pagination.CursorPage;
 import dev.library.domain.booking.dto.BookingRequest;
 import dev.library.domain.booking.dto.BookingResponse;
 import dev.library.domain.booking.dto.BookingSearchRequest;
 import dev.library.domain.booking.dto.BookingStatusRequest;
-import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.domain.rabbitmq.constant.ActionType;
 
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Интерфейс для описания абстрактных методов сервиса сущности {@link Booking}
  */
 public interface BookingService {
     /**
-     * Получение всех записей о бронированиях
+     * Получение страницы записей о бронированиях, упорядоченных по убыванию даты создания
      * @param searchDto - объект типа {@link BookingSearchRequest}
      */
-    List<Booking> getAll(BookingSearchRequest searchDto);
+    CursorPage<Booking> getAll(BookingSearchRequest searchDto);
+
+    /**
+     * Выгрузка всех записей о бронированиях в формате NDJSON
+     * @param searchDto - объект типа {@link BookingSearchRequest}
+     * @param outputStream - поток для записи
+     */
+    void export(BookingSearchRequest searchDto, OutputStream outputStream);
 
     /**
      * Получение записи о бронировании по идентификатору
@@ -62,11 +69,11 @@ public interface BookingService {
     BookingResponse updateStatus(Long id, BookingStatusRequest request);
 
     /**
-     * Обновление статуса бронирований по списку идентификаторов бронирований
-     * @param ids - список идентификаторов бронирований
-     * @param bookingStatus - статус бронирования
+     * Отмена неоплаченных бронирований сеанса
+     * @param sessionId - идентификатор сеанса
+     * @return массив идентификаторов мест отмененных бронирований
      */
-    void updateStatus(Set<Long> ids, BookingStatus bookingStatus);
+    long[] cancelCreatedBySessionId(Long sessionId);
 
     /**
      * Удаление записи о бронировании
@@ -75,14 +82,16 @@ public interface BookingService {
     void deleteById(Long id);
 
     /**
-     * Отправка сообщения в брокер сообщений о создании или обновлении записи по бронированию
+     * Запись сообщения о создании или обновлении записи по бронированию в outbox текущей транзакции.
+     * Сообщение отправляется в брокер сообщений фоновой задачей после фиксации транзакции
      * @param bookingResponse - объект типа {@link BookingResponse}
      * @param type - перечисление типа {@link ActionType}
      */
     void sendMessage(BookingResponse bookingResponse, ActionType type);
 
     /**
-     * Отправка сообщения в брокер сообщений об удалении записи по бронированию
+     * Запись сообщения об удалении записи по бронированию в outbox текущей транзакции.
+     * Сообщение отправляется в брокер сообщений фоновой задачей после фиксации транзакции
      * @param id - идентификатор бронирования
      * @param userId - идентификатор пользователя
      */
@@ -95,8 +104,9 @@ public interface BookingService {
     BookingResponse buildResponse(Booking booking);
 
     /**
-     * Проверка на существование бронирований по идентификатору сеанса
-     * @param sessionId - идентификатор сеанса
+     * Получение списка объектов типа {@link BookingResponse}. Места и сеансы всех бронирований запрашиваются
+     * общими запросами, а не отдельно для каждого бронирования
+     * @param bookings - список объектов типа {@link Booking}
      */
-    boolean existsBySessionId(Long sessionId);
+    List<BookingResponse> buildResponses(List<Booking> bookings);
 }
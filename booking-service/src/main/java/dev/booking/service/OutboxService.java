@@ -0,0 +1,34 @@
+package dev.booking.service;
+
+import dev.booking.entity.OutboxMessage;
+import dev.library.domain.booking.dto.BookingResponse;
+import dev.library.domain.rabbitmq.constant.ActionType;
+
+/**
+ * Интерфейс для описания абстрактных методов сервиса сущности {@link OutboxMessage}
+ */
+public interface OutboxService {
+    /**
+     * Запись сообщения о создании или обновлении бронирования в текущей транзакции
+     * @param bookingResponse - объект типа {@link BookingResponse}
+     * @param type - перечисление типа {@link ActionType}
+     */
+    void add(BookingResponse bookingResponse, ActionType type);
+
+    /**
+     * Запись сообщения об удалении бронирования в текущей транзакции
+     * @param bookingId - идентификатор бронирования
+     * @param userId - идентификатор пользователя
+     */
+    void add(Long bookingId, String userId);
+
+    /**
+     * Отправка очередной части сообщений в брокер сообщений с ожиданием подтверждения. Данные пользователей
+     * запрашиваются один раз для всей части, отправленные сообщения удаляются, а у сообщений, для которых не удалось
+     * получить данные пользователя, увеличивается количество неудачных попыток. Сообщения, исчерпавшие попытки,
+     * переносятся в таблицу outbox_dead_messages
+     * @return признак того, что была отправлена полная часть сообщений и могут остаться неотправленные. Если часть
+     * сообщений не отправлена, то повторная попытка выполняется при следующем запуске
+     */
+    boolean relay();
+}
@@ -2,6 +2,8 @@ package dev.booking.service;
 
 import dev.library.domain.rabbitmq.constant.ActionType;
 
+import java.util.List;
+
 /**
  * Интерфейс для описания абстрактных методов по отправке данных в шину данных
  */
@@ -20,4 +22,17 @@ public interface RabbitMQProducer {
      * @param <T> - тип данных
      */
     <T> void sendMessage(T message);
+
+    /**
+     * Отправка сообщений о бронированиях одним каналом с ожиданием подтверждения их получения брокером
+     * @param messages - список объектов типа {@link Message}
+     */
+    void sendMessagesWithConfirms(List<Message> messages);
+
+    /**
+     * Сообщение о бронировании
+     * @param payload - объект
+     * @param type - перечисление типа {@link ActionType}
+     */
+    record Message(Object payload, ActionType type) {}
 }
@@ -9,4 +9,9 @@ public interface TaskService {
      * @param sessionId - идентификатор сеансов
      */
     void checkBookingsBySessionId(String sessionId);
+
+    /**
+     * Отправка сообщений из outbox в брокер сообщений частями, пока не будут отправлены все доступные сообщения
+     */
+    void relayOutbox();
 }
@@ -5,8 +5,8 @@ import dev.booking.entity.BookingPlace;
 import dev.booking.mapper.BookingPlaceMapper;
 import dev.booking.repository.BookingPlaceRepository;
 import dev.booking.service.BookingPlaceService;
-import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.domain.session.client.PlaceClient;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -32,8 +32,8 @@ public class BookingPlaceServiceImpl implements BookingPlaceService {
     }
 
     @Override
-    public long getPlaceBySessionIdAndIdsAndAvailableFalse(Long sessionId, Set<Long> ids) {
-        return placeClient.getPlaceBySessionIdAndIdsAndAvailable(sessionId, ids, false);
+    public PlaceHoldResponse hold(Long sessionId, Set<Long> ids) {
+        return placeClient.hold(sessionId, ids);
     }
 
     @Override
@@ -43,11 +43,10 @@ public class BookingPlaceServiceImpl implements BookingPlaceService {
 
     @Override
     @Transactional
-    public List<BookingPlace> create(Long sessionId, Booking booking, Set<Long> placeIds) {
+    public List<BookingPlace> create(Booking booking, Set<Long> placeIds) {
         List<BookingPlace> bookingPlaces = placeIds.stream()
                 .map(placeId -> mapper.toEntity(booking, placeId))
                 .toList();
-        updateAvailability(sessionId, placeIds, Boolean.FALSE);
 
         return repository.saveAll(bookingPlaces);
     }
@@ -61,10 +60,8 @@ public class BookingPlaceServiceImpl implements BookingPlaceService {
             updateAvailability(oldSessionId, placeIdsForRemove, Boolean.TRUE);
         }
         if (!placeIdsForCreate.isEmpty()) {
-            Long newSessionId = booking.getSessionId();
-            List<BookingPlace> createdPlaces = create(newSessionId, booking, placeIdsForCreate);
+            List<BookingPlace> createdPlaces = create(booking, placeIdsForCreate);
             booking.getPlaces().addAll(createdPlaces);
-            updateAvailability(newSessionId, placeIdsForCreate, Boolean.FALSE);
         }
     }
 
@@ -86,9 +83,4 @@ public class BookingPlaceServiceImpl implements BookingPlaceService {
                 .filter(placeId -> !currentPlaceIds.contains(placeId))
                 .collect(Collectors.toSet());
     }
-
-    @Override
-    public List<BookingPlace> findByBooking_SessionIdAndBooking_BookingStatus(Long sessionId, BookingStatus bookingStatus) {
-        return repository.findByBooking_SessionIdAndBooking_BookingStatus(sessionId, bookingStatus);
-    }
 }
@@ -1,33 +1,36 @@
 package dev.booking.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.booking.entity.Booking;
 import dev.booking.entity.BookingPlace;
 import dev.booking.mapper.BookingMapper;
 import dev.booking.repository.BookingRepository;
 import dev.booking.service.BookingPlaceService;
 import dev.booking.service.BookingService;
-import dev.booking.service.RabbitMQProducer;
+import dev.booking.service.OutboxService;
 import dev.library.core.exception.BadRequestException;
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
 import dev.library.core.exception.ServerException;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
+import dev.library.core.specification.SearchFilter;
 import dev.library.core.specification.SpecificationBuilder;
+import dev.library.core.specification.SpecificationStreamer;
+import dev.library.core.util.BulkRequestUtils;
 import dev.library.core.util.DateUtil;
-import dev.library.core.util.ReflectionUtils;
+import dev.library.core.util.NdjsonUtils;
 import dev.library.domain.booking.dto.BookingRequest;
 import dev.library.domain.booking.dto.BookingResponse;
 import dev.library.domain.booking.dto.BookingSearchRequest;
 import dev.library.domain.booking.dto.BookingStatusRequest;
 import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.domain.movie.client.MovieClient;
-import dev.library.domain.notification.dto.NotificationDeleteRequest;
 import dev.library.domain.rabbitmq.constant.ActionType;
-import dev.library.domain.receipt.dto.ReceiptRequest;
 import dev.library.domain.session.client.SessionClient;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.library.domain.session.dto.SessionResponse;
-import dev.library.domain.user.client.UserClient;
-import dev.library.domain.user.dto.UserResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
@@ -35,12 +38,16 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -49,14 +56,35 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    /**
+     * Сортировка записей для постраничного получения по курсору
+     */
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+    /**
+     * Фильтр для поиска записей о бронированиях по полям, сравниваемым с одноимёнными полями сущности
+     */
+    private static final SearchFilter<BookingSearchRequest, Booking> SEARCH_FILTER = SearchFilter.<BookingSearchRequest, Booking>builder(BookingSearchRequest.class)
+            .equal("userId")
+            .equal("sessionId")
+            .equal("bookingStatus")
+            .build();
+
     private final BookingRepository repository;
     private final BookingMapper mapper;
     private final BookingPlaceService bookingPlaceService;
     private final SessionClient sessionClient;
     private final MovieClient movieClient;
-    private final UserClient userClient;
-    private final RabbitMQProducer rabbitMQProducer;
+    private final OutboxService outboxService;
     private final SpecificationBuilder<Booking> specificationBuilder;
+    private final SpecificationStreamer specificationStreamer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${pagination.default-limit}")
+    private int defaultLimit;
+    @Value("${pagination.max-limit}")
+    private int maxLimit;
+    @Value("${pagination.fetch-size}")
+    private int fetchSize;
 
     @Value("${errors.booking.id.not-found}")
     private String errorBookingIdNotFound;
@@ -78,11 +106,20 @@ public class BookingServiceImpl implements BookingService {
     private String errorBookingSessionAvailableBadRequest;
 
     @Override
-    public List<Booking> getAll(BookingSearchRequest searchRequest) {
-        Sort sort = Sort.by(Sort.Direction.DESC, "createdDate");
+    public CursorPage<Booking> getAll(BookingSearchRequest searchRequest) {
+        int limit = CursorPage.limit(searchRequest.getLimit(), defaultLimit, maxLimit);
         Specification<Booking> specification = getSpecificationByBookingSearchRequest(searchRequest);
+        List<Booking> bookings = repository.findBy(specification, query -> query.sortBy(CURSOR_SORT).limit(limit + 1).all());
+
+        return CursorPage.of(bookings, limit, booking -> new Cursor(booking.getCreatedDate(), booking.getId()));
+    }
 
-        return repository.findAll(specification, sort);
+    @Override
+    @Transactional(readOnly = true)
+    public void export(BookingSearchRequest searchRequest, OutputStream outputStream) {
+        Specification<Booking> specification = getSpecificationByBookingSearchRequest(searchRequest);
+        specificationStreamer.forEachBatch(Booking.class, specification, CURSOR_SORT, fetchSize,
+                bookings -> NdjsonUtils.write(objectMapper, outputStream, buildResponses(bookings)));
     }
 
     @Override
@@ -112,10 +149,10 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException(errorBookingStatusBadRequest);
         }
         checkMovieStartTime(request.getSessionId());
-        checkAvailablePlaces(request.getSessionId(), request.getPlaceIds());
+        holdPlaces(request.getSessionId(), request.getPlaceIds());
         Booking booking = mapper.toEntity(request);
         booking = repository.save(booking);
-        List<BookingPlace> places = bookingPlaceService.create(request.getSessionId(), booking, request.getPlaceIds());
+        List<BookingPlace> places = bookingPlaceService.create(booking, request.getPlaceIds());
         booking.setPlaces(places);
         BookingResponse response = buildResponse(booking);
         sendMessage(response, ActionType.CREATE);
@@ -174,8 +211,10 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional
-    public void updateStatus(Set<Long> ids, BookingStatus bookingStatus) {
-        repository.updateStatus(ids, bookingStatus);
+    public long[] cancelCreatedBySessionId(Long sessionId) {
+        return repository.cancelCreatedBySessionId(sessionId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
     }
 
     @Override
@@ -190,38 +229,17 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    /**
-     * Отправка сообщения в брокер сообщений о создании или обновлении записи по бронированию
-     * @param bookingResponse - объект типа {@link BookingResponse}
-     * @param type - перечисление типа {@link ActionType}
-     */
+    @Override
     public void sendMessage(BookingResponse bookingResponse, ActionType type) {
-        UserResponse userResponse = userClient.getById(bookingResponse.userId());
-
-        ReceiptRequest receiptRequest;
         switch (type) {
-            case CREATE:
-                receiptRequest = new ReceiptRequest(bookingResponse, userResponse);
-                rabbitMQProducer.sendMessage(receiptRequest, ActionType.CREATE);
-                break;
-            case UPDATE:
-                receiptRequest = new ReceiptRequest(bookingResponse, userResponse);
-                rabbitMQProducer.sendMessage(receiptRequest, ActionType.UPDATE);
-                break;
-            case UPDATE_STATUS:
-                receiptRequest = new ReceiptRequest(bookingResponse, userResponse);
-                rabbitMQProducer.sendMessage(receiptRequest, ActionType.UPDATE_STATUS);
-                break;
-            default:
-                throw new ServerException("Значение для создания и обновления не может быть DELETE");
+            case CREATE, UPDATE, UPDATE_STATUS -> outboxService.add(bookingResponse, type);
+            default -> throw new ServerException("Значение для создания и обновления не может быть DELETE");
         }
     }
 
     @Override
     public void sendMessage(Long id, String userId) {
-        UserResponse userResponse = userClient.getById(userId);
-        NotificationDeleteRequest notificationDeleteRequest = new NotificationDeleteRequest(id, userResponse);
-        rabbitMQProducer.sendMessage(notificationDeleteRequest, ActionType.DELETE);
+        outboxService.add(id, userId);
     }
 
     @Override
@@ -237,8 +255,33 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public boolean existsBySessionId(Long sessionId) {
-        return repository.existsBySessionId(sessionId);
+    public List<BookingResponse> buildResponses(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> placeIds = bookings.stream()
+                .flatMap(booking -> booking.getPlaces().stream())
+                .map(BookingPlace::getPlaceId)
+                .collect(Collectors.toSet());
+        Set<Long> sessionIds = bookings.stream()
+                .map(Booking::getSessionId)
+                .collect(Collectors.toSet());
+        Map<Long, PlaceResponse> placeResponses = BulkRequestUtils.getAll(placeIds, bookingPlaceService::getPlaceResponses).stream()
+                .collect(Collectors.toMap(PlaceResponse::id, Function.identity(), (first, second) -> first));
+        Map<Long, SessionResponse> sessionResponses = BulkRequestUtils.getAll(sessionIds, sessionClient::getAllByIds).stream()
+                .collect(Collectors.toMap(SessionResponse::id, Function.identity(), (first, second) -> first));
+
+        return bookings.stream()
+                .map(booking -> {
+                    List<PlaceResponse> places = booking.getPlaces().stream()
+                            .map(BookingPlace::getPlaceId)
+                            .sorted()
+                            .map(placeResponses::get)
+                            .filter(Objects::nonNull)
+                            .toList();
+                    return mapper.toResponse(booking, sessionResponses.get(booking.getSessionId()), places);
+                })
+                .toList();
     }
 
     /**
@@ -283,7 +326,7 @@ public class BookingServiceImpl implements BookingService {
         Set<Long> placeIdsForRemove = bookingPlaceService.getIdsForRemove(currentPlaceIds, placeIds);
         Set<Long> placeIdsForCreate = bookingPlaceService.getIdsForCreate(currentPlaceIds, placeIds);
         if (!placeIdsForCreate.isEmpty()) {
-            checkAvailablePlaces(booking.getSessionId(), placeIdsForCreate);
+            holdPlaces(booking.getSessionId(), placeIdsForCreate);
         }
         bookingPlaceService.update(oldSessionId, booking, placeIdsForRemove, placeIdsForCreate);
     }
@@ -324,21 +367,23 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * Проверка доступности мест
+     * Захват мест сеанса. Причина отказа уточняется отдельным запросом только в случае, если места захватить не удалось
      * @param sessionId - идентификатор сеанса
      * @param placeIds - список идентификаторов мест
      */
-    private void checkAvailablePlaces(Long sessionId, Set<Long> placeIds) {
-        long placeId = bookingPlaceService.getPlaceNotEqualsSessionBySessionIdAndIds(sessionId, placeIds);
+    private void holdPlaces(Long sessionId, Set<Long> placeIds) {
+        PlaceHoldResponse holdResponse = bookingPlaceService.hold(sessionId, placeIds);
+        Set<Long> rejectedIds = holdResponse.rejectedIds();
+        if (rejectedIds.isEmpty()) {
+            return;
+        }
+        long placeId = bookingPlaceService.getPlaceNotEqualsSessionBySessionIdAndIds(sessionId, rejectedIds);
         if (placeId != 0) {
             String errorMessage = errorBookingPlacesBadRequest.formatted(placeId, sessionId);
             throw new EntityNotFoundException(errorMessage);
         }
-        placeId = bookingPlaceService.getPlaceBySessionIdAndIdsAndAvailableFalse(sessionId, placeIds);
-        if (placeId != 0) {
-            String errorMessage = errorBookingPlacesAlreadyExists.formatted(placeId);
-            throw new EntityAlreadyExistsException(errorMessage);
-        }
+        String errorMessage = errorBookingPlacesAlreadyExists.formatted(Collections.min(rejectedIds));
+        throw new EntityAlreadyExistsException(errorMessage);
     }
 
     /**
@@ -368,31 +413,7 @@ public class BookingServiceImpl implements BookingService {
         if (searchDto.getUserId() == null || searchDto.getUserId().isBlank()) {
             searchDto.setUserId(null);
         }
-        Specification<Booking> specification = specificationBuilder.emptySpecification();
-        if (ReflectionUtils.allFieldsIsNull(searchDto)) {
-            return specification;
-        }
-        if (Objects.nonNull(searchDto.getUserId())) {
-            String valueUserId = searchDto.getUserId();
-            String fieldNameUserId = ReflectionUtils.getFieldName(searchDto, valueUserId).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldNameUserId, valueUserId)
-            );
-        }
-        if (Objects.nonNull(searchDto.getSessionId())) {
-            Long valueSessionId = searchDto.getSessionId();
-            String fieldNameSessionId = ReflectionUtils.getFieldName(searchDto, valueSessionId).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldNameSessionId, valueSessionId)
-            );
-        }
-        if (Objects.nonNull(searchDto.getBookingStatus())) {
-            BookingStatus valueBookingStatus = searchDto.getBookingStatus();
-            String fieldNameBookingStatus = ReflectionUtils.getFieldName(searchDto, valueBookingStatus).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldNameBookingStatus, valueBookingStatus)
-            );
-        }
+        Specification<Booking> specification = SEARCH_FILTER.toSpecification(searchDto);
         if (Objects.nonNull(searchDto.getFrom()) && Objects.nonNull(searchDto.getTo())) {
             OffsetDateTime from = OffsetDateTime.of(searchDto.getFrom(), LocalTime.MIN, ZoneOffset.UTC);
             OffsetDateTime to = OffsetDateTime.of(searchDto.getTo(), LocalTime.MAX, ZoneOffset.UTC);
@@ -412,6 +433,12 @@ public class BookingServiceImpl implements BookingService {
                 );
             }
         }
+        if (Objects.nonNull(searchDto.getCursor())) {
+            Cursor cursor = Cursor.decode(searchDto.getCursor());
+            specification = specification.and(
+                    specificationBuilder.before("createdDate", "id", cursor.createdDate(), cursor.id())
+            );
+        }
 
         return specification;
     }
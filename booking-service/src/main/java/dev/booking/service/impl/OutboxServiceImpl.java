@@ -0,0 +1,210 @@
+package dev.booking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.booking.entity.OutboxMessage;
+import dev.booking.repository.OutboxMessageRepository;
+import dev.booking.service.OutboxService;
+import dev.booking.service.RabbitMQProducer;
+import dev.library.core.exception.ServerException;
+import dev.library.domain.booking.dto.BookingResponse;
+import dev.library.domain.notification.dto.NotificationDeleteRequest;
+import dev.library.domain.rabbitmq.constant.ActionType;
+import dev.library.domain.receipt.dto.ReceiptRequest;
+import dev.library.domain.user.client.UserClient;
+import dev.library.domain.user.dto.UserResponse;
+import dev.library.security.auth.util.ServiceAuthenticationUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Сервис, реализующий интерфейс {@link OutboxService}.
+ * Данные пользователей запрашиваются до открытия транзакции, поэтому блокировки строк не удерживаются на время
+ * запросов к сервису пользователей. В транзакции блокируются только сообщения, которые ещё не отправлены и не
+ * заблокированы другим экземпляром сервиса. Неотправленные сообщения откладываются с экспоненциально растущим
+ * интервалом, поэтому попытки не исчерпываются за время кратковременной недоступности сервиса пользователей или
+ * брокера сообщений
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+    private final OutboxMessageRepository repository;
+    private final UserClient userClient;
+    private final RabbitMQProducer rabbitMQProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size}")
+    private int batchSize;
+    @Value("${outbox.relay.max-attempts}")
+    private int maxAttempts;
+    @Value("${outbox.relay.backoff.initial-interval}")
+    private Duration initialInterval;
+    @Value("${outbox.relay.backoff.max-interval}")
+    private Duration maxInterval;
+
+    private Counter deadMessageCounter;
+
+    @PostConstruct
+    public void init() {
+        deadMessageCounter = Counter.builder("booking.outbox.dead-messages")
+                .description("Количество сообщений, перенесенных в outbox_dead_messages после исчерпания попыток отправки")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void add(BookingResponse bookingResponse, ActionType type) {
+        save(type, bookingResponse.userId(), bookingResponse);
+    }
+
+    @Override
+    public void add(Long bookingId, String userId) {
+        save(ActionType.DELETE, userId, bookingId);
+    }
+
+    @Override
+    public boolean relay() {
+        List<OutboxMessage> candidates = repository.findBatch(batchSize);
+        if (candidates.isEmpty()) {
+            return false;
+        }
+        Map<String, UserResponse> users = getUsers(candidates);
+        List<Long> ids = candidates.stream()
+                .map(OutboxMessage::getId)
+                .toList();
+        Integer sent = transactionTemplate.execute(status -> send(ids, users));
+
+        return sent != null && sent == batchSize;
+    }
+
+    /**
+     * Блокировка и отправка сообщений в брокер сообщений. Отправленные сообщения удаляются, остальные
+     * откладываются до следующей попытки, а сообщения, исчерпавшие попытки, переносятся в outbox_dead_messages
+     * @param ids - список идентификаторов сообщений
+     * @param users - данные пользователей сообщений
+     * @return количество отправленных сообщений
+     */
+    private int send(List<Long> ids, Map<String, UserResponse> users) {
+        List<OutboxMessage> messages = repository.findAllByIdForUpdate(ids);
+        List<RabbitMQProducer.Message> messagesForSend = new ArrayList<>(messages.size());
+        List<Long> sentIds = new ArrayList<>(messages.size());
+        Set<Long> failedIds = new HashSet<>();
+        for (OutboxMessage message : messages) {
+            UserResponse userResponse = users.get(message.getUserId());
+            if (userResponse == null) {
+                failedIds.add(message.getId());
+                continue;
+            }
+            messagesForSend.add(new RabbitMQProducer.Message(toPayload(message, userResponse), message.getActionType()));
+            sentIds.add(message.getId());
+        }
+        if (!messagesForSend.isEmpty()) {
+            try {
+                rabbitMQProducer.sendMessagesWithConfirms(messagesForSend);
+                repository.deleteAllByIdInBatch(sentIds);
+            } catch (RuntimeException e) {
+                log.warn("Failed to send outbox messages with ids = {}: {}", sentIds, e.getMessage());
+                failedIds.addAll(sentIds);
+                sentIds.clear();
+            }
+        }
+        if (!failedIds.isEmpty()) {
+            repository.postpone(failedIds, toSeconds(initialInterval), toSeconds(maxInterval));
+            List<Long> deadIds = repository.moveToDeadMessages(failedIds, maxAttempts);
+            if (!deadIds.isEmpty()) {
+                deadMessageCounter.increment(deadIds.size());
+                log.error("Outbox messages with ids = {} were not sent after {} attempts and moved to outbox_dead_messages",
+                        deadIds, maxAttempts);
+            }
+        }
+        log.debug("Relayed {} outbox messages, {} messages postponed", sentIds.size(), failedIds.size());
+
+        return sentIds.size();
+    }
+
+    /**
+     * Сохранение сообщения
+     * @param type - перечисление типа {@link ActionType}
+     * @param userId - идентификатор пользователя
+     * @param payload - данные сообщения
+     */
+    private void save(ActionType type, String userId, Object payload) {
+        OutboxMessage message = OutboxMessage.builder()
+                .actionType(type)
+                .userId(userId)
+                .payload(writeValueAsString(payload))
+                .build();
+        repository.save(message);
+    }
+
+    /**
+     * Получение данных пользователей сообщений от имени сервиса. Пользователи, данные которых получить не удалось,
+     * в результат не попадают
+     * @param messages - список объектов типа {@link OutboxMessage}
+     */
+    private Map<String, UserResponse> getUsers(List<OutboxMessage> messages) {
+        Set<String> userIds = new LinkedHashSet<>();
+        messages.forEach(message -> userIds.add(message.getUserId()));
+
+        return ServiceAuthenticationUtils.callAsService(() -> {
+            Map<String, UserResponse> users = new HashMap<>();
+            for (String userId : userIds) {
+                try {
+                    users.put(userId, userClient.getById(userId));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to get user with id = {} for outbox messages: {}", userId, e.getMessage());
+                }
+            }
+            return users;
+        });
+    }
+
+    /**
+     * Получение объекта для отправки в брокер сообщений
+     * @param message - объект типа {@link OutboxMessage}
+     * @param userResponse - объект типа {@link UserResponse}
+     */
+    private Object toPayload(OutboxMessage message, UserResponse userResponse) {
+        try {
+            if (message.getActionType() == ActionType.DELETE) {
+                return new NotificationDeleteRequest(objectMapper.readValue(message.getPayload(), Long.class), userResponse);
+            }
+            return new ReceiptRequest(objectMapper.readValue(message.getPayload(), BookingResponse.class), userResponse);
+        } catch (JsonProcessingException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /**
+     * Получение длительности в секундах
+     * @param duration - длительность
+     */
+    private static double toSeconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+
+    private String writeValueAsString(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+}
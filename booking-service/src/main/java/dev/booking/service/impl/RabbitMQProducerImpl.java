@@ -1,6 +1,7 @@
 package dev.booking.service.impl;
 
 import dev.booking.service.RabbitMQProducer;
+import dev.library.core.exception.ServerException;
 import dev.library.domain.rabbitmq.constant.ActionType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +9,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Сервис, реализующий интерфейс {@link RabbitMQProducer}
  */
@@ -28,6 +31,9 @@ public class RabbitMQProducerImpl implements RabbitMQProducer {
     @Value("${rabbitmq.receipt.routing-key.delete}")
     private String deleteReceiptRoutingKey;
 
+    @Value("${outbox.relay.confirm-timeout}")
+    private long confirmTimeout;
+
     @Value("${rabbitmq.session.exchange}")
     private String sessionExchange;
     @Value("${rabbitmq.session.routing-key.place.update-available}")
@@ -64,4 +70,31 @@ public class RabbitMQProducerImpl implements RabbitMQProducer {
         rabbitTemplate.convertAndSend(sessionExchange, updateAvailablePlaceSessionRoutingKey, message);
         log.debug("Sending message {} to exchange {} via routing key {}", message, sessionExchange, updateReceiptRoutingKey);
     }
+
+    @Override
+    public void sendMessagesWithConfirms(List<Message> messages) {
+        log.debug("Started sendMessagesWithConfirms(List<Message> messages) with {} messages", messages.size());
+        rabbitTemplate.invoke(operations -> {
+            for (Message message : messages) {
+                operations.convertAndSend(receiptExchange, getReceiptRoutingKey(message.type()), message.payload());
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout);
+            return null;
+        });
+        log.debug("Sent {} messages to exchange {} with confirms", messages.size(), receiptExchange);
+    }
+
+    /**
+     * Получение ключа маршрутизации квитанций по типу действия
+     * @param type - перечисление типа {@link ActionType}
+     */
+    private String getReceiptRoutingKey(ActionType type) {
+        return switch (type) {
+            case CREATE -> creationReceiptRoutingKey;
+            case UPDATE -> updateReceiptRoutingKey;
+            case UPDATE_STATUS -> updateStatusReceiptRoutingKey;
+            case DELETE -> deleteReceiptRoutingKey;
+            default -> throw new ServerException("Тип действия %s не поддерживается для квитанций".formatted(type));
+        };
+    }
 }
@@ -0,0 +1,18 @@
+-- Сообщения для брокера сообщений, записанные в одной транзакции с изменением бронирования
+CREATE TABLE IF NOT EXISTS outbox_messages
+(
+    -- Идентификатор
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    -- Тип действия
+    action_type VARCHAR(30) NOT NULL,
+    -- Идентификатор пользователя
+    user_id VARCHAR(36) NOT NULL,
+    -- Данные сообщения в формате JSON
+    payload TEXT NOT NULL,
+    -- Количество неудачных попыток отправки
+    attempts INT NOT NULL DEFAULT 0,
+    -- Дата и время создания записи
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS outbox_messages_attempts_id_idx ON outbox_messages (attempts, id);
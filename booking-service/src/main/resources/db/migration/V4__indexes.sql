@@ -0,0 +1,8 @@
+-- Поиск бронирований по идентификатору сеанса и статусу
+CREATE INDEX IF NOT EXISTS bookings_session_id_status_idx ON bookings (session_id, status);
+
+-- Поиск бронирований пользователя
+CREATE INDEX IF NOT EXISTS bookings_user_id_idx ON bookings (user_id);
+
+-- Уникальность места в бронировании. Индекс также используется при поиске мест по идентификатору бронирования
+ALTER TABLE booking_places ADD CONSTRAINT booking_places_booking_id_place_id_key UNIQUE (booking_id, place_id);
\ No newline at end of file
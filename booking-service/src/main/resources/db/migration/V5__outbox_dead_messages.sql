@@ -0,0 +1,21 @@
+-- Сообщения, которые не удалось отправить за outbox.relay.max-attempts попыток
+CREATE TABLE IF NOT EXISTS outbox_dead_messages
+(
+    -- Идентификатор
+    id BIGINT PRIMARY KEY,
+    -- Тип действия
+    action_type VARCHAR(30) NOT NULL,
+    -- Идентификатор пользователя
+    user_id VARCHAR(36) NOT NULL,
+    -- Данные сообщения в формате JSON
+    payload TEXT NOT NULL,
+    -- Количество неудачных попыток отправки
+    attempts INT NOT NULL,
+    -- Дата и время создания сообщения
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    -- Дата и время переноса сообщения
+    dead_lettered_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Сообщения выбираются по первичному ключу без условия на количество попыток
+DROP INDEX IF EXISTS outbox_messages_attempts_id_idx;
\ No newline at end of file
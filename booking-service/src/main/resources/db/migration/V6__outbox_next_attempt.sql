@@ -0,0 +1,3 @@
+-- Дата и время следующей попытки отправки. После неудачной попытки отправка откладывается с экспоненциально
+-- растущим интервалом, чтобы кратковременная недоступность сервисов не исчерпывала попытки
+ALTER TABLE outbox_messages ADD COLUMN next_attempt_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
\ No newline at end of file
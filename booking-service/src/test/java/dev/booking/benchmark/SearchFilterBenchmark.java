@@ -0,0 +1,174 @@
+package dev.booking.benchmark;
+
+import dev.library.core.specification.SearchFilter;
+import dev.library.core.specification.SpecificationBuilder;
+import dev.library.domain.booking.dto.BookingSearchRequest;
+import dev.library.domain.booking.dto.constant.BookingStatus;
+import dev.library.domain.movie.dto.MovieSearchRequest;
+import dev.library.domain.session.dto.SessionSearchRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение построения Specification по DTO поиска с помощью {@link SearchFilter} и с помощью
+ * {@link SpecificationBuilder} и Reflection API,
+ * как это делалось до появления {@link SearchFilter}.
+ * Запуск: {@code mvn -pl booking-service -am test-compile}, затем метод {@link #main} с classpath тестов модуля
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchFilterBenchmark {
+    private static final SearchFilter<BookingSearchRequest, Object> BOOKING_FILTER =
+            SearchFilter.<BookingSearchRequest, Object>builder(BookingSearchRequest.class)
+                    .equal("userId")
+                    .equal("sessionId")
+                    .equal("bookingStatus")
+                    .build();
+    private static final SearchFilter<SessionSearchRequest, Object> SESSION_FILTER =
+            SearchFilter.<SessionSearchRequest, Object>builder(SessionSearchRequest.class)
+                    .equal("movieId")
+                    .build();
+    private static final SearchFilter<MovieSearchRequest, Object> MOVIE_FILTER =
+            SearchFilter.<MovieSearchRequest, Object>builder(MovieSearchRequest.class)
+                    .like("name")
+                    .equal("year")
+                    .equal("rental")
+                    .build();
+
+    private final SpecificationBuilder<Object> specificationBuilder = new SpecificationBuilder<>();
+
+    private BookingSearchRequest bookingSearchRequest;
+    private SessionSearchRequest sessionSearchRequest;
+    private MovieSearchRequest movieSearchRequest;
+
+    @Setup
+    public void setup() {
+        bookingSearchRequest = new BookingSearchRequest(
+                "53abe284-8b21-4a44-97a6-2df9f84f6aac", 1L, BookingStatus.PAID, LocalDate.now(), LocalDate.now()
+        );
+        bookingSearchRequest.setLimit(100);
+        sessionSearchRequest = new SessionSearchRequest(1L, LocalDate.now(), true);
+        sessionSearchRequest.setLimit(100);
+        movieSearchRequest = new MovieSearchRequest("Тест", 2024, true);
+        movieSearchRequest.setLimit(100);
+    }
+
+    @Benchmark
+    public Specification<Object> bookingSearchFilter() {
+        return BOOKING_FILTER.toSpecification(bookingSearchRequest);
+    }
+
+    @Benchmark
+    public Specification<Object> bookingReflection() {
+        Specification<Object> specification = specificationBuilder.emptySpecification();
+        if (allFieldsIsNull(bookingSearchRequest)) {
+            return specification;
+        }
+        specification = and(specification, bookingSearchRequest, bookingSearchRequest.getUserId());
+        specification = and(specification, bookingSearchRequest, bookingSearchRequest.getSessionId());
+
+        return and(specification, bookingSearchRequest, bookingSearchRequest.getBookingStatus());
+    }
+
+    @Benchmark
+    public Specification<Object> sessionSearchFilter() {
+        return SESSION_FILTER.toSpecification(sessionSearchRequest);
+    }
+
+    @Benchmark
+    public Specification<Object> sessionReflection() {
+        Specification<Object> specification = specificationBuilder.emptySpecification();
+        if (allFieldsIsNull(sessionSearchRequest)) {
+            return specification;
+        }
+
+        return and(specification, sessionSearchRequest, sessionSearchRequest.getMovieId());
+    }
+
+    @Benchmark
+    public Specification<Object> movieSearchFilter() {
+        return MOVIE_FILTER.toSpecification(movieSearchRequest);
+    }
+
+    @Benchmark
+    public Specification<Object> movieReflection() {
+        Specification<Object> specification = specificationBuilder.emptySpecification();
+        if (allFieldsIsNull(movieSearchRequest)) {
+            return specification;
+        }
+        String valueName = movieSearchRequest.getName();
+        String fieldName = getFieldName(movieSearchRequest, valueName).orElseThrow();
+        specification = specification.and(specificationBuilder.like(fieldName, valueName));
+        specification = and(specification, movieSearchRequest, movieSearchRequest.getYear());
+
+        return and(specification, movieSearchRequest, movieSearchRequest.getRental());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SearchFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Добавление условия равенства так, как это делалось до появления {@link SearchFilter}: имя поля определяется
+     * по значению
+     */
+    private Specification<Object> and(Specification<Object> specification, Object searchDto, Object value) {
+        String fieldName = getFieldName(searchDto, value).orElseThrow();
+
+        return specification.and(specificationBuilder.equal(fieldName, value));
+    }
+
+    /**
+     * Получение имени поля DTO поиска по значению
+     */
+    private static Optional<String> getFieldName(Object obj, Object value) {
+        for (Field field : obj.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            try {
+                Object fieldValue = field.get(obj);
+                if (Objects.nonNull(fieldValue) && fieldValue.equals(value)) {
+                    return Optional.of(field.getName());
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Проверка на то, что все поля DTO поиска пустые
+     */
+    private static boolean allFieldsIsNull(Object obj) {
+        for (Field field : obj.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            try {
+                if (field.get(obj) != null) {
+                    return false;
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,184 @@
+package dev.booking.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import dev.library.domain.booking.dto.BookingRequest;
+import dev.library.domain.booking.dto.constant.BookingStatus;
+import dev.library.domain.session.dto.PlaceResponse;
+import dev.library.domain.session.dto.SessionResponse;
+import dev.library.domain.user.dto.RoleResponse;
+import dev.library.domain.user.dto.UserResponse;
+import dev.library.test.config.AbstractControllerTest;
+import dev.library.test.dto.constant.GrantType;
+import dev.library.test.util.AuthorizationUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочная проверка создания бронирований. Каждый запрос на создание выполняет пять вызовов других сервисов,
+ * которые отвечают с задержкой, поэтому поток запроса большую часть времени ожидает ответа. Одновременных клиентов
+ * больше, чем потоков Tomcat по умолчанию. Проверяется, что все бронирования созданы, и выводится пропускная
+ * способность и время ответа. Режим выполнения запросов задаётся в наследниках свойством
+ * {@code spring.threads.virtual.enabled}. Пул соединений с БД в обоих режимах одинаковый, а время ожидания
+ * соединения увеличено, чтобы запросы в очереди пула не завершались ошибкой
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=30000"
+})
+public abstract class AbstractBookingCreateLoadTest extends AbstractControllerTest {
+    private static final Logger log = LoggerFactory.getLogger(AbstractBookingCreateLoadTest.class);
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int DOWNSTREAM_DELAY_MS = 50;
+    private static final String USER_ID = "3ca5d554-4102-4fa5-bc54-c355502b1fe5";
+
+    static final WireMockServer MOCK_SERVICES = new WireMockServer(WireMockConfiguration.options()
+            .dynamicPort()
+            .containerThreads(CLIENTS * 2));
+
+    static {
+        MOCK_SERVICES.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(MOCK_SERVICES::stop));
+    }
+
+    @Container
+    static RabbitMQContainer RABBIT_MQ_CONTAINER = new RabbitMQContainer(DockerImageName.parse("rabbitmq:4.0.6-management"))
+            .withAdminUser("admin")
+            .withAdminPassword("admin");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.host", RABBIT_MQ_CONTAINER::getHost);
+        registry.add("spring.rabbitmq.port", RABBIT_MQ_CONTAINER::getAmqpPort);
+        registry.add("spring.rabbitmq.username", () -> "admin");
+        registry.add("spring.rabbitmq.password", () -> "admin");
+
+        registry.add("url.movie", () -> MOCK_SERVICES.baseUrl() + "/api/v1/movies");
+        registry.add("url.place", () -> MOCK_SERVICES.baseUrl() + "/api/v1/places");
+        registry.add("url.session", () -> MOCK_SERVICES.baseUrl() + "/api/v1/sessions");
+        registry.add("url.user", () -> MOCK_SERVICES.baseUrl() + "/api/v1/users");
+    }
+
+    @BeforeEach
+    void setUp() throws JsonProcessingException {
+        SessionResponse sessionResponse = new SessionResponse(5L, 2L, "3D", 2, OffsetDateTime.now().plusDays(1), true);
+        List<PlaceResponse> placeResponses = List.of(
+                new PlaceResponse(51L, 5L, 1, 1, "150.00", false),
+                new PlaceResponse(52L, 5L, 1, 2, "150.00", false)
+        );
+        UserResponse userResponse = new UserResponse(USER_ID, "admin5876", "admin5876@example.com", true, "Admin",
+                "Admin", "1900-01-01", new RoleResponse("0edaa6ed-9f09-46e9-a55d-67fa509f2c4f", "admin"), false);
+
+        MOCK_SERVICES.resetAll();
+        MOCK_SERVICES.stubFor(WireMock.get(WireMock.urlPathMatching("/api/v1/sessions/[^/]+"))
+                .willReturn(WireMock.okJson(mapper.writeValueAsString(sessionResponse))
+                        .withFixedDelay(DOWNSTREAM_DELAY_MS)));
+        MOCK_SERVICES.stubFor(WireMock.get(WireMock.urlPathMatching("/api/v1/movies/[0-9]+/duration"))
+                .willReturn(WireMock.okJson("114").withFixedDelay(DOWNSTREAM_DELAY_MS)));
+        MOCK_SERVICES.stubFor(WireMock.patch(WireMock.urlPathMatching("/api/v1/places/session/[0-9]+/hold"))
+                .willReturn(WireMock.okJson("{\"sessionId\":5,\"heldIds\":[51,52],\"rejectedIds\":[]}")
+                        .withFixedDelay(DOWNSTREAM_DELAY_MS)));
+        MOCK_SERVICES.stubFor(WireMock.get(WireMock.urlPathEqualTo("/api/v1/places/search/ids"))
+                .willReturn(WireMock.okJson(mapper.writeValueAsString(placeResponses))
+                        .withFixedDelay(DOWNSTREAM_DELAY_MS)));
+        MOCK_SERVICES.stubFor(WireMock.get(WireMock.urlPathMatching("/api/v1/users/[^/]+"))
+                .willReturn(WireMock.okJson(mapper.writeValueAsString(userResponse))
+                        .withFixedDelay(DOWNSTREAM_DELAY_MS)));
+    }
+
+    @Test
+    void create_concurrentClients() throws Exception {
+        String token = AuthorizationUtils.getToken(restClient, GrantType.PASSWORD, clientId, clientSecret, "ivan5436", "1234");
+        String body = mapper.writeValueAsString(new BookingRequest(USER_ID, 5L, Set.of(51L, 52L), BookingStatus.CREATED));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/api/v1/bookings".formatted(port)))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        Integer before = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> latencies = new ArrayList<>();
+                for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                    long begin = System.nanoTime();
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    Assertions.assertEquals(201, response.statusCode(), response.body());
+                    latencies.add(System.nanoTime() - begin);
+                }
+                return latencies;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+        latencies.sort(Long::compare);
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        Integer after = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Integer.class);
+        Assertions.assertEquals(total, after - before);
+        log.info("{} threads, {} clients: {} bookings created in {} s, {} req/s, p50 {} ms, p99 {} ms",
+                virtualThreadsEnabled ? "Virtual" : "Platform", CLIENTS, total, "%.3f".formatted(seconds),
+                "%.1f".formatted(total / seconds), "%.1f".formatted(percentile(latencies, 0.5)),
+                "%.1f".formatted(percentile(latencies, 0.99)));
+    }
+
+    private static double percentile(List<Long> sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
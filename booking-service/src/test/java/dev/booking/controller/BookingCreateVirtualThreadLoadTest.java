@@ -0,0 +1,6 @@
+package dev.booking.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+public class BookingCreateVirtualThreadLoadTest extends AbstractBookingCreateLoadTest {}
@@ -0,0 +1,111 @@
+package dev.booking.repository;
+
+import dev.library.test.config.AbstractRepositoryTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочная проверка отмены неоплаченных бронирований: одновременно начинаются сеансы в нескольких
+ * распроданных залах, и для каждого сеанса бронирования отменяются одним запросом. Проверяется, что все
+ * неоплаченные бронирования отменены, и выводится общее время и время отмены по одному сеансу
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BookingCancelBenchmarkTest extends AbstractRepositoryTest {
+    private static final Logger log = LoggerFactory.getLogger(BookingCancelBenchmarkTest.class);
+
+    private static final long FIRST_SESSION_ID = 100_000L;
+    private static final int SESSIONS = 50;
+    private static final int BOOKINGS_IN_SESSION = 100;
+    private static final int PLACES_IN_BOOKING = 3;
+
+    @Autowired
+    private BookingRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO bookings(user_id, session_id, status, created_by, updated_by) " +
+                        "SELECT 'user-' || i, ? + i % ?, CASE WHEN i % 2 = 0 THEN 'CREATED' ELSE 'PAID' END::booking_status, " +
+                        "'benchmark', 'benchmark' FROM generate_series(1, ?) AS i",
+                FIRST_SESSION_ID, SESSIONS, SESSIONS * BOOKINGS_IN_SESSION
+        );
+        jdbcTemplate.update(
+                "INSERT INTO booking_places(booking_id, place_id, created_by, updated_by) " +
+                        "SELECT b.id, b.id * ? + n, 'benchmark', 'benchmark' FROM bookings b " +
+                        "CROSS JOIN generate_series(1, ?) AS n WHERE b.created_by = 'benchmark'",
+                PLACES_IN_BOOKING, PLACES_IN_BOOKING
+        );
+    }
+
+    @AfterEach
+    void destroy() {
+        jdbcTemplate.update("DELETE FROM booking_places WHERE created_by = 'benchmark'");
+        jdbcTemplate.update("DELETE FROM bookings WHERE created_by = 'benchmark'");
+    }
+
+    @Test
+    void cancelCreatedBySessionId_concurrentSessionStarts() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(SESSIONS);
+        List<Future<Long>> futures = new ArrayList<>();
+        ConcurrentLinkedQueue<Integer> released = new ConcurrentLinkedQueue<>();
+
+        for (int i = 0; i < SESSIONS; i++) {
+            long sessionId = FIRST_SESSION_ID + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                List<Long> placeIds = transactionTemplate.execute(status -> repository.cancelCreatedBySessionId(sessionId));
+                released.add(placeIds.size());
+                return System.nanoTime() - begin;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        long maxNanos = 0;
+        for (Future<Long> future : futures) {
+            maxNanos = Math.max(maxNanos, future.get());
+        }
+
+        int expectedPlaces = SESSIONS * BOOKINGS_IN_SESSION / 2 * PLACES_IN_BOOKING;
+        Assertions.assertEquals(expectedPlaces, released.stream().mapToInt(Integer::intValue).sum());
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE created_by = 'benchmark' AND status = 'CREATED'", Integer.class
+        );
+        Assertions.assertEquals(0, created);
+        log.info("{} simultaneous session starts: {} places released in {} s, slowest session {} ms",
+                SESSIONS, expectedPlaces, "%.3f".formatted(seconds), "%.1f".formatted(maxNanos / 1_000_000.0));
+    }
+}
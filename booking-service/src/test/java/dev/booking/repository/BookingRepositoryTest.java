@@ -3,11 +3,13 @@ package dev.booking.repository;
 import dev.booking.entity.Booking;
 import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.test.config.AbstractRepositoryTest;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -15,6 +17,8 @@ import java.util.Set;
 public class BookingRepositoryTest extends AbstractRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @Test
     void findByIdAndUserId_ok() {
@@ -44,23 +48,19 @@ public class BookingRepositoryTest extends AbstractRepositoryTest {
     }
 
     @Test
-    void updateStatus() {
-        bookingRepository.updateStatus(Set.of(5L, 6L), BookingStatus.CREATED);
-        Booking bookingFive = bookingRepository.findById(5L).orElseThrow();
-        Booking bookingSix = bookingRepository.findById(6L).orElseThrow();
-        Assertions.assertEquals(BookingStatus.CREATED, bookingFive.getBookingStatus());
-        Assertions.assertEquals(BookingStatus.CREATED, bookingSix.getBookingStatus());
-    }
+    void cancelCreatedBySessionId() {
+        List<Long> placeIds = bookingRepository.cancelCreatedBySessionId(4L);
+        Assertions.assertEquals(Set.of(41L, 42L, 43L, 44L, 45L, 49L, 50L), Set.copyOf(placeIds));
+        entityManager.clear();
 
-    @Test
-    void existsBySessionId_true() {
-        boolean result = bookingRepository.existsBySessionId(4L);
-        Assertions.assertTrue(result);
+        Assertions.assertEquals(BookingStatus.PAID, bookingRepository.findById(2L).orElseThrow().getBookingStatus());
+        Assertions.assertEquals(BookingStatus.CANCELED, bookingRepository.findById(3L).orElseThrow().getBookingStatus());
+        Assertions.assertEquals(BookingStatus.CANCELED, bookingRepository.findById(4L).orElseThrow().getBookingStatus());
     }
 
     @Test
-    void existsBySessionId_false() {
-        boolean result = bookingRepository.existsBySessionId(999L);
-        Assertions.assertFalse(result);
+    void cancelCreatedBySessionId_empty() {
+        List<Long> placeIds = bookingRepository.cancelCreatedBySessionId(999L);
+        Assertions.assertTrue(placeIds.isEmpty());
     }
 }
@@ -0,0 +1,84 @@
+package dev.booking.repository;
+
+import dev.booking.entity.Booking;
+import dev.library.core.specification.SpecificationBuilder;
+import dev.library.domain.booking.dto.constant.BookingStatus;
+import dev.library.test.config.AbstractQueryPlanTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Проверка того, что запросы репозиториев бронирований используют индексы
+ */
+@ActiveProfiles("test")
+public class QueryPlanTest extends AbstractQueryPlanTest {
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+
+    private final SpecificationBuilder<Booking> specificationBuilder = new SpecificationBuilder<>();
+
+    @Autowired
+    private BookingRepository repository;
+
+    private Long bookingId;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO bookings(user_id, session_id, status, created_by, updated_by) " +
+                        "SELECT 'user-' || i % 2000, 100 + i % 1000, " +
+                        "(ARRAY['CREATED', 'PAID', 'CANCELED'])[1 + i % 3]::booking_status, 'test', 'test' " +
+                        "FROM generate_series(1, 20000) AS i"
+        );
+        jdbcTemplate.update(
+                "INSERT INTO booking_places(booking_id, place_id, created_by, updated_by) " +
+                        "SELECT b.id, b.id * 3 + n, 'test', 'test' FROM bookings b CROSS JOIN generate_series(1, 3) AS n " +
+                        "WHERE b.created_by = 'test'"
+        );
+        analyze("bookings", "booking_places");
+        bookingId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM bookings WHERE created_by = 'test'", Long.class);
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        assertIndexScan("bookings", "bookings_pkey", () -> repository.findByIdAndUserId(bookingId, "user-1"));
+    }
+
+    @Test
+    void existsByIdAndBookingStatus() {
+        assertIndexScan("bookings", "bookings_pkey",
+                () -> repository.existsByIdAndBookingStatus(bookingId, BookingStatus.CREATED));
+    }
+
+    @Test
+    void cancelCreatedBySessionId() {
+        assertIndexScan("bookings", "bookings_session_id_status_idx",
+                () -> repository.cancelCreatedBySessionId(500L));
+        assertIndexScan("booking_places", "booking_places_booking_id_place_id_key",
+                () -> repository.cancelCreatedBySessionId(600L));
+    }
+
+    @Test
+    void findAll_byUserId() {
+        assertIndexScan("bookings", "bookings_user_id_idx", () -> repository.findBy(
+                specificationBuilder.equal("userId", "user-42"),
+                query -> query.sortBy(CURSOR_SORT).limit(21).all()
+        ));
+    }
+
+    @Test
+    void findAll_bySessionId() {
+        assertIndexScan("bookings", "bookings_session_id_status_idx", () -> repository.findBy(
+                specificationBuilder.equal("sessionId", 500L),
+                query -> query.sortBy(CURSOR_SORT).limit(21).all()
+        ));
+    }
+
+    @Test
+    void findPlaces_byBooking() {
+        assertIndexScan("booking_places", "booking_places_booking_id_place_id_key",
+                () -> repository.findById(bookingId).orElseThrow().getPlaces().size());
+    }
+}
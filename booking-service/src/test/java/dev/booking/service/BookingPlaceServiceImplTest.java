@@ -7,6 +7,7 @@ import dev.booking.repository.BookingPlaceRepository;
 import dev.booking.service.impl.BookingPlaceServiceImpl;
 import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.domain.session.client.PlaceClient;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -131,31 +132,35 @@ public class BookingPlaceServiceImplTest {
     }
 
     @Test
-    void getPlaceBySessionIdAndAndIdsAndAvailableFalse_ok() {
+    void hold_ok() {
         Mockito
-                .when(placeClient.getPlaceBySessionIdAndIdsAndAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean()))
-                .thenReturn(112L);
+                .when(placeClient.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(5L, Set.of(110L, 111L), Collections.emptySet()));
 
-        long id = service.getPlaceBySessionIdAndIdsAndAvailableFalse(5L, Set.of(110L, 111L, 112L));
-        Assertions.assertEquals(112, id);
+        PlaceHoldResponse response = service.hold(5L, Set.of(110L, 111L));
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(Set.of(110L, 111L), response.heldIds());
+        Assertions.assertTrue(response.rejectedIds().isEmpty());
 
         Mockito
                 .verify(placeClient, Mockito.times(1))
-                .getPlaceBySessionIdAndIdsAndAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
+                .hold(Mockito.anyLong(), Mockito.anySet());
     }
 
     @Test
-    void getPlaceBySessionIdAndAndIdsAndAvailableFalse_zero() {
+    void hold_rejected() {
         Mockito
-                .when(placeClient.getPlaceBySessionIdAndIdsAndAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean()))
-                .thenReturn(0L);
+                .when(placeClient.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(5L, Collections.emptySet(), Set.of(112L)));
 
-        long id = service.getPlaceBySessionIdAndIdsAndAvailableFalse(56778L, Set.of(1109L, 11188L, 11275L));
-        Assertions.assertEquals(0, id);
+        PlaceHoldResponse response = service.hold(5L, Set.of(110L, 111L, 112L));
+        Assertions.assertNotNull(response);
+        Assertions.assertTrue(response.heldIds().isEmpty());
+        Assertions.assertEquals(Set.of(112L), response.rejectedIds());
 
         Mockito
                 .verify(placeClient, Mockito.times(1))
-                .getPlaceBySessionIdAndIdsAndAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
+                .hold(Mockito.anyLong(), Mockito.anySet());
     }
 
     @Test
@@ -188,15 +193,11 @@ public class BookingPlaceServiceImplTest {
 
     @Test
     void create() {
-        Mockito
-                .doNothing()
-                .when(placeClient)
-                .updateAvailabilityAtPlaces(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
         Mockito
                 .when(repository.saveAll(Mockito.anyIterable()))
                 .thenReturn(List.of(entityBookingPlaceOne, entityBookingPlaceTwo));
 
-        List<BookingPlace> bookingPlaces = service.create(1L, entityBookingOne, Set.of(1L, 15L));
+        List<BookingPlace> bookingPlaces = service.create(entityBookingOne, Set.of(1L, 15L));
         Assertions.assertNotNull(bookingPlaces);
         Assertions.assertFalse(bookingPlaces.isEmpty());
         Assertions.assertEquals(2, bookingPlaces.size());
@@ -204,7 +205,7 @@ public class BookingPlaceServiceImplTest {
         Assertions.assertEquals(15, bookingPlaces.get(1).getPlaceId());
 
         Mockito
-                .verify(placeClient, Mockito.times(1))
+                .verify(placeClient, Mockito.times(0))
                 .updateAvailabilityAtPlaces(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
         Mockito
                 .verify(repository, Mockito.times(1))
@@ -224,7 +225,7 @@ public class BookingPlaceServiceImplTest {
                 .verify(repository, Mockito.times(1))
                 .saveAll(Mockito.anyIterable());
         Mockito
-                .verify(placeClient, Mockito.times(3))
+                .verify(placeClient, Mockito.times(1))
                 .updateAvailabilityAtPlaces(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
     }
 
@@ -272,39 +273,4 @@ public class BookingPlaceServiceImplTest {
         Assertions.assertEquals(1, ids.size());
         Assertions.assertEquals(4L, ids.iterator().next());
     }
-
-    @Test
-    void findByBooking_SessionIdAndBooking_BookingStatus_ok() {
-        Mockito
-                .when(repository.findByBooking_SessionIdAndBooking_BookingStatus(Mockito.anyLong(),
-                                Mockito.any(BookingStatus.class)))
-                .thenReturn(List.of(entityBookingPlaceOne, entityBookingPlaceTwo));
-
-        List<BookingPlace> bookingPlaces = service.findByBooking_SessionIdAndBooking_BookingStatus(1L, BookingStatus.PAID);
-        Assertions.assertNotNull(bookingPlaces);
-        Assertions.assertFalse(bookingPlaces.isEmpty());
-        Assertions.assertEquals(2, bookingPlaces.size());
-
-        Mockito
-                .verify(repository, Mockito.times(1))
-                .findByBooking_SessionIdAndBooking_BookingStatus(Mockito.anyLong(),
-                        Mockito.any(BookingStatus.class));
-    }
-
-    @Test
-    void findByBooking_SessionIdAndBooking_BookingStatus_empty() {
-        Mockito
-                .when(repository.findByBooking_SessionIdAndBooking_BookingStatus(Mockito.anyLong(),
-                        Mockito.any(BookingStatus.class)))
-                .thenReturn(Collections.emptyList());
-
-        List<BookingPlace> bookingPlaces = service.findByBooking_SessionIdAndBooking_BookingStatus(1L, BookingStatus.PAID);
-        Assertions.assertNotNull(bookingPlaces);
-        Assertions.assertTrue(bookingPlaces.isEmpty());
-
-        Mockito
-                .verify(repository, Mockito.times(1))
-                .findByBooking_SessionIdAndBooking_BookingStatus(Mockito.anyLong(),
-                        Mockito.any(BookingStatus.class));
-    }
 }
@@ -1,5 +1,7 @@
 package dev.booking.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import dev.booking.entity.Booking;
 import dev.booking.entity.BookingPlace;
 import dev.booking.mapper.BookingMapper;
@@ -8,7 +10,11 @@ import dev.booking.service.impl.BookingServiceImpl;
 import dev.library.core.exception.BadRequestException;
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
+import dev.library.core.exception.ServerException;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.specification.SpecificationBuilder;
+import dev.library.core.specification.SpecificationStreamer;
 import dev.library.core.util.DateUtil;
 import dev.library.domain.booking.dto.BookingRequest;
 import dev.library.domain.booking.dto.BookingResponse;
@@ -17,13 +23,10 @@ import dev.library.domain.booking.dto.BookingStatusRequest;
 import dev.library.domain.booking.dto.constant.BookingStatus;
 import dev.library.domain.movie.client.MovieClient;
 import dev.library.domain.rabbitmq.constant.ActionType;
-import dev.library.domain.receipt.dto.ReceiptRequest;
 import dev.library.domain.session.client.SessionClient;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.library.domain.session.dto.SessionResponse;
-import dev.library.domain.user.client.UserClient;
-import dev.library.domain.user.dto.RoleResponse;
-import dev.library.domain.user.dto.UserResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,9 +40,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceImplTest {
@@ -48,11 +54,12 @@ public class BookingServiceImplTest {
     final BookingPlaceService bookingPlaceService = Mockito.mock(BookingPlaceService.class);
     final SessionClient sessionClient = Mockito.mock(SessionClient.class);
     final MovieClient movieClient = Mockito.mock(MovieClient.class);
-    final UserClient userClient = Mockito.mock(UserClient.class);
-    final RabbitMQProducer rabbitMQProducer = Mockito.mock(RabbitMQProducer.class);
+    final OutboxService outboxService = Mockito.mock(OutboxService.class);
     final SpecificationBuilder<Booking> specificationBuilder = new SpecificationBuilder<>();
+    final SpecificationStreamer specificationStreamer = Mockito.mock(SpecificationStreamer.class);
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
     final BookingService service = new BookingServiceImpl(repository, mapper, bookingPlaceService, sessionClient,
-            movieClient, userClient, rabbitMQProducer, specificationBuilder);
+            movieClient, outboxService, specificationBuilder, specificationStreamer, objectMapper);
 
     BookingPlace entityBookingPlaceOne;
     BookingPlace entityBookingPlaceTwo;
@@ -72,6 +79,9 @@ public class BookingServiceImplTest {
         ReflectionTestUtils.setField(service, "errorBookingPlacesBadRequest", "Место с идентификатором %d не относится к сеансу с идентификатором %d");
         ReflectionTestUtils.setField(service, "errorBookingSessionTimeEndBadRequest", "Бронирование мест невозможно, т.к. сеанс %s в зале %d закончен");
         ReflectionTestUtils.setField(service, "errorBookingSessionAvailableBadRequest", "Сеанс с идентификатором %d недоступен для бронирования");
+        ReflectionTestUtils.setField(service, "defaultLimit", 100);
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        ReflectionTestUtils.setField(service, "fetchSize", 500);
 
         OffsetDateTime dateTime = OffsetDateTime.now();
         entityBookingOne = Booking.builder()
@@ -116,10 +126,10 @@ public class BookingServiceImplTest {
         List<Booking> entities = List.of(entityBookingTwo, entityBookingOne);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Booking>>any(), Mockito.any(Sort.class)))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any()))
                 .thenReturn(entities);
 
-        List<Booking> bookings = service.getAll(new BookingSearchRequest());
+        List<Booking> bookings = service.getAll(new BookingSearchRequest()).content();
         Assertions.assertNotNull(bookings);
         Assertions.assertFalse(bookings.isEmpty());
         Assertions.assertEquals(2, bookings.size());
@@ -128,7 +138,7 @@ public class BookingServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Booking>>any(), Mockito.any(Sort.class));
+                .findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any());
     }
 
     @Test
@@ -136,7 +146,7 @@ public class BookingServiceImplTest {
         List<Booking> entities = List.of(entityBookingOne);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Booking>>any(), Mockito.any(Sort.class)))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any()))
                 .thenReturn(entities);
 
         List<Booking> bookings = service.getAll(
@@ -147,7 +157,7 @@ public class BookingServiceImplTest {
                         LocalDate.now().minusDays(3),
                         LocalDate.now().minusDays(3)
                 )
-        );
+        ).content();
         Assertions.assertNotNull(bookings);
         Assertions.assertFalse(bookings.isEmpty());
         Assertions.assertEquals(1, bookings.size());
@@ -158,13 +168,13 @@ public class BookingServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Booking>>any(), Mockito.any(Sort.class));
+                .findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any());
     }
 
     @Test
     void getAll_empty() {
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Booking>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any()))
                 .thenReturn(Collections.emptyList());
 
         List<Booking> bookings = service.getAll(
@@ -175,13 +185,89 @@ public class BookingServiceImplTest {
                         LocalDate.now(),
                         LocalDate.now()
                 )
-        );
+        ).content();
         Assertions.assertNotNull(bookings);
         Assertions.assertTrue(bookings.isEmpty());
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Booking>>any(), Mockito.any(Sort.class));
+                .findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void getAll_nextCursor() {
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(entityBookingTwo, entityBookingOne));
+
+        BookingSearchRequest searchRequest = new BookingSearchRequest();
+        searchRequest.setLimit(1);
+        CursorPage<Booking> page = service.getAll(searchRequest);
+        Assertions.assertEquals(1, page.content().size());
+        Assertions.assertEquals(2L, page.content().getFirst().getId());
+        Assertions.assertNotNull(page.nextCursor());
+        Cursor cursor = Cursor.decode(page.nextCursor());
+        Assertions.assertEquals(2L, cursor.id());
+        Assertions.assertTrue(entityBookingTwo.getCreatedDate().isEqual(cursor.createdDate()));
+    }
+
+    @Test
+    void getAll_lastPage() {
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Booking>>any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(entityBookingTwo, entityBookingOne));
+
+        BookingSearchRequest searchRequest = new BookingSearchRequest();
+        searchRequest.setCursor(new Cursor(OffsetDateTime.now().plusDays(1), 5L).encode());
+        searchRequest.setLimit(2);
+        CursorPage<Booking> page = service.getAll(searchRequest);
+        Assertions.assertEquals(2, page.content().size());
+        Assertions.assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getAll_badRequestException_cursor() {
+        BookingSearchRequest searchRequest = new BookingSearchRequest();
+        searchRequest.setCursor("not-a-cursor");
+
+        BadRequestException exception = Assertions.assertThrows(
+                BadRequestException.class,
+                () -> service.getAll(searchRequest)
+        );
+        Assertions.assertEquals("Некорректное значение курсора: not-a-cursor", exception.getApiError().message());
+
+        Mockito
+                .verifyNoInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export() {
+        PlaceResponse placeResponse = new PlaceResponse(31L, 2L, 1, 1, "300.00", false);
+        SessionResponse sessionResponse = new SessionResponse(2L, 94L, "3D", 1, OffsetDateTime.now().plusDays(3), true);
+
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<List<Booking>> action = invocation.getArgument(4);
+                    action.accept(List.of(entityBookingTwo));
+                    return null;
+                })
+                .when(specificationStreamer)
+                .forEachBatch(Mockito.eq(Booking.class), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                        Mockito.eq(500), ArgumentMatchers.any());
+        Mockito
+                .when(bookingPlaceService.getPlaceResponses(Mockito.anySet()))
+                .thenReturn(List.of(placeResponse));
+        Mockito
+                .when(sessionClient.getAllByIds(Mockito.anySet()))
+                .thenReturn(List.of(sessionResponse));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.export(new BookingSearchRequest(), outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"id\":2,"));
+        Assertions.assertTrue(lines[0].contains("\"status\":\"Canceled\""));
     }
 
     @Test
@@ -371,16 +457,13 @@ public class BookingServiceImplTest {
                 .when(movieClient.getDurationById(Mockito.anyLong()))
                 .thenReturn(75);
         Mockito
-                .when(bookingPlaceService.getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet()))
-                .thenReturn(0L);
-        Mockito
-                .when(bookingPlaceService.getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet()))
-                .thenReturn(0L);
+                .when(bookingPlaceService.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(2L, Set.of(55L), Collections.emptySet()));
         Mockito
                 .when(repository.save(Mockito.any(Booking.class)))
                 .thenReturn(entityBooking);
         Mockito
-                .when(bookingPlaceService.create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet()))
+                .when(bookingPlaceService.create(Mockito.any(Booking.class), Mockito.anySet()))
                 .thenReturn(List.of(entityBookingPlace));
         Mockito
                 .when(bookingPlaceService.getPlaceResponses(Mockito.anySet()))
@@ -408,17 +491,17 @@ public class BookingServiceImplTest {
                 .verify(movieClient, Mockito.times(1))
                 .getDurationById(Mockito.anyLong());
         Mockito
-                .verify(bookingPlaceService, Mockito.times(1))
+                .verify(bookingPlaceService, Mockito.times(0))
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(1))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
                 .getPlaceResponses(Mockito.anySet());
@@ -453,13 +536,13 @@ public class BookingServiceImplTest {
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(0))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
     }
 
     @Test
@@ -503,13 +586,13 @@ public class BookingServiceImplTest {
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(0))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
     }
 
     @Test
@@ -558,13 +641,13 @@ public class BookingServiceImplTest {
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(0))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
     }
 
     @Test
@@ -585,6 +668,9 @@ public class BookingServiceImplTest {
         Mockito
                 .when(movieClient.getDurationById(Mockito.anyLong()))
                 .thenReturn(36);
+        Mockito
+                .when(bookingPlaceService.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(56L, Collections.emptySet(), Set.of(16L)));
         Mockito
                 .when(bookingPlaceService.getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet()))
                 .thenReturn(16L);
@@ -614,18 +700,18 @@ public class BookingServiceImplTest {
                 .verify(bookingPlaceService, Mockito.times(1))
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
-                .verify(bookingPlaceService, Mockito.times(0))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .verify(bookingPlaceService, Mockito.times(1))
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(0))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
     }
 
     @Test
-    void create_entityAlreadyExistsException_places_bySessionIdAndIdsAndAvailableFalse() {
+    void create_entityAlreadyExistsException_places_hold() {
         OffsetDateTime dateTime = OffsetDateTime.now().plusDays(1);
         SessionResponse sessionResponse = new SessionResponse(
                 56L,
@@ -642,12 +728,12 @@ public class BookingServiceImplTest {
         Mockito
                 .when(movieClient.getDurationById(Mockito.anyLong()))
                 .thenReturn(36);
+        Mockito
+                .when(bookingPlaceService.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(56L, Collections.emptySet(), Set.of(99L)));
         Mockito
                 .when(bookingPlaceService.getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet()))
                 .thenReturn(0L);
-        Mockito
-                .when(bookingPlaceService.getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet()))
-                .thenReturn(99L);
 
         BookingRequest request = new BookingRequest(
                 "53abe284-8b21-4a44-97a6-2df9f84f6aac",
@@ -675,13 +761,13 @@ public class BookingServiceImplTest {
                 .getPlaceNotEqualsSessionBySessionIdAndIds(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
-                .getPlaceBySessionIdAndIdsAndAvailableFalse(Mockito.anyLong(), Mockito.anySet());
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(repository, Mockito.times(0))
                 .save(Mockito.any(Booking.class));
         Mockito
                 .verify(bookingPlaceService, Mockito.times(0))
-                .create(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet());
+                .create(Mockito.any(Booking.class), Mockito.anySet());
     }
 
     @Test
@@ -738,6 +824,9 @@ public class BookingServiceImplTest {
         Mockito
                 .when(bookingPlaceService.getIdsForCreate(Mockito.anySet(), Mockito.anySet()))
                 .thenReturn(Set.of(6L));
+        Mockito
+                .when(bookingPlaceService.hold(Mockito.anyLong(), Mockito.anySet()))
+                .thenReturn(new PlaceHoldResponse(6L, Set.of(6L), Collections.emptySet()));
         Mockito
                 .doNothing()
                 .when(bookingPlaceService)
@@ -783,6 +872,9 @@ public class BookingServiceImplTest {
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
                 .getIdsForCreate(Mockito.anySet(), Mockito.anySet());
+        Mockito
+                .verify(bookingPlaceService, Mockito.times(1))
+                .hold(Mockito.anyLong(), Mockito.anySet());
         Mockito
                 .verify(bookingPlaceService, Mockito.times(1))
                 .update(Mockito.anyLong(), Mockito.any(Booking.class), Mockito.anySet(), Mockito.anySet());
@@ -1204,17 +1296,17 @@ public class BookingServiceImplTest {
     }
 
     @Test
-    void updateStatus() {
+    void cancelCreatedBySessionId() {
         Mockito
-                .doNothing()
-                .when(repository)
-                .updateStatus(Mockito.anySet(), Mockito.any(BookingStatus.class));
+                .when(repository.cancelCreatedBySessionId(1L))
+                .thenReturn(List.of(1L, 2L, 3L));
 
-        service.updateStatus(Set.of(1L, 2L, 3L), BookingStatus.PAID);
+        long[] placeIds = service.cancelCreatedBySessionId(1L);
+        Assertions.assertArrayEquals(new long[] {1L, 2L, 3L}, placeIds);
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .updateStatus(Mockito.anySet(), Mockito.any(BookingStatus.class));
+                .cancelCreatedBySessionId(1L);
     }
 
     @Test
@@ -1246,27 +1338,6 @@ public class BookingServiceImplTest {
 
     @Test
     void sendMessage_createAndUpdate() {
-        UserResponse userResponse = new UserResponse(
-                "1241754e-1dcb-4273-bc84-433f084919e0",
-                "ivan1126",
-                "ivan1126@mail.com",
-                true,
-                "Ivan",
-                "Strong",
-                "2000-01-01",
-                new RoleResponse("445667", "Client"),
-                true
-
-        );
-
-        Mockito
-                .when(userClient.getById(Mockito.anyString()))
-                .thenReturn(userResponse);
-        Mockito
-                .doNothing()
-                .when(rabbitMQProducer)
-                .sendMessage(Mockito.any(), Mockito.any(ActionType.class));
-
         PlaceResponse placeResponseOne = new PlaceResponse(
                 1L,
                 1L,
@@ -1307,36 +1378,42 @@ public class BookingServiceImplTest {
         service.sendMessage(response, ActionType.UPDATE_STATUS);
 
         Mockito
-                .verify(userClient, Mockito.times(3))
-                .getById(Mockito.anyString());
+                .verify(outboxService, Mockito.times(1))
+                .add(response, ActionType.CREATE);
+        Mockito
+                .verify(outboxService, Mockito.times(1))
+                .add(response, ActionType.UPDATE);
         Mockito
-                .verify(rabbitMQProducer, Mockito.times(3))
-                .sendMessage(Mockito.any(ReceiptRequest.class), Mockito.any(ActionType.class));
+                .verify(outboxService, Mockito.times(1))
+                .add(response, ActionType.UPDATE_STATUS);
     }
 
     @Test
-    void sendMessage_delete() {
-        UserResponse userResponse = new UserResponse(
+    void sendMessage_serverException_delete() {
+        BookingResponse response = new BookingResponse(
+                123L,
                 "1241754e-1dcb-4273-bc84-433f084919e0",
-                "ivan1126",
-                "ivan1126@mail.com",
-                true,
-                "Ivan",
-                "Strong",
-                "2000-01-01",
-                new RoleResponse("445667", "Client"),
-                true
+                null,
+                List.of(),
+                "Paid",
+                OffsetDateTime.now(),
+                OffsetDateTime.now()
         );
 
+        Assertions.assertThrows(ServerException.class, () -> service.sendMessage(response, ActionType.DELETE));
+
         Mockito
-                .when(userClient.getById(Mockito.anyString()))
-                .thenReturn(userResponse);
-        Mockito
-                .doNothing()
-                .when(rabbitMQProducer)
-                .sendMessage(Mockito.any(), Mockito.any(ActionType.class));
+                .verify(outboxService, Mockito.never())
+                .add(Mockito.any(BookingResponse.class), Mockito.any(ActionType.class));
+    }
 
+    @Test
+    void sendMessage_delete() {
         service.sendMessage(123L, "1241754e-1dcb-4273-bc84-433f084919e0");
+
+        Mockito
+                .verify(outboxService, Mockito.times(1))
+                .add(123L, "1241754e-1dcb-4273-bc84-433f084919e0");
     }
 
     @Test
@@ -1393,30 +1470,81 @@ public class BookingServiceImplTest {
     }
 
     @Test
-    void existsBySessionId_true() {
+    void buildResponses() {
+        PlaceResponse placeResponseOne = new PlaceResponse(1L, 1L, 1, 1, "350.00", false);
+        PlaceResponse placeResponseTwo = new PlaceResponse(15L, 1L, 2, 5, "400.00", false);
+        PlaceResponse placeResponseThree = new PlaceResponse(31L, 2L, 1, 1, "300.00", true);
+        SessionResponse sessionResponseOne = new SessionResponse(1L, 93L, "2D", 2, OffsetDateTime.now().plusDays(2), true);
+        SessionResponse sessionResponseTwo = new SessionResponse(2L, 94L, "3D", 1, OffsetDateTime.now().plusDays(3), true);
+
         Mockito
-                .when(repository.existsBySessionId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(bookingPlaceService.getPlaceResponses(Mockito.anySet()))
+                .thenReturn(List.of(placeResponseThree, placeResponseTwo, placeResponseOne));
+        Mockito
+                .when(sessionClient.getAllByIds(Mockito.anySet()))
+                .thenReturn(List.of(sessionResponseTwo, sessionResponseOne));
 
-        boolean result = service.existsBySessionId(1L);
-        Assertions.assertTrue(result);
+        List<BookingResponse> responses = service.buildResponses(List.of(entityBookingTwo, entityBookingOne));
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(2, responses.size());
+        Assertions.assertEquals(2L, responses.get(0).id());
+        Assertions.assertEquals(sessionResponseTwo, responses.get(0).session());
+        Assertions.assertEquals(List.of(placeResponseThree), responses.get(0).places());
+        Assertions.assertEquals(1L, responses.get(1).id());
+        Assertions.assertEquals(sessionResponseOne, responses.get(1).session());
+        Assertions.assertEquals(List.of(placeResponseOne, placeResponseTwo), responses.get(1).places());
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .existsBySessionId(Mockito.anyLong());
+                .verify(bookingPlaceService, Mockito.times(1))
+                .getPlaceResponses(Set.of(1L, 15L, 31L));
+        Mockito
+                .verify(sessionClient, Mockito.times(1))
+                .getAllByIds(Set.of(1L, 2L));
+        Mockito
+                .verify(sessionClient, Mockito.never())
+                .getById(Mockito.anyLong());
     }
 
     @Test
-    void existsBySessionId_false() {
+    void buildResponses_chunked() {
+        List<Booking> bookings = new ArrayList<>();
+        for (long i = 1; i <= 301; i++) {
+            Booking booking = Booking.builder()
+                    .id(i)
+                    .userId("53abe284-8b21-4a44-97a6-2df9f84f6aac")
+                    .sessionId(i)
+                    .bookingStatus(BookingStatus.PAID)
+                    .build();
+            booking.setPlaces(List.of(BookingPlace.builder().id(i).booking(booking).placeId(i).build()));
+            bookings.add(booking);
+        }
+
         Mockito
-                .when(repository.existsBySessionId(Mockito.anyLong()))
-                .thenReturn(false);
+                .when(bookingPlaceService.getPlaceResponses(Mockito.anySet()))
+                .thenReturn(Collections.emptyList());
+        Mockito
+                .when(sessionClient.getAllByIds(Mockito.anySet()))
+                .thenReturn(Collections.emptyList());
 
-        boolean result = service.existsBySessionId(9991L);
-        Assertions.assertFalse(result);
+        List<BookingResponse> responses = service.buildResponses(bookings);
+        Assertions.assertEquals(301, responses.size());
+        Assertions.assertTrue(responses.get(0).places().isEmpty());
+        Assertions.assertNull(responses.get(0).session());
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .existsBySessionId(Mockito.anyLong());
+                .verify(bookingPlaceService, Mockito.times(2))
+                .getPlaceResponses(Mockito.anySet());
+        Mockito
+                .verify(sessionClient, Mockito.times(2))
+                .getAllByIds(Mockito.anySet());
+    }
+
+    @Test
+    void buildResponses_empty() {
+        List<BookingResponse> responses = service.buildResponses(Collections.emptyList());
+        Assertions.assertTrue(responses.isEmpty());
+
+        Mockito
+                .verifyNoInteractions(bookingPlaceService, sessionClient);
     }
 }
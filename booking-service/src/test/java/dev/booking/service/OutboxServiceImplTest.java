@@ -0,0 +1,292 @@
+package dev.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.booking.entity.OutboxMessage;
+import dev.booking.repository.OutboxMessageRepository;
+import dev.booking.service.impl.OutboxServiceImpl;
+import dev.library.core.exception.ServerException;
+import dev.library.domain.booking.dto.BookingResponse;
+import dev.library.domain.notification.dto.NotificationDeleteRequest;
+import dev.library.domain.rabbitmq.constant.ActionType;
+import dev.library.domain.receipt.dto.ReceiptRequest;
+import dev.library.domain.session.dto.SessionResponse;
+import dev.library.domain.user.client.UserClient;
+import dev.library.domain.user.dto.RoleResponse;
+import dev.library.domain.user.dto.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceImplTest {
+    final OutboxMessageRepository repository = Mockito.mock(OutboxMessageRepository.class);
+    final UserClient userClient = Mockito.mock(UserClient.class);
+    final RabbitMQProducer rabbitMQProducer = Mockito.mock(RabbitMQProducer.class);
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    final TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final OutboxServiceImpl service = new OutboxServiceImpl(repository, userClient, rabbitMQProducer, objectMapper,
+            transactionTemplate, meterRegistry);
+
+    BookingResponse bookingResponse;
+    UserResponse userResponse;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "maxAttempts", 10);
+        ReflectionTestUtils.setField(service, "initialInterval", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(service, "maxInterval", Duration.ofMinutes(10));
+        service.init();
+
+        SessionResponse sessionResponse = new SessionResponse(
+                10L,
+                93L,
+                "2D",
+                2,
+                OffsetDateTime.now().plusDays(2),
+                true
+        );
+        bookingResponse = new BookingResponse(
+                123L,
+                "1241754e-1dcb-4273-bc84-433f084919e0",
+                sessionResponse,
+                List.of(),
+                "Paid",
+                OffsetDateTime.now(),
+                OffsetDateTime.now()
+        );
+        userResponse = new UserResponse(
+                "1241754e-1dcb-4273-bc84-433f084919e0",
+                "ivan5436",
+                "ivan5436@example.com",
+                true,
+                "Ivan",
+                "Petrov",
+                "1995-08-12",
+                new RoleResponse("8b4a1e2c-3d7a-4c5e-9f0b-2a6d1c3e5f70", "ROLE_CLIENT"),
+                true
+        );
+    }
+
+    @Test
+    void add() {
+        service.add(bookingResponse, ActionType.CREATE);
+        service.add(123L, "1241754e-1dcb-4273-bc84-433f084919e0");
+
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .save(captor.capture());
+        List<OutboxMessage> messages = captor.getAllValues();
+        Assertions.assertEquals(ActionType.CREATE, messages.get(0).getActionType());
+        Assertions.assertEquals(bookingResponse.userId(), messages.get(0).getUserId());
+        Assertions.assertEquals(ActionType.DELETE, messages.get(1).getActionType());
+        Assertions.assertEquals("123", messages.get(1).getPayload());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay() throws Exception {
+        OutboxMessage create = OutboxMessage.builder()
+                .id(1L)
+                .actionType(ActionType.CREATE)
+                .userId(bookingResponse.userId())
+                .payload(objectMapper.writeValueAsString(bookingResponse))
+                .build();
+        OutboxMessage delete = OutboxMessage.builder()
+                .id(2L)
+                .actionType(ActionType.DELETE)
+                .userId(bookingResponse.userId())
+                .payload("123")
+                .build();
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of(create, delete));
+        Mockito
+                .when(repository.findAllByIdForUpdate(List.of(1L, 2L)))
+                .thenReturn(List.of(create, delete));
+        Mockito
+                .when(userClient.getById(bookingResponse.userId()))
+                .thenReturn(userResponse);
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertTrue(hasMore);
+        ArgumentCaptor<List<RabbitMQProducer.Message>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(1))
+                .sendMessagesWithConfirms(captor.capture());
+        List<RabbitMQProducer.Message> sent = captor.getValue();
+        Assertions.assertEquals(2, sent.size());
+        Assertions.assertEquals(ActionType.CREATE, sent.get(0).type());
+        Assertions.assertInstanceOf(ReceiptRequest.class, sent.get(0).payload());
+        Assertions.assertEquals(ActionType.DELETE, sent.get(1).type());
+        Assertions.assertEquals(new NotificationDeleteRequest(123L, userResponse), sent.get(1).payload());
+        Mockito
+                .verify(userClient, Mockito.times(1))
+                .getById(bookingResponse.userId());
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .deleteAllByIdInBatch(List.of(1L, 2L));
+        Mockito
+                .verify(repository, Mockito.never())
+                .postpone(Mockito.anySet(), Mockito.anyDouble(), Mockito.anyDouble());
+    }
+
+    @Test
+    void relay_userServiceUnavailable() {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(1L)
+                .actionType(ActionType.DELETE)
+                .userId(bookingResponse.userId())
+                .payload("123")
+                .build();
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(repository.findAllByIdForUpdate(List.of(1L)))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(userClient.getById(bookingResponse.userId()))
+                .thenThrow(new ServerException("Сервис недоступен"));
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertFalse(hasMore);
+        Mockito
+                .verify(rabbitMQProducer, Mockito.never())
+                .sendMessagesWithConfirms(Mockito.anyList());
+        Mockito
+                .verify(repository, Mockito.never())
+                .deleteAllByIdInBatch(Mockito.anyList());
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .postpone(Set.of(1L), 1.0, 600.0);
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .moveToDeadMessages(Set.of(1L), 10);
+        Assertions.assertEquals(0, meterRegistry.get("booking.outbox.dead-messages").counter().count());
+    }
+
+    @Test
+    void relay_publishFailed() {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(1L)
+                .actionType(ActionType.DELETE)
+                .userId(bookingResponse.userId())
+                .payload("123")
+                .build();
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(repository.findAllByIdForUpdate(List.of(1L)))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(userClient.getById(bookingResponse.userId()))
+                .thenReturn(userResponse);
+        Mockito
+                .doThrow(new ServerException("Подтверждение не получено"))
+                .when(rabbitMQProducer)
+                .sendMessagesWithConfirms(Mockito.anyList());
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertFalse(hasMore);
+        Mockito
+                .verify(repository, Mockito.never())
+                .deleteAllByIdInBatch(Mockito.anyList());
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .postpone(Set.of(1L), 1.0, 600.0);
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .moveToDeadMessages(Set.of(1L), 10);
+    }
+
+    @Test
+    void relay_maxAttempts() {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(1L)
+                .actionType(ActionType.DELETE)
+                .userId(bookingResponse.userId())
+                .payload("123")
+                .attempts(9)
+                .build();
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(repository.findAllByIdForUpdate(List.of(1L)))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(userClient.getById(bookingResponse.userId()))
+                .thenThrow(new ServerException("Сервис недоступен"));
+        Mockito
+                .when(repository.moveToDeadMessages(Set.of(1L), 10))
+                .thenReturn(List.of(1L));
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertFalse(hasMore);
+        Assertions.assertEquals(1, meterRegistry.get("booking.outbox.dead-messages").counter().count());
+    }
+
+    @Test
+    void relay_lockedByOtherInstance() {
+        OutboxMessage message = OutboxMessage.builder()
+                .id(1L)
+                .actionType(ActionType.DELETE)
+                .userId(bookingResponse.userId())
+                .payload("123")
+                .build();
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of(message));
+        Mockito
+                .when(userClient.getById(bookingResponse.userId()))
+                .thenReturn(userResponse);
+        Mockito
+                .when(repository.findAllByIdForUpdate(List.of(1L)))
+                .thenReturn(List.of());
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertFalse(hasMore);
+        Mockito
+                .verifyNoInteractions(rabbitMQProducer);
+        Mockito
+                .verify(repository, Mockito.never())
+                .postpone(Mockito.anySet(), Mockito.anyDouble(), Mockito.anyDouble());
+    }
+
+    @Test
+    void relay_empty() {
+        Mockito
+                .when(repository.findBatch(2))
+                .thenReturn(List.of());
+
+        boolean hasMore = service.relay();
+
+        Assertions.assertFalse(hasMore);
+        Mockito
+                .verifyNoInteractions(userClient, rabbitMQProducer);
+    }
+}
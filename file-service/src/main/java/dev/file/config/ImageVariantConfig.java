@@ -0,0 +1,41 @@
+package dev.file.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конфигурация пула потоков для создания уменьшенных копий изображений.
+ * Размер пула по умолчанию равен количеству ядер, очередь ограничена, а при её заполнении задача отклоняется.
+ * При загрузке изображения отклонённые копии создаются в вызывающем потоке, что ограничивает скорость загрузки новых
+ * изображений скоростью их обработки, а при запросе копии её создание пропускается
+ */
+@Configuration
+public class ImageVariantConfig {
+    @Value("${image.variant.pool-size}")
+    private int poolSize;
+    @Value("${image.variant.queue-capacity}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor imageVariantExecutor(MeterRegistry meterRegistry) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("image-variant-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "image.variant", Tags.empty()).bindTo(meterRegistry);
+
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package dev.file.image.controller;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.file.image.service.ImageService;
+import dev.file.image.util.SendfileUtils;
 import dev.library.core.exception.dto.ApiErrorResponse;
 import dev.library.core.util.DataValidation;
 import dev.library.domain.file.dto.ImageRequest;
@@ -17,15 +19,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -138,9 +144,87 @@ public class ImageController {
     }
 
     /**
-     * Получение объекта изображения по идентификатору фильма и порядковому номеру изображения
+     * Получение записей изображений по идентификаторам фильмов, сгруппированных по идентификатору фильма
+     * @param movieIds - список идентификаторов фильмов
+     * @param primary - признак получения только основного изображения
+     */
+    @Operation(
+            summary = "Получение записей изображений по идентификаторам фильмов, сгруппированных по идентификатору фильма",
+            parameters = {
+                    @Parameter(
+                            name = "values",
+                            description = "Список идентификаторов фильмов",
+                            in = ParameterIn.QUERY,
+                            array = @ArraySchema(
+                                    schema = @Schema(
+                                            implementation = Long.class
+                                    )
+                            ),
+                            required = true
+                    ),
+                    @Parameter(
+                            name = "primary",
+                            description = "Получение только основного изображения (с порядковым номером 1)",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = Boolean.class,
+                                    defaultValue = "false"
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    type = "object",
+                                                    description = "Списки изображений по идентификатору фильма"
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = ApiErrorResponse.class
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search/movies")
+    public ResponseEntity<Map<Long, List<ImageResponse>>> getAllByMovieIds(@RequestParam(name = "values") Set<Long> movieIds,
+                                                                          @RequestParam(defaultValue = "false") boolean primary) {
+        Map<Long, List<ImageResponse>> images = imageService.getAllByMovieIds(movieIds, primary);
+
+        return ResponseEntity.ok(images);
+    }
+
+    /**
+     * Получение объекта изображения по идентификатору фильма и порядковому номеру изображения.
+     * Хэш содержимого файла возвращается в заголовке ETag, и при совпадении с заголовком If-None-Match файл не
+     * читается. Поддерживается заголовок Range
      * @param movieId - идентификатор фильма
      * @param number - порядковый номер изображения
+     * @param size - размер изображения
+     * @param webRequest - объект типа {@link ServletWebRequest}
      */
     @Operation(
             summary = "Получение объекта изображения по идентификатору фильма и порядковому номеру изображения",
@@ -162,16 +246,61 @@ public class ImageController {
                                     implementation = Long.class
                             ),
                             required = true
+                    ),
+                    @Parameter(
+                            name = "size",
+                            description = "Размер изображения: original, thumb (160px), card (480px) или full (1280px)",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = String.class,
+                                    defaultValue = "original"
+                            )
                     )
             },
             responses = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.IMAGE_JPEG_VALUE,
+                                            schema = @Schema(
+                                                    implementation = Resource.class
+                                            )
+                                    ),
+                                    @Content(
+                                            mediaType = MediaType.IMAGE_PNG_VALUE,
+                                            schema = @Schema(
+                                                    implementation = Resource.class
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "206",
+                            description = "Partial Content",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Not Modified",
                             content = @Content(
-                                    mediaType = "application/octet-stream",
                                     schema = @Schema(
-                                            implementation = Resource.class
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(
+                                            implementation = ApiErrorResponse.class
                                     )
                             )
                     ),
@@ -206,12 +335,20 @@ public class ImageController {
                     )
             }
     )
-    @GetMapping(path = "/resource/{movie-id}/{number}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @GetMapping("/resource/{movie-id}/{number}")
     public ResponseEntity<Resource> getResourceByMovieIdAndNumber(@PathVariable("movie-id") Long movieId,
-                                                                  @PathVariable Integer number) {
-        Resource resource = imageService.getResourceByMovieIdAndNumber(movieId, number);
+                                                                  @PathVariable Integer number,
+                                                                  @RequestParam(defaultValue = "original") String size,
+                                                                  @Parameter(hidden = true) ServletWebRequest webRequest) {
+        ImageMetadata metadata = imageService.getMetadataByMovieIdAndNumber(movieId, number, size);
+        long lastModified = metadata.lastModified() != null ? metadata.lastModified().toInstant().toEpochMilli() : -1;
+        if (webRequest.checkNotModified(metadata.contentHash(), lastModified)) {
+            return null;
+        }
+        Resource resource = imageService.getResource(metadata);
 
-        return ResponseEntity.ok(resource);
+        return SendfileUtils.toResponse(webRequest.getRequest(), resource,
+                MediaType.parseMediaType(metadata.contentType()), CacheControl.noCache().cachePublic());
     }
 
     /**
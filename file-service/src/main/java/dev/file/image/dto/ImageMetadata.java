@@ -0,0 +1,24 @@
+package dev.file.image.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Данные изображения, необходимые для отдачи файла без обращения к БД
+ * @param id - идентификатор
+ * @param movieId - идентификатор фильма
+ * @param number - порядковый номер изображения
+ * @param fileName - наименование файла
+ * @param contentHash - хэш содержимого файла (SHA-256)
+ * @param contentType - тип содержимого файла
+ * @param lastModified - дата и время последнего изменения записи
+ */
+public record ImageMetadata(
+        UUID id,
+        Long movieId,
+        Integer number,
+        String fileName,
+        String contentHash,
+        String contentType,
+        OffsetDateTime lastModified
+) {}
@@ -0,0 +1,41 @@
+package dev.file.image.entity;
+
+import dev.library.security.audit.entity.Auditable;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Сущность для описания содержимого загруженного файла, адресуемого по хэшу. Одно содержимое хранится на диске один
+ * раз, сколько бы изображений на него ни ссылалось
+ */
+@Entity
+@Table(name = "blobs")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@Builder
+public class Blob extends Auditable {
+    /**
+     * Хэш содержимого (SHA-256)
+     */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+    /**
+     * Размер содержимого в байтах
+     */
+    @Column(name = "size", nullable = false)
+    private Long size;
+    /**
+     * Тип содержимого
+     */
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+    /**
+     * Количество записей, ссылающихся на содержимое
+     */
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount;
+}
@@ -26,11 +26,23 @@ public class Image extends File {
      */
     @Column(name = "number", nullable = false)
     private Integer number;
+    /**
+     * Хэш содержимого файла (SHA-256)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    /**
+     * Тип содержимого файла
+     */
+    @Column(name = "content_type", length = 100)
+    private String contentType;
 
     @Builder
-    public Image(UUID id, String fileName, Long movieId, Integer number) {
+    public Image(UUID id, String fileName, Long movieId, Integer number, String contentHash, String contentType) {
         super(id, fileName);
         this.movieId = movieId;
         this.number = number;
+        this.contentHash = contentHash;
+        this.contentType = contentType;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package dev.file.image.entity;
+
+import dev.library.domain.file.dto.constant.ImageSize;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Сущность для описания уменьшенной копии изображения
+ */
+@Entity
+@Table(name = "images_variants")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+public class ImageVariant extends File {
+    /**
+     * Идентификатор исходного изображения
+     */
+    @Column(name = "image_id", nullable = false)
+    private UUID imageId;
+    /**
+     * Размер копии
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "size", nullable = false, length = 20)
+    private ImageSize size;
+    /**
+     * Ширина копии в пикселях
+     */
+    @Column(name = "width", nullable = false)
+    private Integer width;
+    /**
+     * Высота копии в пикселях
+     */
+    @Column(name = "height", nullable = false)
+    private Integer height;
+    /**
+     * Хэш содержимого файла копии (SHA-256)
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+    /**
+     * Тип содержимого файла копии
+     */
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Builder
+    public ImageVariant(UUID id, String fileName, UUID imageId, ImageSize size, Integer width, Integer height,
+                        String contentHash, String contentType) {
+        super(id, fileName);
+        this.imageId = imageId;
+        this.size = size;
+        this.width = width;
+        this.height = height;
+        this.contentHash = contentHash;
+        this.contentType = contentType;
+    }
+}
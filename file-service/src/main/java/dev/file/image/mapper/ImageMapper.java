@@ -1,6 +1,8 @@
 package dev.file.image.mapper;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.file.image.entity.Image;
+import dev.file.image.entity.ImageVariant;
 import dev.library.domain.file.dto.ImageResponse;
 import org.springframework.stereotype.Component;
 
@@ -21,4 +23,37 @@ public class ImageMapper {
                 image.getNumber()
         );
     }
+
+    /**
+     * Преобразование данных из {@link Image} в {@link ImageMetadata}
+     * @param image - объект типа Image
+     */
+    public ImageMetadata toMetadata(Image image) {
+        return new ImageMetadata(
+                image.getId(),
+                image.getMovieId(),
+                image.getNumber(),
+                image.getFileName(),
+                image.getContentHash(),
+                image.getContentType(),
+                image.getUpdatedDate()
+        );
+    }
+
+    /**
+     * Преобразование данных из {@link Image} и {@link ImageVariant} в {@link ImageMetadata}
+     * @param image - объект типа Image
+     * @param variant - объект типа ImageVariant
+     */
+    public ImageMetadata toMetadata(Image image, ImageVariant variant) {
+        return new ImageMetadata(
+                variant.getId(),
+                image.getMovieId(),
+                image.getNumber(),
+                variant.getFileName(),
+                variant.getContentHash(),
+                variant.getContentType(),
+                variant.getUpdatedDate()
+        );
+    }
 }
@@ -0,0 +1,61 @@
+package dev.file.image.repository;
+
+import dev.file.image.entity.Blob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий для сущности {@link Blob}
+ */
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, String> {
+    /**
+     * Получение транзакционной рекомендательной блокировки PostgreSQL по хэшу содержимого. Блокировка снимается
+     * при завершении транзакции, поэтому метод вызывается только внутри уже открытой транзакции
+     * @param hash - хэш содержимого
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('blobs'), hashtext(:hash))", nativeQuery = true)
+    int lockByHash(String hash);
+
+    /**
+     * Создание записи о содержимом или увеличение количества ссылок на уже существующее содержимое одним запросом.
+     * Строка остается заблокированной до конца транзакции, поэтому параллельное удаление последней ссылки ожидает
+     * её завершения
+     * @param hash - хэш содержимого
+     * @param size - размер содержимого в байтах
+     * @param contentType - тип содержимого
+     * @return количество ссылок после увеличения
+     */
+    @Transactional
+    @Query(value = "INSERT INTO blobs (hash, size, content_type, ref_count) VALUES (:hash, :size, :contentType, 1) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = blobs.ref_count + 1, updated_date = CURRENT_TIMESTAMP " +
+            "RETURNING ref_count", nativeQuery = true)
+    int incrementRefCount(String hash, Long size, String contentType);
+
+    /**
+     * Уменьшение количества ссылок на содержимое
+     * @param hash - хэш содержимого
+     * @return количество ссылок после уменьшения или пустой объект, если содержимое с таким хэшем не найдено
+     */
+    @Transactional
+    @Query(value = "UPDATE blobs SET ref_count = ref_count - 1, updated_date = CURRENT_TIMESTAMP " +
+            "WHERE hash = :hash RETURNING ref_count", nativeQuery = true)
+    Optional<Integer> decrementRefCount(String hash);
+
+    /**
+     * Удаление записи о содержимом, на которое не осталось ссылок
+     * @param hash - хэш содержимого
+     * @return количество удаленных записей
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Blob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteUnreferenced(String hash);
+}
@@ -5,7 +5,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +24,13 @@ public interface ImageRepository extends JpaRepository<Image, UUID> {
      */
     List<Image> findAllByMovieId(Long movieId);
 
+    /**
+     * Получение всех записей об изображениях по идентификаторам фильмов, упорядоченных по порядковому номеру
+     * @param movieIds - коллекция идентификаторов фильмов
+     */
+    @Query("SELECT i FROM Image i WHERE i.movieId IN :movieIds ORDER BY i.movieId, i.number")
+    List<Image> findAllByMovieIdIn(Collection<? extends Long> movieIds);
+
     /**
      * Получение записи об изображении по идентификатору фильма и порядковому номеру изображения
      * @param movieId - идентификатор фильма
@@ -35,18 +45,45 @@ public interface ImageRepository extends JpaRepository<Image, UUID> {
     boolean existsByFileName(String fileName);
 
     /**
-     * Получение количества записей об изображении по идентификатору фильма
+     * Получение следующего порядкового номера изображения фильма. Номер вычисляется по максимальному, а не по
+     * количеству записей, поэтому после удаления изображения номера не повторяются. Для защиты от параллельной
+     * загрузки вызывается под блокировкой {@link #lockByMovieId}
      * @param movieId - идентификатор фильма
      */
-    int countByMovieId(Long movieId);
+    @Query("SELECT COALESCE(MAX(i.number), 0) + 1 FROM Image i WHERE i.movieId = :movieId")
+    int getNextNumberByMovieId(Long movieId);
 
     /**
-     * Обновление порядкового номера по наименованию файла и идентификатору фильма
+     * Получение транзакционной рекомендательной блокировки PostgreSQL по идентификатору фильма. Блокировка снимается
+     * при завершении транзакции, поэтому метод вызывается только внутри уже открытой транзакции
      * @param movieId - идентификатор фильма
-     * @param fileName - наименование файла
-     * @param number - порядковый номер изображения
      */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:movieId)", nativeQuery = true)
+    int lockByMovieId(Long movieId);
+
+    /**
+     * Обновление порядковых номеров изображений фильма одним запросом. Наименования файлов и номера передаются
+     * массивами одинаковой длины и сопоставляются по позиции
+     * @param movieId - идентификатор фильма
+     * @param fileNames - массив наименований файлов
+     * @param numbers - массив порядковых номеров изображений
+     * @return количество обновленных записей
+     */
+    @Modifying
+    @Query(value = "UPDATE images i SET number = v.number, updated_date = CURRENT_TIMESTAMP " +
+            "FROM unnest(CAST(:fileNames AS VARCHAR[]), CAST(:numbers AS INT[])) AS v(file_name, number) " +
+            "WHERE i.movie_id = :movieId AND i.file_name = v.file_name", nativeQuery = true)
+    int editNumbersByMovieId(Long movieId, String[] fileNames, Integer[] numbers);
+
+    /**
+     * Обновление хэша и типа содержимого файла по идентификатору
+     * @param id - идентификатор
+     * @param contentHash - хэш содержимого файла
+     * @param contentType - тип содержимого файла
+     */
+    @Transactional
     @Modifying
-    @Query("UPDATE Image i SET i.number = :number WHERE i.fileName = :fileName AND i.movieId = :movieId")
-    void editNumberByMovieId(Long movieId, String fileName, Integer number);
+    @Query("UPDATE Image i SET i.contentHash = :contentHash, i.contentType = :contentType WHERE i.id = :id")
+    void updateContentHashAndContentTypeById(UUID id, String contentHash, String contentType);
 }
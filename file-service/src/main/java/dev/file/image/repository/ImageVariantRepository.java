@@ -0,0 +1,42 @@
+package dev.file.image.repository;
+
+import dev.file.image.entity.ImageVariant;
+import dev.library.domain.file.dto.constant.ImageSize;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Репозиторий для сущности {@link ImageVariant}
+ */
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, UUID> {
+    /**
+     * Получение всех копий изображения по идентификатору исходного изображения
+     * @param imageId - идентификатор исходного изображения
+     */
+    List<ImageVariant> findAllByImageId(UUID imageId);
+
+    /**
+     * Получение копии изображения по идентификатору исходного изображения и размеру
+     * @param imageId - идентификатор исходного изображения
+     * @param size - перечисление типа {@link ImageSize}
+     */
+    Optional<ImageVariant> findByImageIdAndSize(UUID imageId, ImageSize size);
+
+    /**
+     * Получение транзакционной рекомендательной блокировки PostgreSQL по идентификатору исходного изображения.
+     * Блокировка снимается при завершении транзакции, поэтому метод вызывается только внутри уже открытой транзакции
+     * @param imageId - идентификатор исходного изображения
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('image_variants'), hashtext(CAST(:imageId AS VARCHAR)))",
+            nativeQuery = true)
+    int lockByImageId(UUID imageId);
+}
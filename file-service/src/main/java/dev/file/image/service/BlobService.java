@@ -0,0 +1,30 @@
+package dev.file.image.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Интерфейс для описания абстрактных методов сервиса сущности {@link dev.file.image.entity.Blob}
+ */
+public interface BlobService {
+    /**
+     * Сохранение содержимого файла по хэшу. Если такое содержимое уже сохранено, то файл повторно не записывается, а
+     * увеличивается количество ссылок на него
+     * @param file - объект типа {@link MultipartFile}
+     * @return хэш содержимого файла (SHA-256)
+     */
+    String save(MultipartFile file);
+
+    /**
+     * Получение файла с содержимым по хэшу
+     * @param contentHash - хэш содержимого файла
+     */
+    Resource get(String contentHash);
+
+    /**
+     * Уменьшение количества ссылок на содержимое. Если ссылок не осталось, то запись и файл удаляются
+     * @param contentHash - хэш содержимого файла
+     * @return false, если содержимое с таким хэшем не хранится по хэшу (изображение загружено до появления хранилища)
+     */
+    boolean release(String contentHash);
+}
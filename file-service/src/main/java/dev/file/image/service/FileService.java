@@ -19,8 +19,27 @@ public interface FileService {
      * Сохранение файла
      * @param file - объект типа {@link MultipartFile}
      * @param fileType - перечисление типа {@link FileType}
+     * @return хэш содержимого файла (SHA-256)
      */
-    void save(MultipartFile file, FileType fileType);
+    String save(MultipartFile file, FileType fileType);
+
+    /**
+     * Сохранение содержимого в файл. Наименование файла может содержать поддиректории, которые создаются при
+     * необходимости
+     * @param fileName - наименование файла
+     * @param content - содержимое файла
+     * @param fileType - перечисление типа {@link FileType}
+     * @return хэш содержимого файла (SHA-256)
+     */
+    String save(String fileName, byte[] content, FileType fileType);
+
+    /**
+     * Вычисление хэша содержимого сохранённого файла
+     * @param fileName - наименование файла
+     * @param fileType - перечисление типа {@link FileType}
+     * @return хэш содержимого файла (SHA-256)
+     */
+    String getContentHash(String fileName, FileType fileType);
 
     /**
      * Удаление файла
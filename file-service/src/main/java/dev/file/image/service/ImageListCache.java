@@ -0,0 +1,26 @@
+package dev.file.image.service;
+
+import dev.library.domain.file.dto.ImageResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Интерфейс для описания абстрактных методов кэша списков изображений по идентификатору фильма
+ */
+public interface ImageListCache {
+    /**
+     * Получение списков изображений по идентификаторам фильмов. Списки, которых нет в кэше, загружаются из БД
+     * одним запросом
+     * @param movieIds - множество идентификаторов фильмов
+     * @return списки изображений, упорядоченные по порядковому номеру, для каждого переданного идентификатора фильма
+     */
+    Map<Long, List<ImageResponse>> getAllByMovieIds(Set<Long> movieIds);
+
+    /**
+     * Удаление из кэша списка изображений фильма после фиксации текущей транзакции
+     * @param movieId - идентификатор фильма
+     */
+    void evictByMovieId(Long movieId);
+}
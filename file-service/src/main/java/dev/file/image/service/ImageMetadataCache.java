@@ -0,0 +1,25 @@
+package dev.file.image.service;
+
+import dev.file.image.dto.ImageMetadata;
+import dev.library.domain.file.dto.constant.ImageSize;
+
+import java.util.Optional;
+
+/**
+ * Интерфейс для описания абстрактных методов кэша данных изображений по идентификатору фильма и порядковому номеру
+ */
+public interface ImageMetadataCache {
+    /**
+     * Получение данных изображения или его копии переданного размера
+     * @param movieId - идентификатор фильма
+     * @param number - порядковый номер изображения
+     * @param size - перечисление типа {@link ImageSize}
+     */
+    Optional<ImageMetadata> get(Long movieId, Integer number, ImageSize size);
+
+    /**
+     * Удаление из кэша всех изображений фильма после фиксации текущей транзакции
+     * @param movieId - идентификатор фильма
+     */
+    void evictByMovieId(Long movieId);
+}
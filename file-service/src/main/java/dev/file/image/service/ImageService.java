@@ -1,11 +1,14 @@
 package dev.file.image.service;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.library.domain.file.dto.ImageRequest;
 import dev.library.domain.file.dto.ImageResponse;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -24,11 +27,28 @@ public interface ImageService {
     List<ImageResponse> getAllByMovieId(Long movieId);
 
     /**
-     * Получение файла изображения по идентификатору фильма и порядковому номеру изображения
+     * Получение записей изображений сразу для нескольких фильмов, сгруппированных по идентификатору фильма.
+     * Данные берутся из кэша, а отсутствующие в нём фильмы загружаются из БД одним запросом
+     * @param movieIds - множество идентификаторов фильмов
+     * @param primary - признак получения только основного изображения (с порядковым номером 1)
+     */
+    Map<Long, List<ImageResponse>> getAllByMovieIds(Set<Long> movieIds, boolean primary);
+
+    /**
+     * Получение данных изображения по идентификатору фильма, порядковому номеру и размеру изображения. Данные берутся
+     * из кэша, поэтому при повторных запросах к БД и к файлу не выполняется обращений. Если копия переданного размера
+     * ещё не создана, то возвращаются данные исходного изображения, а создание копий запускается в фоне
      * @param movieId - идентификатор фильма
      * @param number - порядковый номер изображения
+     * @param size - размер изображения (original, thumb, card или full)
+     */
+    ImageMetadata getMetadataByMovieIdAndNumber(Long movieId, Integer number, String size);
+
+    /**
+     * Получение файла изображения
+     * @param metadata - объект типа {@link ImageMetadata}
      */
-    Resource getResourceByMovieIdAndNumber(Long movieId, Integer number);
+    Resource getResource(ImageMetadata metadata);
 
     /**
      * Создание нового изображения для определенного фильма
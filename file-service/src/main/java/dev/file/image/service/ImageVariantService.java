@@ -0,0 +1,36 @@
+package dev.file.image.service;
+
+import org.springframework.core.io.Resource;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Интерфейс для описания абстрактных методов сервиса сущности {@link dev.file.image.entity.ImageVariant}
+ */
+public interface ImageVariantService {
+    /**
+     * Создание уменьшенных копий изображения всех размеров в пуле потоков после фиксации текущей транзакции.
+     * Уже существующие копии не пересоздаются, а повторный вызов для изображения, копии которого уже создаются,
+     * игнорируется
+     * @param imageId - идентификатор исходного изображения
+     * @param fileName - наименование файла исходного изображения
+     * @param source - файл с содержимым исходного изображения
+     */
+    CompletableFuture<Void> createVariants(UUID imageId, String fileName, Resource source);
+
+    /**
+     * Создание недостающих копий изображения в пуле потоков при запросе копии, которая ещё не создана. Если очередь
+     * пула заполнена, то создание пропускается до следующего запроса, а не выполняется в потоке запроса
+     * @param imageId - идентификатор исходного изображения
+     * @param fileName - наименование файла исходного изображения
+     * @param source - файл с содержимым исходного изображения
+     */
+    CompletableFuture<Void> createMissingVariants(UUID imageId, String fileName, Resource source);
+
+    /**
+     * Удаление записей всех копий изображения, файлы копий удаляются после фиксации транзакции
+     * @param imageId - идентификатор исходного изображения
+     */
+    void deleteByImageId(UUID imageId);
+}
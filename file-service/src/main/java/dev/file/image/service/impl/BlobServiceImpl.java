@@ -0,0 +1,115 @@
+package dev.file.image.service.impl;
+
+import dev.file.image.repository.BlobRepository;
+import dev.file.image.service.BlobService;
+import dev.file.image.util.FileUtils;
+import dev.library.core.exception.ServerException;
+import dev.library.core.util.TransactionUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Сервис, реализующий интерфейс {@link BlobService}.
+ * Загружаемый файл потоково записывается во временный файл с вычислением хэша за один проход, после чего
+ * перемещается в директорию, определяемую хэшем. Запись о содержимом блокируется до конца транзакции, поэтому
+ * загрузка того же содержимого и удаление последней ссылки на него не выполняются одновременно.
+ * Файл удаляется только после завершения транзакции: после фиксации удаления последней ссылки или после отката
+ * загрузки. Удаление выполняется в отдельной транзакции под рекомендательной блокировкой по хэшу, которую загрузка
+ * держит до своей фиксации, поэтому файл не удаляется, если на содержимое успела сослаться параллельная загрузка
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobServiceImpl implements BlobService {
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    private final BlobRepository repository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${directory.blobs}")
+    private String directoryBlobs;
+
+    @Override
+    @Transactional
+    public String save(MultipartFile file) {
+        Path directory = Paths.get(directoryBlobs);
+        Path tempDirectory = directory.resolve(TEMP_DIRECTORY);
+        FileUtils.checkDirectoryAndCreateIfNotExists(tempDirectory);
+        Path tempFile = FileUtils.createTempFile(tempDirectory);
+        try {
+            String contentHash = FileUtils.copyFile(file.getInputStream(), tempFile);
+            repository.lockByHash(contentHash);
+            int refCount = repository.incrementRefCount(contentHash, file.getSize(),
+                    FileUtils.getContentType(file.getOriginalFilename()));
+            Path blobPath = FileUtils.getShardedPath(directory, contentHash);
+            if (!Files.exists(blobPath)) {
+                FileUtils.checkDirectoryAndCreateIfNotExists(blobPath.getParent());
+                FileUtils.moveFile(tempFile, blobPath);
+            }
+            log.debug("Saved blob with hash = {} and refCount = {}", contentHash, refCount);
+            TransactionUtils.afterCompletion(committed -> {
+                if (!committed) {
+                    deleteIfUnreferenced(contentHash);
+                }
+            });
+
+            return contentHash;
+        } catch (IOException e) {
+            throw new ServerException("Ошибка сохранения файла %s: %s".formatted(file.getOriginalFilename(), e.getMessage()));
+        } finally {
+            FileUtils.deleteFileIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public Resource get(String contentHash) {
+        return new FileSystemResource(FileUtils.getShardedPath(Paths.get(directoryBlobs), contentHash));
+    }
+
+    @Override
+    @Transactional
+    public boolean release(String contentHash) {
+        Optional<Integer> refCount = repository.decrementRefCount(contentHash);
+        if (refCount.isEmpty()) {
+            return false;
+        }
+        if (refCount.get() <= 0) {
+            repository.deleteUnreferenced(contentHash);
+            TransactionUtils.afterCommit(() -> deleteIfUnreferenced(contentHash));
+        }
+
+        return true;
+    }
+
+    /**
+     * Удаление файла содержимого, если запись о нём отсутствует. Вызывается после завершения транзакции, поэтому
+     * выполняется в новой транзакции
+     * @param contentHash - хэш содержимого
+     */
+    private void deleteIfUnreferenced(String contentHash) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.lockByHash(contentHash);
+            if (!repository.existsById(contentHash)) {
+                FileUtils.deleteFileIfExists(FileUtils.getShardedPath(Paths.get(directoryBlobs), contentHash));
+                log.debug("Deleted blob with hash = {}", contentHash);
+            }
+        });
+    }
+}
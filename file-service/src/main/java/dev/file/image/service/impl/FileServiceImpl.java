@@ -38,10 +38,25 @@ public class FileServiceImpl implements FileService {
     }
 
     @Override
-    public void save(MultipartFile file, FileType fileType) {
+    public String save(MultipartFile file, FileType fileType) {
         Path directory = getDirectory(fileType);
         FileUtils.checkDirectoryAndCreateIfNotExists(directory);
-        FileUtils.saveFile(file, directory);
+
+        return FileUtils.saveFile(file, directory);
+    }
+
+    @Override
+    public String save(String fileName, byte[] content, FileType fileType) {
+        Path filePath = getFilePath(fileName, fileType);
+        Path directory = filePath.getParent();
+        FileUtils.checkDirectoryAndCreateIfNotExists(directory);
+
+        return FileUtils.saveFile(filePath.getFileName().toString(), content, directory);
+    }
+
+    @Override
+    public String getContentHash(String fileName, FileType fileType) {
+        return FileUtils.getContentHash(getFilePath(fileName, fileType));
     }
 
     @Override
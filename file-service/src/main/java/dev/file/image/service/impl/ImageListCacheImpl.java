@@ -0,0 +1,77 @@
+package dev.file.image.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.file.image.mapper.ImageMapper;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.service.ImageListCache;
+import dev.library.core.util.TransactionUtils;
+import dev.library.domain.file.dto.ImageResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис, реализующий интерфейс {@link ImageListCache}.
+ * Фильмы без изображений кэшируются как пустой список, так как при создании изображения запись удаляется из кэша.
+ * Время жизни записи ограничено, чтобы изменения, выполненные другими экземплярами сервиса, попадали в кэш
+ * не позже чем через {@code cache.image-list.ttl}
+ */
+@Service
+@RequiredArgsConstructor
+public class ImageListCacheImpl implements ImageListCache {
+    private final ImageRepository repository;
+    private final ImageMapper mapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.image-list.maximum-size}")
+    private long maximumSize;
+    @Value("${cache.image-list.ttl}")
+    private Duration ttl;
+
+    private Cache<Long, List<ImageResponse>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "image-list");
+    }
+
+    @Override
+    public Map<Long, List<ImageResponse>> getAllByMovieIds(Set<Long> movieIds) {
+        return cache.getAll(movieIds, this::loadAll);
+    }
+
+    @Override
+    public void evictByMovieId(Long movieId) {
+        TransactionUtils.afterCommit(() -> cache.invalidate(movieId));
+    }
+
+    /**
+     * Загрузка списков изображений отсутствующих в кэше фильмов одним запросом к БД
+     * @param movieIds - множество идентификаторов фильмов
+     */
+    private Map<Long, List<ImageResponse>> loadAll(Set<? extends Long> movieIds) {
+        Map<Long, List<ImageResponse>> images = repository.findAllByMovieIdIn(movieIds).stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.groupingBy(ImageResponse::movieId));
+        Map<Long, List<ImageResponse>> result = new HashMap<>();
+        movieIds.forEach(movieId -> result.put(movieId, List.copyOf(images.getOrDefault(movieId, List.of()))));
+
+        return result;
+    }
+}
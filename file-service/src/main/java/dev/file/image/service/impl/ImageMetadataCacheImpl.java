@@ -0,0 +1,105 @@
+package dev.file.image.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.file.image.dto.ImageMetadata;
+import dev.file.image.entity.Image;
+import dev.file.image.mapper.ImageMapper;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.repository.ImageVariantRepository;
+import dev.file.image.service.FileService;
+import dev.file.image.service.ImageMetadataCache;
+import dev.file.image.util.FileUtils;
+import dev.library.core.util.TransactionUtils;
+import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Сервис, реализующий интерфейс {@link ImageMetadataCache}.
+ * Отсутствующие изображения не кэшируются. Время жизни записи ограничено, чтобы изменения, выполненные другими
+ * экземплярами сервиса, попадали в кэш не позже чем через {@code cache.image-metadata.ttl}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageMetadataCacheImpl implements ImageMetadataCache {
+    private final ImageRepository repository;
+    private final ImageVariantRepository variantRepository;
+    private final ImageMapper mapper;
+    private final FileService fileService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.image-metadata.maximum-size}")
+    private long maximumSize;
+    @Value("${cache.image-metadata.ttl}")
+    private Duration ttl;
+
+    private Cache<Key, ImageMetadata> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "image-metadata");
+    }
+
+    @Override
+    public Optional<ImageMetadata> get(Long movieId, Integer number, ImageSize size) {
+        return Optional.ofNullable(cache.get(new Key(movieId, number, size), this::load));
+    }
+
+    @Override
+    public void evictByMovieId(Long movieId) {
+        TransactionUtils.afterCommit(() -> cache.asMap().keySet().removeIf(key -> key.movieId().equals(movieId)));
+    }
+
+    /**
+     * Загрузка данных изображения из БД. Для изображений, загруженных до появления хэша содержимого, хэш
+     * вычисляется по файлу и сохраняется в БД. Копия, которая ещё не создана, не кэшируется
+     * @param key - ключ кэша
+     */
+    private ImageMetadata load(Key key) {
+        return repository.findByMovieIdAndNumber(key.movieId(), key.number())
+                .map(image -> key.size() == ImageSize.ORIGINAL
+                        ? toMetadata(image)
+                        : variantRepository.findByImageIdAndSize(image.getId(), key.size())
+                                .map(variant -> mapper.toMetadata(image, variant))
+                                .orElse(null))
+                .orElse(null);
+    }
+
+    private ImageMetadata toMetadata(Image image) {
+        ImageMetadata metadata = mapper.toMetadata(image);
+        if (metadata.contentHash() != null) {
+            return metadata;
+        }
+        log.debug("Calculating content hash for image with id = {}", image.getId());
+        String contentHash = fileService.getContentHash(image.getFileName(), FileType.IMAGE);
+        String contentType = FileUtils.getContentType(image.getFileName());
+        repository.updateContentHashAndContentTypeById(image.getId(), contentHash, contentType);
+
+        return new ImageMetadata(metadata.id(), metadata.movieId(), metadata.number(), metadata.fileName(),
+                contentHash, contentType, metadata.lastModified());
+    }
+
+    /**
+     * Ключ кэша
+     * @param movieId - идентификатор фильма
+     * @param number - порядковый номер изображения
+     * @param size - размер изображения
+     */
+    private record Key(Long movieId, Integer number, ImageSize size) {}
+}
@@ -1,10 +1,15 @@
 package dev.file.image.service.impl;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.file.image.entity.Image;
 import dev.file.image.mapper.ImageMapper;
 import dev.file.image.repository.ImageRepository;
+import dev.file.image.service.BlobService;
 import dev.file.image.service.FileService;
+import dev.file.image.service.ImageListCache;
+import dev.file.image.service.ImageMetadataCache;
 import dev.file.image.service.ImageService;
+import dev.file.image.service.ImageVariantService;
 import dev.file.image.util.FileUtils;
 import dev.library.core.exception.BadRequestException;
 import dev.library.core.exception.EntityAlreadyExistsException;
@@ -12,6 +17,7 @@ import dev.library.core.exception.EntityNotFoundException;
 import dev.library.domain.file.dto.ImageRequest;
 import dev.library.domain.file.dto.ImageResponse;
 import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -31,6 +37,10 @@ public class ImageServiceImpl implements ImageService {
     private final ImageRepository repository;
     private final ImageMapper mapper;
     private final FileService fileService;
+    private final BlobService blobService;
+    private final ImageMetadataCache imageMetadataCache;
+    private final ImageListCache imageListCache;
+    private final ImageVariantService imageVariantService;
 
     @Value("${errors.image.id.not-found}")
     private String errorsImageIdNotFound;
@@ -44,6 +54,12 @@ public class ImageServiceImpl implements ImageService {
     private String errorsImageNumberBadRequest;
     @Value("${errors.image.number-is-ordinal.bad-request}")
     private String errorsImageNumberIsOrdinalBadRequest;
+    @Value("${errors.image.size.bad-request}")
+    private String errorsImageSizeBadRequest;
+    @Value("${errors.image.movie-ids.bad-request}")
+    private String errorsImageMovieIdsBadRequest;
+    @Value("${image.bulk.max-movie-ids}")
+    private int maxMovieIds;
 
     @Override
     public List<ImageResponse> getAll() {
@@ -64,15 +80,45 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
-    public Resource getResourceByMovieIdAndNumber(Long movieId, Integer number) {
-        Optional<Image> optionalImage = repository.findByMovieIdAndNumber(movieId, number);
-        if (optionalImage.isEmpty()) {
-            String errorMessage = errorsImageMovieIdAndNumberNotFound.formatted(movieId, number);
-            throw new EntityNotFoundException(errorMessage);
+    public Map<Long, List<ImageResponse>> getAllByMovieIds(Set<Long> movieIds, boolean primary) {
+        if (movieIds.size() > maxMovieIds) {
+            throw new BadRequestException(errorsImageMovieIdsBadRequest.formatted(maxMovieIds));
         }
-        Image image = optionalImage.get();
+        Map<Long, List<ImageResponse>> images = imageListCache.getAllByMovieIds(movieIds);
+        if (!primary) {
+            return images;
+        }
+
+        return images.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stream()
+                        .filter(image -> image.number() == 1)
+                        .toList()));
+    }
+
+    @Override
+    public ImageMetadata getMetadataByMovieIdAndNumber(Long movieId, Integer number, String size) {
+        ImageSize imageSize = getImageSize(size);
+        Optional<ImageMetadata> optionalMetadata = imageMetadataCache.get(movieId, number, imageSize);
+        if (optionalMetadata.isPresent() || imageSize == ImageSize.ORIGINAL) {
+            return optionalMetadata.orElseThrow(() -> createNotFoundException(movieId, number));
+        }
+        ImageMetadata metadata = imageMetadataCache.get(movieId, number, ImageSize.ORIGINAL)
+                .orElseThrow(() -> createNotFoundException(movieId, number));
+        imageVariantService.createMissingVariants(metadata.id(), metadata.fileName(), getResource(metadata));
 
-        return fileService.get(image.getFileName(), FileType.IMAGE);
+        return metadata;
+    }
+
+    @Override
+    public Resource getResource(ImageMetadata metadata) {
+        if (metadata.contentHash() != null) {
+            Resource resource = blobService.get(metadata.contentHash());
+            if (resource.exists()) {
+                return resource;
+            }
+        }
+
+        return fileService.get(metadata.fileName(), FileType.IMAGE);
     }
 
     @Override
@@ -84,15 +130,20 @@ public class ImageServiceImpl implements ImageService {
             String errorMessage = errorsImageNameAlreadyExists.formatted(fileName);
             throw new EntityAlreadyExistsException(errorMessage);
         }
-        fileService.save(file,FileType.IMAGE);
-        int counts = repository.countByMovieId(movieId);
+        String contentHash = blobService.save(file);
+        repository.lockByMovieId(movieId);
+        int number = repository.getNextNumberByMovieId(movieId);
 
         Image image = Image.builder()
                 .movieId(movieId)
                 .fileName(fileName)
-                .number(counts + 1)
+                .number(number)
+                .contentHash(contentHash)
+                .contentType(FileUtils.getContentType(fileName))
                 .build();
-        repository.save(image);
+        Image savedImage = repository.save(image);
+        imageListCache.evictByMovieId(movieId);
+        imageVariantService.createVariants(savedImage.getId(), fileName, blobService.get(contentHash));
     }
 
     @Override
@@ -109,8 +160,16 @@ public class ImageServiceImpl implements ImageService {
         if (!isOrdinalNumbers(requests)) {
             throw new BadRequestException(errorsImageNumberIsOrdinalBadRequest);
         }
-        requests.forEach(request -> repository
-                .editNumberByMovieId(request.movieId(), request.fileName(), request.number()));
+        if (requests.isEmpty()) {
+            return;
+        }
+        Long movieId = requests.getFirst().movieId();
+        String[] fileNames = requests.stream().map(ImageRequest::fileName).toArray(String[]::new);
+        Integer[] imageNumbers = requests.stream().map(ImageRequest::number).toArray(Integer[]::new);
+        repository.lockByMovieId(movieId);
+        repository.editNumbersByMovieId(movieId, fileNames, imageNumbers);
+        imageMetadataCache.evictByMovieId(movieId);
+        imageListCache.evictByMovieId(movieId);
     }
 
     @Override
@@ -121,8 +180,13 @@ public class ImageServiceImpl implements ImageService {
                     String errorMessage = errorsImageIdNotFound.formatted(id);
                     return new EntityNotFoundException(errorMessage);
                 });
-        fileService.delete(image.getFileName(), FileType.IMAGE);
+        imageVariantService.deleteByImageId(id);
+        if (image.getContentHash() == null || !blobService.release(image.getContentHash())) {
+            fileService.delete(image.getFileName(), FileType.IMAGE);
+        }
         repository.deleteById(id);
+        imageMetadataCache.evictByMovieId(image.getMovieId());
+        imageListCache.evictByMovieId(image.getMovieId());
     }
 
     /**
@@ -139,4 +203,21 @@ public class ImageServiceImpl implements ImageService {
 
         return true;
     }
+
+    /**
+     * Получение размера изображения по значению из запроса
+     * @param size - значение размера изображения
+     */
+    private ImageSize getImageSize(String size) {
+        return Arrays.stream(ImageSize.values())
+                .filter(imageSize -> imageSize.getValue().equals(size))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException(errorsImageSizeBadRequest.formatted(size)));
+    }
+
+    private EntityNotFoundException createNotFoundException(Long movieId, Integer number) {
+        String errorMessage = errorsImageMovieIdAndNumberNotFound.formatted(movieId, number);
+
+        return new EntityNotFoundException(errorMessage);
+    }
 }
@@ -0,0 +1,238 @@
+package dev.file.image.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.file.image.entity.ImageVariant;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.repository.ImageVariantRepository;
+import dev.file.image.service.FileService;
+import dev.file.image.service.ImageVariantService;
+import dev.file.image.util.FileUtils;
+import dev.file.image.util.ImageUtils;
+import dev.library.core.exception.ServerException;
+import dev.library.core.util.TransactionUtils;
+import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис, реализующий интерфейс {@link ImageVariantService}.
+ * Копии создаются в пуле потоков {@code imageVariantExecutor} от большей к меньшей: исходное изображение
+ * декодируется один раз, а каждая следующая копия уменьшается из предыдущей. Если копия не уменьшена и после
+ * кодирования получилась больше исходного файла, то сохраняется содержимое исходного файла. Изображения, для
+ * которых не удалось создать копии, повторно не обрабатываются в течение {@code image.variant.retry-after}.
+ * Запись о копии сохраняется и копии удаляются под рекомендательной блокировкой по идентификатору изображения, поэтому
+ * копия, созданная во время удаления изображения, не остаётся без записи: её файл удаляется, если изображения уже нет
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantServiceImpl implements ImageVariantService {
+    private static final String VARIANTS_DIRECTORY = "variants";
+
+    private final ImageVariantRepository repository;
+    private final ImageRepository imageRepository;
+    private final FileService fileService;
+    private final ThreadPoolExecutor imageVariantExecutor;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<UUID> inProgress = ConcurrentHashMap.newKeySet();
+
+    @Value("${image.variant.quality}")
+    private float quality;
+    @Value("${image.variant.retry-after}")
+    private Duration retryAfter;
+
+    private Cache<UUID, Boolean> failed;
+    private Timer variantTimer;
+
+    @PostConstruct
+    public void init() {
+        variantTimer = Timer.builder("image.variant.duration")
+                .description("Время создания уменьшенных копий изображения")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        failed = Caffeine.newBuilder()
+                .expireAfterWrite(retryAfter)
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<Void> createVariants(UUID imageId, String fileName, Resource source) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        TransactionUtils.afterCommit(() -> submit(imageId, fileName, source, future, true));
+
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<Void> createMissingVariants(UUID imageId, String fileName, Resource source) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submit(imageId, fileName, source, future, false);
+
+        return future;
+    }
+
+    @Override
+    public void deleteByImageId(UUID imageId) {
+        repository.lockByImageId(imageId);
+        List<ImageVariant> variants = repository.findAllByImageId(imageId);
+        repository.deleteAll(variants);
+        failed.invalidate(imageId);
+        TransactionUtils.afterCommit(() ->
+                variants.forEach(variant -> fileService.delete(variant.getFileName(), FileType.IMAGE)));
+    }
+
+    /**
+     * Передача создания копий изображения в пул потоков. Если копии изображения уже создаются или недавно не
+     * были созданы, то вызов игнорируется
+     * @param imageId - идентификатор исходного изображения
+     * @param fileName - наименование файла исходного изображения
+     * @param source - файл с содержимым исходного изображения
+     * @param future - объект типа {@link CompletableFuture}, завершаемый после создания копий
+     * @param runIfBusy - создавать ли копии в вызывающем потоке, если очередь пула заполнена
+     */
+    private void submit(UUID imageId, String fileName, Resource source, CompletableFuture<Void> future,
+                        boolean runIfBusy) {
+        if (failed.getIfPresent(imageId) != null || !inProgress.add(imageId)) {
+            future.complete(null);
+            return;
+        }
+        Runnable task = () -> {
+            try {
+                variantTimer.record(() -> create(imageId, fileName, source));
+                future.complete(null);
+            } catch (RuntimeException ex) {
+                failed.put(imageId, Boolean.TRUE);
+                log.error("Failed to create variants for image with id = {}", imageId, ex);
+                future.completeExceptionally(ex);
+            } finally {
+                inProgress.remove(imageId);
+            }
+        };
+        try {
+            imageVariantExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            if (runIfBusy) {
+                task.run();
+                return;
+            }
+            inProgress.remove(imageId);
+            log.debug("Creation of variants for image with id = {} skipped, the pool queue is full", imageId);
+            future.complete(null);
+        }
+    }
+
+    /**
+     * Создание недостающих копий изображения в текущем потоке
+     * @param imageId - идентификатор исходного изображения
+     * @param fileName - наименование файла исходного изображения
+     * @param source - файл с содержимым исходного изображения
+     */
+    private void create(UUID imageId, String fileName, Resource source) {
+        Set<ImageSize> existingSizes = repository.findAllByImageId(imageId).stream()
+                .map(ImageVariant::getSize)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(ImageSize.class)));
+        List<ImageSize> sizes = Arrays.stream(ImageSize.values())
+                .filter(size -> size != ImageSize.ORIGINAL)
+                .sorted(Comparator.comparingInt(ImageSize::getWidth).reversed())
+                .toList();
+        if (existingSizes.containsAll(sizes)) {
+            return;
+        }
+        byte[] content = readFile(source);
+        BufferedImage image = ImageUtils.read(new ByteArrayInputStream(content));
+        if (image == null) {
+            throw new ServerException("Формат изображения %s не поддерживается".formatted(fileName));
+        }
+        int sourceWidth = image.getWidth();
+        for (ImageSize size : sizes) {
+            image = ImageUtils.resize(image, size.getWidth());
+            if (existingSizes.contains(size)) {
+                continue;
+            }
+            byte[] variantContent = ImageUtils.write(image, quality);
+            String extension = ImageUtils.getExtension(image);
+            if (image.getWidth() == sourceWidth && content.length <= variantContent.length) {
+                variantContent = content;
+                extension = StringUtils.getFilenameExtension(fileName);
+            }
+            String variantFileName = "%s/%s/%s-%s.%s".formatted(VARIANTS_DIRECTORY, imageId.toString().substring(0, 2),
+                    imageId, size.getValue(), extension);
+            String contentHash = fileService.save(variantFileName, variantContent, FileType.IMAGE);
+            ImageVariant variant = ImageVariant.builder()
+                    .imageId(imageId)
+                    .size(size)
+                    .fileName(variantFileName)
+                    .width(image.getWidth())
+                    .height(image.getHeight())
+                    .contentHash(contentHash)
+                    .contentType(FileUtils.getContentType(variantFileName))
+                    .build();
+            if (!saveIfImageExists(variant)) {
+                fileService.delete(variantFileName, FileType.IMAGE);
+                log.debug("Image with id = {} was deleted while its variants were created", imageId);
+                return;
+            }
+            log.debug("Created variant {} with size {} bytes for image with id = {}", size, variantContent.length, imageId);
+        }
+    }
+
+    /**
+     * Сохранение записи о копии под блокировкой по идентификатору изображения, если изображение ещё существует
+     * @param variant - объект типа {@link ImageVariant}
+     * @return true, если запись сохранена
+     */
+    private boolean saveIfImageExists(ImageVariant variant) {
+        Boolean saved = new TransactionTemplate(transactionManager).execute(status -> {
+            repository.lockByImageId(variant.getImageId());
+            if (!imageRepository.existsById(variant.getImageId())) {
+                return false;
+            }
+            repository.save(variant);
+            return true;
+        });
+
+        return Boolean.TRUE.equals(saved);
+    }
+
+    /**
+     * Чтение содержимого файла исходного изображения
+     * @param source - файл с содержимым исходного изображения
+     */
+    private byte[] readFile(Resource source) {
+        try (InputStream inputStream = source.getInputStream()) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new ServerException("Ошибка чтения файла %s: %s".formatted(source.getDescription(), e.getMessage()));
+        }
+    }
+}
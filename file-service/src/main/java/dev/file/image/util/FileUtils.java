@@ -4,13 +4,21 @@ import dev.library.core.exception.BadRequestException;
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.ServerException;
 import dev.library.domain.file.dto.constant.ImageExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Objects;
 
 /**
@@ -32,21 +40,122 @@ public class FileUtils {
     }
 
     /**
-     * Сохранение файла по переданному пути
+     * Сохранение файла по переданному пути с вычислением хэша содержимого во время записи
      * @param file - объект типа {@link MultipartFile}
      * @param path - объект типа {@link Path}
+     * @return хэш содержимого файла (SHA-256) в шестнадцатеричном виде
      */
-    public static void saveFile(MultipartFile file, Path path) {
+    public static String saveFile(MultipartFile file, Path path) {
         String fileName = file.getOriginalFilename();
         Path filePath = path.resolve(Objects.requireNonNull(fileName));
+        if (Files.exists(filePath)) {
+            throw new EntityAlreadyExistsException("Файл c именем %s уже существует".formatted(fileName));
+        }
         try {
-            if (Files.exists(filePath)) {
-                throw new EntityAlreadyExistsException("Файл c именем %s уже существует".formatted(fileName));
-            }
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            return copyFile(file.getInputStream(), filePath);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка сохранения файла %s: %s".formatted(fileName, e.getMessage()));
+        }
+    }
+
+    /**
+     * Потоковое копирование содержимого в файл с вычислением хэша за один проход. Содержимое не загружается в
+     * память целиком, а существующий файл перезаписывается
+     * @param inputStream - объект типа {@link InputStream}
+     * @param filePath - путь до файла
+     * @return хэш содержимого файла (SHA-256) в шестнадцатеричном виде
+     */
+    public static String copyFile(InputStream inputStream, Path filePath) {
+        MessageDigest digest = createDigest();
+        try (InputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+            Files.copy(digestInputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка сохранения файла %s: %s".formatted(filePath, e.getMessage()));
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Получение пути до файла, адресуемого по хэшу содержимого. Файлы распределяются по двум уровням поддиректорий
+     * по первым четырем символам хэша, чтобы количество файлов в одной директории не росло вместе с каталогом
+     * @param directory - корневая директория
+     * @param contentHash - хэш содержимого файла
+     */
+    public static Path getShardedPath(Path directory, String contentHash) {
+        return directory
+                .resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    /**
+     * Создание временного файла в переданной директории
+     * @param directory - объект типа {@link Path}
+     */
+    public static Path createTempFile(Path directory) {
+        try {
+            return Files.createTempFile(directory, "upload-", ".tmp");
+        } catch (IOException e) {
+            throw new ServerException("Ошибка создания временного файла в директории %s".formatted(directory));
+        }
+    }
+
+    /**
+     * Атомарное перемещение файла
+     * @param source - путь до исходного файла
+     * @param target - путь до нового файла
+     */
+    public static void moveFile(Path source, Path target) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка перемещения файла %s в %s".formatted(source, target));
+        }
+    }
+
+    /**
+     * Сохранение содержимого в файл по переданному пути. Существующий файл с таким же наименованием перезаписывается
+     * @param fileName - наименование файла
+     * @param content - содержимое файла
+     * @param path - объект типа {@link Path}
+     * @return хэш содержимого файла (SHA-256) в шестнадцатеричном виде
+     */
+    public static String saveFile(String fileName, byte[] content, Path path) {
+        Path filePath = path.resolve(fileName);
+        try {
+            Files.write(filePath, content);
         } catch (IOException e) {
             throw new ServerException("Ошибка сохранения файла %s: %s".formatted(fileName, e.getMessage()));
         }
+
+        return HexFormat.of().formatHex(createDigest().digest(content));
+    }
+
+    /**
+     * Вычисление хэша содержимого файла (SHA-256)
+     * @param file - объект типа {@link Path}
+     * @return хэш содержимого файла в шестнадцатеричном виде
+     */
+    public static String getContentHash(Path file) {
+        MessageDigest digest = createDigest();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), digest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new ServerException("Ошибка чтения файла %s: %s".formatted(file, e.getMessage()));
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Получение типа содержимого файла по его наименованию
+     * @param fileName - наименование файла
+     */
+    public static String getContentType(String fileName) {
+        return MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
     }
 
     /**
@@ -61,6 +170,18 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Удаление файла по переданному пути, если он существует
+     * @param file - объект типа {@link Path}
+     */
+    public static void deleteFileIfExists(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка удаления файла %s".formatted(file));
+        }
+    }
+
     /**
      * Проверка расширения загружаемого файла
      * @param image - объект типа {@link MultipartFile}
@@ -73,4 +194,12 @@ public class FileUtils {
             throw new BadRequestException("Загружаемый файл должен быть изображением в формате jpeg, jpg или png");
         }
     }
-}
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+}
\ No newline at end of file
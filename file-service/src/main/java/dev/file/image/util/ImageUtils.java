@@ -0,0 +1,112 @@
+package dev.file.image.util;
+
+import dev.library.core.exception.ServerException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Вспомогательный класс для создания уменьшенных копий изображений
+ */
+public class ImageUtils {
+    /**
+     * Чтение изображения
+     * @param inputStream - объект типа {@link InputStream}
+     * @return изображение или null, если формат изображения не поддерживается
+     */
+    public static BufferedImage read(InputStream inputStream) {
+        try (inputStream) {
+            return ImageIO.read(inputStream);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка чтения изображения: %s".formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Уменьшение изображения до переданной ширины с сохранением пропорций. Изображение уменьшается последовательно
+     * в два раза, пока не станет меньше удвоенной целевой ширины, что при билинейной интерполяции дает качество,
+     * близкое к бикубической, за меньшее время. Изображения уже меньшей ширины не увеличиваются
+     * @param source - исходное изображение
+     * @param maxWidth - максимальная ширина
+     */
+    public static BufferedImage resize(BufferedImage source, int maxWidth) {
+        int type = hasAlpha(source) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        if (source.getWidth() <= maxWidth) {
+            return source.getType() == type ? source : draw(source, source.getWidth(), source.getHeight(), type);
+        }
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * maxWidth / source.getWidth()));
+        BufferedImage result = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        while (width / 2 >= maxWidth * 2) {
+            width /= 2;
+            height /= 2;
+            result = draw(result, width, height, type);
+        }
+
+        return draw(result, maxWidth, targetHeight, type);
+    }
+
+    /**
+     * Кодирование изображения: без прозрачности в JPEG с переданным качеством, с прозрачностью в PNG
+     * @param image - изображение
+     * @param quality - качество JPEG от 0 до 1
+     */
+    public static byte[] write(BufferedImage image, float quality) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            if (hasAlpha(image)) {
+                ImageIO.write(image, "png", outputStream);
+                return outputStream.toByteArray();
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                writer.setOutput(imageOutputStream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new ServerException("Ошибка кодирования изображения: %s".formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Получение расширения файла, в котором будет сохранено изображение методом {@link #write}
+     * @param image - изображение
+     */
+    public static String getExtension(BufferedImage image) {
+        return hasAlpha(image) ? "png" : "jpg";
+    }
+
+    private static boolean hasAlpha(BufferedImage image) {
+        return image.getColorModel().hasAlpha();
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, int type) {
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return result;
+    }
+}
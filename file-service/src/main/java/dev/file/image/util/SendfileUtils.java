@@ -0,0 +1,93 @@
+package dev.file.image.util;
+
+import dev.library.core.exception.ServerException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Вспомогательный класс для отдачи файлов через sendfile контейнера сервлетов.
+ * Содержимое файла передаётся в сокет ядром ОС без копирования в память приложения. Если контейнер не поддерживает
+ * sendfile или запрошено несколько диапазонов, то файл отдаётся обычным способом, а диапазоны обрабатывает Spring MVC
+ */
+public class SendfileUtils {
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Получение ответа с файлом. Поддерживается заголовок Range с одним диапазоном
+     * @param request - объект типа {@link HttpServletRequest}
+     * @param resource - файл
+     * @param mediaType - тип содержимого файла
+     * @param cacheControl - объект типа {@link CacheControl}
+     */
+    public static ResponseEntity<Resource> toResponse(HttpServletRequest request, Resource resource,
+                                                      MediaType mediaType, CacheControl cacheControl) {
+        if (!isSupported(request) || !resource.isFile() || !resource.exists()) {
+            return createBuilder(HttpStatus.OK, mediaType, cacheControl).body(resource);
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(request.getHeader(HttpHeaders.RANGE));
+        } catch (IllegalArgumentException e) {
+            return createBuilder(HttpStatus.OK, mediaType, cacheControl).body(resource);
+        }
+        if (ranges.size() > 1) {
+            return createBuilder(HttpStatus.OK, mediaType, cacheControl).body(resource);
+        }
+        File file = getFile(resource);
+        long length = file.length();
+        long start = 0;
+        long end = length - 1;
+        ResponseEntity.BodyBuilder builder;
+        if (ranges.isEmpty()) {
+            builder = createBuilder(HttpStatus.OK, mediaType, cacheControl);
+        } else {
+            start = ranges.getFirst().getRangeStart(length);
+            end = ranges.getFirst().getRangeEnd(length);
+            if (start >= length || start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            builder = createBuilder(HttpStatus.PARTIAL_CONTENT, mediaType, cacheControl)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes %d-%d/%d".formatted(start, end, length));
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1);
+
+        return builder.contentLength(end - start + 1).build();
+    }
+
+    /**
+     * Проверка поддержки sendfile для запроса. Для запросов HEAD тело ответа не передаётся
+     * @param request - объект типа {@link HttpServletRequest}
+     */
+    private static boolean isSupported(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE));
+    }
+
+    private static ResponseEntity.BodyBuilder createBuilder(HttpStatus status, MediaType mediaType,
+                                                            CacheControl cacheControl) {
+        return ResponseEntity.status(status)
+                .contentType(mediaType)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+    }
+
+    private static File getFile(Resource resource) {
+        try {
+            return resource.getFile();
+        } catch (IOException e) {
+            throw new ServerException("Ошибка получения доступа к ресурсу %s".formatted(resource.getDescription()));
+        }
+    }
+}
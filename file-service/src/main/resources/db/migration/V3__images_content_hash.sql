@@ -0,0 +1,4 @@
+-- Хэш содержимого файла изображения (SHA-256), используется в качестве ETag
+ALTER TABLE images ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+-- Тип содержимого файла изображения
+ALTER TABLE images ADD COLUMN IF NOT EXISTS content_type VARCHAR(100);
@@ -0,0 +1,28 @@
+-- Уменьшенные копии изображений для фильмов
+CREATE TABLE IF NOT EXISTS images_variants (
+    -- Идентификатор
+    id UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    -- Идентификатор исходного изображения
+    image_id UUID NOT NULL REFERENCES images(id) ON DELETE CASCADE,
+    -- Размер копии
+    size VARCHAR(20) NOT NULL,
+    -- Наименование файла копии
+    file_name VARCHAR(255) UNIQUE NOT NULL,
+    -- Ширина копии в пикселях
+    width INT NOT NULL,
+    -- Высота копии в пикселях
+    height INT NOT NULL,
+    -- Хэш содержимого файла копии (SHA-256)
+    content_hash VARCHAR(64) NOT NULL,
+    -- Тип содержимого файла копии
+    content_type VARCHAR(100) NOT NULL,
+    -- Кто создал запись
+    created_by VARCHAR(100),
+    -- Дата и время создания записи
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Кто обновил запись
+    updated_by VARCHAR(100),
+    -- Дата и время обновления записи
+    updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (image_id, size)
+);
\ No newline at end of file
@@ -0,0 +1,19 @@
+-- Содержимое загруженных файлов, адресуемое по хэшу
+CREATE TABLE IF NOT EXISTS blobs (
+    -- Хэш содержимого (SHA-256)
+    hash VARCHAR(64) PRIMARY KEY,
+    -- Размер содержимого в байтах
+    size BIGINT NOT NULL,
+    -- Тип содержимого
+    content_type VARCHAR(100) NOT NULL,
+    -- Количество записей об изображениях, ссылающихся на содержимое
+    ref_count INT NOT NULL,
+    -- Кто создал запись
+    created_by VARCHAR(100),
+    -- Дата и время создания записи
+    created_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Кто обновил запись
+    updated_by VARCHAR(100),
+    -- Дата и время обновления записи
+    updated_date TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
\ No newline at end of file
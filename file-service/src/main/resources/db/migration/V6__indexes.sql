@@ -0,0 +1,2 @@
+-- Поиск изображений по идентификатору фильма и порядковому номеру
+CREATE INDEX IF NOT EXISTS images_movie_id_number_idx ON images (movie_id, number);
\ No newline at end of file
@@ -0,0 +1,127 @@
+package dev.file.benchmark;
+
+import dev.file.image.util.ImageUtils;
+import dev.library.domain.file.dto.constant.ImageSize;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Скорость создания уменьшенных копий на наборе изображений: тестовые изображения модуля и постер типичного для
+ * загрузки размера 2000x3000. Метод {@link #resize} измеряет уменьшение и кодирование одного размера, метод
+ * {@link #variants} - полный цикл для одного загруженного изображения (декодирование и все размеры по цепочке).
+ * Результат выводится в изображениях в секунду.
+ * Запуск: {@code mvn -pl file-service -am test-compile}, затем метод {@link #main} с classpath тестов модуля
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageResizeBenchmark {
+    private static final String[] SAMPLES = {
+            "black-cab-poster.jpeg", "paddington-in-peru-poster.jpg", "test-two.png", "test.jpg"
+    };
+    /**
+     * Количество изображений набора: тестовые изображения и постер. Значение аннотации должно быть константой,
+     * поэтому соответствие набору проверяется при подготовке
+     */
+    private static final int SAMPLES_COUNT = 5;
+
+    @Param({"THUMB", "CARD", "FULL"})
+    private ImageSize size;
+
+    private final List<byte[]> files = new ArrayList<>();
+    private final List<BufferedImage> images = new ArrayList<>();
+
+    @Setup
+    public void setup() throws IOException {
+        for (String sample : SAMPLES) {
+            try (InputStream inputStream = new ClassPathResource(sample).getInputStream()) {
+                files.add(inputStream.readAllBytes());
+            }
+        }
+        files.add(createPoster(2000, 3000));
+        for (byte[] file : files) {
+            images.add(ImageUtils.read(new ByteArrayInputStream(file)));
+        }
+        if (files.size() != SAMPLES_COUNT) {
+            throw new IllegalStateException("Expected %d samples, found %d".formatted(SAMPLES_COUNT, files.size()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES_COUNT)
+    public long resize() {
+        long length = 0;
+        for (BufferedImage image : images) {
+            length += ImageUtils.write(ImageUtils.resize(image, size.getWidth()), 0.8f).length;
+        }
+
+        return length;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES_COUNT)
+    public long variants() {
+        long length = 0;
+        for (byte[] file : files) {
+            BufferedImage image = ImageUtils.read(new ByteArrayInputStream(file));
+            for (ImageSize imageSize : List.of(ImageSize.FULL, ImageSize.CARD, ImageSize.THUMB)) {
+                image = ImageUtils.resize(image, imageSize.getWidth());
+                length += ImageUtils.write(image, 0.8f).length;
+            }
+        }
+
+        return length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ImageResizeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Создание постера с градиентом и текстом, чтобы JPEG сжимался как реальное изображение, а не как заливка
+     */
+    private static byte[] createPoster(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+            graphics.fillRect(0, 0, width, height);
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font(Font.SERIF, Font.BOLD, width / 10));
+            for (int y = height / 8; y < height; y += height / 8) {
+                graphics.drawString("Cinema", width / 10, y);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "jpg", outputStream);
+
+            return outputStream.toByteArray();
+        }
+    }
+}
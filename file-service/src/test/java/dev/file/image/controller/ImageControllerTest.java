@@ -23,9 +23,11 @@ import org.springframework.test.context.DynamicPropertySource;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @ActiveProfiles("test")
@@ -40,6 +42,7 @@ public class ImageControllerTest extends AbstractControllerTest {
     @DynamicPropertySource
     static void directoryProperties(DynamicPropertyRegistry registry) {
         registry.add("directory.images", path::toString);
+        registry.add("directory.blobs", () -> path.resolve("blobs").toString());
     }
 
     @Test
@@ -102,6 +105,26 @@ public class ImageControllerTest extends AbstractControllerTest {
                     .body("$.size()", Matchers.greaterThan(0));
     }
 
+    @Test
+    @Order(4)
+    void getAllByMovieIds_ok() {
+        String token = AuthorizationUtils.getToken(restClient, GrantType.CLIENT_CREDENTIALS, clientId, clientSecret);
+
+        RestAssured
+                .given()
+                    .queryParam("values", 1, 2, 1001)
+                    .queryParam("primary", true)
+                    .header("Authorization", "Bearer " + token)
+                .when()
+                    .get("/api/v1/file/images/search/movies")
+                .then()
+                    .log().all()
+                    .statusCode(200)
+                    .body("$.size()", Matchers.equalTo(3))
+                    .body("'2'[0].number", Matchers.equalTo(1))
+                    .body("'1001'.size()", Matchers.equalTo(0));
+    }
+
     @Test
     @Order(5)
     void getAllByMovieId_unauthorized() {
@@ -119,13 +142,7 @@ public class ImageControllerTest extends AbstractControllerTest {
     @Order(6)
     void getResourceByMovieIdAndNumber_ok() throws IOException {
         Resource resource = new ClassPathResource("paddington-in-peru-poster.jpg");
-        MockMultipartFile multipartFile = new MockMultipartFile(
-                "file",
-                resource.getFilename(),
-                MediaType.IMAGE_JPEG_VALUE,
-                resource.getInputStream()
-        );
-        FileUtils.saveFile(multipartFile, path);
+        copyIfNotExists(resource);
 
         RestAssured
                 .given()
@@ -139,6 +156,113 @@ public class ImageControllerTest extends AbstractControllerTest {
                     .extract().asByteArray();
     }
 
+    @Test
+    @Order(6)
+    void getResourceByMovieIdAndNumber_notModified() throws IOException {
+        Resource resource = new ClassPathResource("paddington-in-peru-poster.jpg");
+        copyIfNotExists(resource);
+
+        String eTag = RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().headers()
+                    .statusCode(200)
+                    .header("ETag", Matchers.notNullValue())
+                    .header("Last-Modified", Matchers.notNullValue())
+                    .header("Accept-Ranges", "bytes")
+                    .extract().header("ETag");
+
+        RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                    .header("If-None-Match", eTag)
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().all()
+                    .statusCode(304)
+                    .header("ETag", eTag);
+    }
+
+    @Test
+    @Order(6)
+    void getResourceByMovieIdAndNumber_partialContent() throws IOException {
+        Resource resource = new ClassPathResource("paddington-in-peru-poster.jpg");
+        copyIfNotExists(resource);
+        long length = resource.contentLength();
+
+        byte[] body = RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                    .header("Range", "bytes=0-99")
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().headers()
+                    .statusCode(206)
+                    .contentType("image/jpeg")
+                    .header("Content-Range", "bytes 0-99/" + length)
+                    .extract().asByteArray();
+        Assertions.assertEquals(100, body.length);
+    }
+
+    @Test
+    @Order(6)
+    void getResourceByMovieIdAndNumber_rangeNotSatisfiable() throws IOException {
+        Resource resource = new ClassPathResource("paddington-in-peru-poster.jpg");
+        copyIfNotExists(resource);
+        long length = resource.contentLength();
+
+        RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                    .header("Range", "bytes=%d-".formatted(length + 10))
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().headers()
+                    .statusCode(416)
+                    .header("Content-Range", "bytes */" + length);
+    }
+
+    @Test
+    @Order(6)
+    void getResourceByMovieIdAndNumber_variant() throws IOException {
+        Resource resource = new ClassPathResource("paddington-in-peru-poster.jpg");
+        copyIfNotExists(resource);
+
+        RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                    .queryParam("size", "thumb")
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().headers()
+                    .statusCode(200)
+                    .contentType("image/jpeg");
+    }
+
+    @Test
+    @Order(6)
+    void getResourceByMovieIdAndNumber_badRequest() {
+        RestAssured
+                .given()
+                    .pathParams(Map.of("movie-id", 2, "number", 1))
+                    .queryParam("size", "huge")
+                .when()
+                    .get("/api/v1/file/images/resource/{movie-id}/{number}")
+                .then()
+                    .log().all()
+                    .statusCode(400)
+                    .body("code", Matchers.equalTo(400))
+                    .body("message", Matchers.equalTo("Размер изображения huge не поддерживается, допустимые значения original, thumb, card и full"))
+                    .body("dateTime", Matchers.notNullValue());
+    }
+
     @Test
     @Order(7)
     void getResourceByMovieIdAndNumber_notFound() {
@@ -538,4 +662,11 @@ public class ImageControllerTest extends AbstractControllerTest {
                     .log().all()
                     .statusCode(401);
     }
+
+    private static void copyIfNotExists(Resource resource) throws IOException {
+        Path filePath = path.resolve(Objects.requireNonNull(resource.getFilename()));
+        if (!Files.exists(filePath)) {
+            Files.copy(resource.getInputStream(), filePath);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package dev.file.image.mapper;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.file.image.entity.Image;
 import dev.library.domain.file.dto.ImageResponse;
 import org.junit.jupiter.api.Assertions;
@@ -26,4 +27,25 @@ public class ImageMapperTest {
         Assertions.assertEquals(entity.getMovieId(), response.movieId());
         Assertions.assertEquals(entity.getNumber(), response.number());
     }
-}
+
+    @Test
+    void toMetadata() {
+        Image entity = Image.builder()
+                .id(UUID.randomUUID())
+                .fileName("test.jpg")
+                .movieId(45L)
+                .number(23)
+                .contentHash("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+                .contentType("image/jpeg")
+                .build();
+
+        ImageMetadata metadata = mapper.toMetadata(entity);
+        Assertions.assertNotNull(metadata);
+        Assertions.assertEquals(entity.getId(), metadata.id());
+        Assertions.assertEquals(entity.getFileName(), metadata.fileName());
+        Assertions.assertEquals(entity.getMovieId(), metadata.movieId());
+        Assertions.assertEquals(entity.getNumber(), metadata.number());
+        Assertions.assertEquals(entity.getContentHash(), metadata.contentHash());
+        Assertions.assertEquals(entity.getContentType(), metadata.contentType());
+    }
+}
\ No newline at end of file
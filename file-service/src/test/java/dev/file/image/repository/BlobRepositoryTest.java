@@ -0,0 +1,65 @@
+package dev.file.image.repository;
+
+import dev.file.image.entity.Blob;
+import dev.library.test.config.AbstractRepositoryTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Optional;
+
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class BlobRepositoryTest extends AbstractRepositoryTest {
+    static final String CONTENT_HASH = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+
+    @Autowired
+    private BlobRepository blobRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @Order(1)
+    void incrementRefCount() {
+        int refCount = blobRepository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE);
+        Assertions.assertEquals(1, refCount);
+        refCount = blobRepository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE);
+        Assertions.assertEquals(2, refCount);
+        entityManager.clear();
+
+        Optional<Blob> optionalBlob = blobRepository.findById(CONTENT_HASH);
+        Assertions.assertTrue(optionalBlob.isPresent());
+        Assertions.assertEquals(2, optionalBlob.get().getRefCount());
+        Assertions.assertEquals(13L, optionalBlob.get().getSize());
+        Assertions.assertEquals(MediaType.IMAGE_PNG_VALUE, optionalBlob.get().getContentType());
+    }
+
+    @Test
+    @Order(2)
+    void decrementRefCount() {
+        blobRepository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE);
+        blobRepository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE);
+
+        Optional<Integer> refCount = blobRepository.decrementRefCount(CONTENT_HASH);
+        Assertions.assertEquals(Optional.of(1), refCount);
+        int deleted = blobRepository.deleteUnreferenced(CONTENT_HASH);
+        Assertions.assertEquals(0, deleted);
+
+        refCount = blobRepository.decrementRefCount(CONTENT_HASH);
+        Assertions.assertEquals(Optional.of(0), refCount);
+        deleted = blobRepository.deleteUnreferenced(CONTENT_HASH);
+        Assertions.assertEquals(1, deleted);
+        entityManager.clear();
+
+        Assertions.assertTrue(blobRepository.findById(CONTENT_HASH).isEmpty());
+    }
+
+    @Test
+    @Order(3)
+    void decrementRefCount_notFound() {
+        Optional<Integer> refCount = blobRepository.decrementRefCount("0000000000000000000000000000000000000000000000000000000000000000");
+        Assertions.assertTrue(refCount.isEmpty());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @ActiveProfiles("test")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -33,6 +34,14 @@ public class ImageRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertEquals(0, images.size());
     }
 
+    @Test
+    @Order(2)
+    void findAllByMovieIdIn() {
+        List<Image> images = imageRepository.findAllByMovieIdIn(Set.of(1L, 2L, 1001L));
+        Assertions.assertEquals(2, images.size());
+        Assertions.assertEquals(List.of(1L, 2L), images.stream().map(Image::getMovieId).toList());
+    }
+
     @Test
     @Order(3)
     void findByMovieIdAndNumber_ok() {
@@ -64,21 +73,29 @@ public class ImageRepositoryTest extends AbstractRepositoryTest {
 
     @Test
     @Order(6)
-    void countByMovieId() {
-        int count = imageRepository.countByMovieId(1L);
-        Assertions.assertEquals(1, count);
+    void getNextNumberByMovieId() {
+        Assertions.assertEquals(2, imageRepository.getNextNumberByMovieId(1L));
+        Assertions.assertEquals(1, imageRepository.getNextNumberByMovieId(1001L));
+    }
+
+    @Test
+    @Order(6)
+    void lockByMovieId() {
+        Assertions.assertEquals(1, imageRepository.lockByMovieId(1L));
     }
 
     @Test
     @Order(7)
-    void editNumberByMovieId() {
+    void editNumbersByMovieId() {
         List<Image> images = imageRepository.findAllByMovieId(2L);
         Assertions.assertEquals(1, images.size());
         Assertions.assertEquals(2L, images.getFirst().getMovieId());
         Assertions.assertEquals(1, images.getFirst().getNumber());
         Assertions.assertEquals("paddington-in-peru-poster.jpg", images.getFirst().getFileName());
 
-        imageRepository.editNumberByMovieId(2L, "paddington-in-peru-poster.jpg", 5);
+        int updated = imageRepository.editNumbersByMovieId(2L, new String[] {"paddington-in-peru-poster.jpg", "test.png"},
+                new Integer[] {5, 6});
+        Assertions.assertEquals(1, updated);
         entityManager.clear();
 
         images = imageRepository.findAllByMovieId(2L);
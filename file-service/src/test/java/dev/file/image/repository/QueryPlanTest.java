@@ -0,0 +1,90 @@
+package dev.file.image.repository;
+
+import dev.library.domain.file.dto.constant.ImageSize;
+import dev.library.test.config.AbstractQueryPlanTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Проверка того, что запросы репозиториев изображений используют индексы
+ */
+@ActiveProfiles("test")
+public class QueryPlanTest extends AbstractQueryPlanTest {
+    private static final Long MOVIE_ID = 500L;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+
+    private UUID imageId;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO images(movie_id, file_name, number, created_by, updated_by) " +
+                        "SELECT 100 + i % 2000, 'image-' || i || '.jpg', 1 + i / 2000, 'test', 'test' " +
+                        "FROM generate_series(1, 20000) AS i"
+        );
+        jdbcTemplate.update(
+                "INSERT INTO images_variants(image_id, size, file_name, width, height, content_hash, content_type, " +
+                        "created_by, updated_by) " +
+                        "SELECT i.id, s, s || '-' || i.file_name, 100, 100, md5(i.file_name) || md5(s), 'image/jpeg', " +
+                        "'test', 'test' FROM images i CROSS JOIN unnest(ARRAY['THUMB', 'CARD', 'FULL']) AS s"
+        );
+        analyze("images", "images_variants");
+        imageId = jdbcTemplate.queryForObject("SELECT id FROM images WHERE file_name = 'image-42.jpg'", UUID.class);
+    }
+
+    @Test
+    void findAllByMovieId() {
+        assertIndexScan("images", "images_movie_id_number_idx", () -> imageRepository.findAllByMovieId(MOVIE_ID));
+    }
+
+    @Test
+    void findAllByMovieIdIn() {
+        assertIndexScan("images", "images_movie_id_number_idx",
+                () -> imageRepository.findAllByMovieIdIn(List.of(MOVIE_ID, MOVIE_ID + 1, MOVIE_ID + 2)));
+    }
+
+    @Test
+    void findByMovieIdAndNumber() {
+        assertIndexScan("images", "images_movie_id_number_idx",
+                () -> imageRepository.findByMovieIdAndNumber(MOVIE_ID, 3));
+    }
+
+    @Test
+    void getNextNumberByMovieId() {
+        assertIndexScan("images", "images_movie_id_number_idx",
+                () -> imageRepository.getNextNumberByMovieId(MOVIE_ID));
+    }
+
+    @Test
+    void editNumbersByMovieId() {
+        assertIndexScan("images", "images_movie_id_number_idx", () -> imageRepository.editNumbersByMovieId(MOVIE_ID,
+                new String[]{"image-500.jpg", "image-2500.jpg"}, new Integer[]{2, 1}));
+    }
+
+    @Test
+    void existsByFileName() {
+        assertIndexScan("images", "images_file_name_key", () -> imageRepository.existsByFileName("image-42.jpg"));
+    }
+
+    @Test
+    void findAllByImageId() {
+        assertIndexScan("images_variants", "images_variants_image_id_size_key",
+                () -> imageVariantRepository.findAllByImageId(imageId));
+    }
+
+    @Test
+    void findByImageIdAndSize() {
+        assertIndexScan("images_variants", "images_variants_image_id_size_key",
+                () -> imageVariantRepository.findByImageIdAndSize(imageId, ImageSize.THUMB));
+    }
+}
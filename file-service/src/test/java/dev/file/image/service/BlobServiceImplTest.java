@@ -0,0 +1,210 @@
+package dev.file.image.service;
+
+import dev.file.image.repository.BlobRepository;
+import dev.file.image.service.impl.BlobServiceImpl;
+import dev.file.image.util.FileUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class BlobServiceImplTest {
+    static final String CONTENT_HASH = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+
+    final BlobRepository repository = Mockito.mock(BlobRepository.class);
+    final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    final BlobService service = new BlobServiceImpl(repository, transactionManager);
+
+    @TempDir
+    Path tempDir;
+
+    MockMultipartFile file;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "directoryBlobs", tempDir.toString());
+        file = new MockMultipartFile(
+                "file",
+                "test.png",
+                MediaType.IMAGE_PNG_VALUE,
+                "Hello, World!".getBytes()
+        );
+    }
+
+    @Test
+    void save_new() throws IOException {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+
+        String contentHash = service.save(file);
+        Assertions.assertEquals(CONTENT_HASH, contentHash);
+
+        Path blobPath = tempDir.resolve("df").resolve("fd").resolve(CONTENT_HASH);
+        Assertions.assertTrue(Files.exists(blobPath));
+        Assertions.assertEquals("Hello, World!", Files.readString(blobPath));
+        try (var tempFiles = Files.list(tempDir.resolve("tmp"))) {
+            Assertions.assertEquals(0, tempFiles.count());
+        }
+    }
+
+    @Test
+    void save_duplicate() throws IOException {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1, 2);
+
+        service.save(file);
+        String contentHash = service.save(file);
+        Assertions.assertEquals(CONTENT_HASH, contentHash);
+
+        Path blobPath = tempDir.resolve("df").resolve("fd").resolve(CONTENT_HASH);
+        Assertions.assertTrue(Files.exists(blobPath));
+        try (var tempFiles = Files.list(tempDir.resolve("tmp"))) {
+            Assertions.assertEquals(0, tempFiles.count());
+        }
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE);
+    }
+
+    @Test
+    void save_rollback() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.save(file);
+            Assertions.assertTrue(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assertions.assertFalse(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+        service.save(file);
+
+        Resource resource = service.get(CONTENT_HASH);
+        Assertions.assertTrue(resource.exists());
+        Assertions.assertTrue(resource.isFile());
+    }
+
+    @Test
+    void release_referenced() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+        Mockito
+                .when(repository.decrementRefCount(CONTENT_HASH))
+                .thenReturn(Optional.of(1));
+        service.save(file);
+
+        boolean result = service.release(CONTENT_HASH);
+        Assertions.assertTrue(result);
+        Assertions.assertTrue(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+
+        Mockito
+                .verify(repository, Mockito.never())
+                .deleteUnreferenced(Mockito.anyString());
+    }
+
+    @Test
+    void release_unreferenced() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+        Mockito
+                .when(repository.decrementRefCount(CONTENT_HASH))
+                .thenReturn(Optional.of(0));
+        service.save(file);
+
+        boolean result = service.release(CONTENT_HASH);
+        Assertions.assertTrue(result);
+        Assertions.assertFalse(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .deleteUnreferenced(CONTENT_HASH);
+    }
+
+    @Test
+    void release_rollback() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+        Mockito
+                .when(repository.decrementRefCount(CONTENT_HASH))
+                .thenReturn(Optional.of(0));
+        service.save(file);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.release(CONTENT_HASH);
+            Assertions.assertTrue(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assertions.assertTrue(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void release_referencedConcurrently() {
+        Mockito
+                .when(repository.incrementRefCount(CONTENT_HASH, 13L, MediaType.IMAGE_PNG_VALUE))
+                .thenReturn(1);
+        Mockito
+                .when(repository.decrementRefCount(CONTENT_HASH))
+                .thenReturn(Optional.of(0));
+        Mockito
+                .when(repository.existsById(CONTENT_HASH))
+                .thenReturn(true);
+        service.save(file);
+
+        boolean result = service.release(CONTENT_HASH);
+        Assertions.assertTrue(result);
+        Assertions.assertTrue(Files.exists(FileUtils.getShardedPath(tempDir, CONTENT_HASH)));
+    }
+
+    @Test
+    void release_notFound() {
+        Mockito
+                .when(repository.decrementRefCount(CONTENT_HASH))
+                .thenReturn(Optional.empty());
+
+        boolean result = service.release(CONTENT_HASH);
+        Assertions.assertFalse(result);
+
+        Mockito
+                .verify(repository, Mockito.never())
+                .deleteUnreferenced(Mockito.anyString());
+    }
+}
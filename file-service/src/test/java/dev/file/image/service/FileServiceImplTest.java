@@ -47,10 +47,28 @@ public class FileServiceImplTest {
                 MediaType.IMAGE_PNG_VALUE,
                 "".getBytes()
         );
-        service.save(file, FileType.IMAGE);
+        String contentHash = service.save(file, FileType.IMAGE);
         Path filePath = tempDir.resolve("test.png");
         boolean result = Files.exists(filePath);
         Assertions.assertTrue(result);
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", contentHash);
+    }
+
+    @Test
+    @Order(2)
+    void save_content() {
+        String contentHash = service.save("variants/test-thumb.png", "".getBytes(), FileType.IMAGE);
+        Path filePath = tempDir.resolve("variants").resolve("test-thumb.png");
+        boolean result = Files.exists(filePath);
+        Assertions.assertTrue(result);
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", contentHash);
+    }
+
+    @Test
+    @Order(2)
+    void getContentHash() {
+        String contentHash = service.getContentHash("test.png", FileType.IMAGE);
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", contentHash);
     }
 
     @Test
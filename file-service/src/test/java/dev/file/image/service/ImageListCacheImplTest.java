@@ -0,0 +1,108 @@
+package dev.file.image.service;
+
+import dev.file.image.entity.Image;
+import dev.file.image.mapper.ImageMapper;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.service.impl.ImageListCacheImpl;
+import dev.library.domain.file.dto.ImageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageListCacheImplTest {
+    final ImageRepository repository = Mockito.mock(ImageRepository.class);
+    final ImageMapper mapper = new ImageMapper();
+    final ImageListCacheImpl cache = new ImageListCacheImpl(repository, mapper, new SimpleMeterRegistry());
+
+    Image imageTest1;
+    Image imageTest2;
+    Image imageTest3;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        cache.init();
+
+        imageTest1 = Image.builder()
+                .id(UUID.randomUUID())
+                .movieId(1L)
+                .fileName("test1.jpg")
+                .number(1)
+                .build();
+        imageTest2 = Image.builder()
+                .id(UUID.randomUUID())
+                .movieId(1L)
+                .fileName("test2.jpg")
+                .number(2)
+                .build();
+        imageTest3 = Image.builder()
+                .id(UUID.randomUUID())
+                .movieId(2L)
+                .fileName("test3.jpg")
+                .number(1)
+                .build();
+    }
+
+    @Test
+    void getAllByMovieIds_grouped() {
+        Mockito
+                .when(repository.findAllByMovieIdIn(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(imageTest1, imageTest2, imageTest3));
+
+        Map<Long, List<ImageResponse>> result = cache.getAllByMovieIds(Set.of(1L, 2L, 3L));
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertEquals(List.of(1, 2), result.get(1L).stream().map(ImageResponse::number).toList());
+        Assertions.assertEquals(1, result.get(2L).size());
+        Assertions.assertTrue(result.get(3L).isEmpty());
+    }
+
+    @Test
+    void getAllByMovieIds_cached() {
+        Mockito
+                .when(repository.findAllByMovieIdIn(Set.of(1L)))
+                .thenReturn(List.of(imageTest1, imageTest2));
+        Mockito
+                .when(repository.findAllByMovieIdIn(Set.of(2L)))
+                .thenReturn(List.of(imageTest3));
+
+        cache.getAllByMovieIds(Set.of(1L));
+        Map<Long, List<ImageResponse>> result = cache.getAllByMovieIds(Set.of(1L, 2L));
+        Assertions.assertEquals(2, result.get(1L).size());
+        Assertions.assertEquals(1, result.get(2L).size());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllByMovieIdIn(Set.of(1L));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllByMovieIdIn(Set.of(2L));
+    }
+
+    @Test
+    void evictByMovieId() {
+        Mockito
+                .when(repository.findAllByMovieIdIn(Set.of(1L)))
+                .thenReturn(List.of(imageTest1));
+
+        cache.getAllByMovieIds(Set.of(1L));
+        cache.evictByMovieId(1L);
+        cache.getAllByMovieIds(Set.of(1L));
+
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .findAllByMovieIdIn(Set.of(1L));
+    }
+}
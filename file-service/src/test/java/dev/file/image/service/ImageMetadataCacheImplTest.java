@@ -0,0 +1,172 @@
+package dev.file.image.service;
+
+import dev.file.image.dto.ImageMetadata;
+import dev.file.image.entity.Image;
+import dev.file.image.entity.ImageVariant;
+import dev.file.image.mapper.ImageMapper;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.repository.ImageVariantRepository;
+import dev.file.image.service.impl.ImageMetadataCacheImpl;
+import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageMetadataCacheImplTest {
+    final ImageRepository repository = Mockito.mock(ImageRepository.class);
+    final ImageVariantRepository variantRepository = Mockito.mock(ImageVariantRepository.class);
+    final ImageMapper mapper = new ImageMapper();
+    final FileService fileService = Mockito.mock(FileService.class);
+    final ImageMetadataCacheImpl cache = new ImageMetadataCacheImpl(repository, variantRepository, mapper, fileService,
+            new SimpleMeterRegistry());
+
+    Image imageTest1;
+    Image imageTest2;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        cache.init();
+
+        imageTest1 = Image.builder()
+                .id(UUID.randomUUID())
+                .movieId(1L)
+                .fileName("test1.jpg")
+                .number(1)
+                .contentHash("dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f")
+                .contentType(MediaType.IMAGE_JPEG_VALUE)
+                .build();
+        imageTest2 = Image.builder()
+                .id(UUID.randomUUID())
+                .movieId(1L)
+                .fileName("test2.png")
+                .number(2)
+                .build();
+    }
+
+    @Test
+    void get_cached() {
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 1))
+                .thenReturn(Optional.of(imageTest1));
+
+        Optional<ImageMetadata> first = cache.get(1L, 1, ImageSize.ORIGINAL);
+        Optional<ImageMetadata> second = cache.get(1L, 1, ImageSize.ORIGINAL);
+        Assertions.assertTrue(first.isPresent());
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(imageTest1.getContentHash(), first.get().contentHash());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt());
+        Mockito
+                .verify(fileService, Mockito.never())
+                .getContentHash(Mockito.anyString(), Mockito.any(FileType.class));
+    }
+
+    @Test
+    void get_notFound() {
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 3))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertTrue(cache.get(1L, 3, ImageSize.ORIGINAL).isEmpty());
+        Assertions.assertTrue(cache.get(1L, 3, ImageSize.ORIGINAL).isEmpty());
+
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void get_withoutContentHash() {
+        String contentHash = "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 2))
+                .thenReturn(Optional.of(imageTest2));
+        Mockito
+                .when(fileService.getContentHash("test2.png", FileType.IMAGE))
+                .thenReturn(contentHash);
+
+        Optional<ImageMetadata> result = cache.get(1L, 2, ImageSize.ORIGINAL);
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(contentHash, result.get().contentHash());
+        Assertions.assertEquals(MediaType.IMAGE_PNG_VALUE, result.get().contentType());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .updateContentHashAndContentTypeById(imageTest2.getId(), contentHash, MediaType.IMAGE_PNG_VALUE);
+    }
+
+    @Test
+    void evictByMovieId() {
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 1))
+                .thenReturn(Optional.of(imageTest1));
+
+        cache.get(1L, 1, ImageSize.ORIGINAL);
+        cache.evictByMovieId(1L);
+        cache.get(1L, 1, ImageSize.ORIGINAL);
+
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    void get_variant() {
+        ImageVariant variant = ImageVariant.builder()
+                .id(UUID.randomUUID())
+                .imageId(imageTest1.getId())
+                .size(ImageSize.THUMB)
+                .fileName("variants/%s-thumb.jpg".formatted(imageTest1.getId()))
+                .width(160)
+                .height(240)
+                .contentHash("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+                .contentType(MediaType.IMAGE_JPEG_VALUE)
+                .build();
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 1))
+                .thenReturn(Optional.of(imageTest1));
+        Mockito
+                .when(variantRepository.findByImageIdAndSize(imageTest1.getId(), ImageSize.THUMB))
+                .thenReturn(Optional.of(variant));
+
+        Optional<ImageMetadata> result = cache.get(1L, 1, ImageSize.THUMB);
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(variant.getId(), result.get().id());
+        Assertions.assertEquals(variant.getFileName(), result.get().fileName());
+        Assertions.assertEquals(variant.getContentHash(), result.get().contentHash());
+        Assertions.assertEquals(1, result.get().number());
+    }
+
+    @Test
+    void get_variantNotCreated() {
+        Mockito
+                .when(repository.findByMovieIdAndNumber(1L, 1))
+                .thenReturn(Optional.of(imageTest1));
+        Mockito
+                .when(variantRepository.findByImageIdAndSize(imageTest1.getId(), ImageSize.CARD))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertTrue(cache.get(1L, 1, ImageSize.CARD).isEmpty());
+        Assertions.assertTrue(cache.get(1L, 1, ImageSize.CARD).isEmpty());
+
+        Mockito
+                .verify(variantRepository, Mockito.times(2))
+                .findByImageIdAndSize(Mockito.any(UUID.class), Mockito.any(ImageSize.class));
+    }
+}
@@ -1,5 +1,6 @@
 package dev.file.image.service;
 
+import dev.file.image.dto.ImageMetadata;
 import dev.file.image.entity.Image;
 import dev.file.image.mapper.ImageMapper;
 import dev.file.image.repository.ImageRepository;
@@ -11,6 +12,7 @@ import dev.library.core.exception.EntityNotFoundException;
 import dev.library.domain.file.dto.ImageRequest;
 import dev.library.domain.file.dto.ImageResponse;
 import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,7 +30,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +40,12 @@ public class ImageServiceImplTest {
     final ImageRepository repository = Mockito.mock(ImageRepository.class);
     final ImageMapper mapper = new ImageMapper();
     final FileService fileService = Mockito.mock(FileServiceImpl.class);
-    final ImageService service = new ImageServiceImpl(repository, mapper, fileService);
+    final BlobService blobService = Mockito.mock(BlobService.class);
+    final ImageMetadataCache imageMetadataCache = Mockito.mock(ImageMetadataCache.class);
+    final ImageListCache imageListCache = Mockito.mock(ImageListCache.class);
+    final ImageVariantService imageVariantService = Mockito.mock(ImageVariantService.class);
+    final ImageService service = new ImageServiceImpl(repository, mapper, fileService, blobService,
+            imageMetadataCache, imageListCache, imageVariantService);
 
     Image imageTest1;
     Image imageTest2;
@@ -50,6 +59,9 @@ public class ImageServiceImplTest {
         ReflectionTestUtils.setField(service, "errorsImageMovieIdAndNumberNotFound", "Запись об изображении с идентификатором фильма %d и порядковым номером %d не найдена");
         ReflectionTestUtils.setField(service, "errorsImageNumberBadRequest", "В переданных объектах запроса номера не должны повторяться");
         ReflectionTestUtils.setField(service, "errorsImageNumberIsOrdinalBadRequest", "В переданных объектах запроса все номера должны быть порядковыми");
+        ReflectionTestUtils.setField(service, "errorsImageSizeBadRequest", "Размер изображения %s не поддерживается, допустимые значения original, thumb, card и full");
+        ReflectionTestUtils.setField(service, "errorsImageMovieIdsBadRequest", "За один запрос можно получить изображения не более чем для %d фильмов");
+        ReflectionTestUtils.setField(service, "maxMovieIds", 2);
 
         imageTest1 = Image.builder()
                 .id(UUID.randomUUID())
@@ -141,45 +153,182 @@ public class ImageServiceImplTest {
     }
 
     @Test
-    void getByMovieIdAndNumber_ok() throws Exception {
-        Path resourceDirectory = Paths.get("src","test","resources");
-        Path filePath = resourceDirectory.resolve("test.jpg");
+    void getAllByMovieIds_ok() {
+        Map<Long, List<ImageResponse>> images = Map.of(
+                1L, List.of(mapper.toResponse(imageTest1), mapper.toResponse(imageTest3)),
+                2L, List.of(mapper.toResponse(imageTest2))
+        );
 
         Mockito
-                .when(repository.findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt()))
-                .thenReturn(Optional.of(imageTest1));
+                .when(imageListCache.getAllByMovieIds(Set.of(1L, 2L)))
+                .thenReturn(images);
+
+        Map<Long, List<ImageResponse>> responses = service.getAllByMovieIds(Set.of(1L, 2L), false);
+        Assertions.assertEquals(images, responses);
+    }
+
+    @Test
+    void getAllByMovieIds_primary() {
+        Map<Long, List<ImageResponse>> images = Map.of(
+                1L, List.of(mapper.toResponse(imageTest1), mapper.toResponse(imageTest3)),
+                2L, Collections.emptyList()
+        );
+
         Mockito
-                .when(fileService.get("test.jpg", FileType.IMAGE))
-                .thenReturn(new UrlResource(filePath.toUri()));
+                .when(imageListCache.getAllByMovieIds(Set.of(1L, 2L)))
+                .thenReturn(images);
 
-        Resource resource = service.getResourceByMovieIdAndNumber(1L, 1);
-        Assertions.assertNotNull(resource);
-        Assertions.assertTrue(resource.exists());
-        Assertions.assertTrue(resource.isFile());
+        Map<Long, List<ImageResponse>> responses = service.getAllByMovieIds(Set.of(1L, 2L), true);
+        Assertions.assertEquals(2, responses.size());
+        Assertions.assertEquals(List.of(imageTest1.getId()), responses.get(1L).stream().map(ImageResponse::id).toList());
+        Assertions.assertTrue(responses.get(2L).isEmpty());
+    }
+
+    @Test
+    void getAllByMovieIds_badRequest() {
+        Assertions
+                .assertThrows(
+                        BadRequestException.class,
+                        () -> service.getAllByMovieIds(Set.of(1L, 2L, 3L), false)
+                );
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt());
+                .verify(imageListCache, Mockito.never())
+                .getAllByMovieIds(Mockito.anySet());
+    }
+
+    @Test
+    void getMetadataByMovieIdAndNumber_ok() {
+        ImageMetadata metadata = mapper.toMetadata(imageTest1);
+        Mockito
+                .when(imageMetadataCache.get(1L, 1, ImageSize.ORIGINAL))
+                .thenReturn(Optional.of(metadata));
+
+        ImageMetadata result = service.getMetadataByMovieIdAndNumber(1L, 1, "original");
+        Assertions.assertEquals(metadata, result);
+
+        Mockito
+                .verify(imageMetadataCache, Mockito.times(1))
+                .get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class));
+        Mockito
+                .verify(imageVariantService, Mockito.never())
+                .createVariants(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any());
     }
 
     @Test
-    void getByMovieIdAndNumber_notFound() {
+    void getMetadataByMovieIdAndNumber_variant() {
+        ImageMetadata metadata = new ImageMetadata(UUID.randomUUID(), 1L, 1, "variants/test-thumb.jpg",
+                "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f", MediaType.IMAGE_JPEG_VALUE, null);
         Mockito
-                .when(repository.findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt()))
+                .when(imageMetadataCache.get(1L, 1, ImageSize.THUMB))
+                .thenReturn(Optional.of(metadata));
+
+        ImageMetadata result = service.getMetadataByMovieIdAndNumber(1L, 1, "thumb");
+        Assertions.assertEquals(metadata, result);
+
+        Mockito
+                .verify(imageMetadataCache, Mockito.times(1))
+                .get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class));
+        Mockito
+                .verify(imageVariantService, Mockito.never())
+                .createVariants(Mockito.any(UUID.class), Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    void getMetadataByMovieIdAndNumber_variantNotCreated() {
+        ImageMetadata metadata = mapper.toMetadata(imageTest1);
+        Mockito
+                .when(imageMetadataCache.get(1L, 1, ImageSize.CARD))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(imageMetadataCache.get(1L, 1, ImageSize.ORIGINAL))
+                .thenReturn(Optional.of(metadata));
+
+        ImageMetadata result = service.getMetadataByMovieIdAndNumber(1L, 1, "card");
+        Assertions.assertEquals(metadata, result);
+
+        Mockito
+                .verify(imageMetadataCache, Mockito.times(2))
+                .get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class));
+        Mockito
+                .verify(imageVariantService, Mockito.times(1))
+                .createMissingVariants(Mockito.eq(imageTest1.getId()), Mockito.eq(imageTest1.getFileName()), Mockito.any());
+    }
+
+    @Test
+    void getMetadataByMovieIdAndNumber_notFound() {
+        Mockito
+                .when(imageMetadataCache.get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class)))
                 .thenReturn(Optional.empty());
 
         EntityNotFoundException exception = Assertions
                 .assertThrows(
                         EntityNotFoundException.class,
-                        () -> service.getResourceByMovieIdAndNumber(8L, 3)
+                        () -> service.getMetadataByMovieIdAndNumber(8L, 3, "original")
                 );
         var expectedMessage = "Запись об изображении с идентификатором фильма 8 и порядковым номером 3 не найдена";
         var actualMessage = exception.getApiError().message();
         Assertions.assertEquals(expectedMessage, actualMessage);
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findByMovieIdAndNumber(Mockito.anyLong(), Mockito.anyInt());
+                .verify(imageMetadataCache, Mockito.times(1))
+                .get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class));
+    }
+
+    @Test
+    void getMetadataByMovieIdAndNumber_badRequest() {
+        BadRequestException exception = Assertions
+                .assertThrows(
+                        BadRequestException.class,
+                        () -> service.getMetadataByMovieIdAndNumber(1L, 1, "huge")
+                );
+        var expectedMessage = "Размер изображения huge не поддерживается, допустимые значения original, thumb, card и full";
+        var actualMessage = exception.getApiError().message();
+        Assertions.assertEquals(expectedMessage, actualMessage);
+
+        Mockito
+                .verify(imageMetadataCache, Mockito.never())
+                .get(Mockito.anyLong(), Mockito.anyInt(), Mockito.any(ImageSize.class));
+    }
+
+    @Test
+    void getResource() throws Exception {
+        Path resourceDirectory = Paths.get("src","test","resources");
+        Path filePath = resourceDirectory.resolve("test.jpg");
+
+        Mockito
+                .when(fileService.get("test.jpg", FileType.IMAGE))
+                .thenReturn(new UrlResource(filePath.toUri()));
+
+        Resource resource = service.getResource(mapper.toMetadata(imageTest1));
+        Assertions.assertNotNull(resource);
+        Assertions.assertTrue(resource.exists());
+        Assertions.assertTrue(resource.isFile());
+
+        Mockito
+                .verify(fileService, Mockito.times(1))
+                .get(Mockito.anyString(), Mockito.any(FileType.class));
+    }
+
+    @Test
+    void getResource_blob() throws Exception {
+        Path resourceDirectory = Paths.get("src","test","resources");
+        Path filePath = resourceDirectory.resolve("test.jpg");
+        String contentHash = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+
+        Mockito
+                .when(blobService.get(contentHash))
+                .thenReturn(new UrlResource(filePath.toUri()));
+
+        ImageMetadata metadata = new ImageMetadata(imageTest1.getId(), 1L, 1, "test.jpg", contentHash,
+                MediaType.IMAGE_JPEG_VALUE, null);
+        Resource resource = service.getResource(metadata);
+        Assertions.assertNotNull(resource);
+        Assertions.assertTrue(resource.exists());
+
+        Mockito
+                .verify(fileService, Mockito.never())
+                .get(Mockito.anyString(), Mockito.any(FileType.class));
     }
 
     @Test
@@ -196,8 +345,8 @@ public class ImageServiceImplTest {
                 .when(repository.existsByFileName(Mockito.anyString()))
                 .thenReturn(false);
         Mockito
-                .when(repository.countByMovieId(Mockito.anyLong()))
-                .thenReturn(2);
+                .when(repository.getNextNumberByMovieId(Mockito.anyLong()))
+                .thenReturn(3);
         Mockito
                 .when(repository.save(Mockito.any(Image.class)))
                 .thenReturn(Image.builder()
@@ -207,9 +356,8 @@ public class ImageServiceImplTest {
                         .number(3)
                         .build());
         Mockito
-                .doNothing()
-                .when(fileService)
-                .save(Mockito.any(MultipartFile.class), Mockito.any(FileType.class));
+                .when(blobService.save(Mockito.any(MultipartFile.class)))
+                .thenReturn("dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f");
 
         service.create(1L, file);
 
@@ -218,13 +366,19 @@ public class ImageServiceImplTest {
                 .existsByFileName(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(1))
-                .countByMovieId(Mockito.anyLong());
+                .lockByMovieId(1L);
         Mockito
                 .verify(repository, Mockito.times(1))
-                .save(Mockito.any(Image.class));
+                .save(Mockito.argThat(image -> image.getNumber() == 3));
         Mockito
-                .verify(fileService, Mockito.times(1))
-                .save(Mockito.any(MultipartFile.class), Mockito.any(FileType.class));
+                .verify(blobService, Mockito.times(1))
+                .save(Mockito.any(MultipartFile.class));
+        Mockito
+                .verify(imageVariantService, Mockito.times(1))
+                .createVariants(Mockito.any(UUID.class), Mockito.eq("test11.png"), Mockito.any());
+        Mockito
+                .verify(imageListCache, Mockito.times(1))
+                .evictByMovieId(1L);
     }
 
     @Test
@@ -258,9 +412,8 @@ public class ImageServiceImplTest {
     @Test
     void updateImageNumbers_ok() {
         Mockito
-                .doNothing()
-                .when(repository)
-                .editNumberByMovieId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt());
+                .when(repository.editNumbersByMovieId(Mockito.anyLong(), Mockito.any(String[].class), Mockito.any(Integer[].class)))
+                .thenReturn(2);
 
         List<ImageRequest> requests = List.of(
                 new ImageRequest(45L, "abc.png", 1),
@@ -269,8 +422,17 @@ public class ImageServiceImplTest {
         service.updateImageNumbers(requests);
 
         Mockito
-                .verify(repository, Mockito.times(2))
-                .editNumberByMovieId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt());
+                .verify(repository, Mockito.times(1))
+                .lockByMovieId(45L);
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .editNumbersByMovieId(45L, new String[] {"abc.png", "efg.png"}, new Integer[] {1, 2});
+        Mockito
+                .verify(imageMetadataCache, Mockito.times(1))
+                .evictByMovieId(45L);
+        Mockito
+                .verify(imageListCache, Mockito.times(1))
+                .evictByMovieId(45L);
     }
 
     @Test
@@ -314,6 +476,38 @@ public class ImageServiceImplTest {
         Mockito
                 .verify(repository, Mockito.times(1))
                 .deleteById(Mockito.any(UUID.class));
+        Mockito
+                .verify(imageMetadataCache, Mockito.times(1))
+                .evictByMovieId(imageTest2.getMovieId());
+        Mockito
+                .verify(imageListCache, Mockito.times(1))
+                .evictByMovieId(imageTest2.getMovieId());
+        Mockito
+                .verify(imageVariantService, Mockito.times(1))
+                .deleteByImageId(imageTest2.getId());
+    }
+
+    @Test
+    void deleteById_blob() {
+        imageTest2.setContentHash("dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f");
+        Mockito
+                .when(repository.findById(Mockito.any(UUID.class)))
+                .thenReturn(Optional.of(imageTest2));
+        Mockito
+                .when(blobService.release(imageTest2.getContentHash()))
+                .thenReturn(true);
+
+        service.deleteById(imageTest2.getId());
+
+        Mockito
+                .verify(blobService, Mockito.times(1))
+                .release(imageTest2.getContentHash());
+        Mockito
+                .verify(fileService, Mockito.never())
+                .delete(Mockito.anyString(), Mockito.any(FileType.class));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .deleteById(Mockito.any(UUID.class));
     }
 
     @Test
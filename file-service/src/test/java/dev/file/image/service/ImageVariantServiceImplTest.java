@@ -0,0 +1,229 @@
+package dev.file.image.service;
+
+import dev.file.image.entity.ImageVariant;
+import dev.file.image.repository.ImageRepository;
+import dev.file.image.repository.ImageVariantRepository;
+import dev.file.image.service.impl.ImageVariantServiceImpl;
+import dev.library.domain.file.dto.constant.FileType;
+import dev.library.domain.file.dto.constant.ImageSize;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageVariantServiceImplTest {
+    final ImageVariantRepository repository = Mockito.mock(ImageVariantRepository.class);
+    final ImageRepository imageRepository = Mockito.mock(ImageRepository.class);
+    final FileService fileService = Mockito.mock(FileService.class);
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(10), new ThreadPoolExecutor.AbortPolicy());
+    final ImageVariantServiceImpl service = new ImageVariantServiceImpl(repository, imageRepository, fileService,
+            executor, Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    final UUID imageId = UUID.randomUUID();
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "quality", 0.8f);
+        ReflectionTestUtils.setField(service, "retryAfter", Duration.ofMinutes(10));
+        service.init();
+    }
+
+    @AfterEach
+    void destroy() {
+        executor.shutdown();
+    }
+
+    @Test
+    void createVariants_ok() {
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(Collections.emptyList());
+        Mockito
+                .when(fileService.save(Mockito.anyString(), Mockito.any(byte[].class), Mockito.any(FileType.class)))
+                .thenReturn("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        Mockito
+                .when(imageRepository.existsById(imageId))
+                .thenReturn(true);
+
+        service.createVariants(imageId, "paddington-in-peru-poster.jpg",
+                new ClassPathResource("paddington-in-peru-poster.jpg")).join();
+
+        ArgumentCaptor<ImageVariant> captor = ArgumentCaptor.forClass(ImageVariant.class);
+        Mockito
+                .verify(repository, Mockito.times(3))
+                .save(captor.capture());
+        List<ImageVariant> variants = captor.getAllValues();
+        Assertions.assertEquals(ImageSize.FULL, variants.get(0).getSize());
+        Assertions.assertEquals(822, variants.get(0).getWidth());
+        Assertions.assertEquals(ImageSize.CARD, variants.get(1).getSize());
+        Assertions.assertEquals(480, variants.get(1).getWidth());
+        Assertions.assertEquals(ImageSize.THUMB, variants.get(2).getSize());
+        Assertions.assertEquals(160, variants.get(2).getWidth());
+        Assertions.assertEquals("variants/%s/%s-thumb.jpg".formatted(imageId.toString().substring(0, 2), imageId),
+                variants.get(2).getFileName());
+        Assertions.assertEquals(MediaType.IMAGE_JPEG_VALUE, variants.get(2).getContentType());
+        Assertions.assertEquals(imageId, variants.get(2).getImageId());
+
+        Mockito
+                .verify(fileService, Mockito.times(3))
+                .save(Mockito.anyString(), Mockito.any(byte[].class), Mockito.any(FileType.class));
+    }
+
+    @Test
+    void createVariants_alreadyExist() throws IOException {
+        List<ImageVariant> variants = Arrays.stream(ImageSize.values())
+                .filter(size -> size != ImageSize.ORIGINAL)
+                .map(size -> ImageVariant.builder().imageId(imageId).size(size).build())
+                .toList();
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(variants);
+        Resource source = Mockito.mock(Resource.class);
+
+        service.createVariants(imageId, "paddington-in-peru-poster.jpg", source).join();
+
+        Mockito
+                .verify(source, Mockito.never())
+                .getInputStream();
+        Mockito
+                .verify(repository, Mockito.never())
+                .save(Mockito.any(ImageVariant.class));
+    }
+
+    @Test
+    void createVariants_unsupportedFormat() throws IOException {
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(Collections.emptyList());
+        Resource source = Mockito.spy(new ClassPathResource("test_text.txt"));
+
+        CompletableFuture<Void> future = service.createVariants(imageId, "test_text.txt", source);
+        Assertions.assertThrows(CompletionException.class, future::join);
+        service.createVariants(imageId, "test_text.txt", source).join();
+
+        Mockito
+                .verify(source, Mockito.times(1))
+                .getInputStream();
+        Mockito
+                .verify(repository, Mockito.never())
+                .save(Mockito.any(ImageVariant.class));
+    }
+
+    @Test
+    void createVariants_imageDeleted() {
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(Collections.emptyList());
+        Mockito
+                .when(fileService.save(Mockito.anyString(), Mockito.any(byte[].class), Mockito.any(FileType.class)))
+                .thenReturn("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        Mockito
+                .when(imageRepository.existsById(imageId))
+                .thenReturn(false);
+
+        service.createVariants(imageId, "paddington-in-peru-poster.jpg",
+                new ClassPathResource("paddington-in-peru-poster.jpg")).join();
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .lockByImageId(imageId);
+        Mockito
+                .verify(repository, Mockito.never())
+                .save(Mockito.any(ImageVariant.class));
+        Mockito
+                .verify(fileService, Mockito.times(1))
+                .save(Mockito.anyString(), Mockito.any(byte[].class), Mockito.any(FileType.class));
+        Mockito
+                .verify(fileService, Mockito.times(1))
+                .delete("variants/%s/%s-full.jpg".formatted(imageId.toString().substring(0, 2), imageId), FileType.IMAGE);
+    }
+
+    @Test
+    void createVariants_retryAfterFailure() throws IOException {
+        ReflectionTestUtils.setField(service, "retryAfter", Duration.ZERO);
+        service.init();
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(Collections.emptyList());
+        Resource source = Mockito.spy(new ClassPathResource("test_text.txt"));
+
+        CompletableFuture<Void> future = service.createVariants(imageId, "test_text.txt", source);
+        Assertions.assertThrows(CompletionException.class, future::join);
+        CompletableFuture<Void> retry = service.createVariants(imageId, "test_text.txt", source);
+        Assertions.assertThrows(CompletionException.class, retry::join);
+
+        Mockito
+                .verify(source, Mockito.times(2))
+                .getInputStream();
+    }
+
+    @Test
+    void createMissingVariants_queueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        int tasks = executor.getMaximumPoolSize() + executor.getQueue().remainingCapacity();
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        Resource source = Mockito.mock(Resource.class);
+
+        service.createMissingVariants(imageId, "paddington-in-peru-poster.jpg", source).join();
+        release.countDown();
+
+        Mockito
+                .verify(source, Mockito.never())
+                .getInputStream();
+        Mockito
+                .verifyNoInteractions(repository);
+    }
+
+    @Test
+    void deleteByImageId() {
+        List<ImageVariant> variants = List.of(
+                ImageVariant.builder().imageId(imageId).size(ImageSize.THUMB).fileName("variants/test-thumb.jpg").build(),
+                ImageVariant.builder().imageId(imageId).size(ImageSize.CARD).fileName("variants/test-card.jpg").build()
+        );
+        Mockito
+                .when(repository.findAllByImageId(imageId))
+                .thenReturn(variants);
+
+        service.deleteByImageId(imageId);
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .lockByImageId(imageId);
+        Mockito
+                .verify(fileService, Mockito.times(2))
+                .delete(Mockito.anyString(), Mockito.any(FileType.class));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .deleteAll(variants);
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.*;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,10 +35,12 @@ public class FileUtilsTest {
                 MediaType.IMAGE_PNG_VALUE,
                 "".getBytes()
         );
-        FileUtils.saveFile(file, path);
+        String contentHash = FileUtils.saveFile(file, path);
         Path filePath = path.resolve("test.png");
         boolean result = Files.exists(filePath);
         Assertions.assertTrue(result);
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", contentHash);
+        Assertions.assertEquals(contentHash, FileUtils.getContentHash(filePath));
     }
 
     @Test
@@ -64,4 +67,43 @@ public class FileUtilsTest {
         );
         FileUtils.checkExtensionImage(file);
     }
+
+    @Test
+    @Order(5)
+    void getContentType() {
+        Assertions.assertEquals(MediaType.IMAGE_JPEG_VALUE, FileUtils.getContentType("test.jpg"));
+        Assertions.assertEquals(MediaType.IMAGE_PNG_VALUE, FileUtils.getContentType("test.png"));
+        Assertions.assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, FileUtils.getContentType("test"));
+    }
+
+    @Test
+    @Order(6)
+    void getShardedPath() {
+        Path path = fileSystem.getPath("/files/blobs");
+        Path result = FileUtils.getShardedPath(path, "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        Assertions.assertEquals(
+                fileSystem.getPath("/files/blobs/e3/b0/e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"),
+                result
+        );
+    }
+
+    @Test
+    @Order(7)
+    void copyFileAndMoveFile() {
+        Path path = fileSystem.getPath("/files/blobs");
+        FileUtils.checkDirectoryAndCreateIfNotExists(path);
+        Path tempFile = FileUtils.createTempFile(path);
+        String contentHash = FileUtils.copyFile(new ByteArrayInputStream("".getBytes()), tempFile);
+        Assertions.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", contentHash);
+
+        Path blobPath = FileUtils.getShardedPath(path, contentHash);
+        FileUtils.checkDirectoryAndCreateIfNotExists(blobPath.getParent());
+        FileUtils.moveFile(tempFile, blobPath);
+        Assertions.assertTrue(Files.exists(blobPath));
+        Assertions.assertFalse(Files.exists(tempFile));
+
+        FileUtils.deleteFileIfExists(tempFile);
+        FileUtils.deleteFileIfExists(blobPath);
+        Assertions.assertFalse(Files.exists(blobPath));
+    }
 }
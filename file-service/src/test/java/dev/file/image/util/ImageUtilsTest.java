@@ -0,0 +1,73 @@
+package dev.file.image.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public class ImageUtilsTest {
+    @Test
+    void read() throws IOException {
+        BufferedImage image = ImageUtils.read(new ClassPathResource("test.jpg").getInputStream());
+        Assertions.assertNotNull(image);
+        Assertions.assertEquals(300, image.getWidth());
+        Assertions.assertEquals(137, image.getHeight());
+    }
+
+    @Test
+    void read_unsupported() throws IOException {
+        BufferedImage image = ImageUtils.read(new ClassPathResource("test_text.txt").getInputStream());
+        Assertions.assertNull(image);
+    }
+
+    @Test
+    void resize() throws IOException {
+        BufferedImage image = ImageUtils.read(new ClassPathResource("test.jpg").getInputStream());
+        BufferedImage result = ImageUtils.resize(image, 160);
+        Assertions.assertEquals(160, result.getWidth());
+        Assertions.assertEquals(73, result.getHeight());
+    }
+
+    @Test
+    void resize_largeImage() {
+        BufferedImage image = new BufferedImage(4000, 2000, BufferedImage.TYPE_INT_RGB);
+        BufferedImage result = ImageUtils.resize(image, 160);
+        Assertions.assertEquals(160, result.getWidth());
+        Assertions.assertEquals(80, result.getHeight());
+    }
+
+    @Test
+    void resize_smallImage() throws IOException {
+        BufferedImage image = ImageUtils.read(new ClassPathResource("test.jpg").getInputStream());
+        BufferedImage result = ImageUtils.resize(image, 480);
+        Assertions.assertEquals(300, result.getWidth());
+        Assertions.assertEquals(137, result.getHeight());
+    }
+
+    @Test
+    void write_jpeg() throws IOException {
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        byte[] content = ImageUtils.write(image, 0.8f);
+        Assertions.assertEquals("jpg", ImageUtils.getExtension(image));
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(content));
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(200, result.getWidth());
+        Assertions.assertEquals(100, result.getHeight());
+    }
+
+    @Test
+    void write_png() throws IOException {
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_ARGB);
+        byte[] content = ImageUtils.write(image, 0.8f);
+        Assertions.assertEquals("png", ImageUtils.getExtension(image));
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(content));
+        Assertions.assertNotNull(result);
+        Assertions.assertTrue(result.getColorModel().hasAlpha());
+    }
+}
@@ -0,0 +1,45 @@
+package dev.library.core.pagination;
+
+import dev.library.core.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного получения записей по дате создания и идентификатору
+ * @param createdDate - дата и время создания последней полученной записи
+ * @param id - идентификатор последней полученной записи
+ */
+public record Cursor(OffsetDateTime createdDate, Long id) {
+    private static final String SEPARATOR = "_";
+
+    /**
+     * Преобразование курсора в строку для передачи клиенту
+     */
+    public String encode() {
+        String value = createdDate.toInstant() + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Получение курсора из строки, переданной клиентом
+     * @param value - строка курсора
+     */
+    public static Cursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int index = decoded.lastIndexOf(SEPARATOR);
+            Instant createdDate = Instant.parse(decoded.substring(0, index));
+            Long id = Long.parseLong(decoded.substring(index + 1));
+
+            return new Cursor(OffsetDateTime.ofInstant(createdDate, ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Некорректное значение курсора: %s".formatted(value));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.library.core.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница записей, полученная по курсору
+ * @param content - записи страницы
+ * @param nextCursor - курсор следующей страницы или {@code null}, если страница последняя
+ * @param <T> - тип данных
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+    /**
+     * Построение страницы по записям, которые получены с запасом в одну запись сверх размера страницы
+     * @param rows - полученные записи
+     * @param limit - размер страницы
+     * @param cursorMapper - функция получения курсора записи
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorMapper) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+
+        return new CursorPage<>(content, cursorMapper.apply(content.getLast()).encode());
+    }
+
+    /**
+     * Получение размера страницы с учетом значения по умолчанию и максимального значения
+     * @param limit - запрошенный размер страницы
+     * @param defaultLimit - размер страницы по умолчанию
+     * @param maxLimit - максимальный размер страницы
+     */
+    public static int limit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    /**
+     * Преобразование записей страницы с сохранением курсора
+     * @param mapper - функция преобразования
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,25 @@
+package dev.library.core.rabbitmq;
+
+/**
+ * Настройки контейнера слушателя одной очереди. Незаданные значения берутся из {@code spring.rabbitmq.listener.simple}
+ * @param concurrency - начальное количество потребителей
+ * @param maxConcurrency - максимальное количество потребителей
+ * @param prefetch - количество сообщений, которые брокер передаёт потребителю без подтверждения
+ * @param batchSize - количество сообщений, передаваемых слушателю одним списком. Если значение больше 1, то слушатель
+ *                  должен принимать {@link java.util.List}
+ */
+public record ListenerSettings(
+        Integer concurrency,
+        Integer maxConcurrency,
+        Integer prefetch,
+        Integer batchSize
+) {
+    public static final ListenerSettings DEFAULT = new ListenerSettings(null, null, null, null);
+
+    /**
+     * Признак того, что слушатель получает сообщения списком
+     */
+    public boolean isBatch() {
+        return batchSize != null && batchSize > 1;
+    }
+}
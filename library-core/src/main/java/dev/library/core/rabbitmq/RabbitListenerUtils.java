@@ -0,0 +1,101 @@
+package dev.library.core.rabbitmq;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Вспомогательный класс для создания фабрик контейнеров слушателей RabbitMQ с настройками отдельной очереди.
+ * Фабрики записывают задержку потребителя: время от отправки сообщения до его получения слушателем, если
+ * отправитель установил время отправки с помощью {@link #timestampPostProcessor()}
+ */
+public class RabbitListenerUtils {
+    private static final String CONSUMER_LAG_METRIC = "rabbitmq.consumer.lag";
+
+    /**
+     * Получение настроек слушателя очереди
+     * @param environment - объект типа {@link Environment}
+     * @param prefix - префикс свойств, например {@code rabbitmq.receipt.listener.creation}
+     */
+    public static ListenerSettings getSettings(Environment environment, String prefix) {
+        return Binder.get(environment)
+                .bind(prefix, ListenerSettings.class)
+                .orElse(ListenerSettings.DEFAULT);
+    }
+
+    /**
+     * Создание фабрики контейнеров слушателя. Сначала применяются общие настройки {@code spring.rabbitmq.listener.simple},
+     * затем настройки очереди. Для пакетного слушателя количество предзагружаемых сообщений не меньше размера пакета
+     * @param configurer - объект типа {@link SimpleRabbitListenerContainerFactoryConfigurer}
+     * @param connectionFactory - объект типа {@link ConnectionFactory}
+     * @param settings - объект типа {@link ListenerSettings}
+     * @param meterRegistry - объект типа {@link MeterRegistry}
+     */
+    public static SimpleRabbitListenerContainerFactory createFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                     ConnectionFactory connectionFactory,
+                                                                     ListenerSettings settings,
+                                                                     MeterRegistry meterRegistry) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        if (settings.concurrency() != null) {
+            factory.setConcurrentConsumers(settings.concurrency());
+        }
+        if (settings.maxConcurrency() != null) {
+            factory.setMaxConcurrentConsumers(settings.maxConcurrency());
+        }
+        if (settings.prefetch() != null) {
+            factory.setPrefetchCount(settings.prefetch());
+        }
+        if (settings.isBatch()) {
+            factory.setBatchListener(true);
+            factory.setConsumerBatchEnabled(true);
+            factory.setDeBatchingEnabled(true);
+            factory.setBatchSize(settings.batchSize());
+            if (settings.prefetch() == null || settings.prefetch() < settings.batchSize()) {
+                factory.setPrefetchCount(settings.batchSize());
+            }
+        }
+        factory.setAfterReceivePostProcessors(consumerLagPostProcessor(meterRegistry));
+
+        return factory;
+    }
+
+    /**
+     * Получение обработчика, который устанавливает время отправки сообщения
+     */
+    public static MessagePostProcessor timestampPostProcessor() {
+        return message -> {
+            message.getMessageProperties().setTimestamp(new Date());
+            return message;
+        };
+    }
+
+    /**
+     * Получение обработчика, который записывает задержку потребителя по времени отправки сообщения
+     * @param meterRegistry - объект типа {@link MeterRegistry}
+     */
+    private static MessagePostProcessor consumerLagPostProcessor(MeterRegistry meterRegistry) {
+        return message -> {
+            MessageProperties properties = message.getMessageProperties();
+            Date timestamp = properties.getTimestamp();
+            if (timestamp != null && properties.getConsumerQueue() != null) {
+                long lag = Math.max(0, System.currentTimeMillis() - timestamp.getTime());
+                Timer.builder(CONSUMER_LAG_METRIC)
+                        .description("Время от отправки сообщения до его получения слушателем")
+                        .tag("queue", properties.getConsumerQueue())
+                        .register(meterRegistry)
+                        .record(Duration.ofMillis(lag));
+            }
+            return message;
+        };
+    }
+}
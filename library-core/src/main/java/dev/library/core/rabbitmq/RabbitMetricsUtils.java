@@ -0,0 +1,52 @@
+package dev.library.core.rabbitmq;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+/**
+ * Вспомогательный класс для регистрации метрик очередей RabbitMQ.
+ * Глубина очереди и количество потребителей запрашиваются у брокера при каждом чтении метрики
+ */
+public class RabbitMetricsUtils {
+    /**
+     * Регистрация метрик {@code rabbitmq.queue.depth} и {@code rabbitmq.queue.consumers} для очередей
+     * @param meterRegistry - объект типа {@link MeterRegistry}
+     * @param amqpAdmin - объект типа {@link AmqpAdmin}
+     * @param queues - список очередей
+     */
+    public static void bindQueueMetrics(MeterRegistry meterRegistry, AmqpAdmin amqpAdmin, Collection<Queue> queues) {
+        for (Queue queue : queues) {
+            String name = queue.getName();
+            Gauge.builder("rabbitmq.queue.depth", () -> getQueueInfo(amqpAdmin, name, QueueInformation::getMessageCount))
+                    .description("Количество сообщений, ожидающих в очереди")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+            Gauge.builder("rabbitmq.queue.consumers", () -> getQueueInfo(amqpAdmin, name, QueueInformation::getConsumerCount))
+                    .description("Количество потребителей очереди")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Получение значения из данных очереди. Если очередь не существует или брокер недоступен, то возвращается NaN
+     * @param amqpAdmin - объект типа {@link AmqpAdmin}
+     * @param name - наименование очереди
+     * @param value - функция получения значения
+     */
+    private static double getQueueInfo(AmqpAdmin amqpAdmin, String name, ToIntFunction<QueueInformation> value) {
+        try {
+            QueueInformation queueInformation = amqpAdmin.getQueueInfo(name);
+            return queueInformation == null ? Double.NaN : value.applyAsInt(queueInformation);
+        } catch (AmqpException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package dev.library.core.specification;
+
+import dev.library.core.exception.ServerException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Фильтр для построения Specification по DTO поиска.
+ * Методы доступа к полям DTO разрешаются один раз при построении фильтра и кэшируются для каждого класса,
+ * поэтому при обработке запроса Reflection API не используется, а поле сущности задаётся явно, а не определяется
+ * по значению
+ * @param <R> - тип DTO поиска
+ * @param <T> - тип данных
+ */
+public final class SearchFilter<R, T> {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return resolveGetters(type);
+        }
+    };
+
+    private final SpecificationBuilder<T> specificationBuilder = new SpecificationBuilder<>();
+    private final Condition[] conditions;
+
+    private SearchFilter(List<Condition> conditions) {
+        this.conditions = conditions.toArray(new Condition[0]);
+    }
+
+    /**
+     * Создание построителя фильтра. Тип сущности указывается явно, например
+     * {@code SearchFilter.<MovieSearchRequest, Movie>builder(MovieSearchRequest.class)}
+     * @param requestType - класс DTO поиска
+     */
+    public static <R, T> Builder<R, T> builder(Class<R> requestType) {
+        return new Builder<>(requestType);
+    }
+
+    /**
+     * Получение Specification по заполненным полям DTO поиска
+     * @param request - DTO поиска
+     */
+    public Specification<T> toSpecification(R request) {
+        Specification<T> specification = specificationBuilder.emptySpecification();
+        if (request == null) {
+            return specification;
+        }
+        for (Condition condition : conditions) {
+            Object value = condition.get(request);
+            if (value == null) {
+                continue;
+            }
+            specification = specification.and(
+                    condition.like
+                            ? specificationBuilder.like(condition.column, (String) value)
+                            : specificationBuilder.equal(condition.column, value)
+            );
+        }
+
+        return specification;
+    }
+
+    /**
+     * Получение методов доступа к свойствам класса, приведённых к типу {@code (Object) -> Object}
+     * @param type - класс
+     */
+    private static Map<String, MethodHandle> resolveGetters(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        Map<String, MethodHandle> getters = new HashMap<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method readMethod = descriptor.getReadMethod();
+            if (readMethod == null || readMethod.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            try {
+                getters.put(descriptor.getName(), lookup.unreflect(readMethod).asType(GETTER_TYPE));
+            } catch (IllegalAccessException e) {
+                throw new ServerException(e.getMessage());
+            }
+        }
+
+        return Map.copyOf(getters);
+    }
+
+    /**
+     * Условие фильтра
+     * @param getter - метод доступа к полю DTO
+     * @param column - поле сущности
+     * @param like - признак поиска по вхождению строки
+     */
+    private record Condition(MethodHandle getter, String column, boolean like) {
+        Object get(Object request) {
+            try {
+                return (Object) getter.invokeExact(request);
+            } catch (Throwable e) {
+                throw new ServerException(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Построитель фильтра
+     * @param <R> - тип DTO поиска
+     * @param <T> - тип данных
+     */
+    public static final class Builder<R, T> {
+        private final Class<R> requestType;
+        private final List<Condition> conditions = new ArrayList<>();
+
+        private Builder(Class<R> requestType) {
+            this.requestType = requestType;
+        }
+
+        /**
+         * Условие равенства поля сущности с одноимённым полем DTO
+         * @param property - поле DTO
+         */
+        public Builder<R, T> equal(String property) {
+            return equal(property, property);
+        }
+
+        /**
+         * Условие равенства поля сущности полю DTO
+         * @param property - поле DTO
+         * @param column - поле сущности
+         */
+        public Builder<R, T> equal(String property, String column) {
+            conditions.add(new Condition(getter(property), column, false));
+            return this;
+        }
+
+        /**
+         * Условие вхождения строкового поля DTO в одноимённое поле сущности
+         * @param property - поле DTO
+         */
+        public Builder<R, T> like(String property) {
+            return like(property, property);
+        }
+
+        /**
+         * Условие вхождения строкового поля DTO в поле сущности
+         * @param property - поле DTO
+         * @param column - поле сущности
+         */
+        public Builder<R, T> like(String property, String column) {
+            MethodHandle getter = getter(property);
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(requestType, property);
+            if (descriptor == null || descriptor.getPropertyType() != String.class) {
+                throw new IllegalArgumentException(
+                        "Свойство %s класса %s должно быть строкой".formatted(property, requestType.getName())
+                );
+            }
+            conditions.add(new Condition(getter, column, true));
+            return this;
+        }
+
+        public SearchFilter<R, T> build() {
+            return new SearchFilter<>(conditions);
+        }
+
+        private MethodHandle getter(String property) {
+            MethodHandle getter = GETTERS.get(requestType).get(property);
+            if (getter == null) {
+                throw new IllegalArgumentException(
+                        "Класс %s не содержит свойство %s".formatted(requestType.getName(), property)
+                );
+            }
+
+            return getter;
+        }
+    }
+}
@@ -37,6 +37,24 @@ public class SpecificationBuilder<T> {
                 criteriaBuilder.between(root.get(column), from, to);
     }
 
+    /**
+     * Условие для получения записей, которые следуют после курсора при сортировке по убыванию даты и идентификатора
+     * @param dateColumn - поле даты
+     * @param idColumn - поле идентификатора
+     * @param date - дата последней полученной записи
+     * @param id - идентификатор последней полученной записи
+     */
+    public Specification<T> before(String dateColumn, String idColumn, OffsetDateTime date, Long id) {
+        return (root, query, criteriaBuilder) ->
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get(dateColumn), date),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(root.get(dateColumn), date),
+                                criteriaBuilder.lessThan(root.get(idColumn), id)
+                        )
+                );
+    }
+
     public Specification<T> orderByAsc(String column, Specification<T> specification) {
         return (root, query, criteriaBuilder) -> {
             Objects.requireNonNull(query).orderBy(criteriaBuilder.asc(root.get(column)));
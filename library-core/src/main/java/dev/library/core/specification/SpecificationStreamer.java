@@ -0,0 +1,82 @@
+package dev.library.core.specification;
+
+import dev.library.core.exception.ServerException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Потоковое получение записей по Specification частями фиксированного размера. Записи читаются из курсора БД
+ * с подсказкой fetch size, а после обработки каждой части контекст персистентности очищается, поэтому расход памяти
+ * не зависит от количества записей. Методы должны вызываться внутри транзакции. Фабрика EntityManager получается
+ * при вызове, чтобы компонент не мешал запуску сервисов без JPA
+ */
+@Component
+public class SpecificationStreamer {
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public SpecificationStreamer(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Обработка всех записей, подходящих под Specification, частями
+     * @param type - класс сущности
+     * @param specification - условия выборки
+     * @param sort - сортировка
+     * @param batchSize - размер части и fetch size запроса
+     * @param action - обработчик части записей
+     */
+    public <T> void forEachBatch(Class<T> type, Specification<T> specification, Sort sort, int batchSize,
+                                 Consumer<List<T>> action) {
+        EntityManager entityManager = EntityManagerFactoryUtils
+                .getTransactionalEntityManager(entityManagerFactory.getObject());
+        if (entityManager == null) {
+            throw new ServerException("Потоковое получение записей возможно только внутри транзакции");
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(type);
+        Root<T> root = query.from(type);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        try (Stream<T> stream = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, batchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<T> batch = new ArrayList<>(batchSize);
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    action.accept(batch);
+                    entityManager.clear();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                action.accept(batch);
+                entityManager.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.library.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Вспомогательный класс для получения записей других сервисов по списку ключей частями
+ */
+public class BulkRequestUtils {
+    /**
+     * Максимальное количество ключей в одном запросе к другому сервису
+     */
+    public static final int BULK_REQUEST_SIZE = 300;
+
+    /**
+     * Получение записей частями не более {@link #BULK_REQUEST_SIZE} ключей в запросе. Повторяющиеся ключи
+     * запрашиваются один раз
+     * @param keys - список ключей
+     * @param loader - функция получения записей по части списка ключей
+     * @return записи всех частей в порядке запросов
+     */
+    public static <K, T> List<T> getAll(Collection<K> keys, Function<Set<K>, List<T>> loader) {
+        Set<K> distinctKeys = keys instanceof Set<K> set ? set : new LinkedHashSet<>(keys);
+        if (distinctKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (distinctKeys.size() <= BULK_REQUEST_SIZE) {
+            return loader.apply(distinctKeys);
+        }
+        List<K> values = new ArrayList<>(distinctKeys);
+        List<T> responses = new ArrayList<>(values.size());
+        for (int from = 0; from < values.size(); from += BULK_REQUEST_SIZE) {
+            List<K> part = values.subList(from, Math.min(from + BULK_REQUEST_SIZE, values.size()));
+            responses.addAll(loader.apply(new HashSet<>(part)));
+        }
+
+        return responses;
+    }
+}
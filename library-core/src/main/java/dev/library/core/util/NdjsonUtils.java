@@ -0,0 +1,31 @@
+package dev.library.core.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.library.core.exception.ServerException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Вспомогательный класс для записи данных в формате NDJSON
+ */
+public class NdjsonUtils {
+    /**
+     * Запись объектов в поток по одному JSON-объекту на строку
+     * @param objectMapper - объект типа {@link ObjectMapper}
+     * @param outputStream - поток для записи
+     * @param values - список объектов
+     */
+    public static void write(ObjectMapper objectMapper, OutputStream outputStream, List<?> values) {
+        try {
+            for (Object value : values) {
+                outputStream.write(objectMapper.writeValueAsBytes(value));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package dev.library.core.util;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 /**
  * Вспомогательный класс для построения ответов
  */
 public class ResponseUtils {
+    /**
+     * Заголовок ответа с курсором следующей страницы
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Построение строки для 201 ответа
      * @param id - идентификатор
@@ -16,4 +22,17 @@ public class ResponseUtils {
                 .buildAndExpand(id)
                 .toUriString();
     }
+
+    /**
+     * Построение заголовков ответа с курсором следующей страницы
+     * @param nextCursor - курсор следующей страницы или {@code null}, если страница последняя
+     */
+    public static HttpHeaders createCursorHeaders(String nextCursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            headers.set(NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        return headers;
+    }
 }
@@ -0,0 +1,46 @@
+package dev.library.core.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Вспомогательный класс для выполнения действий по завершении текущей транзакции
+ */
+public class TransactionUtils {
+    /**
+     * Выполнение действия после фиксации текущей транзакции или сразу, если транзакция отсутствует
+     * @param action - действие
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Выполнение действия после завершения текущей транзакции или сразу, как после фиксации, если транзакция
+     * отсутствует
+     * @param action - действие, принимающее признак фиксации транзакции
+     */
+    public static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -2,12 +2,17 @@ package dev.library.domain.booking.client;
 
 import dev.library.domain.booking.dto.BookingResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.service.annotation.GetExchange;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Клиент booking-service для работы с бронированием
  */
@@ -29,6 +34,23 @@ public interface BookingClient {
     @CircuitBreaker(name = "booking", fallbackMethod = "fallbackMethodExistsByIdAndUserId")
     Boolean existsByIdAndUserId(@PathVariable Long id, @RequestParam String userId);
 
+    /**
+     * Получение идентификаторов бронирований постранично. Курсор следующей страницы передаётся в заголовке
+     * {@code X-Next-Cursor}
+     * @param sessionId - идентификатор сеанса
+     * @param from - дата, с которой производится поиск
+     * @param to - дата, по которую производится поиск
+     * @param cursor - курсор, после которого возвращаются записи
+     * @param limit - максимальное количество записей на странице
+     */
+    @GetExchange("/ids")
+    @CircuitBreaker(name = "booking", fallbackMethod = "fallbackMethodGetIds")
+    ResponseEntity<List<Long>> getIds(@RequestParam(required = false) Long sessionId,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer limit);
+
     default BookingResponse fallbackMethodGetById(Long id, Throwable throwable) {
         throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис бронирования временно недоступен, повторите попытку позже!");
     }
@@ -36,4 +58,9 @@ public interface BookingClient {
     default Boolean fallbackMethodExistsByIdAndUserId(Long id, String userId, Throwable throwable) {
         throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис бронирования временно недоступен, повторите попытку позже!");
     }
+
+    default ResponseEntity<List<Long>> fallbackMethodGetIds(Long sessionId, LocalDate from, LocalDate to, String cursor,
+                                                            Integer limit, Throwable throwable) {
+        throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис бронирования временно недоступен, повторите попытку позже!");
+    }
 }
@@ -39,6 +39,16 @@ public class BookingSearchRequest {
      */
     @Schema(name = "to", description = "Дата и время по которым закачивается поиск")
     private LocalDate to;
+    /**
+     * Курсор, после которого возвращаются записи
+     */
+    @Schema(name = "cursor", description = "Курсор, после которого возвращаются записи")
+    private String cursor;
+    /**
+     * Максимальное количество записей на странице
+     */
+    @Schema(name = "limit", description = "Максимальное количество записей на странице")
+    private Integer limit;
 
     public BookingSearchRequest() {}
 
@@ -90,16 +100,33 @@ public class BookingSearchRequest {
         this.to = to;
     }
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         BookingSearchRequest that = (BookingSearchRequest) o;
-        return Objects.equals(userId, that.userId) && Objects.equals(sessionId, that.sessionId) && bookingStatus == that.bookingStatus && Objects.equals(from, that.from) && Objects.equals(to, that.to);
+        return Objects.equals(userId, that.userId) && Objects.equals(sessionId, that.sessionId) && bookingStatus == that.bookingStatus && Objects.equals(from, that.from) && Objects.equals(to, that.to)
+                && Objects.equals(cursor, that.cursor) && Objects.equals(limit, that.limit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userId, sessionId, bookingStatus, from, to);
+        return Objects.hash(userId, sessionId, bookingStatus, from, to, cursor, limit);
     }
 
     @Override
@@ -110,6 +137,8 @@ public class BookingSearchRequest {
                 ", bookingStatus=" + bookingStatus +
                 ", from=" + from +
                 ", to=" + to +
+                ", cursor='" + cursor + '\'' +
+                ", limit=" + limit +
                 '}';
     }
 }
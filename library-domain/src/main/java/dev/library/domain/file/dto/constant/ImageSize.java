@@ -0,0 +1,31 @@
+package dev.library.domain.file.dto.constant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Перечисление для описания размеров изображений. Для каждого размера, кроме исходного, при загрузке изображения
+ * создается уменьшенная копия, ширина которой не превышает указанную
+ */
+@Schema(
+        name = "ImageSize",
+        description = "Перечисление для описания размеров изображений"
+)
+public enum ImageSize {
+    ORIGINAL("original", 0), THUMB("thumb", 160), CARD("card", 480), FULL("full", 1280);
+
+    private final String value;
+    private final int width;
+
+    ImageSize(String value, int width) {
+        this.value = value;
+        this.width = width;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
@@ -27,6 +27,16 @@ public class MovieSearchRequest {
      */
     @Schema(name = "rental", description = "Прокат")
     private Boolean rental;
+    /**
+     * Курсор, после которого возвращаются записи
+     */
+    @Schema(name = "cursor", description = "Курсор, после которого возвращаются записи")
+    private String cursor;
+    /**
+     * Максимальное количество записей на странице
+     */
+    @Schema(name = "limit", description = "Максимальное количество записей на странице")
+    private Integer limit;
 
     public MovieSearchRequest() {}
 
@@ -60,16 +70,33 @@ public class MovieSearchRequest {
         this.rental = rental;
     }
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         MovieSearchRequest that = (MovieSearchRequest) o;
-        return Objects.equals(name, that.name) && Objects.equals(year, that.year) && Objects.equals(rental, that.rental);
+        return Objects.equals(name, that.name) && Objects.equals(year, that.year) && Objects.equals(rental, that.rental)
+                && Objects.equals(cursor, that.cursor) && Objects.equals(limit, that.limit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, year, rental);
+        return Objects.hash(name, year, rental, cursor, limit);
     }
 
     @Override
@@ -78,6 +105,8 @@ public class MovieSearchRequest {
                 "name='" + name + '\'' +
                 ", year=" + year +
                 ", rental=" + rental +
+                ", cursor='" + cursor + '\'' +
+                ", limit=" + limit +
                 '}';
     }
 }
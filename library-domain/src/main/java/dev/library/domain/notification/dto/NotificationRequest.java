@@ -5,16 +5,20 @@ import dev.library.domain.user.dto.UserResponse;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
- * DTO для уведомления о бронировании
+ * DTO для уведомления о бронировании. Файл квитанции в сообщение не входит: сервис уведомлений получает его из
+ * receipt-service по идентификатору бронирования перед отправкой письма
  * @param bookingResponse - объект типа {@link BookingResponse}
  * @param userResponse - объект типа {@link UserResponse}
- * @param data - файл в байтовом представлении
+ * @param checksum - хэш содержимого файла квитанции (SHA-256), определяющий её версию
+ * @param size - размер файла квитанции
  */
 public record NotificationRequest(
         @Schema(name = "bookingResponse", description = "Бронирование")
         BookingResponse bookingResponse,
         @Schema(name = "userResponse", description = "Пользователь")
         UserResponse userResponse,
-        @Schema(name = "data", description = "Файл в байтовом представлении")
-        byte[] data
+        @Schema(name = "checksum", description = "Хэш содержимого файла квитанции")
+        String checksum,
+        @Schema(name = "size", description = "Размер файла квитанции")
+        Long size
 ) {}
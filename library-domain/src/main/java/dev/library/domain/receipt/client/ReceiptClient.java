@@ -0,0 +1,24 @@
+package dev.library.domain.receipt.client;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.service.annotation.GetExchange;
+
+/**
+ * Клиент receipt-service для работы с квитанциями
+ */
+public interface ReceiptClient {
+    /**
+     * Получение PDF файла квитанции в байтовом представлении по идентификатору бронирования
+     * @param bookingId - идентификатор бронирования
+     */
+    @GetExchange("/booking/{bookingId}")
+    @CircuitBreaker(name = "receipt", fallbackMethod = "fallbackMethodGetByBookingId")
+    byte[] getByBookingId(@PathVariable Long bookingId);
+
+    default byte[] fallbackMethodGetByBookingId(Long bookingId, Throwable throwable) {
+        throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис квитанций временно недоступен, повторите попытку позже!");
+    }
+}
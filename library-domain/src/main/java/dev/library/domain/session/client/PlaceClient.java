@@ -1,5 +1,6 @@
 package dev.library.domain.session.client;
 
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.http.HttpStatusCode;
@@ -66,6 +67,16 @@ public interface PlaceClient {
                                     @RequestParam Set<Long> ids,
                                     @RequestParam Boolean available);
 
+    /**
+     * Атомарный захват мест сеанса
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     */
+    @HttpExchange(url = "/session/{session-id}/hold", method = "PATCH")
+    @CircuitBreaker(name = "session", fallbackMethod = "fallbackMethodHold")
+    PlaceHoldResponse hold(@PathVariable("session-id") Long sessionId,
+                           @RequestParam(value = "values") Set<Long> ids);
+
     default List<PlaceResponse> fallbackMethodGetAllByIds(Set<Long> ids, Throwable throwable) {
         throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис сеансов временно недоступен, повторите попытку позже!");
     }
@@ -85,4 +96,8 @@ public interface PlaceClient {
     default void fallbackMethodUpdateAvailabilityAtPlaces(Long sessionId, Set<Long> ids, Boolean available, Throwable throwable) {
         throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис сеансов временно недоступен, повторите попытку позже!");
     }
+
+    default PlaceHoldResponse fallbackMethodHold(Long sessionId, Set<Long> ids, Throwable throwable) {
+        throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис сеансов временно недоступен, повторите попытку позже!");
+    }
 }
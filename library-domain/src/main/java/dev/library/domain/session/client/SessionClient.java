@@ -4,9 +4,13 @@ import dev.library.domain.session.dto.SessionResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.service.annotation.GetExchange;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Клиент session-service для работы с сеансами
  */
@@ -19,7 +23,19 @@ public interface SessionClient {
     @CircuitBreaker(name = "session", fallbackMethod = "fallbackMethodGetById")
     SessionResponse getById(@PathVariable Long id);
 
+    /**
+     * Получение записей о сеансах по переданному списку идентификаторов
+     * @param ids - список идентификаторов сеансов
+     */
+    @GetExchange("/search/ids")
+    @CircuitBreaker(name = "session", fallbackMethod = "fallbackMethodGetAllByIds")
+    List<SessionResponse> getAllByIds(@RequestParam(value = "values") Set<Long> ids);
+
     default SessionResponse fallbackMethodGetById(Long id, Throwable throwable) {
         throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис сеансов временно недоступен, повторите попытку позже!");
     }
+
+    default List<SessionResponse> fallbackMethodGetAllByIds(Set<Long> ids, Throwable throwable) {
+        throw new HttpClientErrorException(HttpStatusCode.valueOf(500), "Сервис сеансов временно недоступен, повторите попытку позже!");
+    }
 }
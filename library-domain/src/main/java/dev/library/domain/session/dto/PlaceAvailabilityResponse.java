@@ -0,0 +1,32 @@
+package dev.library.domain.session.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO для получения данных о доступности мест сеанса
+ * @param sessionId - идентификатор сеанса
+ * @param total - общее количество мест
+ * @param free - количество свободных мест
+ * @param seats - карта мест, упорядоченная по ряду и номеру места, где 1 - свободное место, 0 - занятое
+ */
+@Schema(
+        name = "PlaceAvailabilityResponse",
+        description = "DTO для получения данных о доступности мест сеанса"
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PlaceAvailabilityResponse(
+        @Schema(name = "sessionId", description = "Идентификатор сеанса")
+        Long sessionId,
+        @Schema(name = "total", description = "Общее количество мест")
+        Long total,
+        @Schema(name = "free", description = "Количество свободных мест")
+        Long free,
+        @Schema(name = "seats", description = "Карта мест, упорядоченная по ряду и номеру места, где 1 - свободное место, " +
+                "0 - занятое", requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+        String seats
+) {
+    public PlaceAvailabilityResponse(Long sessionId, Long total, Long free) {
+        this(sessionId, total, free, null);
+    }
+}
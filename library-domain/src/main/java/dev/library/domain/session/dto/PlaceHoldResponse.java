@@ -0,0 +1,24 @@
+package dev.library.domain.session.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Set;
+
+/**
+ * DTO для получения результата захвата мест на сеансе
+ * @param sessionId - идентификатор сеанса
+ * @param heldIds - список идентификаторов захваченных мест
+ * @param rejectedIds - список идентификаторов мест, которые не удалось захватить
+ */
+@Schema(
+        name = "PlaceHoldResponse",
+        description = "DTO для получения результата захвата мест на сеансе"
+)
+public record PlaceHoldResponse(
+        @Schema(name = "sessionId", description = "Идентификатор сеанса")
+        Long sessionId,
+        @Schema(name = "heldIds", description = "Список идентификаторов захваченных мест")
+        Set<Long> heldIds,
+        @Schema(name = "rejectedIds", description = "Список идентификаторов мест, которые не удалось захватить")
+        Set<Long> rejectedIds
+) {}
@@ -0,0 +1,19 @@
+package dev.library.domain.session.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO для освобождения мест сеанса после отмены неоплаченных бронирований
+ * @param sessionId - идентификатор сеанса
+ * @param placeIds - массив идентификаторов мест
+ */
+@Schema(
+        name = "PlaceReleaseRequest",
+        description = "DTO для освобождения мест сеанса после отмены неоплаченных бронирований"
+)
+public record PlaceReleaseRequest(
+        @Schema(name = "sessionId", description = "Идентификатор сеанса")
+        Long sessionId,
+        @Schema(name = "placeIds", description = "Массив идентификаторов мест")
+        long[] placeIds
+) {}
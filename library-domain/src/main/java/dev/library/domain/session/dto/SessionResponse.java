@@ -1,5 +1,6 @@
 package dev.library.domain.session.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.OffsetDateTime;
@@ -12,11 +13,13 @@ import java.time.OffsetDateTime;
  * @param hall - зал
  * @param dateTime - дата и время
  * @param available - доступность
+ * @param placeAvailability - доступность мест сеанса
  */
 @Schema(
         name = "SessionResponse",
         description = "DTO для получения данных о сеансе"
 )
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SessionResponse(
         @Schema(name = "id", description = "Идентификатор")
         Long id,
@@ -29,5 +32,13 @@ public record SessionResponse(
         @Schema(name = "dateTime", description = "Дата и время")
         OffsetDateTime dateTime,
         @Schema(name = "available", description = "Доступность")
-        Boolean available
-) {}
+        Boolean available,
+        @Schema(name = "placeAvailability", description = "Доступность мест сеанса",
+                requiredMode = Schema.RequiredMode.NOT_REQUIRED)
+        PlaceAvailabilityResponse placeAvailability
+) {
+    public SessionResponse(Long id, Long movieId, String movieFormat, Integer hall, OffsetDateTime dateTime,
+                           Boolean available) {
+        this(id, movieId, movieFormat, hall, dateTime, available, null);
+    }
+}
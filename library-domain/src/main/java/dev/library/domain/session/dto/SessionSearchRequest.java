@@ -23,6 +23,21 @@ public class SessionSearchRequest {
      */
     @Schema(name = "date", description = "Дата")
     private LocalDate date;
+    /**
+     * Признак получения доступности мест сеансов
+     */
+    @Schema(name = "withAvailability", description = "Признак получения доступности мест сеансов")
+    private Boolean withAvailability;
+    /**
+     * Курсор, после которого возвращаются записи
+     */
+    @Schema(name = "cursor", description = "Курсор, после которого возвращаются записи")
+    private String cursor;
+    /**
+     * Максимальное количество записей на странице
+     */
+    @Schema(name = "limit", description = "Максимальное количество записей на странице")
+    private Integer limit;
 
     public SessionSearchRequest() {}
 
@@ -31,6 +46,12 @@ public class SessionSearchRequest {
         this.date = date;
     }
 
+    public SessionSearchRequest(Long movieId, LocalDate date, Boolean withAvailability) {
+        this.movieId = movieId;
+        this.date = date;
+        this.withAvailability = withAvailability;
+    }
+
     public Long getMovieId() {
         return movieId;
     }
@@ -47,16 +68,42 @@ public class SessionSearchRequest {
         this.date = date;
     }
 
+    public Boolean getWithAvailability() {
+        return withAvailability;
+    }
+
+    public void setWithAvailability(Boolean withAvailability) {
+        this.withAvailability = withAvailability;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         SessionSearchRequest that = (SessionSearchRequest) o;
-        return Objects.equals(movieId, that.movieId) && Objects.equals(date, that.date);
+        return Objects.equals(movieId, that.movieId) && Objects.equals(date, that.date)
+                && Objects.equals(withAvailability, that.withAvailability) && Objects.equals(cursor, that.cursor)
+                && Objects.equals(limit, that.limit);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(movieId, date);
+        return Objects.hash(movieId, date, withAvailability, cursor, limit);
     }
 
     @Override
@@ -64,6 +111,9 @@ public class SessionSearchRequest {
         return "SessionSearchRequest{" +
                 "movieId=" + movieId +
                 ", date=" + date +
+                ", withAvailability=" + withAvailability +
+                ", cursor='" + cursor + '\'' +
+                ", limit=" + limit +
                 '}';
     }
 }
@@ -20,10 +20,9 @@ public class AuditConfig {
     public AuditorAware<String> auditorProvider()  {
         return () -> {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null) {
+            if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
                 return Optional.of("service");
             }
-            Jwt jwt = (Jwt) authentication.getPrincipal();
             Map<String, Object> claims = jwt.getClaims();
             String username = (String) claims.get("preferred_username");
             return Optional.of(username);
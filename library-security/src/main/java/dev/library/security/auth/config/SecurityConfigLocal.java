@@ -33,7 +33,7 @@ public class SecurityConfigLocal {
                         .requestMatchers(HttpMethod.GET, "/api/v1/file/images/resource/{movie-id}/*",
                                 "/api/v1/movies", "/api/v1/movies/*",
                                 "/api/v1/sessions", "/api/v1/sessions/*",
-                                "/api/v1/places/*", "/api/v1/places/session/*",
+                                "/api/v1/places/*", "/api/v1/places/session/*", "/api/v1/places/search/sessions/availability",
                                 "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/v1/users/reset-password").permitAll()
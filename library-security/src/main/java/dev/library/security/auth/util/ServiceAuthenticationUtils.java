@@ -0,0 +1,41 @@
+package dev.library.security.auth.util;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Вспомогательный класс для выполнения действий от имени сервиса вне HTTP-запроса пользователя.
+ * Запросы клиентов к другим сервисам в таком действии выполняются с токеном, полученным по client credentials.
+ * Сервисному аккаунту клиента в Keycloak выдана только роль {@link #SERVICE_ROLE}, которая разрешает чтение данных
+ * пользователя и файла квитанции, но не действия менеджера
+ */
+public class ServiceAuthenticationUtils {
+    /**
+     * Роль сервиса для чтения данных других сервисов
+     */
+    public static final String SERVICE_ROLE = "service-reader";
+    private static final String SERVICE_PRINCIPAL = "service";
+
+    /**
+     * Выполнение действия от имени сервиса
+     * @param action - действие
+     * @param <T> - тип результата
+     */
+    public static <T> T callAsService(Supplier<T> action) {
+        SecurityContext previousContext = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(SERVICE_PRINCIPAL, null,
+                List.of(new SimpleGrantedAuthority("ROLE_%s".formatted(SERVICE_ROLE)))));
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.setContext(previousContext);
+        }
+    }
+}
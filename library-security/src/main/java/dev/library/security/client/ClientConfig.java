@@ -4,12 +4,15 @@ import dev.library.domain.booking.client.BookingClient;
 import dev.library.domain.dictionary.country.client.CountryClient;
 import dev.library.domain.dictionary.participant.client.ParticipantClient;
 import dev.library.domain.movie.client.MovieClient;
+import dev.library.domain.receipt.client.ReceiptClient;
 import dev.library.domain.session.client.PlaceClient;
 import dev.library.domain.session.client.SessionClient;
 import dev.library.domain.user.client.UserClient;
 import io.micrometer.observation.ObservationRegistry;
 import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.core5.util.Timeout;
@@ -51,6 +54,16 @@ public class ClientConfig {
     private String movieUrl;
     @Value("${url.booking:}")
     private String bookingUrl;
+    @Value("${url.receipt:}")
+    private String receiptUrl;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    @Value("${threads.virtual.client.max-total:200}")
+    private int virtualMaxTotal;
+    @Value("${threads.virtual.client.max-per-route:50}")
+    private int virtualMaxPerRoute;
+    @Value("${threads.virtual.client.connection-request-timeout:3000}")
+    private long virtualConnectionRequestTimeout;
 
     public ClientConfig(ClientInterceptor clientInterceptor) {
         this.clientInterceptor = clientInterceptor;
@@ -119,6 +132,15 @@ public class ClientConfig {
         return httpProxyFactory.createClient(BookingClient.class);
     }
 
+    @Bean
+    public ReceiptClient receiptClient(RestClient.Builder loadBalancedRestClientBuilder, ObservationRegistry observationRegistry) {
+        RestClient restClient = getRestClient(loadBalancedRestClientBuilder, observationRegistry, receiptUrl);
+        RestClientAdapter restClientAdapter = RestClientAdapter.create(restClient);
+        HttpServiceProxyFactory httpProxyFactory = HttpServiceProxyFactory.builderFor(restClientAdapter).build();
+
+        return httpProxyFactory.createClient(ReceiptClient.class);
+    }
+
     @Bean
     @Scope("prototype")
     @LoadBalanced
@@ -150,14 +172,24 @@ public class ClientConfig {
 
         PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
         connectionManager.setDefaultConnectionConfig(connectionConfig);
+        if (virtualThreadsEnabled) {
+            connectionManager.setMaxTotal(virtualMaxTotal);
+            connectionManager.setDefaultMaxPerRoute(virtualMaxPerRoute);
+        }
 
         return connectionManager;
     }
 
     private CloseableHttpClient getHttpClient(PoolingHttpClientConnectionManager connectionManager) {
-        return HttpClients.custom()
-                .setConnectionManager(connectionManager)
-                .build();
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                .setConnectionManager(connectionManager);
+        if (virtualThreadsEnabled) {
+            httpClientBuilder.setDefaultRequestConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(virtualConnectionRequestTimeout))
+                    .build());
+        }
+
+        return httpClientBuilder.build();
     }
 
     private RestClient getRestClient(
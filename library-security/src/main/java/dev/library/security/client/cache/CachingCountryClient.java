@@ -0,0 +1,59 @@
+package dev.library.security.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.library.domain.dictionary.country.client.CountryClient;
+import dev.library.domain.dictionary.country.dto.CountryResponse;
+import org.springframework.aop.framework.AopInfrastructureBean;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Клиент dictionary-service для работы со странами, кэширующий записи стран по коду.
+ * При частичном попадании в кэш у dictionary-service запрашиваются только отсутствующие в кэше коды.
+ * Реализует {@link AopInfrastructureBean}, чтобы {@code @CircuitBreaker} применялся только к обращениям
+ * HTTP-клиента, а не к чтению из кэша
+ */
+public class CachingCountryClient implements CountryClient, AopInfrastructureBean {
+    private final CountryClient countryClient;
+    private final Cache<String, CountryResponse> cache;
+
+    public CachingCountryClient(CountryClient countryClient, Cache<String, CountryResponse> cache) {
+        this.countryClient = countryClient;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<CountryResponse> getAllByCodes(Set<String> codes) {
+        return List.copyOf(cache.getAll(codes, this::load).values());
+    }
+
+    @Override
+    public List<String> getNonExistentCodes(Set<String> codes) {
+        Map<String, CountryResponse> cached = cache.getAllPresent(codes);
+        if (cached.size() == codes.size()) {
+            return List.of();
+        }
+        Set<String> missing = codes.stream()
+                .filter(code -> !cached.containsKey(code))
+                .collect(Collectors.toSet());
+
+        return countryClient.getNonExistentCodes(missing);
+    }
+
+    /**
+     * Получение у dictionary-service записей стран, отсутствующих в кэше
+     * @param codes - список кодов
+     */
+    private Map<String, CountryResponse> load(Set<? extends String> codes) {
+        return countryClient.getAllByCodes(new HashSet<>(codes)).stream()
+                .collect(Collectors.toMap(
+                        CountryResponse::code, Function.identity(), (first, second) -> first, LinkedHashMap::new
+                ));
+    }
+}
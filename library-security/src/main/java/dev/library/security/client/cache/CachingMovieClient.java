@@ -0,0 +1,37 @@
+package dev.library.security.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.library.domain.movie.client.MovieClient;
+import dev.library.domain.movie.dto.MovieResponse;
+import org.springframework.aop.framework.AopInfrastructureBean;
+
+/**
+ * Клиент movie-service для работы с фильмами, кэширующий записи фильмов по идентификатору на короткое время.
+ * Одновременные запросы одного фильма при отсутствии записи в кэше выполняют одно обращение к movie-service.
+ * Реализует {@link AopInfrastructureBean}, чтобы {@code @CircuitBreaker} применялся только к обращениям
+ * HTTP-клиента, а не к чтению из кэша
+ */
+public class CachingMovieClient implements MovieClient, AopInfrastructureBean {
+    private final MovieClient movieClient;
+    private final Cache<Long, MovieResponse> cache;
+
+    public CachingMovieClient(MovieClient movieClient, Cache<Long, MovieResponse> cache) {
+        this.movieClient = movieClient;
+        this.cache = cache;
+    }
+
+    @Override
+    public MovieResponse getById(Long id) {
+        return cache.get(id, movieClient::getById);
+    }
+
+    @Override
+    public Boolean existsById(Long id) {
+        return movieClient.existsById(id);
+    }
+
+    @Override
+    public Integer getDurationById(Long id) {
+        return movieClient.getDurationById(id);
+    }
+}
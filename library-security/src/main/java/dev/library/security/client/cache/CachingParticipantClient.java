@@ -0,0 +1,59 @@
+package dev.library.security.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.library.domain.dictionary.participant.client.ParticipantClient;
+import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
+import org.springframework.aop.framework.AopInfrastructureBean;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Клиент dictionary-service для работы с участниками фильмов, кэширующий записи участников по идентификатору.
+ * При частичном попадании в кэш у dictionary-service запрашиваются только отсутствующие в кэше идентификаторы.
+ * Реализует {@link AopInfrastructureBean}, чтобы {@code @CircuitBreaker} применялся только к обращениям
+ * HTTP-клиента, а не к чтению из кэша
+ */
+public class CachingParticipantClient implements ParticipantClient, AopInfrastructureBean {
+    private final ParticipantClient participantClient;
+    private final Cache<Long, ParticipantResponse> cache;
+
+    public CachingParticipantClient(ParticipantClient participantClient, Cache<Long, ParticipantResponse> cache) {
+        this.participantClient = participantClient;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<ParticipantResponse> getAllByIds(Set<Long> values) {
+        return List.copyOf(cache.getAll(values, this::load).values());
+    }
+
+    @Override
+    public List<Long> getNonExistentIds(Set<Long> ids) {
+        Map<Long, ParticipantResponse> cached = cache.getAllPresent(ids);
+        if (cached.size() == ids.size()) {
+            return List.of();
+        }
+        Set<Long> missing = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toSet());
+
+        return participantClient.getNonExistentIds(missing);
+    }
+
+    /**
+     * Получение у dictionary-service записей участников фильмов, отсутствующих в кэше
+     * @param ids - список идентификаторов
+     */
+    private Map<Long, ParticipantResponse> load(Set<? extends Long> ids) {
+        return participantClient.getAllByIds(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(
+                        ParticipantResponse::id, Function.identity(), (first, second) -> first, LinkedHashMap::new
+                ));
+    }
+}
@@ -0,0 +1,69 @@
+package dev.library.security.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.library.domain.dictionary.country.client.CountryClient;
+import dev.library.domain.dictionary.country.dto.CountryResponse;
+import dev.library.domain.dictionary.participant.client.ParticipantClient;
+import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация локального кэша справочников dictionary-service, включается свойством {@code cache.dictionary.enabled}.
+ * Кэширующие клиенты объявлены основными, поэтому сервисы получают их вместо HTTP-клиентов.
+ * Статистика обращений к кэшу публикуется в метриках {@code cache.gets}, {@code cache.puts} и {@code cache.evictions}
+ * с тегом {@code cache}
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.dictionary.enabled", havingValue = "true")
+public class DictionaryCacheConfig {
+    @Value("${cache.dictionary.country.maximum-size:1000}")
+    private long countryMaximumSize;
+    @Value("${cache.dictionary.country.ttl:24h}")
+    private Duration countryTtl;
+    @Value("${cache.dictionary.participant.maximum-size:10000}")
+    private long participantMaximumSize;
+    @Value("${cache.dictionary.participant.ttl:1h}")
+    private Duration participantTtl;
+
+    @Bean
+    @Primary
+    public CachingCountryClient cachingCountryClient(
+            @Qualifier("countryClient") CountryClient countryClient,
+            MeterRegistry meterRegistry
+    ) {
+        Cache<String, CountryResponse> cache = buildCache(countryMaximumSize, countryTtl);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dictionary.countries");
+
+        return new CachingCountryClient(countryClient, cache);
+    }
+
+    @Bean
+    @Primary
+    public CachingParticipantClient cachingParticipantClient(
+            @Qualifier("participantClient") ParticipantClient participantClient,
+            MeterRegistry meterRegistry
+    ) {
+        Cache<Long, ParticipantResponse> cache = buildCache(participantMaximumSize, participantTtl);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dictionary.participants");
+
+        return new CachingParticipantClient(participantClient, cache);
+    }
+
+    private <K, V> Cache<K, V> buildCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package dev.library.security.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.library.domain.movie.client.MovieClient;
+import dev.library.domain.movie.dto.MovieResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Конфигурация локального кэша фильмов movie-service, включается свойством {@code cache.movie.enabled}.
+ * Данные фильма могут измениться, поэтому время жизни записи {@code cache.movie.ttl} выбирается коротким.
+ * Статистика обращений к кэшу публикуется в метриках {@code cache.gets}, {@code cache.puts} и {@code cache.evictions}
+ * с тегом {@code cache}
+ */
+@Configuration
+@ConditionalOnProperty(name = "cache.movie.enabled", havingValue = "true")
+public class MovieCacheConfig {
+    @Value("${cache.movie.maximum-size:1000}")
+    private long maximumSize;
+    @Value("${cache.movie.ttl:1m}")
+    private Duration ttl;
+
+    @Bean
+    @Primary
+    public CachingMovieClient cachingMovieClient(
+            @Qualifier("movieClient") MovieClient movieClient,
+            MeterRegistry meterRegistry
+    ) {
+        Cache<Long, MovieResponse> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "movies");
+
+        return new CachingMovieClient(movieClient, cache);
+    }
+}
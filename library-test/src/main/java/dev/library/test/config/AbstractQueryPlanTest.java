@@ -0,0 +1,99 @@
+package dev.library.test.config;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Базовый класс для проверки планов выполнения запросов репозиториев. Тестовые данные заполняются в транзакции
+ * теста в объеме, при котором последовательное сканирование заметно дороже поиска по индексу, и откатываются
+ * после его завершения. Проверяются планы SQL-запросов, которые Hibernate фактически выполняет при вызове
+ * методов репозиториев
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "dev.library.test.config.CapturingStatementInspector")
+public abstract class AbstractQueryPlanTest extends AbstractRepositoryTest {
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    /**
+     * Обновление статистики таблиц после заполнения тестовыми данными
+     * @param tables - наименования таблиц
+     */
+    protected void analyze(String... tables) {
+        for (String table : tables) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+    }
+
+    /**
+     * Получение общего плана выполнения запроса без подстановки значений параметров
+     * @param sql - SQL-запрос с параметрами JDBC
+     */
+    protected String explain(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + toNumberedParameters(sql),
+                String.class);
+
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Проверка того, что SQL-запросы, которые Hibernate выполняет при вызове метода репозитория, читают таблицу
+     * по переданному индексу, а не последовательным сканированием
+     * @param table - наименование таблицы
+     * @param index - наименование индекса
+     * @param query - вызов метода репозитория
+     */
+    protected void assertIndexScan(String table, String index, Runnable query) {
+        entityManager.flush();
+        entityManager.clear();
+        List<String> statements = CapturingStatementInspector.capture(() -> {
+            query.run();
+            entityManager.flush();
+        });
+
+        Pattern tablePattern = Pattern.compile("\\b" + Pattern.quote(table) + "\\b", Pattern.CASE_INSENSITIVE);
+        List<String> plans = statements.stream()
+                .filter(sql -> tablePattern.matcher(sql).find())
+                .map(this::explain)
+                .toList();
+        Assertions.assertFalse(plans.isEmpty(),
+                "Запросы к таблице %s не выполнялись: %s".formatted(table, statements));
+        for (String plan : plans) {
+            Assertions.assertFalse(plan.contains("Seq Scan on " + table + " "),
+                    "Последовательное сканирование таблицы %s:%n%s".formatted(table, plan));
+        }
+        Assertions.assertTrue(plans.stream().anyMatch(plan -> plan.contains(" " + index)),
+                "Индекс %s не используется:%n%s".formatted(index, String.join("\n\n", plans)));
+    }
+
+    /**
+     * Замена параметров JDBC (?) на нумерованные параметры PostgreSQL ($1, $2, ...) вне строковых литералов
+     * @param sql - SQL-запрос
+     */
+    private static String toNumberedParameters(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        boolean literal = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                literal = !literal;
+            }
+            if (c == '?' && !literal) {
+                result.append('$').append(++parameter);
+            } else {
+                result.append(c);
+            }
+        }
+
+        return result.toString();
+    }
+}
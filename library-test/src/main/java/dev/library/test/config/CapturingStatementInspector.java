@@ -0,0 +1,41 @@
+package dev.library.test.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Перехват SQL-запросов, которые Hibernate выполняет в текущем потоке. Подключается свойством
+ * hibernate.session_factory.statement_inspector
+ */
+public class CapturingStatementInspector implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Выполнение действия с сохранением всех SQL-запросов, подготовленных Hibernate
+     * @param action - действие
+     * @return список SQL-запросов в порядке выполнения
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            action.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+
+        return sql;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.movie.controller;
 
 import dev.library.core.exception.dto.ApiErrorResponse;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.util.DataValidation;
 import dev.library.core.util.ResponseUtils;
 import dev.library.domain.movie.dto.MovieRequest;
@@ -10,6 +11,7 @@ import dev.movie.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -23,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -39,11 +42,11 @@ public class MovieController {
     private final MovieService service;
 
     /**
-     * Получение всех записей о фильмах
+     * Получение страницы записей о фильмах
      * @param searchRequest - объект типа {@link MovieSearchRequest}
      */
     @Operation(
-            summary = "Получение всех записей о фильмах",
+            summary = "Получение страницы записей о фильмах",
             parameters = {
                     @Parameter(
                             name = "searchRequest",
@@ -58,6 +61,10 @@ public class MovieController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "OK",
+                            headers = @Header(
+                                    name = ResponseUtils.NEXT_CURSOR_HEADER,
+                                    description = "Курсор следующей страницы, отсутствует на последней странице"
+                            ),
                             content = {
                                     @Content(
                                             mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -68,14 +75,68 @@ public class MovieController {
                                             )
                                     )
                             }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = ApiErrorResponse.class
+                                            )
+                                    )
+                            }
                     )
             }
     )
     @GetMapping
     public ResponseEntity<List<MovieResponse>> getAll(@ModelAttribute MovieSearchRequest searchRequest) {
-        List<MovieResponse> responses = service.getAll(searchRequest);
+        CursorPage<MovieResponse> page = service.getAll(searchRequest);
+
+        return ResponseEntity.ok()
+                .headers(ResponseUtils.createCursorHeaders(page.nextCursor()))
+                .body(page.content());
+    }
+
+    /**
+     * Выгрузка всех записей о фильмах в формате NDJSON
+     * @param searchRequest - объект типа {@link MovieSearchRequest}
+     */
+    @Operation(
+            summary = "Выгрузка всех записей о фильмах в формате NDJSON",
+            parameters = {
+                    @Parameter(
+                            name = "searchRequest",
+                            description = "Объект для фильтрации поиска фильмов",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = MovieSearchRequest.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = MovieResponse.class
+                                            )
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute MovieSearchRequest searchRequest) {
+        StreamingResponseBody body = outputStream -> service.export(searchRequest, outputStream);
 
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
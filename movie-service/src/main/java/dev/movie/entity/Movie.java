@@ -4,6 +4,7 @@ import dev.library.domain.movie.dto.constant.AgeRating;
 import dev.library.security.audit.entity.Auditable;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.JdbcType;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
@@ -64,6 +65,7 @@ public class Movie extends Auditable {
      * Список жанров
      */
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinTable(
             name = "movies_genres",
             joinColumns = @JoinColumn(name = "movie_id"),
@@ -74,10 +76,12 @@ public class Movie extends Auditable {
      * Список стран
      */
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<MovieCountry> countries;
     /**
      * Список участников фильмов
      */
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<MovieParticipant> participants;
 }
\ No newline at end of file
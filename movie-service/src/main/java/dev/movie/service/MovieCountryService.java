@@ -1,10 +1,12 @@
 package dev.movie.service;
 
+import dev.library.core.util.BulkRequestUtils;
 import dev.library.domain.dictionary.country.dto.CountryResponse;
 import dev.movie.entity.Movie;
 import dev.movie.entity.MovieCountry;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -26,8 +28,9 @@ public interface MovieCountryService {
     void update(Movie movie, Set<String> countryCodes);
 
     /**
-     * Получение списка объектов типа {@link CountryResponse} по списку объектов типа {@link MovieCountry}
+     * Получение объектов типа {@link CountryResponse} по коду страны для списка объектов типа {@link MovieCountry}.
+     * Записи стран запрашиваются в справочнике частями по {@link BulkRequestUtils#BULK_REQUEST_SIZE} кодов
      * @param countries - список объектов типа {@link MovieCountry}
      */
-    List<CountryResponse> getCountryResponsesByMovieId(List<MovieCountry> countries);
+    Map<String, CountryResponse> getCountryResponsesByCodes(List<MovieCountry> countries);
 }
@@ -1,5 +1,6 @@
 package dev.movie.service;
 
+import dev.library.core.util.BulkRequestUtils;
 import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
 import dev.library.domain.movie.dto.constant.Position;
 import dev.movie.entity.Movie;
@@ -28,8 +29,10 @@ public interface MovieParticipantService {
     void update(Movie movie, Map<Position, Set<Long>> mapParticipants);
 
     /**
-     * Получение списка объектов типа {@link ParticipantResponse} по списку объектов типа {@link MovieParticipant}
-     * @param participants- список объектов типа {@link MovieParticipant}
+     * Получение объектов типа {@link ParticipantResponse} по идентификатору участника для списка объектов типа
+     * {@link MovieParticipant}. Записи участников запрашиваются в справочнике частями по
+     * {@link BulkRequestUtils#BULK_REQUEST_SIZE} идентификаторов
+     * @param participants - список объектов типа {@link MovieParticipant}
      */
-    List<ParticipantResponse> getParticipantResponseByMovieIdAndPosition(List<MovieParticipant> participants);
+    Map<Long, ParticipantResponse> getParticipantResponsesByIds(List<MovieParticipant> participants);
 }
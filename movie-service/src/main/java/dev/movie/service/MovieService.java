@@ -1,10 +1,12 @@
 package dev.movie.service;
 
+import dev.library.core.pagination.CursorPage;
 import dev.movie.entity.Movie;
 import dev.library.domain.movie.dto.MovieRequest;
 import dev.library.domain.movie.dto.MovieResponse;
 import dev.library.domain.movie.dto.MovieSearchRequest;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -12,10 +14,17 @@ import java.util.List;
  */
 public interface MovieService {
     /**
-     * Получение записей всех фильмов
+     * Получение страницы записей о фильмах, упорядоченных по убыванию даты создания
      * @param searchRequest - объект типа {@link MovieSearchRequest}
      */
-    List<MovieResponse> getAll(MovieSearchRequest searchRequest);
+    CursorPage<MovieResponse> getAll(MovieSearchRequest searchRequest);
+
+    /**
+     * Выгрузка всех записей о фильмах в формате NDJSON
+     * @param searchRequest - объект типа {@link MovieSearchRequest}
+     * @param outputStream - поток для записи
+     */
+    void export(MovieSearchRequest searchRequest, OutputStream outputStream);
 
     /**
      * Получение записи о фильме по идентификатору
@@ -59,4 +68,11 @@ public interface MovieService {
      * @param movie - объект типа {@link Movie}
      */
     MovieResponse buildResponse(Movie movie);
+
+    /**
+     * Построение полных ответов о фильмах. Связанные записи загружаются пакетами, а страны и участники фильмов
+     * запрашиваются в справочнике одним запросом для всех фильмов
+     * @param movies - список объектов типа {@link Movie}
+     */
+    List<MovieResponse> buildResponses(List<Movie> movies);
 }
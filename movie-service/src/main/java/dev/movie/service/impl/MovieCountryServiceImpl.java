@@ -1,6 +1,7 @@
 package dev.movie.service.impl;
 
 import dev.library.core.exception.BadRequestException;
+import dev.library.core.util.BulkRequestUtils;
 import dev.library.domain.dictionary.country.client.CountryClient;
 import dev.library.domain.dictionary.country.dto.CountryResponse;
 import dev.movie.entity.Movie;
@@ -13,7 +14,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -56,9 +59,16 @@ public class MovieCountryServiceImpl implements MovieCountryService {
     }
 
     @Override
-    public List<CountryResponse> getCountryResponsesByMovieId(List<MovieCountry> countries) {
-        return client
-                .getAllByCodes(countries.stream().map(MovieCountry::getCountryCode).collect(Collectors.toSet()));
+    public Map<String, CountryResponse> getCountryResponsesByCodes(List<MovieCountry> countries) {
+        List<String> codes = countries.stream()
+                .map(MovieCountry::getCountryCode)
+                .distinct()
+                .toList();
+        Map<String, CountryResponse> responses = new HashMap<>();
+        BulkRequestUtils.getAll(codes, client::getAllByCodes)
+                .forEach(response -> responses.putIfAbsent(response.code(), response));
+
+        return responses;
     }
 
     /**
@@ -1,6 +1,7 @@
 package dev.movie.service.impl;
 
 import dev.library.core.exception.BadRequestException;
+import dev.library.core.util.BulkRequestUtils;
 import dev.library.domain.dictionary.participant.client.ParticipantClient;
 import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
 import dev.library.domain.movie.dto.constant.Position;
@@ -14,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,9 +80,16 @@ public class MovieParticipantServiceImpl implements MovieParticipantService {
     }
 
     @Override
-    public List<ParticipantResponse> getParticipantResponseByMovieIdAndPosition(List<MovieParticipant> participants) {
-        return client
-                .getAllByIds(participants.stream().map(MovieParticipant::getParticipantId).collect(Collectors.toSet()));
+    public Map<Long, ParticipantResponse> getParticipantResponsesByIds(List<MovieParticipant> participants) {
+        List<Long> ids = participants.stream()
+                .map(MovieParticipant::getParticipantId)
+                .distinct()
+                .toList();
+        Map<Long, ParticipantResponse> responses = new HashMap<>();
+        BulkRequestUtils.getAll(ids, client::getAllByIds)
+                .forEach(response -> responses.putIfAbsent(response.id(), response));
+
+        return responses;
     }
 
     /**
@@ -1,8 +1,13 @@
 package dev.movie.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.library.core.exception.EntityNotFoundException;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
+import dev.library.core.specification.SearchFilter;
 import dev.library.core.specification.SpecificationBuilder;
-import dev.library.core.util.ReflectionUtils;
+import dev.library.core.specification.SpecificationStreamer;
+import dev.library.core.util.NdjsonUtils;
 import dev.library.domain.dictionary.country.dto.CountryResponse;
 import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
 import dev.library.domain.movie.dto.GenreResponse;
@@ -23,10 +28,12 @@ import dev.movie.service.MovieParticipantService;
 import dev.movie.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.util.*;
 
 /**
@@ -35,24 +42,54 @@ import java.util.*;
 @Service
 @RequiredArgsConstructor
 public class MovieServiceImpl implements MovieService {
+    /**
+     * Сортировка записей для постраничного получения по курсору
+     */
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+    /**
+     * Фильтр для поиска записей о фильмах по полям, сравниваемым с одноимёнными полями сущности
+     */
+    private static final SearchFilter<MovieSearchRequest, Movie> SEARCH_FILTER = SearchFilter.<MovieSearchRequest, Movie>builder(MovieSearchRequest.class)
+            .like("name")
+            .equal("year")
+            .equal("rental")
+            .build();
+
     private final MovieRepository repository;
     private final MovieMapper mapper;
     private final GenreService genreService;
     private final MovieCountryService movieCountryService;
     private final MovieParticipantService movieParticipantService;
     private final SpecificationBuilder<Movie> specificationBuilder;
+    private final SpecificationStreamer specificationStreamer;
+    private final ObjectMapper objectMapper;
 
     @Value("${errors.movie.id.not-found}")
     private String errorMovieIdNotFound;
+    @Value("${pagination.default-limit}")
+    private int defaultLimit;
+    @Value("${pagination.max-limit}")
+    private int maxLimit;
+    @Value("${pagination.fetch-size}")
+    private int fetchSize;
 
     @Override
-    public List<MovieResponse> getAll(MovieSearchRequest searchRequest) {
+    @Transactional(readOnly = true)
+    public CursorPage<MovieResponse> getAll(MovieSearchRequest searchRequest) {
+        int limit = CursorPage.limit(searchRequest.getLimit(), defaultLimit, maxLimit);
         Specification<Movie> specification = getSpecification(searchRequest);
-        List<Movie> movies = repository.findAll(specification);
+        List<Movie> movies = repository.findBy(specification, query -> query.sortBy(CURSOR_SORT).limit(limit + 1).all());
+        CursorPage<Movie> page = CursorPage.of(movies, limit, movie -> new Cursor(movie.getCreatedDate(), movie.getId()));
 
-        return movies.stream()
-                .map(this::buildResponse)
-                .toList();
+        return new CursorPage<>(buildResponses(page.content()), page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(MovieSearchRequest searchRequest, OutputStream outputStream) {
+        Specification<Movie> specification = getSpecification(searchRequest);
+        specificationStreamer.forEachBatch(Movie.class, specification, CURSOR_SORT, fetchSize,
+                movies -> NdjsonUtils.write(objectMapper, outputStream, buildResponses(movies)));
     }
 
     @Override
@@ -114,21 +151,28 @@ public class MovieServiceImpl implements MovieService {
 
     @Override
     public MovieResponse buildResponse(Movie movie) {
-        List<GenreResponse> genreResponses = genreService.getGenreResponsesByMovie(movie);
-        List<CountryResponse> countryResponses = movieCountryService.getCountryResponsesByMovieId(movie.getCountries());
-        List<MovieParticipant> participants = movie.getParticipants();
-        List<MovieParticipant> directors = participants.stream()
-                .filter(participant -> participant.getPosition() == Position.DIRECTOR)
-                .toList();
-        List<ParticipantResponse> directorResponses = movieParticipantService
-                .getParticipantResponseByMovieIdAndPosition(directors);
-        List<MovieParticipant> actors = participants.stream()
-                .filter(participant -> participant.getPosition() == Position.ACTOR)
-                .toList();
-        List<ParticipantResponse> actorResponses = movieParticipantService
-                .getParticipantResponseByMovieIdAndPosition(actors);
+        return buildResponses(List.of(movie)).getFirst();
+    }
+
+    @Override
+    public List<MovieResponse> buildResponses(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return List.of();
+        }
+        DictionaryResponses<String, CountryResponse> countryResponses = new DictionaryResponses<>(
+                movieCountryService.getCountryResponsesByCodes(
+                        movies.stream().flatMap(movie -> movie.getCountries().stream()).toList()
+                )
+        );
+        DictionaryResponses<Long, ParticipantResponse> participantResponses = new DictionaryResponses<>(
+                movieParticipantService.getParticipantResponsesByIds(
+                        movies.stream().flatMap(movie -> movie.getParticipants().stream()).toList()
+                )
+        );
 
-        return mapper.toResponse(movie, genreResponses, countryResponses, directorResponses, actorResponses);
+        return movies.stream()
+                .map(movie -> buildResponse(movie, countryResponses, participantResponses))
+                .toList();
     }
 
     private Movie findById(Long id) {
@@ -136,6 +180,37 @@ public class MovieServiceImpl implements MovieService {
                 .orElseThrow(() -> new EntityNotFoundException(errorMovieIdNotFound.formatted(id)));
     }
 
+    /**
+     * Построение полного ответа о фильме по заранее полученным записям справочника
+     * @param movie - объект типа {@link Movie}
+     * @param countryResponses - записи стран
+     * @param participantResponses - записи участников фильмов
+     */
+    private MovieResponse buildResponse(Movie movie, DictionaryResponses<String, CountryResponse> countryResponses,
+                                        DictionaryResponses<Long, ParticipantResponse> participantResponses) {
+        List<GenreResponse> genreResponses = genreService.getGenreResponsesByMovie(movie);
+        List<CountryResponse> movieCountryResponses = countryResponses
+                .get(movie.getCountries().stream().map(MovieCountry::getCountryCode).toList());
+        List<ParticipantResponse> directorResponses = participantResponses
+                .get(getParticipantIds(movie, Position.DIRECTOR));
+        List<ParticipantResponse> actorResponses = participantResponses
+                .get(getParticipantIds(movie, Position.ACTOR));
+
+        return mapper.toResponse(movie, genreResponses, movieCountryResponses, directorResponses, actorResponses);
+    }
+
+    /**
+     * Получение идентификаторов участников фильма с указанной позицией
+     * @param movie - объект типа {@link Movie}
+     * @param position - перечисление типа {@link Position}
+     */
+    private List<Long> getParticipantIds(Movie movie, Position position) {
+        return movie.getParticipants().stream()
+                .filter(participant -> participant.getPosition() == position)
+                .map(MovieParticipant::getParticipantId)
+                .toList();
+    }
+
     /**
      * Замена данных записи о фильме
      * @param movie - объект типа {@link Movie}
@@ -173,32 +248,30 @@ public class MovieServiceImpl implements MovieService {
      * @param searchDto - объект типа {@link MovieSearchRequest}
      */
     private Specification<Movie> getSpecification(MovieSearchRequest searchDto) {
-        Specification<Movie> specification = specificationBuilder.emptySpecification();
-        if (ReflectionUtils.allFieldsIsNull(searchDto)) {
-            return specification;
-        }
-        if (Objects.nonNull(searchDto.getName())) {
-            String valueName = searchDto.getName();
-            String fieldName = ReflectionUtils.getFieldName(searchDto, valueName).orElseThrow();
+        Specification<Movie> specification = SEARCH_FILTER.toSpecification(searchDto);
+        if (Objects.nonNull(searchDto.getCursor())) {
+            Cursor cursor = Cursor.decode(searchDto.getCursor());
             specification = specification.and(
-                    specificationBuilder.like(fieldName, valueName)
-            );
-        }
-        if (Objects.nonNull(searchDto.getYear())) {
-            Integer valueYear = searchDto.getYear();
-            String fieldNameYear = ReflectionUtils.getFieldName(searchDto, valueYear).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldNameYear, valueYear)
-            );
-        }
-        if (Objects.nonNull(searchDto.getRental())) {
-            Boolean valueRental= searchDto.getRental();
-            String fieldNameRental = ReflectionUtils.getFieldName(searchDto, valueRental).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldNameRental, valueRental)
+                    specificationBuilder.before("createdDate", "id", cursor.createdDate(), cursor.id())
             );
         }
 
         return specification;
     }
+
+    /**
+     * Записи справочника, полученные одним запросом для нескольких фильмов. Записи отдельного фильма сортируются по
+     * ключу, так как ни справочник, ни кэш справочника порядок записей не гарантируют
+     * @param responses - Map с записями справочника по ключу
+     */
+    private record DictionaryResponses<K extends Comparable<K>, V>(Map<K, V> responses) {
+        List<V> get(List<K> keys) {
+            return keys.stream()
+                    .distinct()
+                    .filter(responses::containsKey)
+                    .sorted()
+                    .map(responses::get)
+                    .toList();
+        }
+    }
 }
@@ -0,0 +1,5 @@
+-- Поиск стран по идентификатору фильма
+CREATE INDEX IF NOT EXISTS movies_countries_movie_id_idx ON movies_countries (movie_id);
+
+-- Поиск участников по идентификатору фильма
+CREATE INDEX IF NOT EXISTS movies_participants_movie_id_idx ON movies_participants (movie_id);
\ No newline at end of file
@@ -0,0 +1,174 @@
+package dev.movie.client;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.library.domain.dictionary.country.client.CountryClient;
+import dev.library.domain.dictionary.country.dto.CountryResponse;
+import dev.library.domain.dictionary.participant.client.ParticipantClient;
+import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
+import dev.library.security.client.cache.CachingCountryClient;
+import dev.library.security.client.cache.CachingParticipantClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingDictionaryClientTest {
+    final CountryClient countryClient = Mockito.mock(CountryClient.class);
+    final ParticipantClient participantClient = Mockito.mock(ParticipantClient.class);
+    final AtomicLong ticker = new AtomicLong();
+
+    CachingCountryClient cachingCountryClient;
+    CachingParticipantClient cachingParticipantClient;
+
+    CountryResponse countryRussia;
+    CountryResponse countryBelgium;
+    CountryResponse countryFrance;
+
+    ParticipantResponse participantOne;
+    ParticipantResponse participantTwo;
+
+    @BeforeEach
+    void init() {
+        cachingCountryClient = new CachingCountryClient(
+                countryClient,
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterWrite(Duration.ofHours(24))
+                        .ticker(ticker::get)
+                        .executor(Runnable::run)
+                        .build()
+        );
+        cachingParticipantClient = new CachingParticipantClient(
+                participantClient,
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterWrite(Duration.ofHours(1))
+                        .ticker(ticker::get)
+                        .executor(Runnable::run)
+                        .build()
+        );
+
+        countryRussia = new CountryResponse(1L, "643", "Россия");
+        countryBelgium = new CountryResponse(4L, "056", "Бельгия");
+        countryFrance = new CountryResponse(2L, "250", "Франция");
+
+        participantOne = new ParticipantResponse(1L, "Иванов", "Иван");
+        participantTwo = new ParticipantResponse(2L, "Петров", "Пётр", "Петрович");
+    }
+
+    @Test
+    void getAllByCodes_loadOnlyMissing() {
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("643", "056")))
+                .thenReturn(List.of(countryRussia, countryBelgium));
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("250")))
+                .thenReturn(List.of(countryFrance));
+
+        List<CountryResponse> first = cachingCountryClient.getAllByCodes(Set.of("643", "056"));
+        Assertions.assertEquals(2, first.size());
+
+        List<CountryResponse> second = cachingCountryClient.getAllByCodes(Set.of("643", "056", "250"));
+        Assertions.assertEquals(3, second.size());
+        Assertions.assertTrue(second.containsAll(List.of(countryRussia, countryBelgium, countryFrance)));
+
+        Mockito
+                .verify(countryClient, Mockito.times(1))
+                .getAllByCodes(Set.of("643", "056"));
+        Mockito
+                .verify(countryClient, Mockito.times(1))
+                .getAllByCodes(Set.of("250"));
+    }
+
+    @Test
+    void getAllByCodes_unknownCodeNotCached() {
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("643", "999")))
+                .thenReturn(List.of(countryRussia));
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("999")))
+                .thenReturn(List.of());
+
+        List<CountryResponse> first = cachingCountryClient.getAllByCodes(Set.of("643", "999"));
+        Assertions.assertEquals(List.of(countryRussia), first);
+
+        List<CountryResponse> second = cachingCountryClient.getAllByCodes(Set.of("643", "999"));
+        Assertions.assertEquals(List.of(countryRussia), second);
+
+        Mockito
+                .verify(countryClient, Mockito.times(1))
+                .getAllByCodes(Set.of("999"));
+    }
+
+    @Test
+    void getNonExistentCodes_allCached() {
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("643", "056")))
+                .thenReturn(List.of(countryRussia, countryBelgium));
+        cachingCountryClient.getAllByCodes(Set.of("643", "056"));
+
+        List<String> codes = cachingCountryClient.getNonExistentCodes(Set.of("643", "056"));
+        Assertions.assertTrue(codes.isEmpty());
+
+        Mockito
+                .verify(countryClient, Mockito.never())
+                .getNonExistentCodes(Mockito.anySet());
+    }
+
+    @Test
+    void getNonExistentCodes_checkOnlyMissing() {
+        Mockito
+                .when(countryClient.getAllByCodes(Set.of("643")))
+                .thenReturn(List.of(countryRussia));
+        Mockito
+                .when(countryClient.getNonExistentCodes(Set.of("999")))
+                .thenReturn(List.of("999"));
+        cachingCountryClient.getAllByCodes(Set.of("643"));
+
+        List<String> codes = cachingCountryClient.getNonExistentCodes(Set.of("643", "999"));
+        Assertions.assertEquals(List.of("999"), codes);
+    }
+
+    @Test
+    void getAllByIds_expired() {
+        Mockito
+                .when(participantClient.getAllByIds(Set.of(1L, 2L)))
+                .thenReturn(List.of(participantOne, participantTwo));
+
+        cachingParticipantClient.getAllByIds(Set.of(1L, 2L));
+        ticker.addAndGet(Duration.ofMinutes(59).toNanos());
+        cachingParticipantClient.getAllByIds(Set.of(1L, 2L));
+        Mockito
+                .verify(participantClient, Mockito.times(1))
+                .getAllByIds(Set.of(1L, 2L));
+
+        ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+        List<ParticipantResponse> participants = cachingParticipantClient.getAllByIds(Set.of(1L, 2L));
+        Assertions.assertEquals(2, participants.size());
+        Mockito
+                .verify(participantClient, Mockito.times(2))
+                .getAllByIds(Set.of(1L, 2L));
+    }
+
+    @Test
+    void getNonExistentIds_checkOnlyMissing() {
+        Mockito
+                .when(participantClient.getAllByIds(Set.of(1L)))
+                .thenReturn(List.of(participantOne));
+        Mockito
+                .when(participantClient.getNonExistentIds(Set.of(3L)))
+                .thenReturn(List.of(3L));
+        cachingParticipantClient.getAllByIds(Set.of(1L));
+
+        List<Long> ids = cachingParticipantClient.getNonExistentIds(Set.of(1L, 3L));
+        Assertions.assertEquals(List.of(3L), ids);
+    }
+}
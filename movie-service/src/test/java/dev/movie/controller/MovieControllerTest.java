@@ -3,7 +3,6 @@ package dev.movie.controller;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
-import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import dev.library.domain.dictionary.country.dto.CountryResponse;
 import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
 import dev.library.domain.movie.dto.MovieRequest;
@@ -20,6 +19,7 @@ import org.wiremock.spring.ConfigureWireMock;
 import org.wiremock.spring.EnableWireMock;
 import org.wiremock.spring.InjectWireMock;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -80,77 +80,27 @@ public class MovieControllerTest extends AbstractControllerTest {
     @Test
     @Order(1)
     void getAll_ok() throws JsonProcessingException {
-        String countriesScenarioName = "getCountries";
-        String countriesForMovieOneJson = mapper.writeValueAsString(countriesForMovieOne);
+        String countriesJson = mapper.writeValueAsString(countriesForMovieTwo);
         mockCountryService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/countries/search/codes"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(countriesScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
-                                .willReturn(
-                                        WireMock.ok(countriesForMovieOneJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Second")
-                );
-        String countriesForMovieTwoJson = mapper.writeValueAsString(countriesForMovieTwo);
-        mockCountryService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/countries/search/codes"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(countriesScenarioName)
-                                .whenScenarioStateIs("Second")
-                                .willReturn(
-                                        WireMock.ok(countriesForMovieTwoJson).withHeader("Content-Type", "application/json")
-                                )
-                );
-
-        String participantsScenarioName = "getParticipants";
-        String participantsDirectorForMovieOneJson = mapper.writeValueAsString(participantsDirectorForMovieOne);
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
-                                .willReturn(
-                                        WireMock.ok(participantsDirectorForMovieOneJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Two")
-                );
-        String participantsActorForMovieOneJson = mapper.writeValueAsString(participantsActorForMovieOne);
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Two")
-                                .willReturn(
-                                        WireMock.ok(participantsActorForMovieOneJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Three")
-                );
-        String participantsDirectorForMovieTwoJson = mapper.writeValueAsString(participantsDirectorForMovieTwo);
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Three")
                                 .willReturn(
-                                        WireMock.ok(participantsDirectorForMovieTwoJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(countriesJson).withHeader("Content-Type", "application/json")
                                 )
-                                .willSetStateTo("Four")
                 );
-        String participantsActorForMovieTwoJson = mapper.writeValueAsString(participantsActorForMovieTwo);
+        List<ParticipantResponse> participants = new ArrayList<>();
+        participants.addAll(participantsDirectorForMovieOne);
+        participants.addAll(participantsActorForMovieOne);
+        participants.addAll(participantsDirectorForMovieTwo);
+        participants.addAll(participantsActorForMovieTwo);
+        String participantsJson = mapper.writeValueAsString(participants);
         mockParticipantService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Four")
                                 .willReturn(
-                                        WireMock.ok(participantsActorForMovieTwoJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(participantsJson).withHeader("Content-Type", "application/json")
                                 )
                 );
 
@@ -162,6 +112,9 @@ public class MovieControllerTest extends AbstractControllerTest {
                     .log().all()
                     .statusCode(200)
                     .body("$.size()", Matchers.greaterThan(0));
+
+        mockCountryService.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/dictionary/countries/search/codes")));
+        mockParticipantService.verify(1, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids")));
     }
 
     @Test
@@ -176,28 +129,16 @@ public class MovieControllerTest extends AbstractControllerTest {
                                         WireMock.ok(countriesForMovieOneJson).withHeader("Content-Type", "application/json")
                                 )
                 );
-        String participantsScenarioName = "getParticipants";
-        String participantsDirectorForMovieOneJson = mapper.writeValueAsString(participantsDirectorForMovieOne);
+        List<ParticipantResponse> participants = new ArrayList<>();
+        participants.addAll(participantsDirectorForMovieOne);
+        participants.addAll(participantsActorForMovieOne);
+        String participantsJson = mapper.writeValueAsString(participants);
         mockParticipantService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
                                 .willReturn(
-                                        WireMock.ok(participantsDirectorForMovieOneJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Two")
-                );
-        String participantsActorForMovieOneJson = mapper.writeValueAsString(participantsActorForMovieOne);
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Two")
-                                .willReturn(
-                                        WireMock.ok(participantsActorForMovieOneJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(participantsJson).withHeader("Content-Type", "application/json")
                                 )
                 );
 
@@ -251,28 +192,16 @@ public class MovieControllerTest extends AbstractControllerTest {
                                 )
                 );
 
-        String participantsScenarioName = "getParticipants";
-        String participantsDirectorForMovieOneJson = mapper.writeValueAsString(participantsDirectorForMovieOne);
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
-                                .willReturn(
-                                        WireMock.ok(participantsDirectorForMovieOneJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Two")
-                );
-        String participantsActorForMovieOneJson = mapper.writeValueAsString(participantsActorForMovieOne);
+        List<ParticipantResponse> participants = new ArrayList<>();
+        participants.addAll(participantsDirectorForMovieOne);
+        participants.addAll(participantsActorForMovieOne);
+        String participantsJson = mapper.writeValueAsString(participants);
         mockParticipantService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Two")
                                 .willReturn(
-                                        WireMock.ok(participantsActorForMovieOneJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(participantsJson).withHeader("Content-Type", "application/json")
                                 )
                 );
 
@@ -460,30 +389,15 @@ public class MovieControllerTest extends AbstractControllerTest {
                                         WireMock.ok(countriesForMovieJson).withHeader("Content-Type", "application/json")
                                 )
                 );
-        String participantsScenarioName = "getParticipants";
         ParticipantResponse participantResponseDirector = new ParticipantResponse(1L, "Ларраин", "Пабло");
-        String participantsDirectorJson = mapper.writeValueAsString(List.of(participantResponseDirector));
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
-                                .willReturn(
-                                        WireMock.ok(participantsDirectorJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Two")
-                );
         ParticipantResponse participantResponseActor = new ParticipantResponse(2L, "Джоли", "Анджелина");
-        String participantsActorJson = mapper.writeValueAsString(List.of(participantResponseActor));
+        String participantsJson = mapper.writeValueAsString(List.of(participantResponseDirector, participantResponseActor));
         mockParticipantService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Two")
                                 .willReturn(
-                                        WireMock.ok(participantsActorJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(participantsJson).withHeader("Content-Type", "application/json")
                                 )
                 );
 
@@ -724,30 +638,15 @@ public class MovieControllerTest extends AbstractControllerTest {
                                         WireMock.ok(countriesForMovieJson).withHeader("Content-Type", "application/json")
                                 )
                 );
-        String participantsScenarioName = "getParticipants";
         ParticipantResponse participantResponseDirector = new ParticipantResponse(2L, "Джоли", "Анджелина");
-        String participantsDirectorJson = mapper.writeValueAsString(List.of(participantResponseDirector));
-        mockParticipantService
-                .stubFor(
-                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
-                                .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs(Scenario.STARTED)
-                                .willReturn(
-                                        WireMock.ok(participantsDirectorJson).withHeader("Content-Type", "application/json")
-                                )
-                                .willSetStateTo("Two")
-                );
         ParticipantResponse participantResponseActor = new ParticipantResponse(1L, "Ларраин", "Пабло");
-        String participantsActorJson = mapper.writeValueAsString(List.of(participantResponseActor));
+        String participantsJson = mapper.writeValueAsString(List.of(participantResponseDirector, participantResponseActor));
         mockParticipantService
                 .stubFor(
                         WireMock.get(WireMock.urlPathEqualTo("/api/v1/dictionary/participants/search/ids"))
                                 .withQueryParam("values", WireMock.matching(".*"))
-                                .inScenario(participantsScenarioName)
-                                .whenScenarioStateIs("Two")
                                 .willReturn(
-                                        WireMock.ok(participantsActorJson).withHeader("Content-Type", "application/json")
+                                        WireMock.ok(participantsJson).withHeader("Content-Type", "application/json")
                                 )
                 );
 
@@ -0,0 +1,51 @@
+package dev.movie.repository;
+
+import dev.library.test.config.AbstractQueryPlanTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Проверка того, что загрузка стран и участников фильма использует индексы
+ */
+@ActiveProfiles("test")
+public class QueryPlanTest extends AbstractQueryPlanTest {
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Long movieId;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO movies(name, description, duration, year, rating, rental, created_by, updated_by) " +
+                        "SELECT 'movie-' || i, 'description', 90 + i % 60, 1990 + i % 35, 'TWELVE', i % 2 = 0, 'test', 'test' " +
+                        "FROM generate_series(1, 3000) AS i"
+        );
+        movieId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM movies", Long.class);
+        jdbcTemplate.update(
+                "INSERT INTO movies_countries(movie_id, country_code, created_by, updated_by) " +
+                        "SELECT m.id, (ARRAY['RU', 'US', 'GB', 'FR'])[n], 'test', 'test' FROM movies m " +
+                        "CROSS JOIN generate_series(1, 4) AS n WHERE m.created_by = 'test'"
+        );
+        jdbcTemplate.update(
+                "INSERT INTO movies_participants(movie_id, participant_id, position, created_by, updated_by) " +
+                        "SELECT m.id, n, CASE WHEN n = 1 THEN 'DIRECTOR' ELSE 'ACTOR' END::participant_position, 'test', 'test' " +
+                        "FROM movies m CROSS JOIN generate_series(1, 10) AS n WHERE m.created_by = 'test'"
+        );
+        analyze("movies", "movies_countries", "movies_participants");
+    }
+
+    @Test
+    void findCountriesByMovieId() {
+        assertIndexScan("movies_countries", "movies_countries_movie_id_idx",
+                () -> movieRepository.findById(movieId).orElseThrow().getCountries().size());
+    }
+
+    @Test
+    void findParticipantsByMovieId() {
+        assertIndexScan("movies_participants", "movies_participants_movie_id_idx",
+                () -> movieRepository.findById(movieId).orElseThrow().getParticipants().size());
+    }
+}
@@ -219,7 +219,7 @@ public class MovieCountryServiceImplTest {
     }
 
     @Test
-    void getCountryResponsesByMovieId() {
+    void getCountryResponsesByCodes() {
         List<CountryResponse> responses = List.of(
                 new CountryResponse(3L, "643", "Россия"),
                 new CountryResponse(4L, "056", "Бельгия")
@@ -229,17 +229,14 @@ public class MovieCountryServiceImplTest {
                 .when(countryClient.getAllByCodes(Mockito.anySet()))
                 .thenReturn(responses);
 
-        List<CountryResponse> countryResponses = service.getCountryResponsesByMovieId(List.of(entityRussia, entityBelgium));
+        Map<String, CountryResponse> countryResponses = service.getCountryResponsesByCodes(List.of(entityRussia, entityBelgium, entityRussia));
         Assertions.assertNotNull(countryResponses);
-        Assertions.assertFalse(countryResponses.isEmpty());
         Assertions.assertEquals(2, countryResponses.size());
-        Assertions.assertEquals("643", countryResponses.get(0).code());
-        Assertions.assertEquals("Россия", countryResponses.get(0).name());
-        Assertions.assertEquals("056", countryResponses.get(1).code());
-        Assertions.assertEquals("Бельгия", countryResponses.get(1).name());
+        Assertions.assertEquals("Россия", countryResponses.get("643").name());
+        Assertions.assertEquals("Бельгия", countryResponses.get("056").name());
 
         Mockito
                 .verify(countryClient, Mockito.times(1))
-                .getAllByCodes(Mockito.anySet());
+                .getAllByCodes(Set.of("643", "056"));
     }
 }
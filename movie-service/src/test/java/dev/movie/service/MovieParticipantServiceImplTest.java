@@ -250,7 +250,7 @@ public class MovieParticipantServiceImplTest {
     }
 
     @Test
-    void getParticipantResponseByMovieIdAndPosition() {
+    void getParticipantResponsesByIds() {
         List<ParticipantResponse> responses = List.of(
                 new ParticipantResponse(12L, "Иванов", "Иван", "Иванович"),
                 new ParticipantResponse(13L, "Воробей", "Джек")
@@ -260,21 +260,50 @@ public class MovieParticipantServiceImplTest {
                 .when(participantClient.getAllByIds(Mockito.anySet()))
                 .thenReturn(responses);
 
-        List<ParticipantResponse> participantResponses = service.getParticipantResponseByMovieIdAndPosition(List.of(entityDirector, entityActor));
+        Map<Long, ParticipantResponse> participantResponses = service.getParticipantResponsesByIds(List.of(entityDirector, entityActor));
         Assertions.assertNotNull(participantResponses);
-        Assertions.assertFalse(participantResponses.isEmpty());
         Assertions.assertEquals(2, participantResponses.size());
-        Assertions.assertEquals(12, participantResponses.getFirst().id());
-        Assertions.assertEquals("Иванов", participantResponses.getFirst().lastName());
-        Assertions.assertEquals("Иван", participantResponses.getFirst().firstName());
-        Assertions.assertEquals("Иванович", participantResponses.getFirst().middleName());
-        Assertions.assertEquals(13, participantResponses.get(1).id());
-        Assertions.assertEquals("Воробей", participantResponses.get(1).lastName());
-        Assertions.assertEquals("Джек", participantResponses.get(1).firstName());
-        Assertions.assertNull(participantResponses.get(1).middleName());
+        Assertions.assertEquals("Иванов", participantResponses.get(12L).lastName());
+        Assertions.assertEquals("Иван", participantResponses.get(12L).firstName());
+        Assertions.assertEquals("Иванович", participantResponses.get(12L).middleName());
+        Assertions.assertEquals("Воробей", participantResponses.get(13L).lastName());
+        Assertions.assertEquals("Джек", participantResponses.get(13L).firstName());
+        Assertions.assertNull(participantResponses.get(13L).middleName());
 
         Mockito
                 .verify(participantClient, Mockito.times(1))
+                .getAllByIds(Set.of(12L, 13L));
+    }
+
+    @Test
+    void getParticipantResponsesByIds_chunked() {
+        List<MovieParticipant> participants = new ArrayList<>();
+        for (long id = 1; id <= 301; id++) {
+            participants.add(MovieParticipant.builder().participantId(id).position(Position.ACTOR).build());
+        }
+        participants.add(entityActor);
+
+        Mockito
+                .when(participantClient.getAllByIds(Mockito.anySet()))
+                .thenAnswer(invocation -> invocation.<Set<Long>>getArgument(0).stream()
+                        .map(id -> new ParticipantResponse(id, "Фамилия", "Имя"))
+                        .toList());
+
+        Map<Long, ParticipantResponse> participantResponses = service.getParticipantResponsesByIds(participants);
+        Assertions.assertEquals(301, participantResponses.size());
+
+        Mockito
+                .verify(participantClient, Mockito.times(2))
+                .getAllByIds(Mockito.anySet());
+    }
+
+    @Test
+    void getParticipantResponsesByIds_empty() {
+        Map<Long, ParticipantResponse> participantResponses = service.getParticipantResponsesByIds(List.of());
+        Assertions.assertTrue(participantResponses.isEmpty());
+
+        Mockito
+                .verify(participantClient, Mockito.never())
                 .getAllByIds(Mockito.anySet());
     }
 }
@@ -1,7 +1,11 @@
 package dev.movie.service;
 
 import dev.library.core.exception.EntityNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.specification.SpecificationBuilder;
+import dev.library.core.specification.SpecificationStreamer;
 import dev.library.domain.dictionary.country.dto.CountryResponse;
 import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
 import dev.library.domain.movie.dto.GenreResponse;
@@ -17,16 +21,22 @@ import dev.movie.entity.MovieParticipant;
 import dev.movie.mapper.MovieMapper;
 import dev.movie.repository.MovieRepository;
 import dev.movie.service.impl.MovieServiceImpl;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,8 +47,9 @@ public class MovieServiceImplTest {
     final MovieCountryService movieCountryService = Mockito.mock(MovieCountryService.class);
     final MovieParticipantService movieParticipantService = Mockito.mock(MovieParticipantService.class);
     final SpecificationBuilder<Movie> specificationBuilder = new SpecificationBuilder<>();
+    final SpecificationStreamer specificationStreamer = Mockito.mock(SpecificationStreamer.class);
     final MovieService service = new MovieServiceImpl(repository, mapper, genreService, movieCountryService,
-            movieParticipantService, specificationBuilder);
+            movieParticipantService, specificationBuilder, specificationStreamer, new ObjectMapper());
 
     Movie entityMovieOne;
     Movie entityMovieTwo;
@@ -62,6 +73,9 @@ public class MovieServiceImplTest {
     @BeforeEach
     void init() {
         ReflectionTestUtils.setField(service, "errorMovieIdNotFound", "Фильм с идентификатором %d не найден");
+        ReflectionTestUtils.setField(service, "defaultLimit", 100);
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        ReflectionTestUtils.setField(service, "fetchSize", 500);
 
         genreSport = Genre.builder()
                 .id(1L)
@@ -122,8 +136,8 @@ public class MovieServiceImplTest {
         genreComedyResponse = new GenreResponse(2L, "Комедии");
         countryCanadaResponse = new CountryResponse(5L, "124", "Канада");
         countryBelgiumResponse  = new CountryResponse(15L, "056", "Бельгия");
-        participantDirectorResponse = new ParticipantResponse(44L, "Иванов", "Иван", "Иванович");
-        participantActorResponse = new ParticipantResponse(48L, "Ложкин", "Антон", "Николаевич");
+        participantDirectorResponse = new ParticipantResponse(12L, "Иванов", "Иван", "Иванович");
+        participantActorResponse = new ParticipantResponse(13L, "Ложкин", "Антон", "Николаевич");
     }
 
     @Test
@@ -131,17 +145,17 @@ public class MovieServiceImplTest {
         List<Movie> entities = List.of(entityMovieOne, entityMovieTwo);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Movie>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any()))
                 .thenReturn(entities);
 
-        List<MovieResponse> responses = service.getAll(new MovieSearchRequest());
+        List<MovieResponse> responses = service.getAll(new MovieSearchRequest()).content();
         Assertions.assertNotNull(responses);
         Assertions.assertFalse(responses.isEmpty());
         Assertions.assertEquals(2, responses.size());
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Movie>>any());
+                .findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any());
     }
 
     @Test
@@ -149,14 +163,14 @@ public class MovieServiceImplTest {
         List<Movie> entities = List.of(entityMovieTwo);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Movie>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any()))
                 .thenReturn(entities);
 
         List<MovieResponse> responses = service.getAll(
                 new MovieSearchRequest(
                         "Тест", 2024, false
                 )
-        );
+        ).content();
         Assertions.assertNotNull(responses);
         Assertions.assertFalse(responses.isEmpty());
         Assertions.assertEquals(1, responses.size());
@@ -166,26 +180,92 @@ public class MovieServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Movie>>any());
+                .findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any());
     }
 
     @Test
     void getAll_empty() {
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Movie>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any()))
                 .thenReturn(Collections.emptyList());
 
         List<MovieResponse> responses = service.getAll(
                 new MovieSearchRequest(
                         "Тест 999", 2067, true
                 )
-        );
+        ).content();
         Assertions.assertNotNull(responses);
         Assertions.assertTrue(responses.isEmpty());
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Movie>>any());
+                .findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAll_specification_equalValues() {
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any()))
+                .thenReturn(Collections.emptyList());
+
+        MovieSearchRequest searchRequest = new MovieSearchRequest("Тест", 1, true);
+        searchRequest.setLimit(1);
+        service.getAll(searchRequest);
+
+        ArgumentCaptor<Specification<Movie>> captor = ArgumentCaptor.forClass(Specification.class);
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findBy(captor.capture(), ArgumentMatchers.any());
+
+        Root<Movie> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder criteriaBuilder = Mockito.mock(CriteriaBuilder.class);
+        captor.getValue().toPredicate(root, query, criteriaBuilder);
+
+        Mockito
+                .verify(root, Mockito.times(1))
+                .get("name");
+        Mockito
+                .verify(root, Mockito.times(1))
+                .get("year");
+        Mockito
+                .verify(root, Mockito.times(1))
+                .get("rental");
+        Mockito
+                .verify(root, Mockito.never())
+                .get("limit");
+        Mockito
+                .verify(criteriaBuilder, Mockito.times(1))
+                .like(ArgumentMatchers.<Expression<String>>any(), ArgumentMatchers.eq("%Тест%"));
+        Mockito
+                .verify(criteriaBuilder, Mockito.times(1))
+                .equal(ArgumentMatchers.any(), ArgumentMatchers.eq((Object) 1));
+        Mockito
+                .verify(criteriaBuilder, Mockito.times(1))
+                .equal(ArgumentMatchers.any(), ArgumentMatchers.eq((Object) true));
+    }
+
+    @Test
+    void getAll_nextCursor() {
+        OffsetDateTime createdDate = OffsetDateTime.parse("2025-03-01T10:15:30Z");
+        entityMovieOne.setCreatedDate(createdDate);
+        entityMovieTwo.setCreatedDate(createdDate.minusDays(1));
+
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Movie>>any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(entityMovieOne, entityMovieTwo));
+
+        MovieSearchRequest searchRequest = new MovieSearchRequest();
+        searchRequest.setLimit(1);
+        CursorPage<MovieResponse> page = service.getAll(searchRequest);
+        Assertions.assertEquals(1, page.content().size());
+        Assertions.assertEquals(entityMovieOne.getId(), page.content().getFirst().id());
+        Assertions.assertEquals(new Cursor(createdDate, entityMovieOne.getId()), Cursor.decode(page.nextCursor()));
+
+        Mockito
+                .verify(genreService, Mockito.times(1))
+                .getGenreResponsesByMovie(Mockito.any(Movie.class));
     }
 
     @Test
@@ -197,12 +277,11 @@ public class MovieServiceImplTest {
                 .when(genreService.getGenreResponsesByMovie(Mockito.any(Movie.class)))
                 .thenReturn(List.of(genreComedyResponse));
         Mockito
-                .when(movieCountryService.getCountryResponsesByMovieId(Mockito.anyList()))
-                .thenReturn(List.of(countryCanadaResponse));
+                .when(movieCountryService.getCountryResponsesByCodes(Mockito.anyList()))
+                .thenReturn(Map.of("124", countryCanadaResponse));
         Mockito
-                .when(movieParticipantService.getParticipantResponseByMovieIdAndPosition(Mockito.anyList()))
-                .thenReturn(List.of(participantDirectorResponse))
-                .thenReturn(List.of(participantActorResponse));
+                .when(movieParticipantService.getParticipantResponsesByIds(Mockito.anyList()))
+                .thenReturn(Map.of(12L, participantDirectorResponse, 13L, participantActorResponse));
 
         MovieResponse response = service.getById(1L);
         Assertions.assertNotNull(response);
@@ -230,10 +309,10 @@ public class MovieServiceImplTest {
                 .getGenreResponsesByMovie(Mockito.any(Movie.class));
         Mockito
                 .verify(movieCountryService, Mockito.times(1))
-                .getCountryResponsesByMovieId(Mockito.anyList());
+                .getCountryResponsesByCodes(Mockito.anyList());
         Mockito
-                .verify(movieParticipantService, Mockito.times(2))
-                .getParticipantResponseByMovieIdAndPosition(Mockito.anyList());
+                .verify(movieParticipantService, Mockito.times(1))
+                .getParticipantResponsesByIds(Mockito.anyList());
     }
 
     @Test
@@ -350,12 +429,11 @@ public class MovieServiceImplTest {
                 .when(genreService.getGenreResponsesByMovie(Mockito.any(Movie.class)))
                 .thenReturn(List.of(genreComedyResponse));
         Mockito
-                .when(movieCountryService.getCountryResponsesByMovieId(Mockito.anyList()))
-                .thenReturn(List.of(countryCanadaResponse));
+                .when(movieCountryService.getCountryResponsesByCodes(Mockito.anyList()))
+                .thenReturn(Map.of("124", countryCanadaResponse));
         Mockito
-                .when(movieParticipantService.getParticipantResponseByMovieIdAndPosition(Mockito.anyList()))
-                .thenReturn(List.of(participantDirectorResponse))
-                .thenReturn(List.of(participantActorResponse));
+                .when(movieParticipantService.getParticipantResponsesByIds(Mockito.anyList()))
+                .thenReturn(Map.of(12L, participantDirectorResponse, 13L, participantActorResponse));
 
         MovieRequest request = new MovieRequest(
                 "Тест 1",
@@ -404,10 +482,10 @@ public class MovieServiceImplTest {
                 .getGenreResponsesByMovie(Mockito.any(Movie.class));
         Mockito
                 .verify(movieCountryService, Mockito.times(1))
-                .getCountryResponsesByMovieId(Mockito.anyList());
+                .getCountryResponsesByCodes(Mockito.anyList());
         Mockito
-                .verify(movieParticipantService, Mockito.times(2))
-                .getParticipantResponseByMovieIdAndPosition(Mockito.anyList());
+                .verify(movieParticipantService, Mockito.times(1))
+                .getParticipantResponsesByIds(Mockito.anyList());
     }
 
     @Test
@@ -447,12 +525,11 @@ public class MovieServiceImplTest {
                 .when(genreService.getGenreResponsesByMovie(Mockito.any(Movie.class)))
                 .thenReturn(List.of(genreComedyResponse));
         Mockito
-                .when(movieCountryService.getCountryResponsesByMovieId(Mockito.anyList()))
-                .thenReturn(List.of(countryCanadaResponse));
+                .when(movieCountryService.getCountryResponsesByCodes(Mockito.anyList()))
+                .thenReturn(Map.of("124", countryCanadaResponse));
         Mockito
-                .when(movieParticipantService.getParticipantResponseByMovieIdAndPosition(Mockito.anyList()))
-                .thenReturn(List.of(participantDirectorResponse))
-                .thenReturn(List.of(participantActorResponse));
+                .when(movieParticipantService.getParticipantResponsesByIds(Mockito.anyList()))
+                .thenReturn(Map.of(12L, participantDirectorResponse, 13L, participantActorResponse));
 
         MovieRequest request = new MovieRequest(
                 "Тест 2",
@@ -505,10 +582,10 @@ public class MovieServiceImplTest {
                 .getGenreResponsesByMovie(Mockito.any(Movie.class));
         Mockito
                 .verify(movieCountryService, Mockito.times(1))
-                .getCountryResponsesByMovieId(Mockito.anyList());
+                .getCountryResponsesByCodes(Mockito.anyList());
         Mockito
-                .verify(movieParticipantService, Mockito.times(2))
-                .getParticipantResponseByMovieIdAndPosition(Mockito.anyList());
+                .verify(movieParticipantService, Mockito.times(1))
+                .getParticipantResponsesByIds(Mockito.anyList());
     }
 
     @Test
@@ -605,12 +682,11 @@ public class MovieServiceImplTest {
                 .when(genreService.getGenreResponsesByMovie(Mockito.any(Movie.class)))
                 .thenReturn(List.of(genreComedyResponse));
         Mockito
-                .when(movieCountryService.getCountryResponsesByMovieId(Mockito.anyList()))
-                .thenReturn(List.of(countryCanadaResponse));
+                .when(movieCountryService.getCountryResponsesByCodes(Mockito.anyList()))
+                .thenReturn(Map.of("124", countryCanadaResponse));
         Mockito
-                .when(movieParticipantService.getParticipantResponseByMovieIdAndPosition(Mockito.anyList()))
-                .thenReturn(List.of(participantDirectorResponse))
-                .thenReturn(List.of(participantActorResponse));
+                .when(movieParticipantService.getParticipantResponsesByIds(Mockito.anyList()))
+                .thenReturn(Map.of(12L, participantDirectorResponse, 13L, participantActorResponse));
 
 
         MovieResponse response = service.buildResponse(entityMovieOne);
@@ -636,9 +712,52 @@ public class MovieServiceImplTest {
                 .getGenreResponsesByMovie(Mockito.any(Movie.class));
         Mockito
                 .verify(movieCountryService, Mockito.times(1))
-                .getCountryResponsesByMovieId(Mockito.anyList());
+                .getCountryResponsesByCodes(Mockito.anyList());
+        Mockito
+                .verify(movieParticipantService, Mockito.times(1))
+                .getParticipantResponsesByIds(Mockito.anyList());
+    }
+
+    @Test
+    void buildResponses() {
+        Mockito
+                .when(genreService.getGenreResponsesByMovie(Mockito.any(Movie.class)))
+                .thenReturn(List.of(genreComedyResponse));
+        Mockito
+                .when(movieCountryService.getCountryResponsesByCodes(Mockito.anyList()))
+                .thenReturn(Map.of("124", countryCanadaResponse, "056", countryBelgiumResponse));
+        Mockito
+                .when(movieParticipantService.getParticipantResponsesByIds(Mockito.anyList()))
+                .thenReturn(Map.of(12L, participantDirectorResponse, 13L, participantActorResponse));
+
+        List<MovieResponse> responses = service.buildResponses(List.of(entityMovieOne, entityMovieTwo));
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(2, responses.size());
+        Assertions.assertEquals(1L, responses.get(0).id());
+        Assertions.assertEquals(List.of(countryCanadaResponse), responses.get(0).countries());
+        Assertions.assertEquals(List.of(participantDirectorResponse), responses.get(0).directors());
+        Assertions.assertEquals(List.of(participantActorResponse), responses.get(0).actors());
+        Assertions.assertEquals(2L, responses.get(1).id());
+        Assertions.assertEquals(List.of(countryBelgiumResponse), responses.get(1).countries());
+
+        Mockito
+                .verify(movieCountryService, Mockito.times(1))
+                .getCountryResponsesByCodes(List.of(countryCanada, countryBelgium));
+        Mockito
+                .verify(movieParticipantService, Mockito.times(1))
+                .getParticipantResponsesByIds(List.of(participantIvan, participantAnton, participantIvan, participantAnton));
+    }
+
+    @Test
+    void buildResponses_empty() {
+        List<MovieResponse> responses = service.buildResponses(List.of());
+        Assertions.assertTrue(responses.isEmpty());
+
+        Mockito
+                .verify(movieCountryService, Mockito.never())
+                .getCountryResponsesByCodes(Mockito.anyList());
         Mockito
-                .verify(movieParticipantService, Mockito.times(2))
-                .getParticipantResponseByMovieIdAndPosition(Mockito.anyList());
+                .verify(movieParticipantService, Mockito.never())
+                .getParticipantResponsesByIds(Mockito.anyList());
     }
 }
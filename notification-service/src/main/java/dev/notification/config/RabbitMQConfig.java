@@ -1,13 +1,22 @@
 package dev.notification.config;
 
+import dev.library.core.rabbitmq.RabbitListenerUtils;
+import dev.library.core.rabbitmq.RabbitMetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
 
 @Configuration
 public class RabbitMQConfig {
@@ -34,6 +43,11 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.notification.routing-key.delete}")
     private String deleteNotificationRoutingKey;
 
+    @Value("${rabbitmq.notification.queue.dead-letter}")
+    private String deadLetterNotificationQueue;
+    @Value("${rabbitmq.notification.routing-key.dead-letter}")
+    private String deadLetterNotificationRoutingKey;
+
     @Bean
     public Exchange notificationExchange() {
         return new DirectExchange(notificationExchange);
@@ -95,6 +109,78 @@ public class RabbitMQConfig {
                 .noargs();
     }
 
+    /**
+     * Очередь писем, которые не удалось отправить. Письмо хранится в формате {@code message/rfc822}
+     */
+    @Bean
+    public Queue deadLetterNotificationQueue() {
+        return new Queue(deadLetterNotificationQueue);
+    }
+
+    @Bean
+    public Binding deadLetterNotificationBinding() {
+        return BindingBuilder
+                .bind(deadLetterNotificationQueue())
+                .to(notificationExchange())
+                .with(deadLetterNotificationRoutingKey)
+                .noargs();
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory creationNotificationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return createManualAckFactory(configurer, connectionFactory, environment, meterRegistry,
+                "rabbitmq.notification.listener.creation");
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory updateNotificationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return createManualAckFactory(configurer, connectionFactory, environment, meterRegistry,
+                "rabbitmq.notification.listener.update");
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory updateStatusNotificationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return createManualAckFactory(configurer, connectionFactory, environment, meterRegistry,
+                "rabbitmq.notification.listener.update-status");
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory deleteNotificationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return createManualAckFactory(configurer, connectionFactory, environment, meterRegistry,
+                "rabbitmq.notification.listener.delete");
+    }
+
+    /**
+     * Создание фабрики контейнеров слушателя с ручным подтверждением сообщений: сообщение подтверждается после
+     * завершения доставки письма, а не после его добавления в очередь на отправку
+     * @param prefix - префикс свойств слушателя
+     */
+    private SimpleRabbitListenerContainerFactory createManualAckFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry, String prefix) {
+        SimpleRabbitListenerContainerFactory factory = RabbitListenerUtils.createFactory(configurer, connectionFactory,
+                RabbitListenerUtils.getSettings(environment, prefix), meterRegistry);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+
+        return factory;
+    }
+
+    @Bean
+    public MeterBinder notificationQueueMetrics(AmqpAdmin amqpAdmin) {
+        return meterRegistry -> RabbitMetricsUtils.bindQueueMetrics(meterRegistry, amqpAdmin, List.of(
+                creationNotificationQueue(), updateNotificationQueue(), updateStatusNotificationQueue(), deleteNotificationQueue(),
+                deadLetterNotificationQueue()
+        ));
+    }
+
     @Bean
     public MessageConverter converter() {
         return new Jackson2JsonMessageConverter();
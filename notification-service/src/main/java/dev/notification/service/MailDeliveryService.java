@@ -0,0 +1,21 @@
+package dev.notification.service;
+
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.util.function.Consumer;
+
+/**
+ * Интерфейс для описания абстрактных методов доставки писем через SMTP сервер
+ */
+public interface MailDeliveryService {
+    /**
+     * Добавление письма в очередь на отправку. Если очередь заполнена, то вызывающий поток ожидает освобождения места.
+     * В очереди хранится только подготовка письма: письмо и его вложения создаются перед каждой попыткой отправки
+     * @param recipient - получатель
+     * @param preparator - подготовка письма
+     * @param completion - действие по завершении доставки, принимающее признак того, что письмо отправлено или
+     *                   перемещено в очередь неотправленных писем. Если письмо не удалось добавить в очередь или
+     *                   доставка не завершена до остановки сервиса, то действие вызывается с признаком false
+     */
+    void submit(String recipient, MimeMessagePreparator preparator, Consumer<Boolean> completion);
+}
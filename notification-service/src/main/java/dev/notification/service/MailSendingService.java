@@ -2,6 +2,8 @@ package dev.notification.service;
 
 import org.springframework.core.io.InputStreamSource;
 
+import java.util.function.Consumer;
+
 /**
  * Интерфейс для описания абстрактных методов по работе с электронной почтой
  */
@@ -11,8 +13,9 @@ public interface MailSendingService {
      * @param to - получатель
      * @param subject - тема
      * @param body - сообщение
+     * @param completion - действие по завершении доставки, принимающее признак того, что доставка завершена
      */
-    void sendMessage(String to, String subject, String body);
+    void sendMessage(String to, String subject, String body, Consumer<Boolean> completion);
 
     /**
      * Отправка сообщения с файлом
@@ -20,7 +23,9 @@ public interface MailSendingService {
      * @param subject - тема
      * @param body - сообщение
      * @param attachmentFilename - наименование вложения
-     * @param inputStreamSource - вложение
+     * @param inputStreamSource - вложение, которое читается перед каждой попыткой отправки
+     * @param completion - действие по завершении доставки, принимающее признак того, что доставка завершена
      */
-    void sendMessage(String to, String subject, String body, String attachmentFilename, InputStreamSource inputStreamSource);
+    void sendMessage(String to, String subject, String body, String attachmentFilename, InputStreamSource inputStreamSource,
+                     Consumer<Boolean> completion);
 }
@@ -1,14 +1,16 @@
 package dev.notification.service;
 
+import com.rabbitmq.client.Channel;
 import dev.library.domain.notification.dto.NotificationDeleteRequest;
 import dev.library.domain.notification.dto.NotificationRequest;
 
 /**
- * Интерфейс для описания абстрактных методов по работе с уведомлениями
+ * Интерфейс для описания абстрактных методов по работе с уведомлениями. Сообщение подтверждается через канал,
+ * из которого оно получено, после завершения доставки письма
  */
 public interface NotificationService {
-    void create(NotificationRequest notificationRequest);
-    void update(NotificationRequest notificationRequest);
-    void updateStatus(NotificationRequest notificationRequest);
-    void delete(NotificationDeleteRequest notificationDeleteRequest);
+    void create(NotificationRequest notificationRequest, Channel channel, long deliveryTag);
+    void update(NotificationRequest notificationRequest, Channel channel, long deliveryTag);
+    void updateStatus(NotificationRequest notificationRequest, Channel channel, long deliveryTag);
+    void delete(NotificationDeleteRequest notificationDeleteRequest, Channel channel, long deliveryTag);
 }
@@ -0,0 +1,442 @@
+package dev.notification.service.impl;
+
+import dev.library.core.exception.ServerException;
+import dev.notification.service.MailDeliveryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.*;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Сервис, реализующий интерфейс {@link MailDeliveryService}.
+ * Письма добавляются в ограниченную очередь размером {@code mail.delivery.queue-capacity} и отправляются
+ * {@code mail.delivery.pool-size} потоками. Каждый поток держит своё соединение с SMTP сервером, авторизуется один
+ * раз и отправляет через него письма частями до {@code mail.delivery.batch-size}, пока соединение не отправит
+ * {@code mail.delivery.max-messages-per-connection} писем или не простоит {@code mail.delivery.idle-timeout}.
+ * Письмо с временной ошибкой отправляется повторно с экспоненциальной задержкой, а письмо с постоянной ошибкой (код
+ * ответа 5xx) или исчерпавшее {@code mail.delivery.retry.max-attempts} попыток отправляется в очередь RabbitMQ
+ * {@code rabbitmq.notification.queue.dead-letter}.
+ * В очереди хранится только подготовка письма: письмо и его вложения создаются перед каждой попыткой отправки и не
+ * удерживаются в памяти между попытками. Действие завершения доставки вызывается только после отправки письма или его
+ * перемещения в очередь неотправленных писем, поэтому сообщение RabbitMQ остаётся неподтверждённым, пока письмо
+ * находится в очереди, и при аварийном завершении сервиса будет обработано повторно. При остановке письма, доставка
+ * которых не завершена, возвращаются с признаком false
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MailDeliveryServiceImpl implements MailDeliveryService {
+    private static final long POLL_TIMEOUT_MS = 1000L;
+
+    private final JavaMailSenderImpl mailSender;
+    private final AmqpTemplate amqpTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${mail.delivery.pool-size}")
+    private int poolSize;
+    @Value("${mail.delivery.queue-capacity}")
+    private int queueCapacity;
+    @Value("${mail.delivery.batch-size}")
+    private int batchSize;
+    @Value("${mail.delivery.max-messages-per-connection}")
+    private int maxMessagesPerConnection;
+    @Value("${mail.delivery.idle-timeout}")
+    private Duration idleTimeout;
+    @Value("${mail.delivery.shutdown-timeout}")
+    private Duration shutdownTimeout;
+    @Value("${mail.delivery.retry.max-attempts}")
+    private int maxAttempts;
+    @Value("${mail.delivery.retry.initial-backoff}")
+    private Duration initialBackoff;
+    @Value("${mail.delivery.retry.max-backoff}")
+    private Duration maxBackoff;
+    @Value("${rabbitmq.notification.exchange}")
+    private String notificationExchange;
+    @Value("${rabbitmq.notification.routing-key.dead-letter}")
+    private String deadLetterRoutingKey;
+
+    private final Set<MailDelivery> pendingRetries = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private BlockingQueue<MailDelivery> queue;
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter deadLetterCounter;
+    private Counter openedConnectionCounter;
+    private Timer latencyTimer;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        sentCounter = Counter.builder("mail.delivery.sent")
+                .description("Количество отправленных писем")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("mail.delivery.retried")
+                .description("Количество повторных отправок писем")
+                .register(meterRegistry);
+        deadLetterCounter = Counter.builder("mail.delivery.dead-letter")
+                .description("Количество писем, отправленных в очередь неотправленных писем")
+                .register(meterRegistry);
+        openedConnectionCounter = Counter.builder("mail.delivery.connections.opened")
+                .description("Количество установленных соединений с SMTP сервером")
+                .register(meterRegistry);
+        Gauge.builder("mail.delivery.connections.open", openConnections, AtomicInteger::get)
+                .description("Количество открытых соединений с SMTP сервером")
+                .register(meterRegistry);
+        latencyTimer = Timer.builder("mail.delivery.latency")
+                .description("Время от добавления письма в очередь до его отправки")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("mail.delivery.queue.size", queue, Collection::size)
+                .description("Количество писем в очереди на отправку")
+                .register(meterRegistry);
+
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("mail-retry-"));
+        workers = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("mail-delivery-"));
+        for (int i = 0; i < poolSize; i++) {
+            workers.execute(new Worker());
+        }
+    }
+
+    /**
+     * Остановка отправки. Потоки завершают отправку текущих частей писем в течение {@code mail.delivery.shutdown-timeout},
+     * а доставка писем из очереди и писем, ожидающих повторной отправки, завершается с признаком false
+     */
+    @PreDestroy
+    public void destroy() {
+        running = false;
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<MailDelivery> undelivered = new ArrayList<>(pendingRetries);
+        queue.drainTo(undelivered);
+        pendingRetries.clear();
+        if (!undelivered.isEmpty()) {
+            log.warn("Mail delivery stopped, {} undelivered mails returned", undelivered.size());
+        }
+        for (MailDelivery delivery : undelivered) {
+            delivery.completion().accept(false);
+        }
+    }
+
+    @Override
+    public void submit(String recipient, MimeMessagePreparator preparator, Consumer<Boolean> completion) {
+        if (!running) {
+            completion.accept(false);
+            throw new ServerException("Отправка почты остановлена");
+        }
+        try {
+            queue.put(new MailDelivery(recipient, preparator, completion, System.nanoTime(), 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completion.accept(false);
+            throw new ServerException("Ожидание места в очереди на отправку почты прервано");
+        }
+    }
+
+    /**
+     * Повторная отправка письма с экспоненциальной задержкой или его отправка в очередь неотправленных писем, если
+     * попытки исчерпаны. Письмо повторной попытки создаётся заново
+     * @param delivery - письмо
+     * @param message - письмо, созданное для текущей попытки, или null, если его не удалось создать
+     * @param e - ошибка отправки
+     */
+    private void retry(MailDelivery delivery, MimeMessage message, MessagingException e) {
+        if (delivery.attempt() >= maxAttempts) {
+            deadLetter(delivery, message, e.getMessage());
+            return;
+        }
+        if (!running) {
+            delivery.completion().accept(false);
+            return;
+        }
+        long backoff = Math.min(initialBackoff.toMillis() << Math.min(delivery.attempt() - 1, 30), maxBackoff.toMillis());
+        log.warn("Failed to send mail to {}, attempt {} of {}, retry in {} ms: {}",
+                delivery.recipient(), delivery.attempt(), maxAttempts, backoff, e.getMessage());
+        retriedCounter.increment();
+        MailDelivery next = new MailDelivery(delivery.recipient(), delivery.preparator(), delivery.completion(),
+                delivery.submittedAt(), delivery.attempt() + 1);
+        pendingRetries.add(next);
+        try {
+            retryScheduler.schedule(() -> requeue(next), backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            if (pendingRetries.remove(next)) {
+                next.completion().accept(false);
+            }
+        }
+    }
+
+    private void requeue(MailDelivery delivery) {
+        if (!pendingRetries.contains(delivery)) {
+            return;
+        }
+        if (queue.offer(delivery)) {
+            pendingRetries.remove(delivery);
+        } else {
+            retryScheduler.schedule(() -> requeue(delivery), initialBackoff.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Отправка письма в очередь неотправленных писем в формате {@code message/rfc822}. Если письмо не удалось создать,
+     * то в очередь отправляется сообщение без содержимого с причиной ошибки. Если письмо не удалось отправить в очередь,
+     * то доставка завершается с признаком false
+     * @param delivery - письмо
+     * @param message - письмо, созданное для последней попытки, или null, если его не удалось создать
+     * @param reason - причина, по которой письмо не отправлено
+     */
+    private void deadLetter(MailDelivery delivery, MimeMessage message, String reason) {
+        log.error("Mail to {} was not sent after {} attempts and moved to the dead letter queue: {}",
+                delivery.recipient(), delivery.attempt(), reason);
+        deadLetterCounter.increment();
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            if (message != null) {
+                message.writeTo(outputStream);
+            }
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType("message/rfc822");
+            properties.setHeader("x-recipients", delivery.recipient());
+            properties.setHeader("x-attempts", delivery.attempt());
+            properties.setHeader("x-failure-reason", reason);
+            amqpTemplate.send(notificationExchange, deadLetterRoutingKey, new Message(outputStream.toByteArray(), properties));
+        } catch (IOException | MessagingException | AmqpException e) {
+            log.error("Failed to move mail to {} to the dead letter queue: {}", delivery.recipient(), e.getMessage());
+            delivery.completion().accept(false);
+            return;
+        }
+        delivery.completion().accept(true);
+    }
+
+    /**
+     * Проверка на то, что ошибка отправки постоянная: SMTP сервер ответил кодом 5xx или у письма нет корректных
+     * получателей. Остальные ошибки, включая ошибки соединения и коды 4xx, считаются временными
+     * @param e - ошибка отправки
+     */
+    private static boolean isPermanent(MessagingException e) {
+        Exception current = e;
+        while (current != null) {
+            int returnCode = switch (current) {
+                case SMTPAddressFailedException ex -> ex.getReturnCode();
+                case SMTPSendFailedException ex -> ex.getReturnCode();
+                case SMTPSenderFailedException ex -> ex.getReturnCode();
+                default -> -1;
+            };
+            if (returnCode >= 400) {
+                return returnCode >= 500;
+            }
+            current = current instanceof MessagingException ex ? ex.getNextException() : null;
+        }
+
+        return e instanceof SendFailedException;
+    }
+
+    /**
+     * Письмо в очереди на отправку
+     * @param recipient - получатель
+     * @param preparator - подготовка письма
+     * @param completion - действие по завершении доставки
+     * @param submittedAt - время добавления письма в очередь в наносекундах
+     * @param attempt - номер попытки отправки
+     */
+    private record MailDelivery(String recipient, MimeMessagePreparator preparator, Consumer<Boolean> completion,
+                                long submittedAt, int attempt) {}
+
+    /**
+     * Поток отправки писем через собственное соединение с SMTP сервером
+     */
+    private class Worker implements Runnable {
+        private final List<MailDelivery> batch = new ArrayList<>(batchSize);
+        private Transport transport;
+        private int sentByConnection;
+        private long lastUsedAt;
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    MailDelivery first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (transport != null && System.nanoTime() - lastUsedAt > idleTimeout.toNanos()) {
+                            close();
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    sendBatch();
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(queue::offer);
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Отправка части писем через текущее соединение. Если соединение установить не удалось, то все письма части
+         * отправляются повторно
+         */
+        private void sendBatch() {
+            for (int i = 0; i < batch.size(); i++) {
+                MailDelivery delivery = batch.get(i);
+                try {
+                    connect();
+                } catch (MessagingException e) {
+                    batch.subList(i, batch.size()).forEach(remaining -> retry(remaining, null, e));
+                    return;
+                }
+                MimeMessage message;
+                try {
+                    message = prepare(delivery);
+                } catch (MessagingException e) {
+                    retry(delivery, null, e);
+                    continue;
+                }
+                send(delivery, message, true);
+            }
+        }
+
+        /**
+         * Создание письма для попытки отправки. Вложения загружаются при создании письма, поэтому письмо хранится в
+         * памяти только на время попытки
+         * @param delivery - письмо
+         */
+        private MimeMessage prepare(MailDelivery delivery) throws MessagingException {
+            MimeMessage message = mailSender.createMimeMessage();
+            try {
+                delivery.preparator().prepare(message);
+            } catch (MessagingException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new MessagingException("Ошибка подготовки письма: %s".formatted(e.getMessage()), e);
+            }
+
+            return message;
+        }
+
+        /**
+         * Отправка письма через текущее соединение. Состояние соединения не проверяется командой NOOP перед каждым
+         * письмом, поэтому соединение, закрытое SMTP сервером, обнаруживается только при отправке: если ошибка
+         * временная и соединение уже отправляло письма, то оно пересоздаётся и письмо отправляется ещё раз
+         * @param delivery - письмо
+         * @param message - письмо, созданное для текущей попытки
+         * @param reconnect - пересоздавать ли соединение при временной ошибке
+         */
+        private void send(MailDelivery delivery, MimeMessage message, boolean reconnect) {
+            try {
+                if (message.getSentDate() == null) {
+                    message.setSentDate(new Date());
+                }
+                message.saveChanges();
+                transport.sendMessage(message, message.getAllRecipients());
+                sentByConnection++;
+                lastUsedAt = System.nanoTime();
+                sentCounter.increment();
+                latencyTimer.record(System.nanoTime() - delivery.submittedAt(), TimeUnit.NANOSECONDS);
+            } catch (MessagingException e) {
+                if (isPermanent(e)) {
+                    deadLetter(delivery, message, e.getMessage());
+                    return;
+                }
+                boolean reused = sentByConnection > 0;
+                close();
+                if (!reconnect || !reused) {
+                    retry(delivery, message, e);
+                    return;
+                }
+                try {
+                    connect();
+                } catch (MessagingException ex) {
+                    retry(delivery, message, ex);
+                    return;
+                }
+                send(delivery, message, false);
+                return;
+            }
+            delivery.completion().accept(true);
+        }
+
+        /**
+         * Установка и авторизация соединения, если текущее соединение закрыто или отправило максимальное количество писем.
+         * Соединение считается открытым, пока оно не закрыто этим потоком
+         */
+        private void connect() throws MessagingException {
+            if (transport != null && sentByConnection < maxMessagesPerConnection) {
+                return;
+            }
+            close();
+            Transport newTransport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            newTransport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                    mailSender.getPassword());
+            transport = newTransport;
+            sentByConnection = 0;
+            lastUsedAt = System.nanoTime();
+            openConnections.incrementAndGet();
+            openedConnectionCounter.increment();
+        }
+
+        private void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection: {}", e.getMessage());
+            }
+            transport = null;
+            openConnections.decrementAndGet();
+        }
+    }
+}
@@ -1,56 +1,56 @@
 package dev.notification.service.impl;
 
-import dev.library.core.exception.ServerException;
+import dev.notification.service.MailDeliveryService;
 import dev.notification.service.MailSendingService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.InputStreamSource;
 import org.springframework.http.MediaType;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.util.function.Consumer;
+
 /**
- * Сервис, реализующий интерфейс {@link MailSendingService}
+ * Сервис, реализующий интерфейс {@link MailSendingService}. Письма не отправляются в вызывающем потоке, а передаются
+ * в {@link MailDeliveryService} в виде подготовки письма: вложение читается только перед попыткой отправки
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class MailSendingServiceImpl implements MailSendingService {
-    private final JavaMailSender mailSender;
+    private final MailDeliveryService deliveryService;
 
     @Override
-    public void sendMessage(String to, String subject, String body) {
+    public void sendMessage(String to, String subject, String body, Consumer<Boolean> completion) {
         log.debug("Started sendMessage(String to, String subject, String body) with to = {}, subject = {}, body = {}",
                 to, subject, body);
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-        message.setFrom("no-reply@cinema.com");
-
-        mailSender.send(message);
+        deliveryService.submit(to, message -> {
+            MimeMessageHelper messageHelper = new MimeMessageHelper(message);
+            messageHelper.setTo(to);
+            messageHelper.setSubject(subject);
+            messageHelper.setText(body);
+            messageHelper.setFrom("no-reply@cinema.com");
+        }, completion);
     }
 
     @Override
-    public void sendMessage(String to, String subject, String body, String attachmentFilename, InputStreamSource inputStreamSource) {
+    public void sendMessage(String to, String subject, String body, String attachmentFilename,
+                            InputStreamSource inputStreamSource, Consumer<Boolean> completion) {
         log.debug("Started sendMessage(String to, String subject, String body, String attachmentFilename, InputStreamSource inputStreamSource) with to = {}, subject = {}, body = {}, attachmentFilename = {}, inputStreamSource = {}",
                 to, subject, body, attachmentFilename, inputStreamSource);
-        MimeMessage message = mailSender.createMimeMessage();
-        try {
+        deliveryService.submit(to, message -> {
             MimeMessageHelper messageHelper = new MimeMessageHelper(message, true);
             messageHelper.setTo(to);
             messageHelper.setSubject(subject);
             messageHelper.setText(body);
             messageHelper.setFrom("no-reply@cinema.com");
-            messageHelper.addAttachment(attachmentFilename, inputStreamSource, MediaType.APPLICATION_PDF_VALUE);
-        } catch (MessagingException ex) {
-            throw new ServerException("Ошибка генерации почтового сообщения");
-        }
-
-        mailSender.send(message);
+            try (InputStream inputStream = inputStreamSource.getInputStream()) {
+                messageHelper.addAttachment(attachmentFilename, new ByteArrayResource(inputStream.readAllBytes()),
+                        MediaType.APPLICATION_PDF_VALUE);
+            }
+        }, completion);
     }
 }
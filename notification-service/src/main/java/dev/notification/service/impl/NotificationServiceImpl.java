@@ -1,27 +1,44 @@
 package dev.notification.service.impl;
 
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import dev.library.core.exception.ServerException;
 import dev.library.domain.booking.dto.BookingResponse;
 import dev.library.domain.notification.dto.NotificationDeleteRequest;
 import dev.library.domain.notification.dto.NotificationRequest;
+import dev.library.domain.receipt.client.ReceiptClient;
 import dev.library.domain.user.dto.UserResponse;
+import dev.library.security.auth.util.ServiceAuthenticationUtils;
 import dev.notification.service.MailSendingService;
 import dev.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+
 /**
- * Сервис, реализующий интерфейс {@link NotificationService}
+ * Сервис, реализующий интерфейс {@link NotificationService}.
+ * Сообщения о квитанциях содержат только её версию, сам PDF файл запрашивается из receipt-service непосредственно
+ * перед каждой попыткой отправки письма. Сообщения RabbitMQ подтверждаются вручную после отправки письма или его
+ * перемещения в очередь неотправленных писем, а если доставка не завершена, то возвращаются в очередь RabbitMQ
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
     private final MailSendingService mailSendingService;
+    private final ReceiptClient receiptClient;
 
     @Value("${template.subject}")
     private String subject;
@@ -35,46 +52,104 @@ public class NotificationServiceImpl implements NotificationService {
     private String contentDelete;
 
     @Override
-    @RabbitListener(queues = {"${rabbitmq.notification.queue.creation}"})
-    public void create(NotificationRequest request) {
+    @RabbitListener(queues = {"${rabbitmq.notification.queue.creation}"},
+            containerFactory = "creationNotificationListenerFactory")
+    public void create(NotificationRequest request, Channel channel,
+                       @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
         log.debug("Started create(NotificationRequest request) with request = {}", request);
         BookingResponse bookingResponse = request.bookingResponse();
         UserResponse userResponse = request.userResponse();
-        Resource receipt = new ByteArrayResource(request.data());
+        InputStreamSource receipt = getReceipt(request);
         mailSendingService.sendMessage(userResponse.email(), subject.formatted(bookingResponse.id()), contentCreate,
-                getFilename(bookingResponse.id()), receipt);
+                getFilename(bookingResponse.id()), receipt, acknowledgement(channel, deliveryTag));
     }
 
-    @RabbitListener(queues = {"${rabbitmq.notification.queue.update}"})
+    @RabbitListener(queues = {"${rabbitmq.notification.queue.update}"},
+            containerFactory = "updateNotificationListenerFactory")
     @Override
-    public void update(NotificationRequest request) {
+    public void update(NotificationRequest request, Channel channel,
+                       @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
         log.debug("Started update(NotificationRequest request) with request = {}", request);
         BookingResponse bookingResponse = request.bookingResponse();
         UserResponse userResponse = request.userResponse();
-        Resource receipt = new ByteArrayResource(request.data());
+        InputStreamSource receipt = getReceipt(request);
         mailSendingService.sendMessage(userResponse.email(), subject.formatted(bookingResponse.id()),
-                contentUpdate.formatted(bookingResponse.id()), getFilename(bookingResponse.id()), receipt);
+                contentUpdate.formatted(bookingResponse.id()), getFilename(bookingResponse.id()), receipt,
+                acknowledgement(channel, deliveryTag));
     }
 
-    @RabbitListener(queues = {"${rabbitmq.notification.queue.update-status}"})
+    @RabbitListener(queues = {"${rabbitmq.notification.queue.update-status}"},
+            containerFactory = "updateStatusNotificationListenerFactory")
     @Override
-    public void updateStatus(NotificationRequest request) {
+    public void updateStatus(NotificationRequest request, Channel channel,
+                             @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
         log.debug("Started updateStatus(NotificationRequest request) with request = {}", request);
         BookingResponse bookingResponse = request.bookingResponse();
         UserResponse userResponse = request.userResponse();
-        Resource receipt = new ByteArrayResource(request.data());
+        InputStreamSource receipt = getReceipt(request);
         mailSendingService.sendMessage(userResponse.email(), subject.formatted(bookingResponse.id()),
-                contentUpdateStatus.formatted(bookingResponse.id()), getFilename(bookingResponse.id()), receipt);
+                contentUpdateStatus.formatted(bookingResponse.id()), getFilename(bookingResponse.id()), receipt,
+                acknowledgement(channel, deliveryTag));
     }
 
-    @RabbitListener(queues = {"${rabbitmq.notification.queue.delete}"})
+    @RabbitListener(queues = {"${rabbitmq.notification.queue.delete}"},
+            containerFactory = "deleteNotificationListenerFactory")
     @Override
-    public void delete(NotificationDeleteRequest request) {
+    public void delete(NotificationDeleteRequest request, Channel channel,
+                       @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
         log.debug("Started delete(NotificationDeleteRequest request) with request = {}", request);
         UserResponse userResponse = request.userResponse();
         Long bookingId = request.bookingId();
         mailSendingService.sendMessage(userResponse.email(), subject.formatted(bookingId),
-                contentDelete.formatted(bookingId));
+                contentDelete.formatted(bookingId), acknowledgement(channel, deliveryTag));
+    }
+
+    /**
+     * Получение PDF файла квитанции от имени сервиса при каждом чтении вложения. Если квитанция была обновлена после
+     * отправки сообщения, то отправляется её актуальная версия: об обновлении придёт отдельное сообщение
+     * @param request - объект типа {@link NotificationRequest}
+     */
+    private InputStreamSource getReceipt(NotificationRequest request) {
+        Long bookingId = request.bookingResponse().id();
+
+        return () -> {
+            byte[] data = ServiceAuthenticationUtils.callAsService(() -> receiptClient.getByBookingId(bookingId));
+            String checksum = HexFormat.of().formatHex(createDigest().digest(data));
+            if (!checksum.equals(request.checksum())) {
+                log.info("Receipt for booking with id = {} changed after the message was sent: expected checksum = {}, actual = {}",
+                        bookingId, request.checksum(), checksum);
+            }
+
+            return new ByteArrayInputStream(data);
+        };
+    }
+
+    /**
+     * Получение действия, которое подтверждает сообщение RabbitMQ после завершения доставки письма или возвращает
+     * его в очередь RabbitMQ, если доставка не завершена
+     * @param channel - канал, из которого получено сообщение
+     * @param deliveryTag - номер доставки сообщения
+     */
+    private static Consumer<Boolean> acknowledgement(Channel channel, long deliveryTag) {
+        return delivered -> {
+            try {
+                if (delivered) {
+                    channel.basicAck(deliveryTag, false);
+                } else {
+                    channel.basicNack(deliveryTag, false, true);
+                }
+            } catch (IOException | ShutdownSignalException e) {
+                log.warn("Failed to acknowledge message with delivery tag = {}: {}", deliveryTag, e.getMessage());
+            }
+        };
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(e.getMessage());
+        }
     }
 
     private String getFilename(Long bookingId) {
@@ -0,0 +1,270 @@
+package dev.notification.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.notification.service.impl.MailDeliveryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Проверка отправки писем. Письма отправляются на SMTP сервер MailDev через переиспользуемые соединения, временные
+ * и постоянные ошибки проверяются на заглушке соединения
+ */
+@Testcontainers
+@ExtendWith(MockitoExtension.class)
+public class MailDeliveryServiceImplTest {
+    private static final int POOL_SIZE = 4;
+    private static final int MAX_MESSAGES_PER_CONNECTION = 100;
+    private static final String EXCHANGE = "exchange_notification";
+    private static final String DEAD_LETTER_ROUTING_KEY = "dead_letter_notification_routing_key";
+
+    @Container
+    static GenericContainer<?> MAILDEV = new GenericContainer<>("maildev/maildev:2.1.0")
+            .withExposedPorts(1080, 1025);
+
+    final AmqpTemplate amqpTemplate = Mockito.mock(AmqpTemplate.class);
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final List<Boolean> completions = new CopyOnWriteArrayList<>();
+
+    MailDeliveryServiceImpl service;
+
+    @AfterEach
+    void destroy() {
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void submit_reusesConnections() throws Exception {
+        int total = 200;
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(MAILDEV.getHost());
+        mailSender.setPort(MAILDEV.getMappedPort(1025));
+        service = createService(mailSender, POOL_SIZE, 5, Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        for (int i = 0; i < total; i++) {
+            String to = "user" + i + "@mail.com";
+            service.submit(to, createPreparator(to), completions::add);
+        }
+        awaitCount("mail.delivery.sent", total);
+
+        Assertions.assertEquals(total, getMaildevEmailCount());
+        Assertions.assertEquals(total, completions.stream().filter(Boolean::booleanValue).count());
+        double connections = meterRegistry.get("mail.delivery.connections.opened").counter().count();
+        Assertions.assertTrue(connections <= POOL_SIZE + total / MAX_MESSAGES_PER_CONNECTION,
+                "connections = " + connections);
+        Assertions.assertEquals(0, meterRegistry.get("mail.delivery.retried").counter().count());
+        Mockito
+                .verify(amqpTemplate, Mockito.never())
+                .send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class));
+    }
+
+    @Test
+    void submit_transientError() throws Exception {
+        Transport transport = Mockito.mock(Transport.class);
+        Mockito
+                .doThrow(new SMTPSendFailedException("DATA", 451, "451 Try again later", null, null, null, null))
+                .when(transport)
+                .sendMessage(Mockito.any(), Mockito.any());
+        service = createService(mockMailSender(transport), POOL_SIZE, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        service.submit("abc1234@mail.com", createPreparator("abc1234@mail.com"), completions::add);
+
+        Mockito
+                .verify(amqpTemplate, Mockito.timeout(5000).times(1))
+                .send(Mockito.eq(EXCHANGE), Mockito.eq(DEAD_LETTER_ROUTING_KEY), Mockito.any(Message.class));
+        Mockito
+                .verify(transport, Mockito.times(3))
+                .sendMessage(Mockito.any(), Mockito.any());
+        Assertions.assertEquals(2, meterRegistry.get("mail.delivery.retried").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("mail.delivery.dead-letter").counter().count());
+        Assertions.assertEquals(List.of(true), completions);
+    }
+
+    @Test
+    void submit_preparationError() throws Exception {
+        Transport transport = Mockito.mock(Transport.class);
+        service = createService(mockMailSender(transport), 1, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+        AtomicInteger preparations = new AtomicInteger();
+        MimeMessagePreparator preparator = createPreparator("abc1234@mail.com");
+
+        service.submit("abc1234@mail.com", message -> {
+            if (preparations.incrementAndGet() == 1) {
+                throw new IOException("Receipt service unavailable");
+            }
+            preparator.prepare(message);
+        }, completions::add);
+        awaitCount("mail.delivery.sent", 1);
+
+        Assertions.assertEquals(2, preparations.get());
+        Assertions.assertEquals(1, meterRegistry.get("mail.delivery.retried").counter().count());
+        Assertions.assertEquals(List.of(true), completions);
+        Mockito
+                .verify(transport, Mockito.times(1))
+                .sendMessage(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void destroy_returnsUndelivered() throws Exception {
+        Transport transport = Mockito.mock(Transport.class);
+        Mockito
+                .doThrow(new MessagingException("[EOF]"))
+                .when(transport)
+                .sendMessage(Mockito.any(), Mockito.any());
+        service = createService(mockMailSender(transport), 1, 3, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        service.submit("abc1234@mail.com", createPreparator("abc1234@mail.com"), completions::add);
+        awaitCount("mail.delivery.retried", 1);
+        service.destroy();
+        service = null;
+
+        Assertions.assertEquals(List.of(false), completions);
+        Mockito
+                .verify(amqpTemplate, Mockito.never())
+                .send(Mockito.anyString(), Mockito.anyString(), Mockito.any(Message.class));
+    }
+
+    @Test
+    void submit_staleConnection() throws Exception {
+        Transport transport = Mockito.mock(Transport.class);
+        Mockito
+                .doNothing()
+                .doThrow(new MessagingException("[EOF]"))
+                .doNothing()
+                .when(transport)
+                .sendMessage(Mockito.any(), Mockito.any());
+        service = createService(mockMailSender(transport), 1, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        service.submit("abc1234@mail.com", createPreparator("abc1234@mail.com"), completions::add);
+        awaitCount("mail.delivery.sent", 1);
+        service.submit("abc1234@mail.com", createPreparator("abc1234@mail.com"), completions::add);
+        awaitCount("mail.delivery.sent", 2);
+
+        Mockito
+                .verify(transport, Mockito.times(3))
+                .sendMessage(Mockito.any(), Mockito.any());
+        Assertions.assertEquals(2, meterRegistry.get("mail.delivery.connections.opened").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("mail.delivery.connections.open").gauge().value());
+        Assertions.assertEquals(0, meterRegistry.get("mail.delivery.retried").counter().count());
+    }
+
+    @Test
+    void submit_permanentError() throws Exception {
+        Transport transport = Mockito.mock(Transport.class);
+        Mockito
+                .doThrow(new SMTPAddressFailedException(new InternetAddress("abc1234@mail.com"), "RCPT TO", 550,
+                        "550 User unknown"))
+                .when(transport)
+                .sendMessage(Mockito.any(), Mockito.any());
+        service = createService(mockMailSender(transport), POOL_SIZE, 3, Duration.ofMillis(10), Duration.ofMillis(50));
+
+        service.submit("abc1234@mail.com", createPreparator("abc1234@mail.com"), completions::add);
+
+        Mockito
+                .verify(amqpTemplate, Mockito.timeout(5000).times(1))
+                .send(Mockito.eq(EXCHANGE), Mockito.eq(DEAD_LETTER_ROUTING_KEY), Mockito.argThat(message ->
+                        "message/rfc822".equals(message.getMessageProperties().getContentType())
+                                && message.getBody().length > 0));
+        Mockito
+                .verify(transport, Mockito.times(1))
+                .sendMessage(Mockito.any(), Mockito.any());
+        Assertions.assertEquals(0, meterRegistry.get("mail.delivery.retried").counter().count());
+    }
+
+    private MailDeliveryServiceImpl createService(JavaMailSenderImpl mailSender, int poolSize, int maxAttempts,
+                                                  Duration initialBackoff, Duration maxBackoff) {
+        MailDeliveryServiceImpl deliveryService = new MailDeliveryServiceImpl(mailSender, amqpTemplate, meterRegistry);
+        ReflectionTestUtils.setField(deliveryService, "poolSize", poolSize);
+        ReflectionTestUtils.setField(deliveryService, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(deliveryService, "batchSize", 50);
+        ReflectionTestUtils.setField(deliveryService, "maxMessagesPerConnection", MAX_MESSAGES_PER_CONNECTION);
+        ReflectionTestUtils.setField(deliveryService, "idleTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(deliveryService, "shutdownTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(deliveryService, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(deliveryService, "initialBackoff", initialBackoff);
+        ReflectionTestUtils.setField(deliveryService, "maxBackoff", maxBackoff);
+        ReflectionTestUtils.setField(deliveryService, "notificationExchange", EXCHANGE);
+        ReflectionTestUtils.setField(deliveryService, "deadLetterRoutingKey", DEAD_LETTER_ROUTING_KEY);
+        deliveryService.init();
+
+        return deliveryService;
+    }
+
+    private static JavaMailSenderImpl mockMailSender(Transport transport) throws Exception {
+        Session session = Mockito.mock(Session.class);
+        Mockito
+                .when(session.getTransport(Mockito.anyString()))
+                .thenReturn(transport);
+        JavaMailSenderImpl mailSender = Mockito.mock(JavaMailSenderImpl.class);
+        Mockito
+                .when(mailSender.getSession())
+                .thenReturn(session);
+        Mockito
+                .when(mailSender.createMimeMessage())
+                .thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        Mockito
+                .when(mailSender.getProtocol())
+                .thenReturn("smtp");
+
+        return mailSender;
+    }
+
+    private static MimeMessagePreparator createPreparator(String to) {
+        return message -> {
+            message.setFrom("no-reply@cinema.com");
+            message.setRecipients(RecipientType.TO, to);
+            message.setSubject("Test");
+            message.setText("Test");
+        };
+    }
+
+    private void awaitCount(String name, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofMinutes(1).toNanos();
+        while (meterRegistry.get(name).counter().count() < count && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(count, meterRegistry.get(name).counter().count());
+    }
+
+    private static int getMaildevEmailCount() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://%s:%d/email".formatted(MAILDEV.getHost(),
+                MAILDEV.getMappedPort(1080)))).GET().build();
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return new ObjectMapper().readTree(response.body()).size();
+        }
+    }
+}
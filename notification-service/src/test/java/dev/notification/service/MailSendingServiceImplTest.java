@@ -1,52 +1,68 @@
 package dev.notification.service;
 
 import dev.notification.service.impl.MailSendingServiceImpl;
+import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.InputStreamSource;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class MailSendingServiceImplTest {
-    final JavaMailSender mailSender = Mockito.mock(JavaMailSender.class);
-    final MailSendingService service = new MailSendingServiceImpl(mailSender);
+    final MailDeliveryService deliveryService = Mockito.mock(MailDeliveryService.class);
+    final MailSendingService service = new MailSendingServiceImpl(deliveryService);
 
     @Test
-    void sendMessage_one() {
-        Mockito
-                .doNothing()
-                .when(mailSender)
-                .send(Mockito.any(SimpleMailMessage.class));
+    void sendMessage_one() throws Exception {
+        Consumer<Boolean> completion = delivered -> {};
 
-        service.sendMessage("abc1234@mail.com", "Test", "Test");
+        service.sendMessage("abc1234@mail.com", "Test", "Test", completion);
 
+        ArgumentCaptor<MimeMessagePreparator> preparator = ArgumentCaptor.forClass(MimeMessagePreparator.class);
         Mockito
-                .verify(mailSender, Mockito.times(1))
-                .send(Mockito.any(SimpleMailMessage.class));
+                .verify(deliveryService, Mockito.times(1))
+                .submit(Mockito.eq("abc1234@mail.com"), preparator.capture(), Mockito.eq(completion));
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        preparator.getValue().prepare(message);
+        Assertions.assertEquals("Test", message.getSubject());
+        Assertions.assertEquals("abc1234@mail.com", message.getAllRecipients()[0].toString());
     }
 
     @Test
-    void sendMessage_two() {
-        Mockito
-                .when(mailSender.createMimeMessage())
-                .thenReturn(Mockito.mock(MimeMessage.class));
-        Mockito
-                .doNothing()
-                .when(mailSender)
-                .send(Mockito.any(SimpleMailMessage.class));
+    void sendMessage_two() throws Exception {
+        Consumer<Boolean> completion = delivered -> {};
+        AtomicInteger reads = new AtomicInteger();
+        ByteArrayResource attachment = new ByteArrayResource(new byte[] {1, 2, 3}) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                reads.incrementAndGet();
+                return super.getInputStream();
+            }
+        };
 
-        service.sendMessage("abc1234@mail.com", "Test", "Test", "file",
-                Mockito.mock(InputStreamSource.class));
+        service.sendMessage("abc1234@mail.com", "Test", "Test", "file", attachment, completion);
 
+        ArgumentCaptor<MimeMessagePreparator> preparator = ArgumentCaptor.forClass(MimeMessagePreparator.class);
         Mockito
-                .verify(mailSender, Mockito.times(1))
-                .createMimeMessage();
-        Mockito
-                .verify(mailSender, Mockito.times(1))
-                .send(Mockito.any(MimeMessage.class));
+                .verify(deliveryService, Mockito.times(1))
+                .submit(Mockito.eq("abc1234@mail.com"), preparator.capture(), Mockito.eq(completion));
+        Assertions.assertEquals(0, reads.get());
+        MimeMessage message = new MimeMessage(Session.getInstance(new Properties()));
+        preparator.getValue().prepare(message);
+        message.saveChanges();
+        Assertions.assertEquals(1, reads.get());
+        Assertions.assertInstanceOf(MimeMultipart.class, message.getContent());
     }
 }
@@ -1,29 +1,41 @@
 package dev.notification.service;
 
+import com.rabbitmq.client.Channel;
 import dev.library.domain.booking.dto.BookingResponse;
 import dev.library.domain.notification.dto.NotificationDeleteRequest;
 import dev.library.domain.notification.dto.NotificationRequest;
+import dev.library.domain.receipt.client.ReceiptClient;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.library.domain.session.dto.SessionResponse;
 import dev.library.domain.user.dto.RoleResponse;
 import dev.library.domain.user.dto.UserResponse;
 import dev.notification.service.impl.NotificationServiceImpl;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.InputStreamSource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.InputStream;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class NotificationServiceImplTest {
+    static final byte[] RECEIPT = "<html><p>Content</p></html>".getBytes();
+    static final String CHECKSUM = "cc0c8da34a5921fb84d24ec609ad9d812ace369153e20c15ac1253df29a49b79";
+    static final long DELIVERY_TAG = 7L;
+
     final MailSendingService mailSendingService = Mockito.mock(MailSendingService.class);
-    final NotificationService service = new NotificationServiceImpl(mailSendingService);
+    final ReceiptClient receiptClient = Mockito.mock(ReceiptClient.class);
+    final Channel channel = Mockito.mock(Channel.class);
+    final NotificationService service = new NotificationServiceImpl(mailSendingService, receiptClient);
 
     BookingResponse bookingResponse;
     SessionResponse sessionResponse;
@@ -75,86 +87,125 @@ public class NotificationServiceImplTest {
                 new RoleResponse(UUID.randomUUID().toString(), "client"),
                 true
         );
+        Mockito
+                .when(receiptClient.getByBookingId(112L))
+                .thenReturn(RECEIPT);
     }
 
     @Test
-    void create() {
+    void create() throws Exception {
         Mockito
                 .doNothing()
                 .when(mailSendingService)
                 .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+                        Mockito.anyString(), Mockito.any(InputStreamSource.class), Mockito.any());
 
         NotificationRequest request = new NotificationRequest(
                 bookingResponse,
                 userResponse,
-                "<html><p>Content</p></html>".getBytes()
+                CHECKSUM,
+                (long) RECEIPT.length
         );
-        service.create(request);
+        service.create(request, channel, DELIVERY_TAG);
 
-        Mockito
-                .verify(mailSendingService, Mockito.times(1))
-                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+        verifyReceiptMessage();
     }
 
     @Test
-    void update() {
+    void update() throws Exception {
         Mockito
                 .doNothing()
                 .when(mailSendingService)
                 .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+                        Mockito.anyString(), Mockito.any(InputStreamSource.class), Mockito.any());
 
         NotificationRequest request = new NotificationRequest(
                 bookingResponse,
                 userResponse,
-                "<html><p>Content</p></html>".getBytes()
+                CHECKSUM,
+                (long) RECEIPT.length
         );
-        service.update(request);
+        service.update(request, channel, DELIVERY_TAG);
 
-        Mockito
-                .verify(mailSendingService, Mockito.times(1))
-                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+        verifyReceiptMessage();
     }
 
     @Test
-    void updateStatus() {
+    void updateStatus() throws Exception {
         Mockito
                 .doNothing()
                 .when(mailSendingService)
                 .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+                        Mockito.anyString(), Mockito.any(InputStreamSource.class), Mockito.any());
 
         NotificationRequest request = new NotificationRequest(
                 bookingResponse,
                 userResponse,
-                "<html><p>Content</p></html>".getBytes()
+                CHECKSUM,
+                (long) RECEIPT.length
         );
-        service.updateStatus(request);
+        service.updateStatus(request, channel, DELIVERY_TAG);
 
-        Mockito
-                .verify(mailSendingService, Mockito.times(1))
-                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
-                        Mockito.anyString(), Mockito.any(InputStreamSource.class));
+        verifyReceiptMessage();
     }
 
     @Test
-    void delete() {
+    void delete() throws Exception {
         Mockito
                 .doNothing()
                 .when(mailSendingService)
-                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.any());
 
         NotificationDeleteRequest request = new NotificationDeleteRequest(
                 1L,
                 userResponse
         );
-        service.delete(request);
+        service.delete(request, channel, DELIVERY_TAG);
 
+        Mockito
+                .verify(receiptClient, Mockito.never())
+                .getByBookingId(Mockito.anyLong());
+        ArgumentCaptor<Consumer<Boolean>> completion = ArgumentCaptor.captor();
         Mockito
                 .verify(mailSendingService, Mockito.times(1))
-                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), completion.capture());
+        completion.getValue().accept(false);
+        Mockito
+                .verify(channel, Mockito.times(1))
+                .basicNack(DELIVERY_TAG, false, true);
+        Mockito
+                .verify(channel, Mockito.never())
+                .basicAck(Mockito.anyLong(), Mockito.anyBoolean());
+    }
+
+    /**
+     * Проверка того, что квитанция запрашивается только при чтении вложения, а сообщение подтверждается только после
+     * завершения доставки письма
+     */
+    private void verifyReceiptMessage() throws Exception {
+        ArgumentCaptor<InputStreamSource> receipt = ArgumentCaptor.forClass(InputStreamSource.class);
+        ArgumentCaptor<Consumer<Boolean>> completion = ArgumentCaptor.captor();
+        Mockito
+                .verify(mailSendingService, Mockito.times(1))
+                .sendMessage(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(),
+                        Mockito.anyString(), receipt.capture(), completion.capture());
+        Mockito
+                .verify(receiptClient, Mockito.never())
+                .getByBookingId(Mockito.anyLong());
+        Mockito
+                .verify(channel, Mockito.never())
+                .basicAck(Mockito.anyLong(), Mockito.anyBoolean());
+
+        try (InputStream inputStream = receipt.getValue().getInputStream()) {
+            Assertions.assertArrayEquals(RECEIPT, inputStream.readAllBytes());
+        }
+        completion.getValue().accept(true);
+
+        Mockito
+                .verify(receiptClient, Mockito.times(1))
+                .getByBookingId(112L);
+        Mockito
+                .verify(channel, Mockito.times(1))
+                .basicAck(DELIVERY_TAG, false);
     }
 }
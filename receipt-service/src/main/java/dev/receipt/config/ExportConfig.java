@@ -0,0 +1,39 @@
+package dev.receipt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конфигурация пула потоков для выгрузки квитанций. Потоки пула получают квитанции и создают отсутствующие, включая
+ * генерацию PDF файлов. Очередь ограничена, а при её заполнении квитанция получается в потоке выгрузки, что замедляет
+ * выгрузку, но не увеличивает очередь
+ */
+@Configuration
+public class ExportConfig {
+    @Value("${receipt.export.pool-size}")
+    private int poolSize;
+    @Value("${receipt.export.queue-capacity}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor receiptExportExecutor(MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("receipt-export-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "receipt.export", Tags.empty()).bindTo(meterRegistry);
+
+        return executor;
+    }
+}
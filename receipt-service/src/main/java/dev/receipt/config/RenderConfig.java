@@ -0,0 +1,40 @@
+package dev.receipt.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конфигурация пула потоков для параллельной генерации нескольких квитанций.
+ * Размер пула по умолчанию равен количеству ядер, очередь ограничена, а при её заполнении квитанция генерируется в
+ * вызывающем потоке, что замедляет получение новых сообщений из очереди брокера
+ */
+@Configuration
+public class RenderConfig {
+    @Value("${render.pool-size}")
+    private int poolSize;
+    @Value("${render.queue-capacity}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor receiptRenderExecutor(MeterRegistry meterRegistry) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("receipt-render-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "receipt.render", Tags.empty()).bindTo(meterRegistry);
+
+        return executor;
+    }
+}
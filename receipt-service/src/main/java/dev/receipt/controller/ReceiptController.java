@@ -1,9 +1,12 @@
 package dev.receipt.controller;
 
+import dev.library.core.exception.BadRequestException;
+import dev.library.core.exception.dto.ApiErrorResponse;
 import dev.library.domain.movie.dto.MovieResponse;
 import dev.library.security.auth.util.RoleUtils;
 import dev.library.security.auth.util.UserDataUtils;
 import dev.receipt.service.BookingCheckService;
+import dev.receipt.service.ReceiptExportService;
 import dev.receipt.service.ReceiptService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,13 +18,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/v1/receipts")
@@ -31,6 +39,10 @@ import org.springframework.web.bind.annotation.*;
 public class ReceiptController {
     private final ReceiptService service;
     private final BookingCheckService bookingCheckService;
+    private final ReceiptExportService exportService;
+
+    @Value("${errors.receipt.export.bad-request}")
+    private String errorReceiptExportBadRequest;
 
     /**
      * Получение квитанции по идентификатору бронирования
@@ -85,7 +97,7 @@ public class ReceiptController {
             }
     )
     @GetMapping("/booking/{booking-id}")
-    @PreAuthorize("hasAnyRole('admin', 'manager', 'client')")
+    @PreAuthorize("hasAnyRole('admin', 'manager', 'client', 'service-reader')")
     public ResponseEntity<Resource> getByBookingId(@PathVariable("booking-id") Long bookingId) {
         Authentication authentication = UserDataUtils.getAuthentication();
         if (RoleUtils.checkRole(authentication, "client")) {
@@ -98,4 +110,98 @@ public class ReceiptController {
                 .header("Content-Disposition", "attachment; filename=\"booking_%s.pdf\"".formatted(bookingId))
                 .body(receipt);
     }
+
+    /**
+     * Выгрузка квитанций бронирований сеанса или периода в ZIP архив
+     * @param sessionId - идентификатор сеанса
+     * @param from - дата, с которой производится поиск бронирований
+     * @param to - дата, по которую производится поиск бронирований
+     */
+    @Operation(
+            summary = "Выгрузка квитанций бронирований сеанса или периода в ZIP архив",
+            parameters = {
+                    @Parameter(
+                            name = "sessionId",
+                            description = "Идентификатор сеанса",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = Long.class
+                            )
+                    ),
+                    @Parameter(
+                            name = "from",
+                            description = "Дата, с которой производится поиск бронирований",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = LocalDate.class
+                            )
+                    ),
+                    @Parameter(
+                            name = "to",
+                            description = "Дата, по которую производится поиск бронирований",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = LocalDate.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/zip"
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = ApiErrorResponse.class
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('admin', 'manager')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long sessionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (sessionId == null && from == null && to == null) {
+            throw new BadRequestException(errorReceiptExportBadRequest);
+        }
+        StreamingResponseBody body = outputStream -> exportService.export(sessionId, from, to, outputStream);
+
+        return ResponseEntity.ok()
+                .header("Content-Type", "application/zip")
+                .header("Content-Disposition", "attachment; filename=\"receipts.zip\"")
+                .body(body);
+    }
 }
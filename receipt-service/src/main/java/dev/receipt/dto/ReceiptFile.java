@@ -0,0 +1,9 @@
+package dev.receipt.dto;
+
+/**
+ * Данные файла квитанции, сохранённого в хранилище
+ * @param checksum - хэш содержимого файла (SHA-256)
+ * @param size - размер файла
+ * @param compressedSize - размер сжатого файла в хранилище
+ */
+public record ReceiptFile(String checksum, long size, long compressedSize) {}
@@ -36,8 +36,24 @@ public class Receipt extends Auditable {
     @Column(name = "user_id", nullable = false)
     private String userId;
     /**
-     * Файл квитанции в байтовом представлении
+     * Размер файла квитанции
      */
-    @Column(name = "data")
-    private byte[] data;
+    @Column(name = "size")
+    private Long size;
+    /**
+     * Размер сжатого файла квитанции в хранилище
+     */
+    @Column(name = "compressed_size")
+    private Long compressedSize;
+    /**
+     * Хэш содержимого файла квитанции (SHA-256). Отсутствует у квитанций, которые ещё не перенесены в хранилище
+     */
+    @Column(name = "checksum")
+    private String checksum;
+    /**
+     * Отпечаток HTML данных квитанции (SHA-256). Если при обновлении отпечаток не изменился, то PDF файл не создаётся
+     * повторно
+     */
+    @Column(name = "fingerprint")
+    private String fingerprint;
 }
@@ -1,11 +1,15 @@
 package dev.receipt.repository;
 
 import dev.receipt.entity.Receipt;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,30 +31,85 @@ public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
     boolean existsByBookingIdAndUserId(Long bookingId, String userId);
 
     /**
-     * Получение файла в байтовом представлении по идентификатору бронирования
+     * Получение записи о квитанции по идентификатору бронирования
      * @param bookingId - идентификатор бронирования
      */
-    @Query("SELECT r.data FROM Receipt r WHERE r.bookingId = :bookingId")
+    Optional<Receipt> findByBookingId(Long bookingId);
+
+    /**
+     * Получение и блокировка до конца транзакции записи о квитанции по идентификатору бронирования. Используется
+     * перед сохранением нового файла квитанции, чтобы параллельные обновления одной квитанции выполнялись по очереди
+     * @param bookingId - идентификатор бронирования
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Receipt r WHERE r.bookingId = :bookingId")
+    Optional<Receipt> findByBookingIdForUpdate(Long bookingId);
+
+    /**
+     * Получение файла в байтовом представлении по идентификатору бронирования у квитанции, которая ещё не
+     * перенесена в хранилище
+     * @param bookingId - идентификатор бронирования
+     */
+    @Query(value = "SELECT r.data FROM receipts r WHERE r.booking_id = :bookingId AND r.data IS NOT NULL",
+            nativeQuery = true)
     Optional<byte[]> findDataByBookingId(Long bookingId);
 
     /**
-     * Обновление файла в байтовом представлении по идентификатору бронирования
+     * Получение и блокировка до конца транзакции идентификаторов бронирований у квитанций, которые ещё не
+     * перенесены в хранилище. Записи, заблокированные другой транзакцией, и записи без файла, которые перенести
+     * нельзя, пропускаются
+     * @param limit - максимальное количество записей
+     */
+    @Query(value = "SELECT r.booking_id FROM receipts r WHERE r.checksum IS NULL AND r.data IS NOT NULL " +
+            "ORDER BY r.booking_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findBookingIdsNotStoredForUpdate(int limit);
+
+    /**
+     * Обновление данных файла по идентификатору бронирования. Файл в байтовом представлении удаляется из записи
+     * @param bookingId - идентификатор бронирования
+     * @param checksum - хэш содержимого файла
+     * @param size - размер файла
+     * @param compressedSize - размер сжатого файла
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE receipts SET checksum = :checksum, size = :size, compressed_size = :compressedSize, " +
+            "data = NULL WHERE booking_id = :bookingId", nativeQuery = true)
+    void updateFileByBookingId(Long bookingId, String checksum, long size, long compressedSize);
+
+    /**
+     * Обновление данных файла и отпечатка HTML данных квитанции по идентификатору бронирования. Файл в байтовом
+     * представлении удаляется из записи
      * @param bookingId - идентификатор бронирования
-     * @param data - файл в байтовом представлении
+     * @param checksum - хэш содержимого файла
+     * @param size - размер файла
+     * @param compressedSize - размер сжатого файла
+     * @param fingerprint - отпечаток HTML данных квитанции
      */
     @Modifying
-    @Query("UPDATE Receipt r SET r.data = :data WHERE r.bookingId = :bookingId")
-    void updateDataByBookingId(Long bookingId, byte[] data);
+    @Transactional
+    @Query(value = "UPDATE receipts SET checksum = :checksum, size = :size, compressed_size = :compressedSize, " +
+            "fingerprint = :fingerprint, data = NULL WHERE booking_id = :bookingId", nativeQuery = true)
+    void updateFileAndFingerprintByBookingId(Long bookingId, String checksum, long size, long compressedSize,
+                                             String fingerprint);
 
     /**
-     * Обновление идентификатора пользователя и файла в байтовом представлении по идентификатору бронирования
+     * Обновление идентификатора пользователя, данных файла и отпечатка HTML данных квитанции по идентификатору
+     * бронирования. Файл в байтовом представлении удаляется из записи
      * @param bookingId - идентификатор бронирования
      * @param userId - идентификатор пользователя
-     * @param data - файл в байтовом представлении
+     * @param checksum - хэш содержимого файла
+     * @param size - размер файла
+     * @param compressedSize - размер сжатого файла
+     * @param fingerprint - отпечаток HTML данных квитанции
      */
-    @Query("UPDATE Receipt r SET r.userId = :userId, r.data = :data WHERE r.bookingId = :bookingId")
     @Modifying
-    void updateUserIdAndDataByBookingId(Long bookingId, String userId, byte[] data);
+    @Transactional
+    @Query(value = "UPDATE receipts SET user_id = :userId, checksum = :checksum, size = :size, " +
+            "compressed_size = :compressedSize, fingerprint = :fingerprint, data = NULL WHERE booking_id = :bookingId",
+            nativeQuery = true)
+    void updateUserIdAndFileByBookingId(Long bookingId, String userId, String checksum, long size, long compressedSize,
+                                        String fingerprint);
 
     /**
      * Удаление записи о квитанции по идентификатору бронирования
@@ -1,12 +1,29 @@
 package dev.receipt.service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Интерфейс для описания абстрактных методов по генерации квитанций
  */
 public interface GenerateDocumentService {
     /**
-     * Генерация квитанции в PDF файл
+     * Генерация квитанции в PDF файл в вызывающем потоке
      * @param content - строка с HTML данными
      */
     byte[] generateReceipt(String content);
+
+    /**
+     * Генерация квитанции в PDF файл в пуле потоков генерации. Если очередь пула заполнена, то квитанция
+     * генерируется в вызывающем потоке
+     * @param content - строка с HTML данными
+     */
+    CompletableFuture<byte[]> generateReceiptAsync(String content);
+
+    /**
+     * Параллельная генерация нескольких квитанций в пуле потоков генерации с ожиданием всех результатов
+     * @param contents - список строк с HTML данными
+     * @return список PDF файлов в порядке переданных данных
+     */
+    List<byte[]> generateReceipts(List<String> contents);
 }
@@ -0,0 +1,19 @@
+package dev.receipt.service;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Интерфейс для описания абстрактных методов выгрузки квитанций
+ */
+public interface ReceiptExportService {
+    /**
+     * Выгрузка квитанций бронирований сеанса или периода в ZIP архив. Отсутствующие квитанции создаются.
+     * Квитанции записываются в архив по мере получения, поэтому расход памяти не зависит от их количества
+     * @param sessionId - идентификатор сеанса
+     * @param from - дата, с которой производится поиск бронирований
+     * @param to - дата, по которую производится поиск бронирований
+     * @param outputStream - поток для записи
+     */
+    void export(Long sessionId, LocalDate from, LocalDate to, OutputStream outputStream);
+}
@@ -0,0 +1,13 @@
+package dev.receipt.service;
+
+/**
+ * Интерфейс для описания абстрактных методов переноса файлов квитанций из таблицы в хранилище
+ */
+public interface ReceiptMigrationService {
+    /**
+     * Перенос очередной части квитанций размером {@code receipt.migration.batch-size}: файл сохраняется в хранилище,
+     * а в записи остаются только данные файла
+     * @return признак того, что была получена полная часть квитанций и могут остаться не перенесённые
+     */
+    boolean migrate();
+}
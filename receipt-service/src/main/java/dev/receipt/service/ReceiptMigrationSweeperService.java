@@ -0,0 +1,12 @@
+package dev.receipt.service;
+
+/**
+ * Интерфейс для описания абстрактных методов периодического переноса файлов квитанций в хранилище
+ */
+public interface ReceiptMigrationSweeperService {
+    /**
+     * Перенос всех квитанций, которые ещё не перенесены в хранилище, частями размером
+     * {@code receipt.migration.batch-size}
+     */
+    void migrateAll();
+}
@@ -5,6 +5,8 @@ import dev.library.domain.notification.dto.NotificationDeleteRequest;
 import dev.library.domain.receipt.dto.ReceiptRequest;
 import org.springframework.core.io.Resource;
 
+import java.util.List;
+
 /**
  * Репозиторий для сущности {@link Receipt}
  */
@@ -16,10 +18,11 @@ public interface ReceiptService {
     Resource getByBookingId(Long bookingId);
 
     /**
-     * Создание новой записи о квитанции
-     * @param request - объект типа {@link ReceiptRequest}
+     * Создание новых записей о квитанциях. Квитанции генерируются параллельно, а запросы с уже существующей
+     * квитанцией или с некорректным бронированием пропускаются, чтобы не отменять создание остальных квитанций
+     * @param requests - список объектов типа {@link ReceiptRequest}
      */
-    void create(ReceiptRequest request);
+    void create(List<ReceiptRequest> requests);
 
     /**
      * Обновление существующей записи о квитанции
@@ -0,0 +1,32 @@
+package dev.receipt.service;
+
+import dev.receipt.dto.ReceiptFile;
+import org.springframework.core.io.Resource;
+
+/**
+ * Интерфейс для описания абстрактных методов хранилища файлов квитанций. Файлы хранятся в сжатом виде и
+ * адресуются идентификатором бронирования и хэшем содержимого
+ */
+public interface ReceiptStorageService {
+    /**
+     * Сохранение файла квитанции. Если текущая транзакция откатывается, то сохранённый файл удаляется, а после её
+     * фиксации удаляются предыдущие версии файла квитанции этого бронирования
+     * @param bookingId - идентификатор бронирования
+     * @param data - файл квитанции в байтовом представлении
+     */
+    ReceiptFile save(Long bookingId, byte[] data);
+
+    /**
+     * Получение файла квитанции. Файл распаковывается при чтении, поэтому в память целиком не загружается
+     * @param bookingId - идентификатор бронирования
+     * @param checksum - хэш содержимого файла
+     * @param size - размер файла
+     */
+    Resource get(Long bookingId, String checksum, long size);
+
+    /**
+     * Удаление всех файлов квитанции бронирования после фиксации текущей транзакции
+     * @param bookingId - идентификатор бронирования
+     */
+    void delete(Long bookingId);
+}
@@ -3,35 +3,126 @@ package dev.receipt.service.impl;
 import com.lowagie.text.pdf.BaseFont;
 import dev.library.core.exception.ServerException;
 import dev.receipt.service.GenerateDocumentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.xhtmlrenderer.pdf.ITextRenderer;
 
 import java.io.*;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
- * Сервис, реализующий интерфейс {@link GenerateDocumentService}
+ * Сервис, реализующий интерфейс {@link GenerateDocumentService}.
+ * Одна квитанция генерируется в вызывающем потоке, а пул потоков {@code receiptRenderExecutor} используется только
+ * для параллельной генерации нескольких квитанций. Генераторы {@link ITextRenderer} с уже зарегистрированным шрифтом
+ * переиспользуются через общий список свободных генераторов, а не через {@link ThreadLocal}, так как вызывающие
+ * потоки могут быть виртуальными и не переиспользуются
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class GenerateDocumentServiceImpl implements GenerateDocumentService {
+    private final ThreadPoolExecutor receiptRenderExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<ITextRenderer> renderers = new ConcurrentLinkedQueue<>();
+
     @Value("${font.path}")
     private String font;
 
+    private Timer renderTimer;
+
+    @PostConstruct
+    public void init() {
+        renderTimer = Timer.builder("receipt.render.duration")
+                .description("Время генерации квитанции")
+                .tag("stage", "pdf")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        renderers.offer(createRenderer());
+    }
+
     @Override
     public byte[] generateReceipt(String content) {
         log.debug("Started generateReceipt(String content) with content = {}", content);
+        return renderTimer.record(() -> render(content));
+    }
+
+    @Override
+    public CompletableFuture<byte[]> generateReceiptAsync(String content) {
+        log.debug("Started generateReceiptAsync(String content) with content = {}", content);
+        return CompletableFuture.supplyAsync(() -> renderTimer.record(() -> render(content)), receiptRenderExecutor);
+    }
+
+    @Override
+    public List<byte[]> generateReceipts(List<String> contents) {
+        log.debug("Started generateReceipts(List<String> contents) with {} contents", contents.size());
+        List<CompletableFuture<byte[]>> futures = contents.stream()
+                .map(this::generateReceiptAsync)
+                .toList();
+
+        return futures.stream()
+                .map(this::join)
+                .toList();
+    }
+
+    /**
+     * Ожидание результата генерации. Исключение, выброшенное при генерации, пробрасывается без обёртки
+     * @param future - объект типа {@link CompletableFuture}
+     */
+    private byte[] join(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Генерация квитанции в текущем потоке. Генератор берётся из списка свободных генераторов или создаётся, если
+     * свободных нет, и возвращается в список только после успешной генерации
+     * @param content - строка с HTML данными
+     */
+    private byte[] render(String content) {
+        ITextRenderer renderer = renderers.poll();
+        if (renderer == null) {
+            renderer = createRenderer();
+        }
         try(ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            ITextRenderer renderer = new ITextRenderer();
-            renderer.getFontResolver().addFont(font, BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
             renderer.setDocumentFromString(content);
             renderer.layout();
             renderer.createPDF(outputStream);
+            renderers.offer(renderer);
 
             return outputStream.toByteArray();
-        } catch (IOException ex) {
+        } catch (IOException | RuntimeException ex) {
             throw new ServerException("Ошибка генерации квитанции");
         }
     }
+
+    /**
+     * Создание генератора PDF файлов с зарегистрированным шрифтом
+     */
+    private ITextRenderer createRenderer() {
+        ITextRenderer renderer = new ITextRenderer();
+        try {
+            renderer.getFontResolver().addFont(font, BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
+        } catch (IOException ex) {
+            throw new ServerException("Ошибка загрузки шрифта " + font);
+        }
+
+        return renderer;
+    }
 }
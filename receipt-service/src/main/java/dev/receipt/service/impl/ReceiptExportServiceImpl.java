@@ -0,0 +1,184 @@
+package dev.receipt.service.impl;
+
+import dev.library.core.exception.BaseException;
+import dev.library.core.exception.ServerException;
+import dev.library.core.util.ResponseUtils;
+import dev.library.domain.booking.client.BookingClient;
+import dev.receipt.service.ReceiptExportService;
+import dev.receipt.service.ReceiptService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Сервис, реализующий интерфейс {@link ReceiptExportService}.
+ * Идентификаторы бронирований запрашиваются у booking-service страницами по {@code receipt.export.page-size}.
+ * Квитанции страницы получаются параллельно в пуле потоков {@code receiptExportExecutor} с контекстом безопасности
+ * пользователя, запросившего выгрузку, и записываются в архив в порядке готовности. Следующая страница запрашивается
+ * только после записи текущей, поэтому в памяти находится не больше одной страницы квитанций, а файлы квитанций
+ * копируются в архив потоком. Квитанции, которые не удалось получить или прочитать, пропускаются, а идентификаторы
+ * их бронирований и причины записываются в конец архива в файл {@code errors.txt}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptExportServiceImpl implements ReceiptExportService {
+    private static final String ERRORS_ENTRY = "errors.txt";
+
+    private final ReceiptService receiptService;
+    private final BookingClient bookingClient;
+    private final ThreadPoolExecutor receiptExportExecutor;
+
+    @Value("${receipt.export.page-size}")
+    private int pageSize;
+
+    @Override
+    public void export(Long sessionId, LocalDate from, LocalDate to, OutputStream outputStream) {
+        log.debug("Started export(Long sessionId, LocalDate from, LocalDate to) with sessionId = {}, from = {}, to = {}",
+                sessionId, from, to);
+        SecurityContext context = SecurityContextHolder.getContext();
+        ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream);
+        zipOutputStream.setLevel(Deflater.BEST_SPEED);
+        List<String> errors = new ArrayList<>();
+        int count = 0;
+        String cursor = null;
+        try {
+            do {
+                ResponseEntity<List<Long>> page = bookingClient.getIds(sessionId, from, to, cursor, pageSize);
+                List<Long> bookingIds = page.getBody() == null ? List.of() : page.getBody();
+                count += writePage(zipOutputStream, bookingIds, context, errors);
+                cursor = page.getHeaders().getFirst(ResponseUtils.NEXT_CURSOR_HEADER);
+            } while (cursor != null);
+            if (!errors.isEmpty()) {
+                writeErrors(zipOutputStream, errors);
+            }
+            zipOutputStream.finish();
+            zipOutputStream.flush();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage());
+        }
+        log.debug("Exported {} receipts, skipped {}", count, errors.size());
+    }
+
+    /**
+     * Получение квитанций страницы бронирований и их запись в архив в порядке готовности. Квитанция, которую не
+     * удалось получить или прочитать, пропускается
+     * @param zipOutputStream - поток архива
+     * @param bookingIds - идентификаторы бронирований
+     * @param context - контекст безопасности пользователя, запросившего выгрузку
+     * @param errors - строки файла {@code errors.txt} с пропущенными квитанциями
+     * @return количество записанных квитанций
+     */
+    private int writePage(ZipOutputStream zipOutputStream, List<Long> bookingIds, SecurityContext context,
+                          List<String> errors) throws IOException {
+        CompletionService<ExportedReceipt> completionService = new ExecutorCompletionService<>(receiptExportExecutor);
+        List<Future<ExportedReceipt>> futures = new ArrayList<>(bookingIds.size());
+        for (Long bookingId : bookingIds) {
+            Callable<ExportedReceipt> task = () -> getReceipt(bookingId);
+            futures.add(completionService.submit(new DelegatingSecurityContextCallable<>(task, context)));
+        }
+        int count = 0;
+        try {
+            for (int i = 0; i < bookingIds.size(); i++) {
+                ExportedReceipt exportedReceipt = completionService.take().get();
+                String error = exportedReceipt.receipt() == null
+                        ? exportedReceipt.error()
+                        : writeEntry(zipOutputStream, exportedReceipt);
+                if (error == null) {
+                    count++;
+                } else {
+                    errors.add("%d\t%s".formatted(exportedReceipt.bookingId(), error.replaceAll("\\s+", " ")));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Выгрузка квитанций прервана");
+        } catch (ExecutionException e) {
+            throw new ServerException(e.getCause().getMessage());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        return count;
+    }
+
+    private ExportedReceipt getReceipt(Long bookingId) {
+        try {
+            return new ExportedReceipt(bookingId, receiptService.getByBookingId(bookingId), null);
+        } catch (RuntimeException e) {
+            String error = e instanceof BaseException baseException
+                    ? baseException.getApiError().message()
+                    : e.getMessage();
+            log.warn("Receipt for booking with id = {} was not exported: {}", bookingId, error);
+            return new ExportedReceipt(bookingId, null, String.valueOf(error));
+        }
+    }
+
+    /**
+     * Запись квитанции в архив. Файл квитанции открывается до добавления записи в архив, поэтому квитанция, файл
+     * которой не удалось открыть, пропускается без пустой записи в архиве
+     * @param zipOutputStream - поток архива
+     * @param exportedReceipt - квитанция
+     * @return причина, по которой квитанция пропущена, или null, если квитанция записана
+     */
+    private String writeEntry(ZipOutputStream zipOutputStream, ExportedReceipt exportedReceipt) throws IOException {
+        InputStream inputStream;
+        try {
+            inputStream = exportedReceipt.receipt().getInputStream();
+        } catch (IOException e) {
+            log.warn("Receipt for booking with id = {} was not exported: {}", exportedReceipt.bookingId(), e.getMessage());
+            return "Ошибка чтения файла квитанции: %s".formatted(e.getMessage());
+        }
+        try (inputStream) {
+            zipOutputStream.putNextEntry(new ZipEntry("booking_%s.pdf".formatted(exportedReceipt.bookingId())));
+            inputStream.transferTo(zipOutputStream);
+        }
+        zipOutputStream.closeEntry();
+
+        return null;
+    }
+
+    /**
+     * Запись в архив файла {@code errors.txt} со строками вида {@code <идентификатор бронирования>\t<причина>}
+     * @param zipOutputStream - поток архива
+     * @param errors - строки файла
+     */
+    private void writeErrors(ZipOutputStream zipOutputStream, List<String> errors) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry(ERRORS_ENTRY));
+        for (String error : errors) {
+            zipOutputStream.write((error + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        zipOutputStream.closeEntry();
+    }
+
+    /**
+     * Квитанция бронирования для записи в архив
+     * @param bookingId - идентификатор бронирования
+     * @param receipt - файл квитанции или null, если квитанцию не удалось получить
+     * @param error - причина, по которой квитанцию не удалось получить
+     */
+    private record ExportedReceipt(Long bookingId, Resource receipt, String error) {}
+}
@@ -0,0 +1,50 @@
+package dev.receipt.service.impl;
+
+import dev.receipt.dto.ReceiptFile;
+import dev.receipt.repository.ReceiptRepository;
+import dev.receipt.service.ReceiptMigrationService;
+import dev.receipt.service.ReceiptStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Сервис, реализующий интерфейс {@link ReceiptMigrationService}.
+ * Записи очередной части блокируются до конца транзакции с пропуском уже заблокированных, поэтому перенос можно
+ * выполнять одновременно на нескольких экземплярах сервиса
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptMigrationServiceImpl implements ReceiptMigrationService {
+    private final ReceiptRepository repository;
+    private final ReceiptStorageService storageService;
+
+    @Value("${receipt.migration.batch-size}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public boolean migrate() {
+        List<Long> bookingIds = repository.findBookingIdsNotStoredForUpdate(batchSize);
+        for (Long bookingId : bookingIds) {
+            Optional<byte[]> data = repository.findDataByBookingId(bookingId);
+            if (data.isEmpty()) {
+                log.warn("Receipt for booking with id = {} has no data and was not migrated", bookingId);
+                continue;
+            }
+            ReceiptFile file = storageService.save(bookingId, data.get());
+            repository.updateFileByBookingId(bookingId, file.checksum(), file.size(), file.compressedSize());
+        }
+        if (!bookingIds.isEmpty()) {
+            log.info("Migrated {} receipts to storage", bookingIds.size());
+        }
+
+        return bookingIds.size() == batchSize;
+    }
+}
@@ -0,0 +1,40 @@
+package dev.receipt.service.impl;
+
+import dev.receipt.service.ReceiptMigrationService;
+import dev.receipt.service.ReceiptMigrationSweeperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Сервис, реализующий интерфейс {@link ReceiptMigrationSweeperService}.
+ * Запускается раз в {@code receipt.migration.fixed-delay} миллисекунд, если {@code receipt.migration.enabled} равно
+ * true. После переноса всех квитанций запуск сводится к одному запросу по частичному индексу
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptMigrationSweeperServiceImpl implements ReceiptMigrationSweeperService {
+    private final ReceiptMigrationService migrationService;
+
+    @Value("${receipt.migration.enabled}")
+    private boolean enabled;
+
+    @Override
+    @Scheduled(fixedDelayString = "${receipt.migration.fixed-delay}")
+    public void migrateAll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = migrationService.migrate();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Receipt migration failed, receipts will be migrated in the next run: {}", e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package dev.receipt.service.impl;
 
 import dev.library.core.exception.BadRequestException;
+import dev.library.core.exception.BaseException;
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
+import dev.library.core.exception.ServerException;
+import dev.library.core.util.TransactionUtils;
 import dev.library.domain.booking.client.BookingClient;
 import dev.library.domain.booking.dto.BookingResponse;
 import dev.library.domain.movie.client.MovieClient;
@@ -15,30 +18,49 @@ import dev.library.domain.session.dto.PlaceResponse;
 import dev.library.domain.session.dto.SessionResponse;
 import dev.library.domain.user.client.UserClient;
 import dev.library.domain.user.dto.UserResponse;
+import dev.receipt.dto.ReceiptFile;
 import dev.receipt.entity.Receipt;
 import dev.receipt.repository.ReceiptRepository;
 import dev.receipt.service.GenerateDocumentService;
 import dev.receipt.service.RabbitMQProducer;
 import dev.receipt.service.ReceiptService;
+import dev.receipt.service.ReceiptStorageService;
 import dev.receipt.service.TemplateService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
- * Сервис, реализующий интерфейс {@link ReceiptService}
+ * Сервис, реализующий интерфейс {@link ReceiptService}.
+ * Версия квитанции определяется отпечатком её HTML данных, которые зависят только от бронирования, фильма и
+ * пользователя: если отпечаток не изменился, то PDF файл повторно не создаётся. Одновременные запросы квитанции,
+ * которая ещё не создана, ожидают одного создания PDF файла
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ReceiptServiceImpl implements ReceiptService {
     private final ReceiptRepository repository;
     private final TemplateService templateService;
@@ -47,6 +69,9 @@ public class ReceiptServiceImpl implements ReceiptService {
     private final UserClient userClient;
     private final BookingClient bookingClient;
     private final RabbitMQProducer rabbitMQProducer;
+    private final ReceiptStorageService storageService;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<Long, CompletableFuture<ReceiptFile>> receiptsInProgress = new ConcurrentHashMap<>();
 
     @Value("${errors.receipt.booking-id.not-found}")
     private String errorReceiptBookingIdNotFound;
@@ -55,64 +80,88 @@ public class ReceiptServiceImpl implements ReceiptService {
 
     @Override
     public Resource getByBookingId(Long bookingId) {
-        Optional<byte[]> optionalData = repository.findDataByBookingId(bookingId);
-        byte[] data;
-        if (optionalData.isEmpty()) {
-            BookingResponse bookingResponse = bookingClient.getById(bookingId);
-            data = createReceipt(bookingResponse);
-            createEntity(bookingId, bookingResponse.userId(), data);
-        } else {
-            data = optionalData.get();
+        Optional<Receipt> optionalReceipt = repository.findByBookingId(bookingId);
+        if (optionalReceipt.isEmpty()) {
+            ReceiptFile file = createReceiptOnce(bookingId);
+
+            return storageService.get(bookingId, file.checksum(), file.size());
         }
+        Receipt receipt = optionalReceipt.get();
+        if (receipt.getChecksum() == null) {
+            byte[] data = repository.findDataByBookingId(bookingId)
+                    .orElseThrow(() -> new EntityNotFoundException(errorReceiptBookingIdNotFound.formatted(bookingId)));
 
-        return new ByteArrayResource(data);
+            return new ByteArrayResource(data);
+        }
+
+        return storageService.get(bookingId, receipt.getChecksum(), receipt.getSize());
     }
 
     @Override
     @Transactional
-    @RabbitListener(queues = {"${rabbitmq.receipt.queue.creation}"})
-    public void create(ReceiptRequest request) {
-        BookingResponse bookingResponse = request.bookingResponse();
-        UserResponse userResponse = request.userResponse();
-        Long bookingId = bookingResponse.id();
-        boolean existsByBookingIdAndUserId = repository.existsByBookingIdAndUserId(bookingId, userResponse.id());
-        if (existsByBookingIdAndUserId) {
-            String errorMessage = errorReceiptBookingIdAlreadyExists.formatted(bookingId);
-            throw new EntityAlreadyExistsException(errorMessage);
+    @RabbitListener(queues = {"${rabbitmq.receipt.queue.creation}"}, containerFactory = "creationReceiptListenerFactory")
+    public void create(List<ReceiptRequest> requests) {
+        log.debug("Started create(List<ReceiptRequest> requests) with {} requests", requests.size());
+        List<ReceiptRequest> requestsForCreate = new ArrayList<>(requests.size());
+        List<String> contents = new ArrayList<>(requests.size());
+        Map<Long, MovieResponse> movies = new HashMap<>();
+        for (ReceiptRequest request : requests) {
+            BookingResponse bookingResponse = request.bookingResponse();
+            UserResponse userResponse = request.userResponse();
+            try {
+                checkNotExistsByBookingIdAndUserId(bookingResponse.id(), userResponse.id());
+                contents.add(createContent(bookingResponse, userResponse, movies));
+                requestsForCreate.add(request);
+            } catch (BaseException e) {
+                log.warn("Receipt for booking with id = {} skipped: {}", bookingResponse.id(), e.getApiError().message());
+            }
         }
-        byte[] data = createReceipt(bookingResponse, userResponse);
-        if (repository.existsByBookingId(bookingId)) {
-            repository.updateUserIdAndDataByBookingId(bookingId, userResponse.id(), data);
-        } else {
-            createEntity(bookingId, userResponse.id(), data);
+        if (requestsForCreate.isEmpty()) {
+            return;
+        }
+        List<byte[]> receipts = documentService.generateReceipts(contents);
+        for (int i = 0; i < requestsForCreate.size(); i++) {
+            BookingResponse bookingResponse = requestsForCreate.get(i).bookingResponse();
+            UserResponse userResponse = requestsForCreate.get(i).userResponse();
+            String fingerprint = getFingerprint(contents.get(i));
+            boolean exists = repository.findByBookingIdForUpdate(bookingResponse.id()).isPresent();
+            ReceiptFile file = storageService.save(bookingResponse.id(), receipts.get(i));
+            if (exists) {
+                repository.updateUserIdAndFileByBookingId(bookingResponse.id(), userResponse.id(), file.checksum(),
+                        file.size(), file.compressedSize(), fingerprint);
+            } else {
+                createEntity(bookingResponse.id(), userResponse.id(), file, fingerprint);
+            }
+            NotificationRequest notificationRequest = new NotificationRequest(bookingResponse, userResponse,
+                    file.checksum(), file.size());
+            TransactionUtils.afterCommit(() -> rabbitMQProducer.sendMessage(notificationRequest, ActionType.CREATE));
         }
-        NotificationRequest notificationRequest = new NotificationRequest(bookingResponse, userResponse, data);
-        rabbitMQProducer.sendMessage(notificationRequest, ActionType.CREATE);
     }
 
     @Override
     @Transactional
-    @RabbitListener(queues = {"${rabbitmq.receipt.queue.update}"})
+    @RabbitListener(queues = {"${rabbitmq.receipt.queue.update}"}, containerFactory = "updateReceiptListenerFactory")
     public void update(ReceiptRequest request) {
         NotificationRequest notificationRequest = updateReceipt(request);
-        rabbitMQProducer.sendMessage(notificationRequest, ActionType.UPDATE);
+        TransactionUtils.afterCommit(() -> rabbitMQProducer.sendMessage(notificationRequest, ActionType.UPDATE));
     }
 
     @Override
     @Transactional
-    @RabbitListener(queues = {"${rabbitmq.receipt.queue.update-status}"})
+    @RabbitListener(queues = {"${rabbitmq.receipt.queue.update-status}"}, containerFactory = "updateStatusReceiptListenerFactory")
     public void updateStatus(ReceiptRequest request) {
         NotificationRequest notificationRequest = updateReceipt(request);
-        rabbitMQProducer.sendMessage(notificationRequest, ActionType.UPDATE_STATUS);
+        TransactionUtils.afterCommit(() -> rabbitMQProducer.sendMessage(notificationRequest, ActionType.UPDATE_STATUS));
     }
 
     @Override
     @Transactional
-    @RabbitListener(queues = {"${rabbitmq.receipt.queue.delete}"})
+    @RabbitListener(queues = {"${rabbitmq.receipt.queue.delete}"}, containerFactory = "deleteReceiptListenerFactory")
     public void deleteByBookingId(NotificationDeleteRequest request) {
         Long bookingId = request.bookingId();
         checkExistsByBookingId(bookingId);
         repository.deleteByBookingId(bookingId);
+        storageService.delete(bookingId);
         rabbitMQProducer.sendMessage(request, ActionType.DELETE);
     }
 
@@ -120,11 +169,20 @@ public class ReceiptServiceImpl implements ReceiptService {
         BookingResponse bookingResponse = request.bookingResponse();
         UserResponse userResponse = request.userResponse();
         Long bookingId = bookingResponse.id();
-        checkExistsByBookingId(bookingId);
-        byte[] data = createReceipt(bookingResponse, userResponse);
-        repository.updateDataByBookingId(bookingId, data);
+        Receipt receipt = repository.findByBookingIdForUpdate(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException(errorReceiptBookingIdNotFound.formatted(bookingId)));
+        String content = createContent(bookingResponse, userResponse, new HashMap<>());
+        String fingerprint = getFingerprint(content);
+        if (receipt.getChecksum() != null && fingerprint.equals(receipt.getFingerprint())) {
+            log.debug("Receipt for booking with id = {} is unchanged, rendering skipped", bookingId);
 
-        return new NotificationRequest(bookingResponse, userResponse, data);
+            return new NotificationRequest(bookingResponse, userResponse, receipt.getChecksum(), receipt.getSize());
+        }
+        ReceiptFile file = storageService.save(bookingId, documentService.generateReceipt(content));
+        repository.updateFileAndFingerprintByBookingId(bookingId, file.checksum(), file.size(), file.compressedSize(),
+                fingerprint);
+
+        return new NotificationRequest(bookingResponse, userResponse, file.checksum(), file.size());
     }
 
     /**
@@ -138,11 +196,24 @@ public class ReceiptServiceImpl implements ReceiptService {
     }
 
     /**
-     * Создание квитанции в PDF файле
+     * Проверка на отсутствие записи о квитанции по идентификатору бронирования и идентификатору пользователя
+     * @param bookingId - идентификатор бронирования
+     * @param userId - идентификатор пользователя
+     */
+    private void checkNotExistsByBookingIdAndUserId(Long bookingId, String userId) {
+        if (repository.existsByBookingIdAndUserId(bookingId, userId)) {
+            throw new EntityAlreadyExistsException(errorReceiptBookingIdAlreadyExists.formatted(bookingId));
+        }
+    }
+
+    /**
+     * Создание HTML данных квитанции. Данные фильма запрашиваются один раз для всех квитанций одного фильма
      * @param bookingResponse - объект типа {@link BookingResponse}
      * @param userResponse - объект типа {@link UserResponse}
+     * @param movies - уже полученные данные фильмов по идентификатору
      */
-    private byte[] createReceipt(BookingResponse bookingResponse, UserResponse userResponse) {
+    private String createContent(BookingResponse bookingResponse, UserResponse userResponse,
+                                 Map<Long, MovieResponse> movies) {
         List<PlaceResponse> placeResponses = bookingResponse.places();
         SessionResponse sessionResponse = bookingResponse.session();
         Set<Long> sessionIds = placeResponses.stream()
@@ -156,32 +227,94 @@ public class ReceiptServiceImpl implements ReceiptService {
                 throw new BadRequestException("Сеанс в бронировании и у мест не может быть разным");
             }
         }
-        MovieResponse movieResponse = movieClient.getById(sessionResponse.movieId());
-        String content = templateService.createContent(bookingResponse, movieResponse, userResponse);
+        MovieResponse movieResponse = movies.computeIfAbsent(sessionResponse.movieId(), movieClient::getById);
 
-        return documentService.generateReceipt(content);
+        return templateService.createContent(bookingResponse, movieResponse, userResponse);
     }
 
     /**
-     * Создание квитанции в PDF файле
-     * @param bookingResponse - объект типа {@link BookingResponse}
+     * Создание квитанции, которой ещё нет в БД. Если квитанция этого бронирования уже создаётся в другом потоке, то
+     * ожидается результат этого создания
+     * @param bookingId - идентификатор бронирования
      */
-    private byte[] createReceipt(BookingResponse bookingResponse) {
+    private ReceiptFile createReceiptOnce(Long bookingId) {
+        CompletableFuture<ReceiptFile> future = new CompletableFuture<>();
+        CompletableFuture<ReceiptFile> inProgress = receiptsInProgress.putIfAbsent(bookingId, future);
+        if (inProgress != null) {
+            try {
+                return inProgress.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        try {
+            ReceiptFile file = repository.findByBookingId(bookingId)
+                    .filter(receipt -> receipt.getChecksum() != null)
+                    .map(receipt -> new ReceiptFile(receipt.getChecksum(), receipt.getSize(), receipt.getCompressedSize()))
+                    .orElseGet(() -> createReceipt(bookingId));
+            future.complete(file);
+
+            return file;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            receiptsInProgress.remove(bookingId, future);
+        }
+    }
+
+    /**
+     * Создание квитанции в PDF файле, его сохранение в хранилище и сохранение записи о квитанции. Файл и запись
+     * сохраняются в одной транзакции: удаление других версий файла выполняется только после её фиксации, поэтому
+     * не затрагивает ещё не зафиксированный файл, который одновременно сохраняет обработчик сообщений
+     * @param bookingId - идентификатор бронирования
+     */
+    private ReceiptFile createReceipt(Long bookingId) {
+        BookingResponse bookingResponse = bookingClient.getById(bookingId);
         UserResponse userResponse = userClient.getById(bookingResponse.userId());
+        String content = createContent(bookingResponse, userResponse, new HashMap<>());
+        String fingerprint = getFingerprint(content);
+        byte[] data = documentService.generateReceipt(content);
+
+        return transactionTemplate.execute(status -> {
+            ReceiptFile file = storageService.save(bookingId, data);
+            createEntity(bookingId, bookingResponse.userId(), file, fingerprint);
+
+            return file;
+        });
+    }
 
-        return createReceipt(bookingResponse, userResponse);
+    /**
+     * Получение отпечатка HTML данных квитанции
+     * @param content - HTML данные квитанции
+     */
+    private String getFingerprint(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(e.getMessage());
+        }
     }
 
     /**
      * Создание новой сущности и её сохранение
      * @param bookingId - идентификатор бронирования
-     * @param data - файл в байтовом представлении
+     * @param file - данные сохранённого в хранилище файла
+     * @param fingerprint - отпечаток HTML данных квитанции
      */
-    private void createEntity(Long bookingId, String userId, byte[] data) {
+    private void createEntity(Long bookingId, String userId, ReceiptFile file, String fingerprint) {
         Receipt receipt = Receipt.builder()
                 .bookingId(bookingId)
                 .userId(userId)
-                .data(data)
+                .checksum(file.checksum())
+                .size(file.size())
+                .compressedSize(file.compressedSize())
+                .fingerprint(fingerprint)
                 .build();
         repository.save(receipt);
     }
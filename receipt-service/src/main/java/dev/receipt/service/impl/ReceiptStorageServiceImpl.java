@@ -0,0 +1,199 @@
+package dev.receipt.service.impl;
+
+import dev.library.core.exception.ServerException;
+import dev.library.core.util.TransactionUtils;
+import dev.receipt.dto.ReceiptFile;
+import dev.receipt.service.ReceiptStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сервис, реализующий интерфейс {@link ReceiptStorageService}, с хранением файлов квитанций в файловой системе.
+ * Файл квитанции сжимается в GZIP и сохраняется по пути {@code <directory.receipts>/<bookingId % 1000>/<bookingId>/
+ * <checksum>.pdf.gz}: каждая версия квитанции записывается в новый файл, поэтому файл, на который ссылается
+ * зафиксированная запись в БД, не перезаписывается. Запись выполняется во временный файл с атомарным перемещением
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptStorageServiceImpl implements ReceiptStorageService {
+    private static final String EXTENSION = ".pdf.gz";
+    private static final int BUFFER_SIZE = 8192;
+
+    @Value("${directory.receipts}")
+    private String directoryReceipts;
+
+    @Override
+    public ReceiptFile save(Long bookingId, byte[] data) {
+        String checksum = HexFormat.of().formatHex(createDigest().digest(data));
+        Path directory = getDirectory(bookingId);
+        Path filePath = directory.resolve(checksum + EXTENSION);
+        boolean created = false;
+        if (!Files.exists(filePath)) {
+            write(directory, filePath, data);
+            created = true;
+        }
+        long compressedSize = getSize(filePath);
+        log.debug("Saved receipt for booking with id = {}: size = {}, compressedSize = {}",
+                bookingId, data.length, compressedSize);
+        boolean deleteOnRollback = created;
+        TransactionUtils.afterCompletion(committed -> {
+            if (committed) {
+                deleteOtherVersions(directory, filePath);
+            } else if (deleteOnRollback) {
+                deleteIfExists(filePath);
+            }
+        });
+
+        return new ReceiptFile(checksum, data.length, compressedSize);
+    }
+
+    @Override
+    public Resource get(Long bookingId, String checksum, long size) {
+        return new CompressedFileResource(getDirectory(bookingId).resolve(checksum + EXTENSION), size);
+    }
+
+    @Override
+    public void delete(Long bookingId) {
+        Path directory = getDirectory(bookingId);
+        TransactionUtils.afterCompletion(committed -> {
+            if (committed) {
+                deleteDirectory(directory);
+            }
+        });
+    }
+
+    /**
+     * Получение директории с файлами квитанции бронирования. Директории бронирований распределяются по
+     * поддиректориям, чтобы количество файлов в одной директории не росло вместе с количеством бронирований
+     * @param bookingId - идентификатор бронирования
+     */
+    private Path getDirectory(Long bookingId) {
+        return Paths.get(directoryReceipts)
+                .resolve("%03d".formatted(bookingId % 1000))
+                .resolve(bookingId.toString());
+    }
+
+    private void write(Path directory, Path filePath, byte[] data) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, "receipt-", ".tmp");
+            try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE)) {
+                outputStream.write(data);
+            }
+            Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка сохранения файла квитанции %s: %s".formatted(filePath, e.getMessage()));
+        } finally {
+            if (tempFile != null) {
+                deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private long getSize(Path filePath) {
+        try {
+            return Files.size(filePath);
+        } catch (IOException e) {
+            throw new ServerException("Ошибка чтения файла квитанции %s: %s".formatted(filePath, e.getMessage()));
+        }
+    }
+
+    /**
+     * Удаление предыдущих версий файла квитанции
+     * @param directory - директория с файлами квитанции бронирования
+     * @param filePath - путь до текущей версии файла
+     */
+    private void deleteOtherVersions(Path directory, Path filePath) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (!file.equals(filePath)) {
+                    deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete previous receipt versions in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteDirectory(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(this::deleteIfExists);
+        } catch (IOException e) {
+            log.warn("Failed to delete receipt directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void deleteIfExists(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /**
+     * Файл квитанции, который распаковывается при чтении
+     */
+    private static class CompressedFileResource extends AbstractResource {
+        private final Path filePath;
+        private final long size;
+
+        CompressedFileResource(Path filePath, long size) {
+            this.filePath = filePath;
+            this.size = size;
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(filePath);
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new GZIPInputStream(Files.newInputStream(filePath), BUFFER_SIZE);
+        }
+
+        @Override
+        public String getDescription() {
+            return "compressed receipt [%s]".formatted(filePath);
+        }
+    }
+}
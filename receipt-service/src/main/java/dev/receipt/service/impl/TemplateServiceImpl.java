@@ -5,38 +5,49 @@ import dev.library.domain.movie.dto.MovieResponse;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.library.domain.user.dto.UserResponse;
 import dev.receipt.service.TemplateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
-import org.thymeleaf.templatemode.TemplateMode;
-import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 import java.math.BigDecimal;
 
 /**
- * Сервис, реализующий интерфейс {@link TemplateService}
+ * Сервис, реализующий интерфейс {@link TemplateService}.
+ * Используется общий шаблонизатор приложения, который разбирает шаблон один раз и хранит его в кэше
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class TemplateServiceImpl implements TemplateService {
+    private static final String TEMPLATE_NAME = "booking";
+
+    private final ITemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+
     @Value("${currency.sign}")
     private String currencySign;
 
+    private Timer templateTimer;
+
+    @PostConstruct
+    public void init() {
+        templateTimer = Timer.builder("receipt.render.duration")
+                .description("Время генерации квитанции")
+                .tag("stage", "template")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     @Override
     public String createContent(BookingResponse bookingResponse, MovieResponse movieResponse, UserResponse userResponse) {
         log.debug("Started createContent(BookingResponse bookingResponse, MovieResponse movieResponse, UserResponse userResponse) with bookingResponse = {}, movieResponse = {}, userResponse = {}",
                 bookingResponse, movieResponse, userResponse);
-        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
-        templateResolver.setSuffix(".html");
-        templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCharacterEncoding("UTF-8");
-
-        TemplateEngine templateEngine = new SpringTemplateEngine();
-        templateEngine.setTemplateResolver(templateResolver);
-
         Context context = new Context();
         context.setVariable("bookingResponse", bookingResponse);
         context.setVariable("userResponse", userResponse);
@@ -48,6 +59,6 @@ public class TemplateServiceImpl implements TemplateService {
         );
         context.setVariable("currencySign", currencySign);
 
-        return templateEngine.process("templates/booking", context);
+        return templateTimer.record(() -> templateEngine.process(TEMPLATE_NAME, context));
     }
 }
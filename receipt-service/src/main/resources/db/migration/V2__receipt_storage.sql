@@ -0,0 +1,12 @@
+-- Файлы квитанций хранятся в сжатом виде во внешнем хранилище, в таблице остаются только данные файла.
+-- Столбец data заполнен только у квитанций, которые ещё не перенесены в хранилище
+ALTER TABLE receipts ALTER COLUMN data DROP NOT NULL;
+-- Размер файла квитанции
+ALTER TABLE receipts ADD COLUMN size BIGINT;
+-- Размер сжатого файла квитанции в хранилище
+ALTER TABLE receipts ADD COLUMN compressed_size BIGINT;
+-- Хэш содержимого файла квитанции (SHA-256)
+ALTER TABLE receipts ADD COLUMN checksum VARCHAR(64);
+
+-- Квитанции, которые ещё не перенесены в хранилище
+CREATE INDEX IF NOT EXISTS receipts_not_stored_idx ON receipts (booking_id) WHERE checksum IS NULL;
\ No newline at end of file
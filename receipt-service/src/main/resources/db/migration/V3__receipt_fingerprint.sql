@@ -0,0 +1,2 @@
+-- Отпечаток HTML данных квитанции (SHA-256), по которому определяется необходимость повторного создания PDF файла
+ALTER TABLE receipts ADD COLUMN fingerprint VARCHAR(64);
\ No newline at end of file
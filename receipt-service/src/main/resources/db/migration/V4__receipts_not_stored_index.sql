@@ -0,0 +1,3 @@
+-- Квитанции без файла перенести в хранилище нельзя, индекс содержит только квитанции, которые можно перенести
+DROP INDEX IF EXISTS receipts_not_stored_idx;
+CREATE INDEX IF NOT EXISTS receipts_not_stored_idx ON receipts (booking_id) WHERE checksum IS NULL AND data IS NOT NULL;
\ No newline at end of file
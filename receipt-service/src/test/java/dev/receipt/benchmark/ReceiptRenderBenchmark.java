@@ -0,0 +1,171 @@
+package dev.receipt.benchmark;
+
+import com.lowagie.text.pdf.BaseFont;
+import dev.library.domain.booking.dto.BookingResponse;
+import dev.library.domain.dictionary.country.dto.CountryResponse;
+import dev.library.domain.dictionary.participant.dto.ParticipantResponse;
+import dev.library.domain.movie.dto.GenreResponse;
+import dev.library.domain.movie.dto.MovieResponse;
+import dev.library.domain.session.dto.PlaceResponse;
+import dev.library.domain.session.dto.SessionResponse;
+import dev.library.domain.user.dto.RoleResponse;
+import dev.library.domain.user.dto.UserResponse;
+import dev.receipt.service.impl.GenerateDocumentServiceImpl;
+import dev.receipt.service.impl.TemplateServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение генерации квитанций: прежний способ (новый шаблонизатор, генератор PDF и загрузка шрифта на каждую
+ * квитанцию в одном потоке) и конвейер из общего шаблонизатора и пула потоков генерации.
+ * Результат выводится в квитанциях в секунду для партии из {@value #RECEIPTS} квитанций.
+ * Запуск: {@code mvn -pl receipt-service -am test-compile}, затем метод {@link #main} с classpath тестов модуля
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiptRenderBenchmark {
+    private static final int RECEIPTS = 10_000;
+    private static final String FONT = "DejaVuSerif-Bold.ttf";
+
+    private BookingResponse bookingResponse;
+    private MovieResponse movieResponse;
+    private UserResponse userResponse;
+
+    private ThreadPoolExecutor executor;
+    private TemplateServiceImpl templateService;
+    private GenerateDocumentServiceImpl documentService;
+
+    @Setup
+    public void setup() {
+        SessionResponse sessionResponse = new SessionResponse(2L, 125L, "3D", 4, OffsetDateTime.now().plusDays(2), true);
+        List<PlaceResponse> places = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            places.add(new PlaceResponse((long) i, 2L, 3, i, "350.00", false));
+        }
+        bookingResponse = new BookingResponse(14L, UUID.randomUUID().toString(), sessionResponse, places, "Created",
+                OffsetDateTime.now(), OffsetDateTime.now());
+        movieResponse = new MovieResponse(125L, "Тест", "Описание", 111, 2022, "18+", true,
+                List.of(new GenreResponse(1L, "Боевик")),
+                List.of(new CountryResponse(1L, "999", "Тест")),
+                List.of(new ParticipantResponse(1L, "Петров", "Андрей", "Иванович")),
+                List.of(new ParticipantResponse(2L, "Крутой", "Майкл")));
+        userResponse = new UserResponse(UUID.randomUUID().toString(), "max1234", "max1234@mail.com", true, "Макс",
+                "Булочкин", "1999-01-01", new RoleResponse(UUID.randomUUID().toString(), "client"), true);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(processors, processors, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100), new ThreadPoolExecutor.CallerRunsPolicy());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        templateService = new TemplateServiceImpl(createTemplateEngine(), meterRegistry);
+        ReflectionTestUtils.setField(templateService, "currencySign", "₽");
+        templateService.init();
+        documentService = new GenerateDocumentServiceImpl(executor, meterRegistry);
+        ReflectionTestUtils.setField(documentService, "font", FONT);
+        documentService.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECEIPTS)
+    public long legacy() throws IOException {
+        long size = 0;
+        for (int i = 0; i < RECEIPTS; i++) {
+            size += renderLegacy().length;
+        }
+
+        return size;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECEIPTS)
+    public long pipeline() {
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>(RECEIPTS);
+        for (int i = 0; i < RECEIPTS; i++) {
+            String content = templateService.createContent(bookingResponse, movieResponse, userResponse);
+            futures.add(documentService.generateReceiptAsync(content));
+        }
+        long size = 0;
+        for (CompletableFuture<byte[]> future : futures) {
+            size += future.join().length;
+        }
+
+        return size;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReceiptRenderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * Генерация квитанции так, как это делалось до появления пула потоков генерации
+     */
+    private byte[] renderLegacy() throws IOException {
+        TemplateEngine templateEngine = createTemplateEngine();
+        Context context = new Context();
+        context.setVariable("bookingResponse", bookingResponse);
+        context.setVariable("userResponse", userResponse);
+        context.setVariable("movieResponse", movieResponse);
+        context.setVariable("totalPrice", bookingResponse.places().stream()
+                .map(PlaceResponse::price)
+                .map(BigDecimal::new)
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+        );
+        context.setVariable("currencySign", "₽");
+        String content = templateEngine.process("booking", context);
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            ITextRenderer renderer = new ITextRenderer();
+            renderer.getFontResolver().addFont(FONT, BaseFont.IDENTITY_H, BaseFont.NOT_EMBEDDED);
+            renderer.setDocumentFromString(content);
+            renderer.layout();
+            renderer.createPDF(outputStream);
+
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static TemplateEngine createTemplateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        TemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        return templateEngine;
+    }
+}
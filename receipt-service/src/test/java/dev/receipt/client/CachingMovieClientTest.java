@@ -0,0 +1,103 @@
+package dev.receipt.client;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.library.domain.movie.client.MovieClient;
+import dev.library.domain.movie.dto.MovieResponse;
+import dev.library.security.client.cache.CachingMovieClient;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingMovieClientTest {
+    final MovieClient movieClient = Mockito.mock(MovieClient.class);
+    final AtomicLong ticker = new AtomicLong();
+
+    CachingMovieClient cachingMovieClient;
+
+    MovieResponse movieResponse;
+
+    @BeforeEach
+    void init() {
+        cachingMovieClient = new CachingMovieClient(
+                movieClient,
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfterWrite(Duration.ofMinutes(1))
+                        .ticker(ticker::get)
+                        .executor(Runnable::run)
+                        .build()
+        );
+
+        movieResponse = new MovieResponse(
+                56L,
+                "Тест",
+                "Тест",
+                111,
+                2022,
+                "18+",
+                false,
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>(),
+                new ArrayList<>()
+        );
+    }
+
+    @Test
+    void getById_cached() {
+        Mockito
+                .when(movieClient.getById(56L))
+                .thenReturn(movieResponse);
+
+        MovieResponse first = cachingMovieClient.getById(56L);
+        MovieResponse second = cachingMovieClient.getById(56L);
+        Assertions.assertEquals(movieResponse, first);
+        Assertions.assertEquals(movieResponse, second);
+
+        Mockito
+                .verify(movieClient, Mockito.times(1))
+                .getById(56L);
+    }
+
+    @Test
+    void getById_expired() {
+        Mockito
+                .when(movieClient.getById(56L))
+                .thenReturn(movieResponse);
+
+        cachingMovieClient.getById(56L);
+        ticker.addAndGet(Duration.ofSeconds(59).toNanos());
+        cachingMovieClient.getById(56L);
+        Mockito
+                .verify(movieClient, Mockito.times(1))
+                .getById(56L);
+
+        ticker.addAndGet(Duration.ofSeconds(2).toNanos());
+        cachingMovieClient.getById(56L);
+        Mockito
+                .verify(movieClient, Mockito.times(2))
+                .getById(56L);
+    }
+
+    @Test
+    void getDurationById_notCached() {
+        Mockito
+                .when(movieClient.getDurationById(56L))
+                .thenReturn(111);
+
+        cachingMovieClient.getDurationById(56L);
+        cachingMovieClient.getDurationById(56L);
+
+        Mockito
+                .verify(movieClient, Mockito.times(2))
+                .getDurationById(56L);
+    }
+}
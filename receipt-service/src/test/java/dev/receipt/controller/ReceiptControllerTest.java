@@ -321,6 +321,65 @@ public class ReceiptControllerTest extends AbstractControllerTest {
                 .body(Matchers.notNullValue());
     }
 
+    @Test
+    @Order(2)
+    void export_ok() {
+        mockBookingService
+                .stubFor(
+                        WireMock.get(WireMock.urlPathEqualTo("/api/v1/bookings/ids"))
+                                .withQueryParam("sessionId", WireMock.equalTo("4"))
+                                .willReturn(
+                                        WireMock.ok("[4]").withHeader("Content-Type", "application/json")
+                                )
+                );
+        String token = AuthorizationUtils.getToken(restClient, GrantType.PASSWORD, clientId, clientSecret, "admin5876", "1234");
+
+        RestAssured
+                .given()
+                .header("Authorization", "Bearer " + token)
+                .queryParam("sessionId", 4)
+                .when()
+                .get("/api/v1/receipts/export")
+                .then()
+                .statusCode(200)
+                .header("Content-Type", "application/zip")
+                .header("Content-Disposition", "attachment; filename=\"receipts.zip\"");
+    }
+
+    @Test
+    @Order(2)
+    void export_badRequest() {
+        String token = AuthorizationUtils.getToken(restClient, GrantType.PASSWORD, clientId, clientSecret, "admin5876", "1234");
+
+        RestAssured
+                .given()
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get("/api/v1/receipts/export")
+                .then()
+                .log().all()
+                .statusCode(400)
+                .body("code", Matchers.equalTo(400))
+                .body("message", Matchers.equalTo("Для выгрузки квитанций необходимо указать идентификатор сеанса или период"))
+                .body("dateTime", Matchers.notNullValue());
+    }
+
+    @Test
+    @Order(2)
+    void export_forbidden() {
+        String token = AuthorizationUtils.getToken(restClient, GrantType.PASSWORD, clientId, clientSecret, "dima1111", "1234");
+
+        RestAssured
+                .given()
+                .header("Authorization", "Bearer " + token)
+                .queryParam("sessionId", 4)
+                .when()
+                .get("/api/v1/receipts/export")
+                .then()
+                .log().all()
+                .statusCode(403);
+    }
+
     @Test
     @Order(2)
     void getByBookingId_notExistsByBookingIdAndUserId() {
@@ -0,0 +1,84 @@
+package dev.receipt.repository;
+
+import dev.library.test.config.AbstractQueryPlanTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Проверка того, что запросы репозитория квитанций используют индексы
+ */
+@ActiveProfiles("test")
+public class QueryPlanTest extends AbstractQueryPlanTest {
+    private static final Long BOOKING_ID = 5000L;
+    private static final String CHECKSUM = "b".repeat(64);
+
+    @Autowired
+    private ReceiptRepository repository;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO receipts(booking_id, user_id, data, checksum, created_by, updated_by) " +
+                        "SELECT 1000 + i, 'user-' || i % 2000, '\\x00'::bytea, " +
+                        "CASE WHEN i % 100 = 0 THEN NULL ELSE md5(i::text) END, 'test', 'test' " +
+                        "FROM generate_series(1, 20000) AS i"
+        );
+        analyze("receipts");
+    }
+
+    @Test
+    void existsByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key", () -> repository.existsByBookingId(BOOKING_ID));
+    }
+
+    @Test
+    void existsByBookingIdAndUserId() {
+        assertIndexScan("receipts", "receipts_booking_id_key",
+                () -> repository.existsByBookingIdAndUserId(BOOKING_ID, "user-1000"));
+    }
+
+    @Test
+    void findByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key", () -> repository.findByBookingId(BOOKING_ID));
+    }
+
+    @Test
+    void findByBookingIdForUpdate() {
+        assertIndexScan("receipts", "receipts_booking_id_key", () -> repository.findByBookingIdForUpdate(BOOKING_ID));
+    }
+
+    @Test
+    void findDataByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key", () -> repository.findDataByBookingId(BOOKING_ID));
+    }
+
+    @Test
+    void findBookingIdsNotStoredForUpdate() {
+        assertIndexScan("receipts", "receipts_not_stored_idx", () -> repository.findBookingIdsNotStoredForUpdate(100));
+    }
+
+    @Test
+    void updateFileByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key",
+                () -> repository.updateFileByBookingId(BOOKING_ID, CHECKSUM, 100, 50));
+    }
+
+    @Test
+    void updateFileAndFingerprintByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key",
+                () -> repository.updateFileAndFingerprintByBookingId(BOOKING_ID, CHECKSUM, 100, 50, CHECKSUM));
+    }
+
+    @Test
+    void updateUserIdAndFileByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key",
+                () -> repository.updateUserIdAndFileByBookingId(BOOKING_ID, "user-1", CHECKSUM, 100, 50, CHECKSUM));
+    }
+
+    @Test
+    void deleteByBookingId() {
+        assertIndexScan("receipts", "receipts_booking_id_key", () -> repository.deleteByBookingId(BOOKING_ID));
+    }
+}
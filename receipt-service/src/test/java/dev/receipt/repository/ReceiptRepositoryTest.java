@@ -2,37 +2,44 @@ package dev.receipt.repository;
 
 import dev.library.test.config.AbstractRepositoryTest;
 import dev.receipt.entity.Receipt;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @ActiveProfiles("test")
 public class ReceiptRepositoryTest extends AbstractRepositoryTest {
+    private static final String CHECKSUM = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private static final String FINGERPRINT = "cc0c8da34a5921fb84d24ec609ad9d812ace369153e20c15ac1253df29a49b79";
+
     @Autowired
     private ReceiptRepository receiptRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
 
     @BeforeEach
     void setUp() {
         Receipt receiptOne = new Receipt();
         receiptOne.setBookingId(1L);
         receiptOne.setUserId("3c59a7b2-4cff-49b6-a654-3145ecdab36b");
-        receiptOne.setData(new byte[]{1,2,3});
+        receiptOne.setChecksum(CHECKSUM);
+        receiptOne.setSize(3L);
+        receiptOne.setCompressedSize(23L);
         receiptOne.setCreatedDate(OffsetDateTime.now());
         receiptOne.setUpdatedDate(OffsetDateTime.now());
         receiptRepository.save(receiptOne);
 
-        Receipt receiptTwo = new Receipt();
-        receiptTwo.setBookingId(2L);
-        receiptTwo.setUserId("14b8135e-4a62-4104-ac6a-26eefaeeef17");
-        receiptTwo.setData(new byte[]{4,5,6});
-        receiptTwo.setCreatedDate(OffsetDateTime.now());
-        receiptTwo.setUpdatedDate(OffsetDateTime.now());
-        receiptRepository.save(receiptTwo);
+        jdbcTemplate.update("INSERT INTO receipts(booking_id, user_id, data) VALUES (?, ?, ?)",
+                2L, "14b8135e-4a62-4104-ac6a-26eefaeeef17", new byte[]{4,5,6});
     }
 
     @Test
@@ -44,6 +51,24 @@ public class ReceiptRepositoryTest extends AbstractRepositoryTest {
         Assertions.assertFalse(result);
     }
 
+    @Test
+    void findByBookingId() {
+        Optional<Receipt> optionalReceipt = receiptRepository.findByBookingId(1L);
+        Assertions.assertTrue(optionalReceipt.isPresent());
+        Assertions.assertEquals(CHECKSUM, optionalReceipt.get().getChecksum());
+        Assertions.assertEquals(3L, optionalReceipt.get().getSize());
+
+        optionalReceipt = receiptRepository.findByBookingId(2L);
+        Assertions.assertTrue(optionalReceipt.isPresent());
+        Assertions.assertNull(optionalReceipt.get().getChecksum());
+    }
+
+    @Test
+    void findByBookingIdForUpdate() {
+        Assertions.assertTrue(receiptRepository.findByBookingIdForUpdate(1L).isPresent());
+        Assertions.assertTrue(receiptRepository.findByBookingIdForUpdate(999L).isEmpty());
+    }
+
     @Test
     void findDataByBookingId_ok() {
         Optional<byte[]> optionalBytes = receiptRepository.findDataByBookingId(2L);
@@ -55,29 +80,60 @@ public class ReceiptRepositoryTest extends AbstractRepositoryTest {
 
     @Test
     void findDataByBookingId_empty() {
-        Optional<byte[]> optionalBytes = receiptRepository.findDataByBookingId(999L);
-        Assertions.assertTrue(optionalBytes.isEmpty());
+        Assertions.assertTrue(receiptRepository.findDataByBookingId(1L).isEmpty());
+        Assertions.assertTrue(receiptRepository.findDataByBookingId(999L).isEmpty());
     }
 
     @Test
-    void updateDataByBookingId() {
-        byte[] newData = new byte[]{7,8,9};
-        receiptRepository.updateDataByBookingId(1L, newData);
-        Optional<byte[]> optionalBytes = receiptRepository.findDataByBookingId(1L);
-        Assertions.assertTrue(optionalBytes.isPresent());
-        byte[] bytes = optionalBytes.get();
-        Assertions.assertArrayEquals(newData, bytes);
+    void findBookingIdsNotStoredForUpdate() {
+        List<Long> bookingIds = receiptRepository.findBookingIdsNotStoredForUpdate(10);
+        Assertions.assertEquals(List.of(2L), bookingIds);
     }
 
     @Test
-    void updateUserIdDataByBookingId() {
+    void findBookingIdsNotStoredForUpdate_withoutData() {
+        jdbcTemplate.update("INSERT INTO receipts(booking_id, user_id) VALUES (?, ?)",
+                3L, "14b8135e-4a62-4104-ac6a-26eefaeeef17");
+
+        List<Long> bookingIds = receiptRepository.findBookingIdsNotStoredForUpdate(10);
+        Assertions.assertEquals(List.of(2L), bookingIds);
+    }
+
+    @Test
+    void updateFileByBookingId() {
+        receiptRepository.updateFileByBookingId(2L, CHECKSUM, 3L, 23L);
+        entityManager.clear();
+
+        Receipt receipt = receiptRepository.findByBookingId(2L).orElseThrow();
+        Assertions.assertEquals(CHECKSUM, receipt.getChecksum());
+        Assertions.assertEquals(3L, receipt.getSize());
+        Assertions.assertEquals(23L, receipt.getCompressedSize());
+        Assertions.assertTrue(receiptRepository.findDataByBookingId(2L).isEmpty());
+        Assertions.assertTrue(receiptRepository.findBookingIdsNotStoredForUpdate(10).isEmpty());
+    }
+
+    @Test
+    void updateFileAndFingerprintByBookingId() {
+        receiptRepository.updateFileAndFingerprintByBookingId(2L, CHECKSUM, 3L, 23L, FINGERPRINT);
+        entityManager.clear();
+
+        Receipt receipt = receiptRepository.findByBookingId(2L).orElseThrow();
+        Assertions.assertEquals(CHECKSUM, receipt.getChecksum());
+        Assertions.assertEquals(FINGERPRINT, receipt.getFingerprint());
+        Assertions.assertTrue(receiptRepository.findDataByBookingId(2L).isEmpty());
+    }
+
+    @Test
+    void updateUserIdAndFileByBookingId() {
         String userId = "3ca5d554-4102-4fa5-bc54-c355502b1fe5";
-        byte[] newData = new byte[]{10,15,20};
-        receiptRepository.updateUserIdAndDataByBookingId(1L, userId, newData);
-        Optional<byte[]> optionalBytes = receiptRepository.findDataByBookingId(1L);
-        Assertions.assertTrue(optionalBytes.isPresent());
-        byte[] bytes = optionalBytes.get();
-        Assertions.assertArrayEquals(newData, bytes);
+        receiptRepository.updateUserIdAndFileByBookingId(2L, userId, CHECKSUM, 3L, 23L, FINGERPRINT);
+        entityManager.clear();
+
+        Receipt receipt = receiptRepository.findByBookingId(2L).orElseThrow();
+        Assertions.assertEquals(userId, receipt.getUserId());
+        Assertions.assertEquals(CHECKSUM, receipt.getChecksum());
+        Assertions.assertEquals(FINGERPRINT, receipt.getFingerprint());
+        Assertions.assertTrue(receiptRepository.findDataByBookingId(2L).isEmpty());
     }
 
     @Test
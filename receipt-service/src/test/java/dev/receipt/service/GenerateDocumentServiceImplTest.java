@@ -1,6 +1,11 @@
 package dev.receipt.service;
 
+import dev.library.core.exception.ServerException;
 import dev.receipt.service.impl.GenerateDocumentServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,13 +13,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
 @ExtendWith(MockitoExtension.class)
 public class GenerateDocumentServiceImplTest {
-    final GenerateDocumentService service = new GenerateDocumentServiceImpl();
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.CallerRunsPolicy());
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final GenerateDocumentServiceImpl service = new GenerateDocumentServiceImpl(executor, meterRegistry);
 
     @BeforeEach
     void init() {
         ReflectionTestUtils.setField(service, "font", "DejaVuSerif-Bold.ttf");
+        service.init();
+    }
+
+    @AfterEach
+    void destroy() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -22,5 +43,42 @@ public class GenerateDocumentServiceImplTest {
         String content = "<html><p>Content</p></html>";
         byte[] data = service.generateReceipt(content);
         Assertions.assertNotNull(data);
+        Assertions.assertEquals(0, executor.getTaskCount());
+    }
+
+    @Test
+    void generateReceipt_serverException() {
+        String content = "<html><p>Content</html>";
+
+        Assertions.assertThrows(ServerException.class, () -> service.generateReceipt(content));
+    }
+
+    @Test
+    void generateReceiptAsync_queueIsFull() {
+        List<CompletableFuture<byte[]>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> service.generateReceiptAsync("<html><p>Content " + i + "</p></html>"))
+                .toList();
+
+        futures.forEach(future -> Assertions.assertTrue(future.join().length > 0));
+        Timer timer = meterRegistry.get("receipt.render.duration").tag("stage", "pdf").timer();
+        Assertions.assertEquals(10, timer.count());
+    }
+
+    @Test
+    void generateReceipts() {
+        List<String> contents = IntStream.range(0, 5)
+                .mapToObj(i -> "<html><p>Content " + i + "</p></html>")
+                .toList();
+
+        List<byte[]> receipts = service.generateReceipts(contents);
+        Assertions.assertEquals(5, receipts.size());
+        receipts.forEach(data -> Assertions.assertTrue(data.length > 0));
+    }
+
+    @Test
+    void generateReceipts_serverException() {
+        List<String> contents = List.of("<html><p>Content</p></html>", "<html><p>Content</html>");
+
+        Assertions.assertThrows(ServerException.class, () -> service.generateReceipts(contents));
     }
 }
@@ -133,7 +133,8 @@ public class RabbitMQProducerImplTest {
         NotificationRequest notificationRequest = new NotificationRequest(
                 bookingResponse,
                 userResponse,
-                "<html><p>Content</p></html>".getBytes()
+                "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81",
+                3L
         );
         NotificationDeleteRequest notificationDeleteRequest = new NotificationDeleteRequest(
                 112L,
@@ -0,0 +1,264 @@
+package dev.receipt.service;
+
+import dev.library.core.exception.BadRequestException;
+import dev.library.core.util.ResponseUtils;
+import dev.library.domain.booking.client.BookingClient;
+import dev.receipt.service.impl.ReceiptExportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Проверка выгрузки квитанций. Архив читается из канала ограниченного размера одновременно с записью, а файлы
+ * квитанций создаются при чтении, поэтому объём выгрузки не хранится в памяти ни на одной из сторон. Количество
+ * полученных, но ещё не записанных в архив квитанций не должно превышать размер страницы.
+ * Тест запускается отдельно с размером кучи 64 МБ, меньшим объёма выгрузки
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReceiptExportServiceImplTest {
+    private static final int PAGE_SIZE = 100;
+    private static final int RECEIPT_SIZE = 16 * 1024;
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    final ReceiptService receiptService = Mockito.mock(ReceiptService.class);
+    final BookingClient bookingClient = Mockito.mock(BookingClient.class);
+    final ThreadPoolExecutor receiptExportExecutor = new ThreadPoolExecutor(
+            8, 8, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(PAGE_SIZE),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+    final ReceiptExportService service = new ReceiptExportServiceImpl(receiptService, bookingClient,
+            receiptExportExecutor);
+
+    final AtomicInteger pending = new AtomicInteger();
+    final AtomicInteger maxPending = new AtomicInteger();
+    volatile String errors;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "pageSize", PAGE_SIZE);
+    }
+
+    @AfterEach
+    void destroy() {
+        receiptExportExecutor.shutdownNow();
+    }
+
+    @Test
+    void export_fiveThousandReceipts() throws Exception {
+        int total = 5000;
+        stubBookingIds(total);
+        Mockito
+                .when(receiptService.getByBookingId(Mockito.anyLong()))
+                .thenAnswer(invocation -> createReceipt(invocation.getArgument(0, Long.class)));
+
+        Set<String> entries = export(5L, null, null);
+
+        Assertions.assertEquals(total, entries.size());
+        Assertions.assertTrue(entries.contains("booking_1.pdf"));
+        Assertions.assertTrue(entries.contains("booking_5000.pdf"));
+        Assertions.assertTrue(maxPending.get() <= PAGE_SIZE, "max pending receipts = " + maxPending.get());
+        Assertions.assertEquals(0, pending.get());
+
+        Mockito
+                .verify(bookingClient, Mockito.times(total / PAGE_SIZE))
+                .getIds(Mockito.eq(5L), Mockito.isNull(), Mockito.isNull(), Mockito.any(), Mockito.eq(PAGE_SIZE));
+        Mockito
+                .verify(receiptService, Mockito.times(total))
+                .getByBookingId(Mockito.anyLong());
+    }
+
+    @Test
+    void export_receiptNotCreated() throws Exception {
+        stubBookingIds(3);
+        Mockito
+                .when(receiptService.getByBookingId(Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    Long bookingId = invocation.getArgument(0, Long.class);
+                    if (bookingId == 2L) {
+                        throw new BadRequestException("Бронирование не может иметь места с разными сеансами");
+                    }
+                    return createReceipt(bookingId);
+                });
+
+        Set<String> entries = export(null, LocalDate.now().minusDays(1), LocalDate.now());
+
+        Assertions.assertEquals(Set.of("booking_1.pdf", "booking_3.pdf", "errors.txt"), entries);
+        Assertions.assertEquals("2\tБронирование не может иметь места с разными сеансами\n", errors);
+    }
+
+    @Test
+    void export_receiptFileMissing() throws Exception {
+        stubBookingIds(3);
+        Mockito
+                .when(receiptService.getByBookingId(Mockito.anyLong()))
+                .thenAnswer(invocation -> {
+                    Long bookingId = invocation.getArgument(0, Long.class);
+                    if (bookingId == 3L) {
+                        return new AbstractResource() {
+                            @Override
+                            public String getDescription() {
+                                return "missing receipt";
+                            }
+
+                            @Override
+                            public InputStream getInputStream() throws IOException {
+                                throw new FileNotFoundException("booking_3.pdf.gz");
+                            }
+                        };
+                    }
+                    return createReceipt(bookingId);
+                });
+
+        Set<String> entries = export(5L, null, null);
+
+        Assertions.assertEquals(Set.of("booking_1.pdf", "booking_2.pdf", "errors.txt"), entries);
+        Assertions.assertEquals("3\tОшибка чтения файла квитанции: booking_3.pdf.gz\n", errors);
+    }
+
+    @Test
+    void export_empty() throws Exception {
+        Mockito
+                .when(bookingClient.getIds(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        Set<String> entries = export(5L, null, null);
+
+        Assertions.assertTrue(entries.isEmpty());
+        Assertions.assertNull(errors);
+        Mockito
+                .verify(receiptService, Mockito.never())
+                .getByBookingId(Mockito.anyLong());
+    }
+
+    /**
+     * Выгрузка в канал с чтением архива в отдельном потоке
+     * @return имена файлов в архиве
+     */
+    private Set<String> export(Long sessionId, LocalDate from, LocalDate to) throws Exception {
+        PipedInputStream inputStream = new PipedInputStream(PIPE_SIZE);
+        PipedOutputStream outputStream = new PipedOutputStream(inputStream);
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Future<Set<String>> entries = reader.submit(() -> readEntries(inputStream));
+            try (outputStream) {
+                service.export(sessionId, from, to, outputStream);
+            }
+
+            return entries.get(1, TimeUnit.MINUTES);
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    private Set<String> readEntries(InputStream inputStream) throws IOException {
+        Set<String> entries = new HashSet<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if ("errors.txt".equals(entry.getName())) {
+                    errors = new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8);
+                } else {
+                    long size = zipInputStream.transferTo(OutputStream.nullOutputStream());
+                    Assertions.assertEquals(RECEIPT_SIZE, size);
+                }
+                entries.add(entry.getName());
+            }
+            // дочитывание центрального каталога, чтобы канал не закрылся до завершения записи архива
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return entries;
+    }
+
+    /**
+     * Постраничная выдача идентификаторов бронирований от 1 до {@code total}, курсор - номер следующей страницы
+     */
+    private void stubBookingIds(int total) {
+        Mockito
+                .when(bookingClient.getIds(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenAnswer(invocation -> {
+                    String cursor = invocation.getArgument(3, String.class);
+                    int limit = invocation.getArgument(4, Integer.class);
+                    int page = cursor == null ? 0 : Integer.parseInt(cursor);
+                    List<Long> ids = new ArrayList<>();
+                    for (long id = (long) page * limit + 1; id <= Math.min((long) (page + 1) * limit, total); id++) {
+                        ids.add(id);
+                    }
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if ((long) (page + 1) * limit < total) {
+                        response.header(ResponseUtils.NEXT_CURSOR_HEADER, String.valueOf(page + 1));
+                    }
+                    return response.body(ids);
+                });
+    }
+
+    /**
+     * Создание квитанции, содержимое которой создаётся при чтении. Содержимое псевдослучайное и не сжимается, чтобы
+     * размер архива был не меньше объёма квитанций. Квитанция считается ожидающей записи в архив от создания до
+     * закрытия потока чтения
+     */
+    private Resource createReceipt(Long bookingId) {
+        maxPending.accumulateAndGet(pending.incrementAndGet(), Math::max);
+
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return "receipt " + bookingId;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    private final Random random = new Random(bookingId);
+                    private int position;
+
+                    @Override
+                    public int read() {
+                        if (position >= RECEIPT_SIZE) {
+                            return -1;
+                        }
+                        position++;
+                        return random.nextInt(256);
+                    }
+
+                    @Override
+                    public void close() {
+                        pending.decrementAndGet();
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package dev.receipt.service;
+
+import dev.receipt.dto.ReceiptFile;
+import dev.receipt.repository.ReceiptRepository;
+import dev.receipt.service.impl.ReceiptMigrationServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class ReceiptMigrationServiceImplTest {
+    final ReceiptRepository repository = Mockito.mock(ReceiptRepository.class);
+    final ReceiptStorageService storageService = Mockito.mock(ReceiptStorageService.class);
+    final ReceiptMigrationService service = new ReceiptMigrationServiceImpl(repository, storageService);
+
+    ReceiptFile receiptFile;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+
+        receiptFile = new ReceiptFile("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81", 3L, 23L);
+    }
+
+    @Test
+    void migrate_fullBatch() {
+        Mockito
+                .when(repository.findBookingIdsNotStoredForUpdate(2))
+                .thenReturn(List.of(1L, 2L));
+        Mockito
+                .when(repository.findDataByBookingId(Mockito.anyLong()))
+                .thenReturn(Optional.of(new byte[]{1,2,3}));
+        Mockito
+                .when(storageService.save(Mockito.anyLong(), Mockito.any(byte[].class)))
+                .thenReturn(receiptFile);
+
+        Assertions.assertTrue(service.migrate());
+
+        Mockito
+                .verify(storageService, Mockito.times(2))
+                .save(Mockito.anyLong(), Mockito.any(byte[].class));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .updateFileByBookingId(1L, receiptFile.checksum(), 3L, 23L);
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .updateFileByBookingId(2L, receiptFile.checksum(), 3L, 23L);
+    }
+
+    @Test
+    void migrate_lastBatch() {
+        Mockito
+                .when(repository.findBookingIdsNotStoredForUpdate(2))
+                .thenReturn(List.of(1L));
+        Mockito
+                .when(repository.findDataByBookingId(1L))
+                .thenReturn(Optional.empty());
+
+        Assertions.assertFalse(service.migrate());
+
+        Mockito
+                .verify(storageService, Mockito.times(0))
+                .save(Mockito.anyLong(), Mockito.any(byte[].class));
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .updateFileByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    @Test
+    void migrate_empty() {
+        Mockito
+                .when(repository.findBookingIdsNotStoredForUpdate(2))
+                .thenReturn(List.of());
+
+        Assertions.assertFalse(service.migrate());
+
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findDataByBookingId(Mockito.anyLong());
+    }
+}
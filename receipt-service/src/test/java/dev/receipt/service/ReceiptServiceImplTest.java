@@ -1,7 +1,6 @@
 package dev.receipt.service;
 
 import dev.library.core.exception.BadRequestException;
-import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
 import dev.library.domain.booking.client.BookingClient;
 import dev.library.domain.booking.dto.BookingResponse;
@@ -19,6 +18,7 @@ import dev.library.domain.session.dto.SessionResponse;
 import dev.library.domain.user.client.UserClient;
 import dev.library.domain.user.dto.RoleResponse;
 import dev.library.domain.user.dto.UserResponse;
+import dev.receipt.dto.ReceiptFile;
 import dev.receipt.entity.Receipt;
 import dev.receipt.repository.ReceiptRepository;
 import dev.receipt.service.impl.ReceiptServiceImpl;
@@ -26,15 +26,26 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @ExtendWith(MockitoExtension.class)
 public class ReceiptServiceImplTest {
@@ -45,12 +56,15 @@ public class ReceiptServiceImplTest {
     final UserClient userClient = Mockito.mock(UserClient.class);
     final BookingClient bookingClient = Mockito.mock(BookingClient.class);
     final RabbitMQProducer rabbitMQProducer = Mockito.mock(RabbitMQProducer.class);
+    final ReceiptStorageService storageService = Mockito.mock(ReceiptStorageService.class);
+    final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
     final ReceiptService service = new ReceiptServiceImpl(repository, templateService, documentService, movieClient,
-            userClient, bookingClient, rabbitMQProducer);
+            userClient, bookingClient, rabbitMQProducer, storageService, new TransactionTemplate(transactionManager));
 
     UUID idReceipt;
 
     Receipt entityReceipt;
+    ReceiptFile receiptFile;
 
     BookingResponse bookingResponse;
     SessionResponse sessionResponse;
@@ -72,8 +86,11 @@ public class ReceiptServiceImplTest {
         entityReceipt = Receipt.builder()
                 .id(idReceipt)
                 .bookingId(112L)
-                .data(new byte[]{1,2,3})
+                .checksum("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81")
+                .size(3L)
+                .compressedSize(23L)
                 .build();
+        receiptFile = new ReceiptFile("039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81", 3L, 23L);
 
         sessionResponse = new SessionResponse(
                 2L,
@@ -163,26 +180,60 @@ public class ReceiptServiceImplTest {
         Mockito
                 .when(repository.save(Mockito.any(Receipt.class)))
                 .thenReturn(entityReceipt);
+        Mockito
+                .when(storageService.save(Mockito.anyLong(), Mockito.any(byte[].class)))
+                .thenReturn(receiptFile);
     }
 
     @Test
     void getByBookingId_ok() {
+        Mockito
+                .when(repository.findByBookingId(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
+        Mockito
+                .when(storageService.get(112L, receiptFile.checksum(), 3L))
+                .thenReturn(new ByteArrayResource(new byte[]{1,2,3}));
+
+        Resource data = service.getByBookingId(112L);
+        Assertions.assertNotNull(data);
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findByBookingId(Mockito.anyLong());
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findDataByBookingId(Mockito.anyLong());
+        Mockito
+                .verify(bookingClient, Mockito.times(0))
+                .getById(Mockito.anyLong());
+    }
+
+    @Test
+    void getByBookingId_notMigrated() throws Exception {
+        entityReceipt.setChecksum(null);
+        Mockito
+                .when(repository.findByBookingId(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
         Mockito
                 .when(repository.findDataByBookingId(Mockito.anyLong()))
                 .thenReturn(Optional.of(new byte[]{1,2,3}));
 
-        Resource data = service.getByBookingId(1L);
+        Resource data = service.getByBookingId(112L);
         Assertions.assertNotNull(data);
+        Assertions.assertEquals(3, data.contentLength());
 
         Mockito
                 .verify(repository, Mockito.times(1))
                 .findDataByBookingId(Mockito.anyLong());
+        Mockito
+                .verify(storageService, Mockito.times(0))
+                .get(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong());
     }
 
     @Test
     void getByBookingId_create() {
         Mockito
-                .when(repository.findDataByBookingId(Mockito.anyLong()))
+                .when(repository.findByBookingId(Mockito.anyLong()))
                 .thenReturn(Optional.empty());
         Mockito
                 .when(bookingClient.getById(Mockito.anyLong()))
@@ -190,13 +241,16 @@ public class ReceiptServiceImplTest {
         Mockito
                 .when(userClient.getById(Mockito.anyString()))
                 .thenReturn(userResponse);
+        Mockito
+                .when(storageService.get(112L, receiptFile.checksum(), 3L))
+                .thenReturn(new ByteArrayResource(new byte[]{1,2,3}));
 
         Resource data = service.getByBookingId(112L);
         Assertions.assertNotNull(data);
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findDataByBookingId(Mockito.anyLong());
+                .verify(repository, Mockito.times(2))
+                .findByBookingId(Mockito.anyLong());
         Mockito
                 .verify(bookingClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -210,12 +264,110 @@ public class ReceiptServiceImplTest {
                 .verify(templateService, Mockito.times(1))
                 .createContent(Mockito.any(BookingResponse.class),
                         Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
+        Mockito
+                .verify(documentService, Mockito.times(1))
+                .generateReceipt(Mockito.anyString());
+        Mockito
+                .verify(storageService, Mockito.times(1))
+                .save(Mockito.anyLong(), Mockito.any(byte[].class));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .save(Mockito.argThat(receipt -> receiptFile.checksum().equals(receipt.getChecksum())));
+        Mockito
+                .verify(storageService, Mockito.times(1))
+                .get(112L, receiptFile.checksum(), 3L);
+
+        InOrder inOrder = Mockito.inOrder(transactionManager, storageService, repository);
+        inOrder.verify(transactionManager).getTransaction(Mockito.any());
+        inOrder.verify(storageService).save(Mockito.anyLong(), Mockito.any(byte[].class));
+        inOrder.verify(repository).save(Mockito.any(Receipt.class));
+        inOrder.verify(transactionManager).commit(Mockito.any());
+    }
+
+    @Test
+    void getByBookingId_create_rollback() {
+        Mockito
+                .when(repository.findByBookingId(Mockito.anyLong()))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(bookingClient.getById(Mockito.anyLong()))
+                .thenReturn(bookingResponse);
+        Mockito
+                .when(userClient.getById(Mockito.anyString()))
+                .thenReturn(userResponse);
+        Mockito
+                .when(repository.save(Mockito.any(Receipt.class)))
+                .thenThrow(new IllegalStateException("duplicate key"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.getByBookingId(112L));
+
+        Mockito
+                .verify(transactionManager, Mockito.times(1))
+                .rollback(Mockito.any());
+        Mockito
+                .verify(transactionManager, Mockito.times(0))
+                .commit(Mockito.any());
+        Mockito
+                .verify(storageService, Mockito.times(0))
+                .get(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong());
+    }
+
+    @Test
+    void getByBookingId_createConcurrent() throws Exception {
+        AtomicBoolean saved = new AtomicBoolean();
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito
+                .when(repository.findByBookingId(Mockito.anyLong()))
+                .thenAnswer(invocation -> saved.get() ? Optional.of(entityReceipt) : Optional.empty());
+        Mockito
+                .when(repository.save(Mockito.any(Receipt.class)))
+                .thenAnswer(invocation -> {
+                    saved.set(true);
+                    return entityReceipt;
+                });
+        Mockito
+                .when(bookingClient.getById(Mockito.anyLong()))
+                .thenReturn(bookingResponse);
+        Mockito
+                .when(userClient.getById(Mockito.anyString()))
+                .thenReturn(userResponse);
+        Mockito
+                .when(storageService.get(112L, receiptFile.checksum(), 3L))
+                .thenReturn(new ByteArrayResource(new byte[]{1,2,3}));
+        Mockito
+                .when(documentService.generateReceipt(Mockito.anyString()))
+                .thenAnswer(invocation -> {
+                    rendering.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "<html><p>Content</p></html>".getBytes();
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Resource>> futures = new ArrayList<>();
+        try {
+            futures.add(executor.submit(() -> service.getByBookingId(112L)));
+            Assertions.assertTrue(rendering.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                futures.add(executor.submit(() -> service.getByBookingId(112L)));
+            }
+            release.countDown();
+            for (Future<Resource> future : futures) {
+                Assertions.assertNotNull(future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
         Mockito
                 .verify(documentService, Mockito.times(1))
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(1))
                 .save(Mockito.any(Receipt.class));
+        Mockito
+                .verify(storageService, Mockito.times(4))
+                .get(112L, receiptFile.checksum(), 3L);
     }
 
     @Test
@@ -231,7 +383,7 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponseTwo);
 
         Mockito
-                .when(repository.findDataByBookingId(Mockito.anyLong()))
+                .when(repository.findByBookingId(Mockito.anyLong()))
                 .thenReturn(Optional.empty());
         Mockito
                 .when(bookingClient.getById(Mockito.anyLong()))
@@ -247,8 +399,8 @@ public class ReceiptServiceImplTest {
         Assertions.assertEquals(expectedMessage, actualMessage);
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findDataByBookingId(Mockito.anyLong());
+                .verify(repository, Mockito.times(2))
+                .findByBookingId(Mockito.anyLong());
         Mockito
                 .verify(bookingClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -292,7 +444,7 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponse);
 
         Mockito
-                .when(repository.findDataByBookingId(Mockito.anyLong()))
+                .when(repository.findByBookingId(Mockito.anyLong()))
                 .thenReturn(Optional.empty());
         Mockito
                 .when(bookingClient.getById(Mockito.anyLong()))
@@ -308,8 +460,8 @@ public class ReceiptServiceImplTest {
         Assertions.assertEquals(expectedMessage, actualMessage);
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findDataByBookingId(Mockito.anyLong());
+                .verify(repository, Mockito.times(2))
+                .findByBookingId(Mockito.anyLong());
         Mockito
                 .verify(bookingClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -334,8 +486,11 @@ public class ReceiptServiceImplTest {
     @Test
     void create_ok() {
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(false);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(documentService.generateReceipts(Mockito.anyList()))
+                .thenReturn(List.of("<html><p>Content</p></html>".getBytes()));
         Mockito
                 .doNothing()
                 .when(rabbitMQProducer)
@@ -345,11 +500,11 @@ public class ReceiptServiceImplTest {
                 bookingResponse,
                 userResponse
         );
-        service.create(request);
+        service.create(List.of(request));
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -359,17 +514,77 @@ public class ReceiptServiceImplTest {
                         Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
         Mockito
                 .verify(documentService, Mockito.times(1))
-                .generateReceipt(Mockito.anyString());
+                .generateReceipts(List.of("<html><p>Content</p></html>"));
         Mockito
                 .verify(repository, Mockito.times(1))
                 .save(Mockito.any(Receipt.class));
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(1))
+                .sendMessage(Mockito.argThat((NotificationRequest notificationRequest) ->
+                                receiptFile.checksum().equals(notificationRequest.checksum())
+                                        && notificationRequest.size() == 3L),
+                        Mockito.eq(ActionType.CREATE));
+    }
+
+    @Test
+    void create_batch() {
+        BookingResponse bookingResponseTwo = new BookingResponse(
+                113L,
+                UUID.randomUUID().toString(),
+                sessionResponse,
+                List.of(placeResponse),
+                "Created",
+                OffsetDateTime.now(),
+                OffsetDateTime.now()
+        );
+        BookingResponse bookingResponseExists = new BookingResponse(
+                114L,
+                UUID.randomUUID().toString(),
+                sessionResponse,
+                List.of(placeResponse),
+                "Created",
+                OffsetDateTime.now(),
+                OffsetDateTime.now()
+        );
+        Mockito
+                .when(repository.existsByBookingIdAndUserId(Mockito.anyLong(), Mockito.anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Long.class) == 114L);
+        Mockito
+                .when(repository.findByBookingIdForUpdate(112L))
+                .thenReturn(Optional.empty());
+        Mockito
+                .when(repository.findByBookingIdForUpdate(113L))
+                .thenReturn(Optional.of(entityReceipt));
+        Mockito
+                .when(documentService.generateReceipts(Mockito.anyList()))
+                .thenReturn(List.of(new byte[]{1}, new byte[]{2}));
+
+        service.create(List.of(
+                new ReceiptRequest(bookingResponse, userResponse),
+                new ReceiptRequest(bookingResponseExists, userResponse),
+                new ReceiptRequest(bookingResponseTwo, userResponse)
+        ));
+
+        Mockito
+                .verify(movieClient, Mockito.times(1))
+                .getById(Mockito.anyLong());
+        Mockito
+                .verify(documentService, Mockito.times(1))
+                .generateReceipts(Mockito.argThat(contents -> contents.size() == 2));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .save(Mockito.any(Receipt.class));
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .updateUserIdAndFileByBookingId(Mockito.eq(113L), Mockito.eq(userResponse.id()),
+                        Mockito.eq(receiptFile.checksum()), Mockito.eq(3L), Mockito.eq(23L), Mockito.anyString());
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(2))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
     }
 
     @Test
-    void create_entityAlreadyExistsException() {
+    void create_entityAlreadyExists() {
         bookingResponse = new BookingResponse(
                 1L,
                 UUID.randomUUID().toString(),
@@ -389,41 +604,16 @@ public class ReceiptServiceImplTest {
                 bookingResponse,
                 userResponse
         );
-        EntityAlreadyExistsException exception = Assertions
-                .assertThrows(
-                        EntityAlreadyExistsException.class,
-                        () -> service.create(request)
-                );
-        var expectedMessage = "Запись о квитанции с идентификатором 1 уже существует";
-        var actualMessage = exception.getApiError().message();
-        Assertions.assertEquals(expectedMessage, actualMessage);
+        service.create(List.of(request));
 
         Mockito
                 .verify(repository, Mockito.times(1))
                 .existsByBookingIdAndUserId(Mockito.anyLong(), Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .existsByBookingId(Mockito.anyLong());
-        Mockito
-                .verify(movieClient, Mockito.times(0))
-                .getById(Mockito.anyLong());
-        Mockito
-                .verify(templateService, Mockito.times(0))
-                .createContent(Mockito.any(BookingResponse.class),
-                        Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
-        Mockito
-                .verify(documentService, Mockito.times(0))
-                .generateReceipt(Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .save(Mockito.any(Receipt.class));
-        Mockito
-                .verify(rabbitMQProducer, Mockito.times(0))
-                .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
+        verifyCreateSkipped();
     }
 
     @Test
-    void create_badRequestException_session_greaterThanTwo() {
+    void create_badRequest_session_greaterThanTwo() {
         PlaceResponse placeResponseTwo = new PlaceResponse(
                 1L,
                 3L,
@@ -442,41 +632,16 @@ public class ReceiptServiceImplTest {
                 bookingResponse,
                 userResponse
         );
-        BadRequestException exception = Assertions
-                .assertThrows(
-                        BadRequestException.class,
-                        () -> service.create(request)
-                );
-        var expectedMessage = "Бронирование не может иметь места с разными сеансами";
-        var actualMessage = exception.getApiError().message();
-        Assertions.assertEquals(expectedMessage, actualMessage);
+        service.create(List.of(request));
 
         Mockito
                 .verify(repository, Mockito.times(1))
                 .existsByBookingIdAndUserId(Mockito.anyLong(), Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .existsByBookingId(Mockito.anyLong());
-        Mockito
-                .verify(movieClient, Mockito.times(0))
-                .getById(Mockito.anyLong());
-        Mockito
-                .verify(templateService, Mockito.times(0))
-                .createContent(Mockito.any(BookingResponse.class),
-                        Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
-        Mockito
-                .verify(documentService, Mockito.times(0))
-                .generateReceipt(Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .save(Mockito.any(Receipt.class));
-        Mockito
-                .verify(rabbitMQProducer, Mockito.times(0))
-                .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
+        verifyCreateSkipped();
     }
 
     @Test
-    void create_badRequestException_differentSessions() {
+    void create_badRequest_differentSessions() {
         placeResponse = new PlaceResponse(
                 1L,
                 25L,
@@ -504,49 +669,24 @@ public class ReceiptServiceImplTest {
                 bookingResponse,
                 userResponse
         );
-        BadRequestException exception = Assertions
-                .assertThrows(
-                        BadRequestException.class,
-                        () -> service.create(request)
-                );
-        var expectedMessage = "Сеанс в бронировании и у мест не может быть разным";
-        var actualMessage = exception.getApiError().message();
-        Assertions.assertEquals(expectedMessage, actualMessage);
-
+        service.create(List.of(request));
 
         Mockito
                 .verify(repository, Mockito.times(1))
                 .existsByBookingIdAndUserId(Mockito.anyLong(), Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .existsByBookingId(Mockito.anyLong());
-        Mockito
-                .verify(movieClient, Mockito.times(0))
-                .getById(Mockito.anyLong());
-        Mockito
-                .verify(templateService, Mockito.times(0))
-                .createContent(Mockito.any(BookingResponse.class),
-                        Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
-        Mockito
-                .verify(documentService, Mockito.times(0))
-                .generateReceipt(Mockito.anyString());
-        Mockito
-                .verify(repository, Mockito.times(0))
-                .save(Mockito.any(Receipt.class));
-        Mockito
-                .verify(rabbitMQProducer, Mockito.times(0))
-                .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
+        verifyCreateSkipped();
     }
 
     @Test
     void update_ok() {
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
         Mockito
                 .doNothing()
                 .when(repository)
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .doNothing()
                 .when(rabbitMQProducer)
@@ -560,7 +700,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -573,12 +713,48 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(1))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(1))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
     }
 
+    @Test
+    void update_unchanged() {
+        entityReceipt.setFingerprint("cc0c8da34a5921fb84d24ec609ad9d812ace369153e20c15ac1253df29a49b79");
+        Mockito
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
+
+        ReceiptRequest request = new ReceiptRequest(
+                bookingResponse,
+                userResponse
+        );
+        service.update(request);
+
+        Mockito
+                .verify(templateService, Mockito.times(1))
+                .createContent(Mockito.any(BookingResponse.class),
+                        Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
+        Mockito
+                .verify(documentService, Mockito.times(0))
+                .generateReceipt(Mockito.anyString());
+        Mockito
+                .verify(storageService, Mockito.times(0))
+                .save(Mockito.anyLong(), Mockito.any(byte[].class));
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(1))
+                .sendMessage(Mockito.argThat((NotificationRequest notificationRequest) ->
+                                receiptFile.checksum().equals(notificationRequest.checksum())
+                                        && notificationRequest.size() == 3L),
+                        Mockito.eq(ActionType.UPDATE));
+    }
+
     @Test
     void update_entityNotFoundException() {
         bookingResponse = new BookingResponse(
@@ -593,8 +769,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponse);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(false);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.empty());
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -611,7 +787,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -624,7 +800,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -643,8 +820,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponseTwo);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -661,7 +838,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -674,7 +851,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -702,8 +880,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponse);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -720,7 +898,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -733,7 +911,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -742,12 +921,13 @@ public class ReceiptServiceImplTest {
     @Test
     void updateStatus_ok() {
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
         Mockito
                 .doNothing()
                 .when(repository)
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .doNothing()
                 .when(rabbitMQProducer)
@@ -761,7 +941,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(1))
                 .getById(Mockito.anyLong());
@@ -774,7 +954,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(1))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(1))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -794,8 +975,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponse);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(false);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.empty());
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -812,7 +993,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -825,7 +1006,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -844,8 +1026,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponseTwo);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -862,7 +1044,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -875,7 +1057,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -903,8 +1086,8 @@ public class ReceiptServiceImplTest {
         bookingResponse.places().add(placeResponse);
 
         Mockito
-                .when(repository.existsByBookingId(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findByBookingIdForUpdate(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityReceipt));
 
         ReceiptRequest request = new ReceiptRequest(
                 bookingResponse,
@@ -921,7 +1104,7 @@ public class ReceiptServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsByBookingId(Mockito.anyLong());
+                .findByBookingIdForUpdate(Mockito.anyLong());
         Mockito
                 .verify(movieClient, Mockito.times(0))
                 .getById(Mockito.anyLong());
@@ -934,7 +1117,8 @@ public class ReceiptServiceImplTest {
                 .generateReceipt(Mockito.anyString());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .updateDataByBookingId(Mockito.anyLong(), Mockito.any(byte[].class));
+                .updateFileAndFingerprintByBookingId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyLong(), Mockito.anyLong(),
+                        Mockito.anyString());
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
@@ -966,6 +1150,9 @@ public class ReceiptServiceImplTest {
         Mockito
                 .verify(repository, Mockito.times(1))
                 .deleteByBookingId(Mockito.anyLong());
+        Mockito
+                .verify(storageService, Mockito.times(1))
+                .delete(112L);
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(1))
                 .sendMessage(Mockito.any(NotificationDeleteRequest.class), Mockito.any(ActionType.class));
@@ -1000,4 +1187,26 @@ public class ReceiptServiceImplTest {
                 .verify(rabbitMQProducer, Mockito.times(0))
                 .sendMessage(Mockito.any(NotificationDeleteRequest.class), Mockito.any(ActionType.class));
     }
+
+    private void verifyCreateSkipped() {
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findByBookingIdForUpdate(Mockito.anyLong());
+        Mockito
+                .verify(movieClient, Mockito.times(0))
+                .getById(Mockito.anyLong());
+        Mockito
+                .verify(templateService, Mockito.times(0))
+                .createContent(Mockito.any(BookingResponse.class),
+                        Mockito.any(MovieResponse.class), Mockito.any(UserResponse.class));
+        Mockito
+                .verify(documentService, Mockito.times(0))
+                .generateReceipts(Mockito.anyList());
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .save(Mockito.any(Receipt.class));
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(0))
+                .sendMessage(Mockito.any(NotificationRequest.class), Mockito.any(ActionType.class));
+    }
 }
@@ -0,0 +1,99 @@
+package dev.receipt.service;
+
+import dev.receipt.dto.ReceiptFile;
+import dev.receipt.service.impl.ReceiptStorageServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ReceiptStorageServiceImplTest {
+    static final String CHECKSUM = "dffd6021bb2bd5b0af676290809ec3a53191dd81c7f70a4b28688a362182986f";
+
+    final ReceiptStorageService service = new ReceiptStorageServiceImpl();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "directoryReceipts", tempDir.toString());
+    }
+
+    @Test
+    void save_ok() throws IOException {
+        ReceiptFile file = service.save(1112L, "Hello, World!".getBytes());
+        Assertions.assertEquals(CHECKSUM, file.checksum());
+        Assertions.assertEquals(13L, file.size());
+
+        Path filePath = tempDir.resolve("112").resolve("1112").resolve(CHECKSUM + ".pdf.gz");
+        Assertions.assertTrue(Files.exists(filePath));
+        Assertions.assertEquals(Files.size(filePath), file.compressedSize());
+        try (var files = Files.list(filePath.getParent())) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void get_ok() throws IOException {
+        ReceiptFile file = service.save(1112L, "Hello, World!".getBytes());
+
+        Resource resource = service.get(1112L, file.checksum(), file.size());
+        Assertions.assertTrue(resource.exists());
+        Assertions.assertEquals(13L, resource.contentLength());
+        try (InputStream inputStream = resource.getInputStream()) {
+            Assertions.assertEquals("Hello, World!", new String(inputStream.readAllBytes()));
+        }
+    }
+
+    @Test
+    void get_notExists() {
+        Resource resource = service.get(1112L, CHECKSUM, 13L);
+        Assertions.assertFalse(resource.exists());
+    }
+
+    @Test
+    void save_deletesPreviousVersion() {
+        ReceiptFile first = service.save(1112L, "Hello, World!".getBytes());
+        ReceiptFile second = service.save(1112L, "Hello, Receipt!".getBytes());
+        Assertions.assertNotEquals(first.checksum(), second.checksum());
+
+        Assertions.assertFalse(service.get(1112L, first.checksum(), first.size()).exists());
+        Assertions.assertTrue(service.get(1112L, second.checksum(), second.size()).exists());
+    }
+
+    @Test
+    void save_rollback() {
+        ReceiptFile first = service.save(1112L, "Hello, World!".getBytes());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ReceiptFile second = service.save(1112L, "Hello, Receipt!".getBytes());
+            Assertions.assertTrue(service.get(1112L, second.checksum(), second.size()).exists());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            Assertions.assertFalse(service.get(1112L, second.checksum(), second.size()).exists());
+            Assertions.assertTrue(service.get(1112L, first.checksum(), first.size()).exists());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void delete_ok() {
+        service.save(1112L, "Hello, World!".getBytes());
+
+        service.delete(1112L);
+        Assertions.assertFalse(Files.exists(tempDir.resolve("112").resolve("1112")));
+    }
+}
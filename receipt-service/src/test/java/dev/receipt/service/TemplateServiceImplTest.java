@@ -10,11 +10,17 @@ import dev.library.domain.session.dto.SessionResponse;
 import dev.library.domain.user.dto.RoleResponse;
 import dev.library.domain.user.dto.UserResponse;
 import dev.receipt.service.impl.TemplateServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -23,7 +29,7 @@ import java.util.UUID;
 
 @ExtendWith(MockitoExtension.class)
 public class TemplateServiceImplTest {
-    final TemplateService service = new TemplateServiceImpl();
+    final TemplateServiceImpl service = new TemplateServiceImpl(createTemplateEngine(), new SimpleMeterRegistry());
 
     SessionResponse sessionResponse;
     PlaceResponse placeResponse;
@@ -38,6 +44,7 @@ public class TemplateServiceImplTest {
     @BeforeEach
     void init() {
         ReflectionTestUtils.setField(service, "currencySign", "₽");
+        service.init();
 
         sessionResponse = new SessionResponse(
                 2L,
@@ -116,6 +123,23 @@ public class TemplateServiceImplTest {
 
     @Test
     void createContent() {
-        service.createContent(bookingResponse, movieResponse, userResponse);
+        String content = service.createContent(bookingResponse, movieResponse, userResponse);
+
+        Assertions.assertTrue(content.contains(userResponse.firstName() + " " + userResponse.lastName()));
+    }
+
+    /**
+     * Создание шаблонизатора с теми же настройками, что и у шаблонизатора приложения
+     */
+    static TemplateEngine createTemplateEngine() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        TemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        return templateEngine;
     }
 }
@@ -3,9 +3,11 @@ package dev.schedule;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "dev")
 @EnableDiscoveryClient
+@EnableScheduling
 public class ScheduleServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ScheduleServiceApplication.class, args);
@@ -1,11 +1,13 @@
 package dev.schedule.config;
 
+import dev.library.core.rabbitmq.RabbitListenerUtils;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitTemplateCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -233,6 +235,11 @@ public class RabbitMQConfig {
                 .noargs();
     }
 
+    @Bean
+    public RabbitTemplateCustomizer timestampRabbitTemplateCustomizer() {
+        return rabbitTemplate -> rabbitTemplate.addBeforePublishPostProcessors(RabbitListenerUtils.timestampPostProcessor());
+    }
+
     @Bean
     public MessageConverter converter() {
         return new Jackson2JsonMessageConverter();
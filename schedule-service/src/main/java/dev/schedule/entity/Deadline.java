@@ -0,0 +1,45 @@
+package dev.schedule.entity;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Сущность для описания отложенного одноразового события, которое отправляется в брокер сообщений
+ * при наступлении даты и времени
+ */
+@Entity
+@Table(name = "deadlines")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@Builder
+public class Deadline {
+    /**
+     * Идентификатор
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+    /**
+     * Тип события
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 50, nullable = false)
+    private ScheduleType type;
+    /**
+     * Наименование: идентификатор сеанса или пользователя
+     */
+    @Column(name = "name", length = 200, nullable = false)
+    private String name;
+    /**
+     * Дата и время наступления события
+     */
+    @Column(name = "fire_at", nullable = false)
+    private OffsetDateTime fireAt;
+}
@@ -0,0 +1,67 @@
+package dev.schedule.repository;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.schedule.entity.Deadline;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Репозиторий для сущности {@link Deadline}
+ */
+public interface DeadlineRepository extends JpaRepository<Deadline, Long> {
+    /**
+     * Создание события или перенос даты и времени наступления уже существующего события того же типа
+     * с тем же наименованием
+     * @param type - тип события
+     * @param name - наименование
+     * @param fireAt - дата и время наступления события
+     */
+    @Modifying
+    @Transactional
+    @Query(
+            value = """
+                    INSERT INTO deadlines(type, name, fire_at) VALUES (:type, :name, :fireAt)
+                    ON CONFLICT (type, name) DO UPDATE SET fire_at = EXCLUDED.fire_at
+                    """,
+            nativeQuery = true
+    )
+    void upsert(String type, String name, OffsetDateTime fireAt);
+
+    /**
+     * Удаление событий переданных типов по наименованию
+     * @param name - наименование
+     * @param types - список перечислений типа {@link ScheduleType}
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Deadline d WHERE d.name = :name AND d.type IN :types")
+    int deleteByNameAndTypeIn(String name, Collection<ScheduleType> types);
+
+    /**
+     * Удаление и получение очередной части наступивших событий. Строки, заблокированные другим экземпляром
+     * сервиса, пропускаются. Если транзакция будет отменена, то события останутся в таблице до следующего запуска
+     * @param now - текущие дата и время
+     * @param limit - количество событий
+     */
+    @Query(
+            value = """
+                    DELETE FROM deadlines
+                    WHERE id IN (
+                        SELECT id FROM deadlines
+                        WHERE fire_at <= :now
+                        ORDER BY fire_at
+                        LIMIT :limit
+                        FOR UPDATE SKIP LOCKED
+                    )
+                    RETURNING *
+                    """,
+            nativeQuery = true
+    )
+    List<Deadline> deleteDueForUpdate(OffsetDateTime now, int limit);
+}
@@ -0,0 +1,33 @@
+package dev.schedule.service;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.schedule.entity.Deadline;
+
+import java.util.Collection;
+
+/**
+ * Интерфейс для описания абстрактных методов сервиса сущности {@link Deadline}
+ */
+public interface DeadlineService {
+    /**
+     * Создание события или перенос даты и времени наступления уже существующего события
+     * @param type - перечисление типа {@link ScheduleType}
+     * @param name - наименование
+     * @param millisecondsToStart - время наступления события в миллисекундах
+     */
+    void schedule(ScheduleType type, String name, long millisecondsToStart);
+
+    /**
+     * Удаление событий переданных типов по наименованию
+     * @param name - наименование
+     * @param types - список перечислений типа {@link ScheduleType}
+     */
+    void cancel(String name, Collection<ScheduleType> types);
+
+    /**
+     * Отправка очередной части наступивших событий в брокер сообщений: для каждого типа события все наименования
+     * отправляются одним каналом с ожиданием подтверждения, после чего события удаляются из таблицы
+     * @return признак того, что была получена полная часть событий и могут остаться неотправленные
+     */
+    boolean sweep();
+}
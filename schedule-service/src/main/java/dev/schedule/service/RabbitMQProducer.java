@@ -2,6 +2,8 @@ package dev.schedule.service;
 
 import dev.library.domain.rabbitmq.constant.ScheduleType;
 
+import java.util.List;
+
 /**
  * Интерфейс для описания абстрактных методов по отправке данных в шину данных
  */
@@ -13,4 +15,11 @@ public interface RabbitMQProducer {
      * @param <T> - тип данных
      */
     <T> void sendMessage(T message, ScheduleType type);
+
+    /**
+     * Отправка сообщений одного типа одним каналом с ожиданием подтверждения их получения брокером
+     * @param messages - список объектов
+     * @param type - перечисление типа {@link ScheduleType}
+     */
+    void sendMessagesWithConfirms(List<?> messages, ScheduleType type);
 }
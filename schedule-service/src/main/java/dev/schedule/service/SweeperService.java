@@ -0,0 +1,11 @@
+package dev.schedule.service;
+
+/**
+ * Интерфейс для описания абстрактных методов периодической отправки наступивших событий
+ */
+public interface SweeperService {
+    /**
+     * Отправка всех наступивших событий частями размером {@code deadline.sweeper.batch-size}
+     */
+    void sweepDeadlines();
+}
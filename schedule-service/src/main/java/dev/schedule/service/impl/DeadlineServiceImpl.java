@@ -0,0 +1,65 @@
+package dev.schedule.service.impl;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.schedule.entity.Deadline;
+import dev.schedule.repository.DeadlineRepository;
+import dev.schedule.service.DeadlineService;
+import dev.schedule.service.RabbitMQProducer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис, реализующий интерфейс {@link DeadlineService}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadlineServiceImpl implements DeadlineService {
+    private final DeadlineRepository repository;
+    private final RabbitMQProducer rabbitMQProducer;
+
+    @Value("${deadline.sweeper.batch-size}")
+    private int batchSize;
+
+    @Override
+    public void schedule(ScheduleType type, String name, long millisecondsToStart) {
+        OffsetDateTime fireAt = OffsetDateTime.ofInstant(Instant.ofEpochMilli(millisecondsToStart), ZoneOffset.UTC);
+        repository.upsert(type.name(), name, fireAt);
+        log.debug("Deadline {} with name = {} scheduled at {}", type, name, fireAt);
+    }
+
+    @Override
+    public void cancel(String name, Collection<ScheduleType> types) {
+        int deleted = repository.deleteByNameAndTypeIn(name, types);
+        log.debug("Deleted {} deadlines with name = {} and types = {}", deleted, name, types);
+    }
+
+    @Override
+    @Transactional
+    public boolean sweep() {
+        List<Deadline> deadlines = repository.deleteDueForUpdate(OffsetDateTime.now(), batchSize);
+        if (deadlines.isEmpty()) {
+            return false;
+        }
+        Map<ScheduleType, List<String>> namesByType = new EnumMap<>(ScheduleType.class);
+        for (Deadline deadline : deadlines) {
+            namesByType.computeIfAbsent(deadline.getType(), type -> new ArrayList<>()).add(deadline.getName());
+        }
+        namesByType.forEach((type, names) -> rabbitMQProducer.sendMessagesWithConfirms(names, type));
+        log.debug("Swept {} deadlines of types {}", deadlines.size(), namesByType.keySet());
+
+        return deadlines.size() == batchSize;
+    }
+}
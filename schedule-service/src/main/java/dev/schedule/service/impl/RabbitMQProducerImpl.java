@@ -1,5 +1,6 @@
 package dev.schedule.service.impl;
 
+import dev.library.core.exception.ServerException;
 import dev.library.domain.rabbitmq.constant.ScheduleType;
 import dev.schedule.service.RabbitMQProducer;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Сервис, реализующий интерфейс {@link RabbitMQProducer}
  */
@@ -32,6 +35,9 @@ public class RabbitMQProducerImpl implements RabbitMQProducer {
     @Value("${rabbitmq.booking.routing-key.check-by-session}")
     private String checkBySessionBookingRoutingKey;
 
+    @Value("${deadline.sweeper.confirm-timeout}")
+    private long confirmTimeout;
+
     @Override
     public <T> void sendMessage(T message, ScheduleType type) {
         log.debug("Started sendMessage(T message, ScheduleType type) with message = {} and type = {}", message, type);
@@ -56,4 +62,47 @@ public class RabbitMQProducerImpl implements RabbitMQProducer {
         }
         log.debug(textForDebug, message);
     }
+
+    @Override
+    public void sendMessagesWithConfirms(List<?> messages, ScheduleType type) {
+        log.debug("Started sendMessagesWithConfirms(List<?> messages, ScheduleType type) with {} messages and type = {}",
+                messages.size(), type);
+        String exchange = getExchange(type);
+        String routingKey = getRoutingKey(type);
+        rabbitTemplate.invoke(operations -> {
+            for (Object message : messages) {
+                operations.convertAndSend(exchange, routingKey, message);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout);
+            return null;
+        });
+        log.debug("Sent {} messages to exchange {} via routing key {} with confirms", messages.size(), exchange, routingKey);
+    }
+
+    /**
+     * Получение точки обмена по типу задачи
+     * @param type - перечисление типа {@link ScheduleType}
+     */
+    private String getExchange(ScheduleType type) {
+        return switch (type) {
+            case USER_EMAIL_VERIFIED, DELETE_USERS_INACTIVE -> userExchange;
+            case BOOKING_CHECK_BEFORE_START_SESSION -> bookingExchange;
+            case SESSION_DISABLE_BY_FINISHED -> sessionExchange;
+            default -> throw new ServerException("Тип задачи %s не поддерживается".formatted(type));
+        };
+    }
+
+    /**
+     * Получение ключа маршрутизации по типу задачи
+     * @param type - перечисление типа {@link ScheduleType}
+     */
+    private String getRoutingKey(ScheduleType type) {
+        return switch (type) {
+            case USER_EMAIL_VERIFIED -> emailVerifiedUserRoutingKey;
+            case DELETE_USERS_INACTIVE -> deleteInactiveUserRoutingKey;
+            case BOOKING_CHECK_BEFORE_START_SESSION -> checkBySessionBookingRoutingKey;
+            case SESSION_DISABLE_BY_FINISHED -> disableByFinishedSessionRoutingKey;
+            default -> throw new ServerException("Тип задачи %s не поддерживается".formatted(type));
+        };
+    }
 }
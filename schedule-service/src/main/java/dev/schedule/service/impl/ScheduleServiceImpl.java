@@ -1,29 +1,39 @@
 package dev.schedule.service.impl;
 
 import dev.library.domain.rabbitmq.constant.ActionType;
+import dev.library.domain.rabbitmq.constant.ScheduleType;
 import dev.library.domain.schedule.dto.TaskRequest;
 import dev.schedule.job.BookingCheckBeforeStartSessionJob;
 import dev.schedule.job.SessionDisableByFinishedJob;
 import dev.schedule.job.UserDeleteInactiveJob;
 import dev.schedule.job.UserEmailVerifiedJob;
+import dev.schedule.service.DeadlineService;
 import dev.schedule.service.ScheduleService;
 import dev.schedule.util.TaskUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.*;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 /**
- * Сервис, реализующий интерфейс {@link ScheduleService}
+ * Сервис, реализующий интерфейс {@link ScheduleService}.
+ * Если {@code deadline.sweeper.enabled} равно true, то одноразовые задачи сохраняются в таблицу событий
+ * и отправляются сервисом {@link dev.schedule.service.SweeperService}, а в Quartz остаются только задачи по
+ * cron-выражению. Задачи Quartz, созданные до включения, выполняются и удаляются как раньше
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScheduleServiceImpl implements ScheduleService {
     private final Scheduler scheduler;
+    private final DeadlineService deadlineService;
+
+    @Value("${deadline.sweeper.enabled}")
+    private boolean sweeperEnabled;
 
     private final static String ERROR_RUN_TASK = "Ошибка при запуске задачи";
 
@@ -32,9 +42,7 @@ public class ScheduleServiceImpl implements ScheduleService {
     public void userEmailVerifiedTask(TaskRequest request) {
         log.debug("Started userEmailVerifiedTask(TaskRequest request) with request = {}", request);
         try {
-            JobDetail jobDetail = TaskUtil.createJobDetail(request.name(), UserEmailVerifiedJob.class);
-            Trigger trigger = TaskUtil.createTriggerByCount(request.name(), UserEmailVerifiedJob.class, request.millisecondsToStart());
-            scheduler.scheduleJob(jobDetail, trigger);
+            schedule(request, ScheduleType.USER_EMAIL_VERIFIED, UserEmailVerifiedJob.class);
         } catch (SchedulerException e) {
             log.error(ERROR_RUN_TASK.concat(" в методе userEmailVerifiedTask(TaskRequest request): %s".formatted(e)));
             throw new IllegalStateException(e);
@@ -73,9 +81,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 scheduler.deleteJob(jobKey);
                 log.debug("Job deleted by jobKey = {} in method sessionCreateTask(TaskRequest request) because actionType equal to SESSION_START_UPDATE", jobKey);
             }
-            JobDetail jobDetail = TaskUtil.createJobDetail(request.name(), BookingCheckBeforeStartSessionJob.class);
-            Trigger trigger = TaskUtil.createTriggerByCount(request.name(), BookingCheckBeforeStartSessionJob.class, request.millisecondsToStart());
-            scheduler.scheduleJob(jobDetail, trigger);
+            schedule(request, ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, BookingCheckBeforeStartSessionJob.class);
         } catch (SchedulerException e) {
             log.error(ERROR_RUN_TASK.concat(" в методе sessionCreateTask(TaskRequest request): %s".formatted(e)));
             throw new IllegalStateException(e);
@@ -95,9 +101,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                 scheduler.deleteJob(jobKey);
                 log.debug("Job deleted by jobKey = {} in method sessionDisableByFinishedTask(TaskRequest request) because actionType equal to SESSION_START_UPDATE", jobKey);
             }
-            JobDetail jobDetail = TaskUtil.createJobDetail(request.name(), SessionDisableByFinishedJob.class);
-            Trigger trigger = TaskUtil.createTriggerByCount(request.name(), SessionDisableByFinishedJob.class, request.millisecondsToStart());
-            scheduler.scheduleJob(jobDetail, trigger);
+            schedule(request, ScheduleType.SESSION_DISABLE_BY_FINISHED, SessionDisableByFinishedJob.class);
         } catch (SchedulerException e) {
             log.error(ERROR_RUN_TASK.concat(" в методе sessionDisableByFinishedTask(TaskRequest request): %s".formatted(e)));
             throw new IllegalStateException(e);
@@ -109,6 +113,8 @@ public class ScheduleServiceImpl implements ScheduleService {
     @RabbitListener(queues = {"${rabbitmq.task.queue.session.delete}"})
     public void sessionDeleteTask(String name) {
         log.debug("Started sessionDeleteTask(String name) with name = {}", name);
+        deadlineService.cancel(name, List.of(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION,
+                ScheduleType.SESSION_DISABLE_BY_FINISHED));
         try {
             JobKey jobKeyBookingCheckBeforeStartSessionJob = new JobKey(name, BookingCheckBeforeStartSessionJob.class.getName());
             if (scheduler.checkExists(jobKeyBookingCheckBeforeStartSessionJob)) {
@@ -126,4 +132,21 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
         log.debug("Finished sessionDeleteTask(String name) with name = {}", name);
     }
+
+    /**
+     * Создание одноразовой задачи в таблице событий или в Quartz в зависимости от {@code deadline.sweeper.enabled}
+     * @param request - объект типа {@link TaskRequest}
+     * @param type - перечисление типа {@link ScheduleType}
+     * @param className - тип класса задачи Quartz
+     */
+    private void schedule(TaskRequest request, ScheduleType type, Class<? extends Job> className)
+            throws SchedulerException {
+        if (sweeperEnabled) {
+            deadlineService.schedule(type, request.name(), request.millisecondsToStart());
+            return;
+        }
+        JobDetail jobDetail = TaskUtil.createJobDetail(request.name(), className);
+        Trigger trigger = TaskUtil.createTriggerByCount(request.name(), className, request.millisecondsToStart());
+        scheduler.scheduleJob(jobDetail, trigger);
+    }
 }
@@ -0,0 +1,33 @@
+package dev.schedule.service.impl;
+
+import dev.schedule.service.DeadlineService;
+import dev.schedule.service.SweeperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Сервис, реализующий интерфейс {@link SweeperService}.
+ * Запускается раз в {@code deadline.sweeper.fixed-delay} миллисекунд, поэтому событие отправляется не позже чем
+ * через этот интервал после наступления его даты и времени
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SweeperServiceImpl implements SweeperService {
+    private final DeadlineService deadlineService;
+
+    @Override
+    @Scheduled(fixedDelayString = "${deadline.sweeper.fixed-delay}")
+    public void sweepDeadlines() {
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                hasMore = deadlineService.sweep();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Deadline sweep failed, deadlines will be sent in the next run: {}", e.getMessage());
+        }
+    }
+}
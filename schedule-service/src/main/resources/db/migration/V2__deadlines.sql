@@ -0,0 +1,15 @@
+-- Отложенные одноразовые события: вместо отдельной задачи Quartz на каждый сеанс и пользователя
+CREATE TABLE IF NOT EXISTS deadlines
+(
+    -- Идентификатор
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    -- Тип события
+    type VARCHAR(50) NOT NULL,
+    -- Наименование (идентификатор сеанса или пользователя)
+    name VARCHAR(200) NOT NULL,
+    -- Дата и время наступления события
+    fire_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT deadlines_type_name_key UNIQUE (type, name)
+);
+
+CREATE INDEX IF NOT EXISTS deadlines_fire_at_idx ON deadlines (fire_at);
\ No newline at end of file
@@ -0,0 +1,74 @@
+package dev.schedule.repository;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.library.test.config.AbstractRepositoryTest;
+import dev.schedule.entity.Deadline;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@ActiveProfiles("test")
+public class DeadlineRepositoryTest extends AbstractRepositoryTest {
+    @Autowired
+    private DeadlineRepository repository;
+    @Autowired
+    private EntityManager entityManager;
+
+    OffsetDateTime now;
+
+    @BeforeEach
+    void init() {
+        now = OffsetDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        repository.upsert(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION.name(), "1", now.minusMinutes(2));
+        repository.upsert(ScheduleType.SESSION_DISABLE_BY_FINISHED.name(), "1", now.plusHours(2));
+        repository.upsert(ScheduleType.USER_EMAIL_VERIFIED.name(), "user", now.minusMinutes(1));
+    }
+
+    @Test
+    void upsert() {
+        repository.upsert(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION.name(), "1", now.plusDays(1));
+        entityManager.clear();
+
+        List<Deadline> deadlines = repository.findAll();
+        Assertions.assertEquals(3, deadlines.size());
+        Deadline deadline = deadlines.stream()
+                .filter(d -> d.getType() == ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION)
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(now.plusDays(1).toInstant(), deadline.getFireAt().toInstant());
+    }
+
+    @Test
+    void deleteByNameAndTypeIn() {
+        int deleted = repository.deleteByNameAndTypeIn("1", List.of(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION,
+                ScheduleType.SESSION_DISABLE_BY_FINISHED));
+        Assertions.assertEquals(2, deleted);
+
+        List<Deadline> deadlines = repository.findAll();
+        Assertions.assertEquals(1, deadlines.size());
+        Assertions.assertEquals(ScheduleType.USER_EMAIL_VERIFIED, deadlines.getFirst().getType());
+    }
+
+    @Test
+    void deleteDueForUpdate() {
+        List<Deadline> deadlines = repository.deleteDueForUpdate(now, 1);
+        Assertions.assertEquals(1, deadlines.size());
+        Assertions.assertEquals(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, deadlines.getFirst().getType());
+        Assertions.assertEquals("1", deadlines.getFirst().getName());
+
+        deadlines = repository.deleteDueForUpdate(now, 10);
+        Assertions.assertEquals(1, deadlines.size());
+        Assertions.assertEquals(ScheduleType.USER_EMAIL_VERIFIED, deadlines.getFirst().getType());
+
+        Assertions.assertTrue(repository.deleteDueForUpdate(now, 10).isEmpty());
+        entityManager.clear();
+        Assertions.assertEquals(1, repository.count());
+    }
+}
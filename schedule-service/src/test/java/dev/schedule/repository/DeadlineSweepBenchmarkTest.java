@@ -0,0 +1,133 @@
+package dev.schedule.repository;
+
+import dev.library.test.config.AbstractRepositoryTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Нагрузочная проверка опроса планировщика при 100 000 ожидающих событий: сравнивается время получения наступивших
+ * триггеров из таблиц Quartz с временем получения наступивших событий из таблицы событий
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DeadlineSweepBenchmarkTest extends AbstractRepositoryTest {
+    private static final Logger log = LoggerFactory.getLogger(DeadlineSweepBenchmarkTest.class);
+
+    private static final int PENDING = 100_000;
+    private static final int DUE = 500;
+    private static final int BATCH_SIZE = 500;
+    private static final int POLLS = 20;
+    private static final String SCHED_NAME = "quartzScheduler";
+    private static final String JOB_GROUP = "dev.schedule.job.BookingCheckBeforeStartSessionJob";
+
+    @Autowired
+    private DeadlineRepository repository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void init() {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update(
+                "INSERT INTO qrtz_job_details(sched_name, job_name, job_group, job_class_name, is_durable, " +
+                        "is_nonconcurrent, is_update_data, requests_recovery) " +
+                        "SELECT ?, i::text, ?, ?, true, false, false, true FROM generate_series(1, ?) AS i",
+                SCHED_NAME, JOB_GROUP, JOB_GROUP, PENDING
+        );
+        jdbcTemplate.update(
+                "INSERT INTO qrtz_triggers(sched_name, trigger_name, trigger_group, job_name, job_group, " +
+                        "next_fire_time, priority, trigger_state, trigger_type, start_time, misfire_instr) " +
+                        "SELECT ?, i::text, ?, i::text, ?, ? + (i - ?) * 1000, 5, 'WAITING', 'SIMPLE', " +
+                        "? + (i - ?) * 1000, 0 FROM generate_series(1, ?) AS i",
+                SCHED_NAME, JOB_GROUP, JOB_GROUP, now, DUE, now, DUE, PENDING
+        );
+        jdbcTemplate.update(
+                "INSERT INTO qrtz_simple_triggers(sched_name, trigger_name, trigger_group, repeat_count, " +
+                        "repeat_interval, times_triggered) SELECT ?, i::text, ?, 0, 0, 0 FROM generate_series(1, ?) AS i",
+                SCHED_NAME, JOB_GROUP, PENDING
+        );
+        jdbcTemplate.update(
+                "INSERT INTO deadlines(type, name, fire_at) " +
+                        "SELECT 'BOOKING_CHECK_BEFORE_START_SESSION', i::text, NOW() + (i - ?) * INTERVAL '1 second' " +
+                        "FROM generate_series(1, ?) AS i",
+                DUE, PENDING
+        );
+        jdbcTemplate.execute("ANALYZE qrtz_job_details, qrtz_triggers, qrtz_simple_triggers, deadlines");
+    }
+
+    @AfterEach
+    void destroy() {
+        jdbcTemplate.update("DELETE FROM qrtz_simple_triggers");
+        jdbcTemplate.update("DELETE FROM qrtz_triggers");
+        jdbcTemplate.update("DELETE FROM qrtz_job_details");
+        jdbcTemplate.update("DELETE FROM deadlines");
+    }
+
+    @Test
+    void poll_pendingDeadlines() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long now = System.currentTimeMillis();
+
+        double quartzMillis = measure(() -> transactionTemplate.execute(status -> {
+            Integer misfired = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(trigger_name) FROM qrtz_triggers WHERE sched_name = ? AND NOT (misfire_instr = -1) " +
+                            "AND next_fire_time < ? AND trigger_state = 'WAITING'",
+                    Integer.class, SCHED_NAME, now - 60_000
+            );
+            int acquired = jdbcTemplate.queryForList(
+                    "SELECT trigger_name, trigger_group, next_fire_time, priority FROM qrtz_triggers " +
+                            "WHERE sched_name = ? AND trigger_state = 'WAITING' AND next_fire_time <= ? " +
+                            "AND (misfire_instr = -1 OR (misfire_instr != -1 AND next_fire_time >= ?)) " +
+                            "ORDER BY next_fire_time ASC, priority DESC LIMIT ?",
+                    SCHED_NAME, now + 30_000, now - 60_000, BATCH_SIZE
+            ).size();
+            status.setRollbackOnly();
+            return acquired + misfired;
+        }));
+        double sweeperMillis = measure(() -> transactionTemplate.execute(status -> {
+            int swept = repository.deleteDueForUpdate(OffsetDateTime.now(), BATCH_SIZE).size();
+            status.setRollbackOnly();
+            return swept;
+        }));
+
+        Integer swept = transactionTemplate.execute(status ->
+                repository.deleteDueForUpdate(OffsetDateTime.now(), BATCH_SIZE).size());
+        Assertions.assertEquals(DUE, swept);
+        log.info("Poll with {} pending deadlines: Quartz {} ms, sweeper {} ms", PENDING,
+                "%.2f".formatted(quartzMillis), "%.2f".formatted(sweeperMillis));
+    }
+
+    /**
+     * Среднее время одного опроса после прогрева
+     * @param poll - опрос, возвращающий количество полученных записей
+     */
+    private double measure(IntSupplier poll) {
+        for (int i = 0; i < 3; i++) {
+            poll.getAsInt();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < POLLS; i++) {
+            Assertions.assertTrue(poll.getAsInt() > 0);
+        }
+
+        return (System.nanoTime() - begin) / 1_000_000.0 / POLLS;
+    }
+}
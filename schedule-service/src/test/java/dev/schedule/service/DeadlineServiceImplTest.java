@@ -0,0 +1,91 @@
+package dev.schedule.service;
+
+import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.schedule.entity.Deadline;
+import dev.schedule.repository.DeadlineRepository;
+import dev.schedule.service.impl.DeadlineServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class DeadlineServiceImplTest {
+    final DeadlineRepository repository = Mockito.mock(DeadlineRepository.class);
+    final RabbitMQProducer rabbitMQProducer = Mockito.mock(RabbitMQProducer.class);
+    final DeadlineService service = new DeadlineServiceImpl(repository, rabbitMQProducer);
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "batchSize", 3);
+    }
+
+    @Test
+    void schedule() {
+        service.schedule(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, "1", 1234);
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .upsert("BOOKING_CHECK_BEFORE_START_SESSION", "1",
+                        OffsetDateTime.ofInstant(Instant.ofEpochMilli(1234), ZoneOffset.UTC));
+    }
+
+    @Test
+    void cancel() {
+        List<ScheduleType> types = List.of(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION,
+                ScheduleType.SESSION_DISABLE_BY_FINISHED);
+        Mockito
+                .when(repository.deleteByNameAndTypeIn("1", types))
+                .thenReturn(2);
+
+        service.cancel("1", types);
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .deleteByNameAndTypeIn("1", types);
+    }
+
+    @Test
+    void sweep() {
+        OffsetDateTime fireAt = OffsetDateTime.now();
+        Mockito
+                .when(repository.deleteDueForUpdate(Mockito.any(OffsetDateTime.class), Mockito.eq(3)))
+                .thenReturn(List.of(
+                        new Deadline(1L, ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, "1", fireAt),
+                        new Deadline(2L, ScheduleType.USER_EMAIL_VERIFIED, "user", fireAt),
+                        new Deadline(3L, ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, "2", fireAt)
+                ));
+
+        boolean result = service.sweep();
+        Assertions.assertTrue(result);
+
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(1))
+                .sendMessagesWithConfirms(List.of("1", "2"), ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION);
+        Mockito
+                .verify(rabbitMQProducer, Mockito.times(1))
+                .sendMessagesWithConfirms(List.of("user"), ScheduleType.USER_EMAIL_VERIFIED);
+    }
+
+    @Test
+    void sweep_empty() {
+        Mockito
+                .when(repository.deleteDueForUpdate(Mockito.any(OffsetDateTime.class), Mockito.eq(3)))
+                .thenReturn(List.of());
+
+        boolean result = service.sweep();
+        Assertions.assertFalse(result);
+
+        Mockito
+                .verify(rabbitMQProducer, Mockito.never())
+                .sendMessagesWithConfirms(Mockito.anyList(), Mockito.any(ScheduleType.class));
+    }
+}
@@ -8,9 +8,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -28,6 +30,7 @@ public class RabbitMQProducerImplTest {
         ReflectionTestUtils.setField(service, "disableByFinishedSessionRoutingKey", "disable_by_finished_session_routing_key");
         ReflectionTestUtils.setField(service, "bookingExchange", "exchange_booking");
         ReflectionTestUtils.setField(service, "checkBySessionBookingRoutingKey", "check_by_session_booking_routing_key");
+        ReflectionTestUtils.setField(service, "confirmTimeout", 5000L);
     }
 
     @Test
@@ -47,4 +50,25 @@ public class RabbitMQProducerImplTest {
                 .verify(rabbitTemplate, Mockito.times(4))
                 .convertAndSend(Mockito.anyString(), Mockito.anyString(), Mockito.any(Object.class));
     }
+
+    @Test
+    void sendMessagesWithConfirms() {
+        RabbitOperations operations = Mockito.mock(RabbitOperations.class);
+        Mockito
+                .when(rabbitTemplate.invoke(Mockito.any()))
+                .thenAnswer(invocation -> invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0)
+                        .doInRabbit(operations));
+
+        service.sendMessagesWithConfirms(List.of("1", "2"), ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION);
+
+        Mockito
+                .verify(operations, Mockito.times(1))
+                .convertAndSend("exchange_booking", "check_by_session_booking_routing_key", (Object) "1");
+        Mockito
+                .verify(operations, Mockito.times(1))
+                .convertAndSend("exchange_booking", "check_by_session_booking_routing_key", (Object) "2");
+        Mockito
+                .verify(operations, Mockito.times(1))
+                .waitForConfirmsOrDie(5000L);
+    }
 }
@@ -1,22 +1,32 @@
 package dev.schedule.service;
 
+import dev.library.domain.rabbitmq.constant.ScheduleType;
 import dev.library.domain.schedule.dto.TaskRequest;
 import dev.schedule.job.UserDeleteInactiveJob;
 import dev.schedule.service.impl.ScheduleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.quartz.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 public class ScheduleServiceImplTest {
     final Scheduler scheduler = Mockito.mock(Scheduler.class);
-    final ScheduleService service = new ScheduleServiceImpl(scheduler);
+    final DeadlineService deadlineService = Mockito.mock(DeadlineService.class);
+    final ScheduleService service = new ScheduleServiceImpl(scheduler, deadlineService);
+
+    @BeforeEach
+    void init() {
+        ReflectionTestUtils.setField(service, "sweeperEnabled", false);
+    }
 
     @Test
     void userEmailVerifiedTask() throws SchedulerException {
@@ -113,5 +123,43 @@ public class ScheduleServiceImplTest {
         Mockito
                 .verify(scheduler, Mockito.times(2))
                 .deleteJob(Mockito.any(JobKey.class));
+        Mockito
+                .verify(deadlineService, Mockito.times(1))
+                .cancel(name, List.of(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION,
+                        ScheduleType.SESSION_DISABLE_BY_FINISHED));
+    }
+
+    @Test
+    void userEmailVerifiedTask_sweeper() throws SchedulerException {
+        ReflectionTestUtils.setField(service, "sweeperEnabled", true);
+
+        TaskRequest taskRequest = new TaskRequest("Task Name", 1234);
+        service.userEmailVerifiedTask(taskRequest);
+
+        Mockito
+                .verify(deadlineService, Mockito.times(1))
+                .schedule(ScheduleType.USER_EMAIL_VERIFIED, "Task Name", 1234);
+        Mockito
+                .verify(scheduler, Mockito.never())
+                .scheduleJob(Mockito.any(JobDetail.class), Mockito.any(Trigger.class));
+    }
+
+    @Test
+    void sessionCreateTask_sweeper() throws SchedulerException {
+        ReflectionTestUtils.setField(service, "sweeperEnabled", true);
+        Mockito
+                .when(scheduler.deleteJob(Mockito.any(JobKey.class)))
+                .thenReturn(false);
+
+        TaskRequest taskRequest = new TaskRequest("Task Name", 1234,
+                Map.of("type", "SESSION_START_UPDATE"));
+        service.sessionCreateTask(taskRequest);
+
+        Mockito
+                .verify(deadlineService, Mockito.times(1))
+                .schedule(ScheduleType.BOOKING_CHECK_BEFORE_START_SESSION, "Task Name", 1234);
+        Mockito
+                .verify(scheduler, Mockito.never())
+                .scheduleJob(Mockito.any(JobDetail.class), Mockito.any(Trigger.class));
     }
 }
@@ -0,0 +1,39 @@
+package dev.schedule.service;
+
+import dev.schedule.service.impl.SweeperServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class SweeperServiceImplTest {
+    final DeadlineService deadlineService = Mockito.mock(DeadlineService.class);
+    final SweeperService service = new SweeperServiceImpl(deadlineService);
+
+    @Test
+    void sweepDeadlines() {
+        Mockito
+                .when(deadlineService.sweep())
+                .thenReturn(true, true, false);
+
+        service.sweepDeadlines();
+
+        Mockito
+                .verify(deadlineService, Mockito.times(3))
+                .sweep();
+    }
+
+    @Test
+    void sweepDeadlines_error() {
+        Mockito
+                .when(deadlineService.sweep())
+                .thenThrow(new IllegalStateException("Broker is unavailable"));
+
+        service.sweepDeadlines();
+
+        Mockito
+                .verify(deadlineService, Mockito.times(1))
+                .sweep();
+    }
+}
@@ -1,13 +1,22 @@
 package dev.session.config;
 
+import dev.library.core.rabbitmq.RabbitListenerUtils;
+import dev.library.core.rabbitmq.RabbitMetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
 
 @Configuration
 public class RabbitMQConfig {
@@ -149,6 +158,21 @@ public class RabbitMQConfig {
                 .noargs();
     }
 
+    @Bean
+    public SimpleRabbitListenerContainerFactory updateAvailablePlaceSessionListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            Environment environment, MeterRegistry meterRegistry) {
+        return RabbitListenerUtils.createFactory(configurer, connectionFactory,
+                RabbitListenerUtils.getSettings(environment, "rabbitmq.session.listener.place.update-available"), meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder sessionQueueMetrics(AmqpAdmin amqpAdmin) {
+        return meterRegistry -> RabbitMetricsUtils.bindQueueMetrics(meterRegistry, amqpAdmin, List.of(
+                updateAvailablePlaceSessionQueue()
+        ));
+    }
+
     @Bean
     public MessageConverter converter() {
         return new Jackson2JsonMessageConverter();
@@ -4,6 +4,8 @@ import dev.library.core.exception.dto.ApiErrorResponse;
 import dev.library.core.util.DataValidation;
 import dev.library.core.util.ResponseUtils;
 import dev.library.domain.movie.dto.MovieResponse;
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceRequest;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.session.service.PlaceService;
@@ -180,6 +182,61 @@ public class PlaceController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Получение количества всех и свободных мест по списку идентификаторов сеансов
+     * @param sessionIds - список идентификаторов сеансов
+     * @param withSeats - признак получения карты мест
+     */
+    @Operation(
+            summary = "Получение количества всех и свободных мест по списку идентификаторов сеансов",
+            parameters = {
+                    @Parameter(
+                            name = "values",
+                            description = "Список идентификаторов сеансов",
+                            in = ParameterIn.QUERY,
+                            array = @ArraySchema(
+                                    schema = @Schema(
+                                            implementation = Long.class
+                                    )
+                            ),
+                            required = true
+                    ),
+                    @Parameter(
+                            name = "withSeats",
+                            description = "Признак получения карты мест",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = Boolean.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(
+                                                    schema = @Schema(
+                                                            implementation = PlaceAvailabilityResponse.class
+                                                    )
+                                            )
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping("/search/sessions/availability")
+    public ResponseEntity<List<PlaceAvailabilityResponse>> getAvailabilityBySessionIds(
+            @RequestParam(value = "values") Set<Long> sessionIds,
+            @RequestParam(required = false, defaultValue = "false") Boolean withSeats
+    ) {
+        List<PlaceAvailabilityResponse> responses = service.getAvailabilityBySessionIds(sessionIds, withSeats);
+
+        return ResponseEntity.ok(responses);
+    }
+
     /**
      * Получение записи о месте сеанса по идентификатору
      * @param id - идентификатор
@@ -600,6 +657,75 @@ public class PlaceController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Атомарный захват мест сеанса
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     */
+    @Operation(
+            summary = "Атомарный захват мест сеанса",
+            parameters = {
+                    @Parameter(
+                            name = "session-id",
+                            description = "Идентификатор сеанса",
+                            in = ParameterIn.PATH,
+                            schema = @Schema(
+                                    implementation = Long.class
+                            ),
+                            required = true
+                    ),
+                    @Parameter(
+                            name = "values",
+                            description = "Список идентификаторов мест",
+                            in = ParameterIn.QUERY,
+                            array = @ArraySchema(
+                                    schema = @Schema(
+                                            implementation = Long.class
+                                    )
+                            ),
+                            required = true
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(
+                                            implementation = PlaceHoldResponse.class
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Forbidden",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @PatchMapping("/session/{session-id}/hold")
+    @PreAuthorize("hasAnyRole('admin', 'manager', 'client')")
+    public ResponseEntity<PlaceHoldResponse> hold(@PathVariable("session-id") Long sessionId,
+                                                  @RequestParam(value = "values") Set<Long> ids) {
+        PlaceHoldResponse response = service.hold(sessionId, ids);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Удаление записи о месте сеанса по идентификатору
      * @param id - идентификатор
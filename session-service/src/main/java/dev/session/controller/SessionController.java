@@ -1,6 +1,7 @@
 package dev.session.controller;
 
 import dev.library.core.exception.dto.ApiErrorResponse;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.util.DataValidation;
 import dev.library.core.util.ResponseUtils;
 import dev.library.domain.movie.dto.MovieResponse;
@@ -11,6 +12,7 @@ import dev.session.service.SessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -24,9 +26,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Контроллер, в котором представлены методы для работы с сеансами
@@ -40,11 +44,11 @@ public class SessionController {
     private final SessionService service;
 
     /**
-     * Получение всех записей о сеансах
+     * Получение страницы записей о сеансах
      * @param searchRequest - объект типа {@link SessionSearchRequest}
      */
     @Operation(
-            summary = "Получение всех записей о сеансах",
+            summary = "Получение страницы записей о сеансах",
             parameters = {
                     @Parameter(
                             name = "searchRequest",
@@ -59,6 +63,10 @@ public class SessionController {
                     @ApiResponse(
                             responseCode = "200",
                             description = "OK",
+                            headers = @Header(
+                                    name = ResponseUtils.NEXT_CURSOR_HEADER,
+                                    description = "Курсор следующей страницы, отсутствует на последней странице"
+                            ),
                             content = {
                                     @Content(
                                             mediaType = MediaType.APPLICATION_JSON_VALUE,
@@ -70,6 +78,18 @@ public class SessionController {
                                     )
                             }
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = ApiErrorResponse.class
+                                            )
+                                    )
+                            }
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "Unauthorized",
@@ -92,9 +112,51 @@ public class SessionController {
     )
     @GetMapping
     public ResponseEntity<List<SessionResponse>> getAll(@ModelAttribute SessionSearchRequest searchRequest) {
-        List<SessionResponse> responses = service.getAll(searchRequest);
+        CursorPage<SessionResponse> page = service.getAll(searchRequest);
 
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .headers(ResponseUtils.createCursorHeaders(page.nextCursor()))
+                .body(page.content());
+    }
+
+    /**
+     * Выгрузка всех записей о сеансах в формате NDJSON
+     * @param searchRequest - объект типа {@link SessionSearchRequest}
+     */
+    @Operation(
+            summary = "Выгрузка всех записей о сеансах в формате NDJSON",
+            parameters = {
+                    @Parameter(
+                            name = "searchRequest",
+                            description = "Объект для фильтрации поиска сеансов",
+                            in = ParameterIn.QUERY,
+                            schema = @Schema(
+                                    implementation = SessionSearchRequest.class
+                            )
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                            schema = @Schema(
+                                                    implementation = SessionResponse.class
+                                            )
+                                    )
+                            }
+                    )
+            }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@ModelAttribute SessionSearchRequest searchRequest) {
+        StreamingResponseBody body = outputStream -> service.export(searchRequest, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     /**
@@ -148,6 +210,58 @@ public class SessionController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Получение записей о сеансах по переданному списку идентификаторов
+     * @param ids - список идентификаторов сеансов
+     */
+    @Operation(
+            summary = "Получение записей о сеансах по переданному списку идентификаторов",
+            parameters = {
+                    @Parameter(
+                            name = "values",
+                            description = "Список идентификаторов сеансов",
+                            in = ParameterIn.QUERY,
+                            array = @ArraySchema(
+                                    schema = @Schema(
+                                            implementation = Long.class
+                                    )
+                            ),
+                            required = true
+                    )
+            },
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "OK",
+                            content = {
+                                    @Content(
+                                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                            array = @ArraySchema(
+                                                    schema = @Schema(
+                                                            implementation = SessionResponse.class
+                                                    )
+                                            )
+                                    )
+                            }
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized",
+                            content = @Content(
+                                    schema = @Schema(
+                                            hidden = true
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/search/ids")
+    public ResponseEntity<List<SessionResponse>> getAllByIds(@RequestParam(value = "values") Set<Long> ids) {
+        List<SessionResponse> responses = service.getAllByIds(ids);
+
+        return ResponseEntity.ok(responses);
+    }
+
     /**
      * Создание новой записи о сеансе
      * @param request - объект типа {@link SessionRequest}
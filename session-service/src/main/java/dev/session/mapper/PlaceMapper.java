@@ -1,8 +1,10 @@
 package dev.session.mapper;
 
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
 import dev.library.domain.session.dto.PlaceRequest;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.session.entity.Place;
+import dev.session.repository.projection.PlaceAvailability;
 import org.springframework.stereotype.Component;
 
 import java.text.DecimalFormat;
@@ -48,4 +50,17 @@ public class PlaceMapper {
                 .available(request.available())
                 .build();
     }
+
+    /**
+     * Преобразование данных в {@link PlaceAvailabilityResponse}
+     * @param availability - объект типа {@link PlaceAvailability}
+     */
+    public PlaceAvailabilityResponse toAvailabilityResponse(PlaceAvailability availability) {
+        return new PlaceAvailabilityResponse(
+                availability.getSessionId(),
+                availability.getTotal(),
+                availability.getFree(),
+                availability.getSeats()
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package dev.session.mapper;
 
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
 import dev.library.domain.session.dto.SessionRequest;
 import dev.library.domain.session.dto.SessionResponse;
 import dev.session.entity.Session;
@@ -27,6 +28,23 @@ public class SessionMapper {
         );
     }
 
+    /**
+     * Преобразование данных в {@link SessionResponse} с доступностью мест сеанса
+     * @param session - объект типа {@link Session}
+     * @param placeAvailability - объект типа {@link PlaceAvailabilityResponse}
+     */
+    public SessionResponse toResponse(Session session, PlaceAvailabilityResponse placeAvailability) {
+        return new SessionResponse(
+                session.getId(),
+                session.getMovieId(),
+                session.getMovieFormat().getValue(),
+                session.getHall(),
+                session.getDateTime(),
+                session.getAvailable(),
+                placeAvailability
+        );
+    }
+
     /**
      * Преобразование данных в {@link Session}
      * @param request - объект типа {@link SessionRequest}
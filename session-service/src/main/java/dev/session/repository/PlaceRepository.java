@@ -1,6 +1,7 @@
 package dev.session.repository;
 
 import dev.session.entity.Place;
+import dev.session.repository.projection.PlaceAvailability;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -62,4 +63,32 @@ public interface PlaceRepository extends JpaRepository<Place, Long> {
      */
     @Query(value = "SELECT p.id FROM places p WHERE p.available = :available AND session_id = :sessionId AND id IN :ids LIMIT 1", nativeQuery = true)
     Optional<Long> findPlaceBySessionIdAndAvailableAndIds(Long sessionId, Boolean available, Iterable<Long> ids);
+
+    /**
+     * Захват доступных мест сеанса одним запросом. Места, которые уже заняты или не относятся к сеансу,
+     * не обновляются и не попадают в результат
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     */
+    @Query(value = "UPDATE places SET available = false, updated_date = CURRENT_TIMESTAMP " +
+            "WHERE session_id = :sessionId AND available = true AND id IN :ids RETURNING id", nativeQuery = true)
+    List<Long> holdAvailable(Long sessionId, Iterable<Long> ids);
+
+    /**
+     * Получение количества всех и свободных мест по списку идентификаторов сеансов одним агрегирующим запросом
+     * @param sessionIds - список идентификаторов сеансов
+     */
+    @Query(value = "SELECT p.session_id AS \"sessionId\", COUNT(*) AS total, COUNT(*) FILTER (WHERE p.available) AS free, " +
+            "NULL AS seats FROM places p WHERE p.session_id IN :sessionIds GROUP BY p.session_id", nativeQuery = true)
+    List<PlaceAvailability> findAvailabilityBySessionIds(Iterable<Long> sessionIds);
+
+    /**
+     * Получение количества всех и свободных мест, а также карты мест по списку идентификаторов сеансов одним
+     * агрегирующим запросом
+     * @param sessionIds - список идентификаторов сеансов
+     */
+    @Query(value = "SELECT p.session_id AS \"sessionId\", COUNT(*) AS total, COUNT(*) FILTER (WHERE p.available) AS free, " +
+            "string_agg(CASE WHEN p.available THEN '1' ELSE '0' END, '' ORDER BY p.row, p.number) AS seats " +
+            "FROM places p WHERE p.session_id IN :sessionIds GROUP BY p.session_id", nativeQuery = true)
+    List<PlaceAvailability> findAvailabilityWithSeatsBySessionIds(Iterable<Long> sessionIds);
 }
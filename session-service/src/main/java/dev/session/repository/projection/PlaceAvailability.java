@@ -0,0 +1,26 @@
+package dev.session.repository.projection;
+
+/**
+ * Проекция для получения агрегированных данных о доступности мест сеанса
+ */
+public interface PlaceAvailability {
+    /**
+     * Получение идентификатора сеанса
+     */
+    Long getSessionId();
+
+    /**
+     * Получение общего количества мест
+     */
+    Long getTotal();
+
+    /**
+     * Получение количества свободных мест
+     */
+    Long getFree();
+
+    /**
+     * Получение карты мест, упорядоченной по ряду и номеру места, где 1 - свободное место, 0 - занятое
+     */
+    String getSeats();
+}
@@ -1,6 +1,8 @@
 package dev.session.service;
 
 import dev.session.entity.Place;
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceRequest;
 import dev.library.domain.session.dto.PlaceResponse;
 
@@ -28,6 +30,13 @@ public interface PlaceService {
      */
     List<PlaceResponse> getAllByIds(Set<Long> ids);
 
+    /**
+     * Получение количества всех и свободных мест по списку идентификаторов сеансов. Сеансы без мест в ответ не попадают
+     * @param sessionIds - список идентификаторов сеансов
+     * @param withSeats - признак получения карты мест
+     */
+    List<PlaceAvailabilityResponse> getAvailabilityBySessionIds(Set<Long> sessionIds, Boolean withSeats);
+
     /**
      * Получение записи о месте по идентификатору
      * @param id - идентификатор
@@ -55,6 +64,13 @@ public interface PlaceService {
      */
     void updateAvailable(Long sessionId, Set<Long> ids, Boolean available);
 
+    /**
+     * Атомарный захват мест сеанса. Если хотя бы одно место захватить не удалось, то захват остальных мест отменяется
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     */
+    PlaceHoldResponse hold(Long sessionId, Set<Long> ids);
+
     /**
      * Удаление записи о месте по идентификатору
      * @param id - идентификатор
@@ -0,0 +1,44 @@
+package dev.session.service;
+
+import dev.library.domain.session.dto.PlaceResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Интерфейс для описания абстрактных методов кэша карты мест сеансов. Для каждого сеанса в памяти хранится
+ * схема зала, упорядоченная по ряду и номеру места, и битовая карта доступности мест
+ */
+public interface SeatMapCache {
+    /**
+     * Получение записей всех мест сеанса из кэша. При отсутствии или устаревании карты мест она строится заново
+     * по данным из БД
+     * @param sessionId - идентификатор сеанса
+     */
+    List<PlaceResponse> getPlaces(Long sessionId);
+
+    /**
+     * Получение первого идентификатора места сеанса с переданной доступностью из списка идентификаторов мест
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     * @param available - доступность
+     */
+    Optional<Long> findPlace(Long sessionId, Set<Long> ids, Boolean available);
+
+    /**
+     * Обновление доступности мест в карте мест сеанса. Если вызов выполняется внутри транзакции, то изменения
+     * применяются только после её фиксации
+     * @param sessionId - идентификатор сеанса
+     * @param ids - список идентификаторов мест
+     * @param available - доступность
+     */
+    void updateAvailable(Long sessionId, Iterable<Long> ids, Boolean available);
+
+    /**
+     * Удаление карты мест сеанса из кэша. Если вызов выполняется внутри транзакции, то карта удаляется только
+     * после её фиксации
+     * @param sessionId - идентификатор сеанса
+     */
+    void evict(Long sessionId);
+}
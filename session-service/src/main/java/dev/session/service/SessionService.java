@@ -1,21 +1,31 @@
 package dev.session.service;
 
+import dev.library.core.pagination.CursorPage;
 import dev.library.domain.session.dto.SessionSearchRequest;
 import dev.library.domain.session.dto.SessionRequest;
 import dev.library.domain.session.dto.SessionResponse;
 import dev.session.entity.Session;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Интерфейс для описания абстрактных методов сервиса сущности {@link Session}
  */
 public interface SessionService {
     /**
-     * Получение записей всех сеансов
+     * Получение страницы записей о сеансах, упорядоченных по убыванию даты создания
      * @param searchRequest - объект типа {@link SessionSearchRequest}
      */
-    List<SessionResponse> getAll(SessionSearchRequest searchRequest);
+    CursorPage<SessionResponse> getAll(SessionSearchRequest searchRequest);
+
+    /**
+     * Выгрузка всех записей о сеансах в формате NDJSON
+     * @param searchRequest - объект типа {@link SessionSearchRequest}
+     * @param outputStream - поток для записи
+     */
+    void export(SessionSearchRequest searchRequest, OutputStream outputStream);
 
     /**
      * Получение записи о сеансе по идентификатору
@@ -23,6 +33,12 @@ public interface SessionService {
      */
     SessionResponse getById(Long id);
 
+    /**
+     * Получение записей о сеансах по переданному списку идентификаторов
+     * @param ids - список идентификаторов сеансов
+     */
+    List<SessionResponse> getAllByIds(Set<Long> ids);
+
     /**
      * Создание новой записи о сеансе
      * @param request - объект типа {@link SessionRequest}
@@ -1,6 +1,6 @@
 package dev.session.service;
 
-import dev.library.domain.schedule.dto.TaskResponse;
+import dev.library.domain.session.dto.PlaceReleaseRequest;
 
 /**
  * Сервис для описания абстрактных методов выполнения фоновых задач для сеансов
@@ -13,8 +13,9 @@ public interface TaskService {
     void disableByFinishedSession(String sessionId);
 
     /**
-     * Обновление доступности места после проверки бронирований по идентификатору сенса
-     * @param response - объект типа {@link TaskResponse}
+     * Освобождение мест отмененных бронирований после проверки бронирований по идентификатору сеанса.
+     * Доступность всех мест обновляется одним запросом
+     * @param request - объект типа {@link PlaceReleaseRequest}
      */
-    void updateAvailablePlacesAfterCheckBookingsBySession(TaskResponse response);
+    void updateAvailablePlacesAfterCheckBookingsBySession(PlaceReleaseRequest request);
 }
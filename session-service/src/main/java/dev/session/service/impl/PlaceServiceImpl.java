@@ -2,13 +2,17 @@ package dev.session.service.impl;
 
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
+import dev.library.domain.session.dto.PlaceHoldResponse;
 import dev.library.domain.session.dto.PlaceRequest;
 import dev.library.domain.session.dto.PlaceResponse;
 import dev.session.entity.Place;
 import dev.session.entity.Session;
 import dev.session.mapper.PlaceMapper;
 import dev.session.repository.PlaceRepository;
+import dev.session.repository.projection.PlaceAvailability;
 import dev.session.service.PlaceService;
+import dev.session.service.SeatMapCache;
 import dev.session.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,9 +20,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Сервис, реализующий интерфейс {@link PlaceService}
@@ -29,6 +36,7 @@ public class PlaceServiceImpl implements PlaceService {
     private final PlaceRepository repository;
     private final PlaceMapper mapper;
     private final SessionService sessionService;
+    private final SeatMapCache seatMapCache;
 
     @Value("${errors.place.id.not-found}")
     private String errorPlaceIdNotFound;
@@ -46,11 +54,7 @@ public class PlaceServiceImpl implements PlaceService {
 
     @Override
     public List<PlaceResponse> getAllBySession_Id(Long sessionId) {
-        List<Place> places = repository.findAllBySession_Id(sessionId);
-
-        return places.stream()
-                .map(mapper::toResponse)
-                .toList();
+        return seatMapCache.getPlaces(sessionId);
     }
 
     @Override
@@ -62,6 +66,20 @@ public class PlaceServiceImpl implements PlaceService {
                 .toList();
     }
 
+    @Override
+    public List<PlaceAvailabilityResponse> getAvailabilityBySessionIds(Set<Long> sessionIds, Boolean withSeats) {
+        if (sessionIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<PlaceAvailability> availabilities = Boolean.TRUE.equals(withSeats)
+                ? repository.findAvailabilityWithSeatsBySessionIds(sessionIds)
+                : repository.findAvailabilityBySessionIds(sessionIds);
+
+        return availabilities.stream()
+                .map(mapper::toAvailabilityResponse)
+                .toList();
+    }
+
     @Override
     public PlaceResponse getById(Long id) {
         Place place = findById(id);
@@ -77,6 +95,7 @@ public class PlaceServiceImpl implements PlaceService {
         Place place = mapper.toEntity(request);
         place.setSession(session);
         place = repository.save(place);
+        seatMapCache.evict(session.getId());
 
         return mapper.toResponse(place);
     }
@@ -85,8 +104,11 @@ public class PlaceServiceImpl implements PlaceService {
     @Transactional
     public PlaceResponse update(Long id, PlaceRequest request) {
         Place place = findById(id);
+        Long oldSessionId = place.getSession().getId();
         replaceData(place, request);
         place = repository.save(place);
+        seatMapCache.evict(oldSessionId);
+        seatMapCache.evict(place.getSession().getId());
 
         return mapper.toResponse(place);
     }
@@ -94,17 +116,34 @@ public class PlaceServiceImpl implements PlaceService {
     @Override
     @Transactional
     public void deleteById(Long id) {
-        if (!repository.existsById(id)) {
-            String errorMessage = errorPlaceIdNotFound.formatted(id);
-            throw new EntityNotFoundException(errorMessage);
-        }
-        repository.deleteById(id);
+        Place place = findById(id);
+        repository.delete(place);
+        seatMapCache.evict(place.getSession().getId());
     }
 
     @Override
     @Transactional
     public void updateAvailable(Long sessionId, Set<Long> ids, Boolean available) {
         repository.updateAvailable(sessionId, ids, available);
+        seatMapCache.updateAvailable(sessionId, ids, available);
+    }
+
+    @Override
+    @Transactional
+    public PlaceHoldResponse hold(Long sessionId, Set<Long> ids) {
+        Set<Long> heldIds = new HashSet<>(repository.holdAvailable(sessionId, ids));
+        Set<Long> rejectedIds = ids.stream()
+                .filter(id -> !heldIds.contains(id))
+                .collect(Collectors.toSet());
+        if (!rejectedIds.isEmpty() && !heldIds.isEmpty()) {
+            repository.updateAvailable(sessionId, heldIds, Boolean.TRUE);
+            heldIds.clear();
+        }
+        if (!heldIds.isEmpty()) {
+            seatMapCache.updateAvailable(sessionId, heldIds, Boolean.FALSE);
+        }
+
+        return new PlaceHoldResponse(sessionId, heldIds, rejectedIds);
     }
 
     @Override
@@ -116,7 +155,7 @@ public class PlaceServiceImpl implements PlaceService {
 
     @Override
     public Long getPlaceBySessionIdAndIdsAndAvailable(Long sessionId, Set<Long> ids, Boolean available) {
-        Optional<Long> optionalId = repository.findPlaceBySessionIdAndAvailableAndIds(sessionId, available, ids);
+        Optional<Long> optionalId = seatMapCache.findPlace(sessionId, ids, available);
 
         return optionalId.isPresent() ? optionalId.get() : 0;
     }
@@ -0,0 +1,234 @@
+package dev.session.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.library.core.util.TransactionUtils;
+import dev.library.domain.session.dto.PlaceResponse;
+import dev.session.entity.Place;
+import dev.session.mapper.PlaceMapper;
+import dev.session.repository.PlaceRepository;
+import dev.session.service.SeatMapCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Сервис, реализующий интерфейс {@link SeatMapCache}.
+ * Карты мест хранятся в кэше Caffeine не более {@code cache.seat-map.maximum-size} сеансов. Карта мест строится
+ * атомарно при отсутствии в кэше, а изменения доступности применяются внутри {@code computeIfPresent} после фиксации
+ * транзакции, поэтому изменение, зафиксированное во время построения карты, не теряется. Время жизни карты
+ * отсчитывается от её построения и не продлевается изменениями доступности, чтобы изменения, выполненные другими
+ * экземплярами сервиса, попадали в кэш не позже чем через {@code cache.seat-map.ttl}
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatMapCacheImpl implements SeatMapCache {
+    private final PlaceRepository repository;
+    private final PlaceMapper mapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cache.seat-map.maximum-size}")
+    private long maximumSize;
+    @Value("${cache.seat-map.ttl}")
+    private Duration ttl;
+
+    private Cache<Long, SeatMap> seatMaps;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+        long ttlNanos = ttl.toNanos();
+        seatMaps = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, SeatMap>() {
+                    @Override
+                    public long expireAfterCreate(Long sessionId, SeatMap seatMap, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long sessionId, SeatMap seatMap, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long sessionId, SeatMap seatMap, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        hitCounter = Counter.builder("session.seat-map.requests")
+                .description("Количество обращений к кэшу карты мест")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        missCounter = Counter.builder("session.seat-map.requests")
+                .description("Количество обращений к кэшу карты мест")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        rebuildTimer = Timer.builder("session.seat-map.rebuild")
+                .description("Время построения карты мест сеанса")
+                .register(meterRegistry);
+        Gauge.builder("session.seat-map.hit-ratio", this, SeatMapCacheImpl::getHitRatio)
+                .description("Доля обращений к кэшу карты мест без обращения к БД")
+                .register(meterRegistry);
+        Gauge.builder("session.seat-map.size", seatMaps, Cache::estimatedSize)
+                .description("Количество сеансов в кэше карты мест")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<PlaceResponse> getPlaces(Long sessionId) {
+        return getSeatMap(sessionId).toResponses(sessionId);
+    }
+
+    @Override
+    public Optional<Long> findPlace(Long sessionId, Set<Long> ids, Boolean available) {
+        return getSeatMap(sessionId).findPlace(ids, available);
+    }
+
+    @Override
+    public void updateAvailable(Long sessionId, Iterable<Long> ids, Boolean available) {
+        TransactionUtils.afterCommit(() -> seatMaps.asMap().computeIfPresent(sessionId, (id, seatMap) -> {
+            seatMap.setAvailable(ids, available);
+            return seatMap;
+        }));
+    }
+
+    @Override
+    public void evict(Long sessionId) {
+        TransactionUtils.afterCommit(() -> seatMaps.invalidate(sessionId));
+    }
+
+    /**
+     * Получение доли обращений к кэшу, которые не потребовали построения карты мест
+     */
+    private double getHitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+
+        return total == 0 ? 0 : hits / total;
+    }
+
+    /**
+     * Получение актуальной карты мест сеанса из кэша или её построение по данным из БД
+     * @param sessionId - идентификатор сеанса
+     */
+    private SeatMap getSeatMap(Long sessionId) {
+        SeatMap seatMap = seatMaps.getIfPresent(sessionId);
+        if (seatMap != null) {
+            hitCounter.increment();
+            return seatMap;
+        }
+        missCounter.increment();
+
+        return seatMaps.get(sessionId, this::rebuild);
+    }
+
+    /**
+     * Построение карты мест сеанса по данным из БД
+     * @param sessionId - идентификатор сеанса
+     */
+    private SeatMap rebuild(Long sessionId) {
+        return rebuildTimer.record(() -> new SeatMap(repository.findAllBySession_Id(sessionId), mapper));
+    }
+
+    /**
+     * Карта мест сеанса. Схема зала неизменяема и хранится в массивах, упорядоченных по ряду и номеру места,
+     * доступность мест хранится в {@link BitSet} с теми же индексами
+     */
+    private static final class SeatMap {
+        private final long[] ids;
+        private final int[] rows;
+        private final int[] numbers;
+        private final String[] prices;
+        private final long[] sortedIds;
+        private final int[] positions;
+        private final BitSet available;
+
+        SeatMap(List<Place> places, PlaceMapper mapper) {
+            List<Place> ordered = places.stream()
+                    .sorted(Comparator.comparing(Place::getRow).thenComparing(Place::getNumber))
+                    .toList();
+            int size = ordered.size();
+            ids = new long[size];
+            rows = new int[size];
+            numbers = new int[size];
+            prices = new String[size];
+            available = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                PlaceResponse response = mapper.toResponse(ordered.get(i));
+                ids[i] = response.id();
+                rows[i] = response.row();
+                numbers[i] = response.number();
+                prices[i] = response.price();
+                available.set(i, response.available());
+            }
+            positions = new int[size];
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+            sortedIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                positions[i] = order[i];
+            }
+        }
+
+        synchronized List<PlaceResponse> toResponses(Long sessionId) {
+            List<PlaceResponse> responses = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                responses.add(new PlaceResponse(ids[i], sessionId, rows[i], numbers[i], prices[i], available.get(i)));
+            }
+
+            return responses;
+        }
+
+        synchronized Optional<Long> findPlace(Set<Long> placeIds, Boolean value) {
+            for (Long placeId : placeIds) {
+                int index = indexOf(placeId);
+                if (index >= 0 && available.get(index) == value) {
+                    return Optional.of(placeId);
+                }
+            }
+
+            return Optional.empty();
+        }
+
+        synchronized void setAvailable(Iterable<Long> placeIds, Boolean value) {
+            for (Long placeId : placeIds) {
+                int index = indexOf(placeId);
+                if (index >= 0) {
+                    available.set(index, value);
+                }
+            }
+        }
+
+        private int indexOf(long placeId) {
+            int index = Arrays.binarySearch(sortedIds, placeId);
+
+            return index < 0 ? -1 : positions[index];
+        }
+    }
+}
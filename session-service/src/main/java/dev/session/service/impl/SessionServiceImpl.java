@@ -1,13 +1,19 @@
 package dev.session.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
+import dev.library.core.specification.SearchFilter;
 import dev.library.core.specification.SpecificationBuilder;
+import dev.library.core.specification.SpecificationStreamer;
 import dev.library.core.util.DateUtil;
-import dev.library.core.util.ReflectionUtils;
+import dev.library.core.util.NdjsonUtils;
 import dev.library.domain.movie.client.MovieClient;
 import dev.library.domain.rabbitmq.constant.ActionType;
 import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
 import dev.library.domain.session.dto.SessionSearchRequest;
 import dev.library.domain.session.dto.SessionRequest;
 import dev.library.domain.session.dto.SessionResponse;
@@ -15,20 +21,29 @@ import dev.library.domain.session.dto.constant.MovieFormat;
 import dev.session.entity.Session;
 import dev.session.mapper.SessionMapper;
 import dev.session.repository.SessionRepository;
+import dev.session.service.PlaceService;
 import dev.session.service.RabbitMQProducer;
+import dev.session.service.SeatMapCache;
 import dev.session.service.SessionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис, реализующий интерфейс {@link SessionService}
@@ -36,11 +51,29 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class SessionServiceImpl implements SessionService {
+    /**
+     * Сортировка записей для постраничного получения по курсору
+     */
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+    /**
+     * Фильтр для поиска записей о сеансах по полям, сравниваемым с одноимёнными полями сущности
+     */
+    private static final SearchFilter<SessionSearchRequest, Session> SEARCH_FILTER = SearchFilter.<SessionSearchRequest, Session>builder(SessionSearchRequest.class)
+            .equal("movieId")
+            .build();
+
     private final SessionRepository repository;
     private final SessionMapper mapper;
     private final SpecificationBuilder<Session> specificationBuilder;
     private final MovieClient movieClient;
     private final RabbitMQProducer rabbitMQProducer;
+    private final SeatMapCache seatMapCache;
+    /**
+     * Сервис мест зависит от сервиса сеансов, поэтому получается при первом обращении
+     */
+    private final ObjectProvider<PlaceService> placeService;
+    private final SpecificationStreamer specificationStreamer;
+    private final ObjectMapper objectMapper;
 
     @Value("${errors.session.id.not-found}")
     private String errorSessionIdNotFound;
@@ -48,15 +81,30 @@ public class SessionServiceImpl implements SessionService {
     private String errorSessionHallAndDateTimeAlreadyExists;
     @Value("${errors.session.movie-id.not-found}")
     private String errorSessionMovieIdNotFound;
+    @Value("${pagination.default-limit}")
+    private int defaultLimit;
+    @Value("${pagination.max-limit}")
+    private int maxLimit;
+    @Value("${pagination.fetch-size}")
+    private int fetchSize;
 
     @Override
-    public List<SessionResponse> getAll(SessionSearchRequest searchRequest) {
+    public CursorPage<SessionResponse> getAll(SessionSearchRequest searchRequest) {
+        int limit = CursorPage.limit(searchRequest.getLimit(), defaultLimit, maxLimit);
         Specification<Session> specification = getSpecification(searchRequest);
-        List<Session> sessions = repository.findAll(specification);
+        List<Session> sessions = repository.findBy(specification, query -> query.sortBy(CURSOR_SORT).limit(limit + 1).all());
+        CursorPage<Session> page = CursorPage.of(sessions, limit, session -> new Cursor(session.getCreatedDate(), session.getId()));
 
-        return sessions.stream()
-                .map(mapper::toResponse)
-                .toList();
+        return new CursorPage<>(buildResponses(page.content(), searchRequest.getWithAvailability()), page.nextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(SessionSearchRequest searchRequest, OutputStream outputStream) {
+        Specification<Session> specification = getSpecification(searchRequest);
+        specificationStreamer.forEachBatch(Session.class, specification, CURSOR_SORT, fetchSize,
+                sessions -> NdjsonUtils.write(objectMapper, outputStream,
+                        buildResponses(sessions, searchRequest.getWithAvailability())));
     }
 
     @Override
@@ -66,6 +114,15 @@ public class SessionServiceImpl implements SessionService {
         return mapper.toResponse(session);
     }
 
+    @Override
+    public List<SessionResponse> getAllByIds(Set<Long> ids) {
+        List<Session> sessions = repository.findAllById(ids);
+
+        return sessions.stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
     @Override
     @Transactional
     public SessionResponse create(SessionRequest request) {
@@ -86,6 +143,7 @@ public class SessionServiceImpl implements SessionService {
         Boolean oldAvailable = session.getAvailable();
         replaceData(session, request);
         session = repository.save(session);
+        seatMapCache.evict(id);
         sendMessageAfterUpdate(session, oldDateTime, oldAvailable, request);
 
         return mapper.toResponse(session);
@@ -99,6 +157,7 @@ public class SessionServiceImpl implements SessionService {
             throw new EntityNotFoundException(errorMessage);
         }
         repository.deleteById(id);
+        seatMapCache.evict(id);
         rabbitMQProducer.sendMessage(id.toString());
     }
 
@@ -118,6 +177,37 @@ public class SessionServiceImpl implements SessionService {
         repository.updateAvailable(id, available);
     }
 
+    /**
+     * Получение списка объектов типа {@link SessionResponse}
+     * @param sessions - список объектов типа {@link Session}
+     * @param withAvailability - признак получения доступности мест сеансов
+     */
+    private List<SessionResponse> buildResponses(List<Session> sessions, Boolean withAvailability) {
+        if (Boolean.TRUE.equals(withAvailability) && !sessions.isEmpty()) {
+            Map<Long, PlaceAvailabilityResponse> placeAvailabilities = getPlaceAvailabilities(sessions);
+            return sessions.stream()
+                    .map(session -> mapper.toResponse(session, placeAvailabilities.get(session.getId())))
+                    .toList();
+        }
+
+        return sessions.stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Получение доступности мест сеансов одним агрегирующим запросом
+     * @param sessions - список объектов типа {@link Session}
+     */
+    private Map<Long, PlaceAvailabilityResponse> getPlaceAvailabilities(List<Session> sessions) {
+        Set<Long> sessionIds = sessions.stream()
+                .map(Session::getId)
+                .collect(Collectors.toSet());
+
+        return placeService.getObject().getAvailabilityBySessionIds(sessionIds, false).stream()
+                .collect(Collectors.toMap(PlaceAvailabilityResponse::sessionId, Function.identity()));
+    }
+
     /**
      * Обновление данных записи о сеансе
      * @param session - объект типа {@link Session}
@@ -181,17 +271,7 @@ public class SessionServiceImpl implements SessionService {
      * @param searchDto - объект типа {@link SessionSearchRequest}
      */
     private Specification<Session> getSpecification(SessionSearchRequest searchDto) {
-        Specification<Session> specification = specificationBuilder.emptySpecification();
-        if (ReflectionUtils.allFieldsIsNull(searchDto)) {
-            return specification;
-        }
-        if (Objects.nonNull(searchDto.getMovieId())) {
-            Long valueMovieId = searchDto.getMovieId();
-            String fieldMovieId = ReflectionUtils.getFieldName(searchDto, valueMovieId).orElseThrow();
-            specification = specification.and(
-                    specificationBuilder.equal(fieldMovieId, valueMovieId)
-            );
-        }
+        Specification<Session> specification = SEARCH_FILTER.toSpecification(searchDto);
         if (Objects.nonNull(searchDto.getDate())) {
             LocalDate date = searchDto.getDate();
             OffsetDateTime from = OffsetDateTime.of(date, LocalTime.MIN, ZoneOffset.UTC);
@@ -200,6 +280,12 @@ public class SessionServiceImpl implements SessionService {
                     specificationBuilder.between("dateTime", from, to)
             );
         }
+        if (Objects.nonNull(searchDto.getCursor())) {
+            Cursor cursor = Cursor.decode(searchDto.getCursor());
+            specification = specification.and(
+                    specificationBuilder.before("createdDate", "id", cursor.createdDate(), cursor.id())
+            );
+        }
 
         return specification;
     }
@@ -1,6 +1,6 @@
 package dev.session.service.impl;
 
-import dev.library.domain.schedule.dto.TaskResponse;
+import dev.library.domain.session.dto.PlaceReleaseRequest;
 import dev.session.service.PlaceService;
 import dev.session.service.SessionService;
 import dev.session.service.TaskService;
@@ -9,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,15 +32,16 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @RabbitListener(queues = {"${rabbitmq.session.queue.place.update-available}"})
-    public void updateAvailablePlacesAfterCheckBookingsBySession(TaskResponse response) {
-        log.info("Started updateAvailablePlacesAfterCheckBookingsBySession(TaskResponse response) with response = {}", response);
-        String sessionId = (String) response.additionalProperties().get("sessionId");
-        Set<Long> placeIds = response.data().keySet().stream()
-                        .map(Long::parseLong)
-                    .collect(Collectors.toSet());
-        Boolean available = (Boolean) response.additionalProperties().get("available");
-        placeService.updateAvailable(Long.parseLong(sessionId), placeIds, available);
-        log.debug("Task completed in method updateAvailablePlacesAfterCheckBookingsBySession(TaskResponse response) with response = {}", response);
+    @RabbitListener(queues = {"${rabbitmq.session.queue.place.update-available}"},
+            containerFactory = "updateAvailablePlaceSessionListenerFactory")
+    public void updateAvailablePlacesAfterCheckBookingsBySession(PlaceReleaseRequest request) {
+        log.info("Started updateAvailablePlacesAfterCheckBookingsBySession(PlaceReleaseRequest request) with sessionId = {} " +
+                "and {} places", request.sessionId(), request.placeIds().length);
+        Set<Long> placeIds = Arrays.stream(request.placeIds())
+                .boxed()
+                .collect(Collectors.toSet());
+        placeService.updateAvailable(request.sessionId(), placeIds, Boolean.TRUE);
+        log.debug("Task completed in method updateAvailablePlacesAfterCheckBookingsBySession(PlaceReleaseRequest request) " +
+                "with sessionId = {}", request.sessionId());
     }
 }
@@ -0,0 +1,8 @@
+-- Уникальность места в зале сеанса. Индекс также используется при поиске мест по идентификатору сеанса
+ALTER TABLE places ADD CONSTRAINT places_session_id_row_number_key UNIQUE (session_id, row, number);
+
+-- Уникальность сеанса в зале на дату и время
+ALTER TABLE sessions ADD CONSTRAINT sessions_hall_date_time_key UNIQUE (hall, date_time);
+
+-- Поиск сеансов по идентификатору фильма
+CREATE INDEX IF NOT EXISTS sessions_movie_id_date_time_idx ON sessions (movie_id, date_time);
\ No newline at end of file
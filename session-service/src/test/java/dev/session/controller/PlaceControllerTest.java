@@ -194,6 +194,41 @@ public class PlaceControllerTest extends AbstractControllerTest {
                 .statusCode(401);
     }
 
+    @Test
+    @Order(7)
+    void getAvailabilityBySessionIds_ok() {
+        Set<Long> values = Set.of(5L, 11999L);
+        RestAssured
+                .given()
+                .queryParam("values", values)
+                .when()
+                .get("/api/v1/places/search/sessions/availability")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .body("[0].sessionId", Matchers.equalTo(5))
+                .body("[0].total", Matchers.equalTo(25))
+                .body("[0].free", Matchers.equalTo(25))
+                .body("[0].seats", Matchers.nullValue());
+    }
+
+    @Test
+    @Order(7)
+    void getAvailabilityBySessionIds_withSeats() {
+        RestAssured
+                .given()
+                .queryParam("values", Set.of(5L))
+                .queryParam("withSeats", true)
+                .when()
+                .get("/api/v1/places/search/sessions/availability")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .body("[0].seats", Matchers.equalTo("1".repeat(25)));
+    }
+
     @Test
     @Order(8)
     void getById_ok() {
@@ -30,6 +30,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 @ActiveProfiles("test")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -103,6 +104,103 @@ public class SessionControllerTest extends AbstractControllerTest {
                 .body("[0].available", Matchers.equalTo(true));
     }
 
+    @Test
+    @Order(2)
+    void getAll_withAvailability() {
+        Map<String, String> params = new HashMap<>();
+        params.put("movieId", "2");
+        params.put("date", LocalDate.now().plusDays(2).toString());
+        params.put("withAvailability", "true");
+
+        RestAssured
+                .given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(params)
+                .when()
+                .get("/api/v1/sessions")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .body("[0].id", Matchers.equalTo(5))
+                .body("[0].placeAvailability.sessionId", Matchers.equalTo(5))
+                .body("[0].placeAvailability.total", Matchers.equalTo(25))
+                .body("[0].placeAvailability.free", Matchers.equalTo(25));
+    }
+
+    @Test
+    @Order(2)
+    void getAll_nextCursor() {
+        String nextCursor = RestAssured
+                .given()
+                .queryParam("limit", 1)
+                .when()
+                .get("/api/v1/sessions")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .header("X-Next-Cursor", Matchers.notNullValue())
+                .extract()
+                .header("X-Next-Cursor");
+        int firstId = RestAssured
+                .given()
+                .queryParam("limit", 1)
+                .when()
+                .get("/api/v1/sessions")
+                .then()
+                .extract()
+                .path("[0].id");
+
+        RestAssured
+                .given()
+                .queryParam("limit", 1)
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get("/api/v1/sessions")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .body("[0].id", Matchers.not(Matchers.equalTo(firstId)));
+    }
+
+    @Test
+    @Order(2)
+    void getAll_badRequestException_cursor() {
+        RestAssured
+                .given()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get("/api/v1/sessions")
+                .then()
+                .log().all()
+                .statusCode(400)
+                .body("code", Matchers.equalTo(400))
+                .body("message", Matchers.equalTo("Некорректное значение курсора: not-a-cursor"))
+                .body("dateTime", Matchers.notNullValue());
+    }
+
+    @Test
+    @Order(2)
+    void export_ok() {
+        String body = RestAssured
+                .given()
+                .queryParam("movieId", 2)
+                .queryParam("date", LocalDate.now().plusDays(2).toString())
+                .when()
+                .get("/api/v1/sessions/export")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract()
+                .asString();
+        String[] lines = body.split("\n");
+        Assertions.assertEquals(1, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"id\":5,"));
+    }
+
     @Test
     @Order(3)
     void getById_ok() {
@@ -122,6 +220,37 @@ public class SessionControllerTest extends AbstractControllerTest {
                 .body("available", Matchers.equalTo(false));
     }
 
+    @Test
+    @Order(3)
+    void getAllByIds_some() {
+        String token = AuthorizationUtils.getToken(restClient, GrantType.CLIENT_CREDENTIALS, clientId, clientSecret);
+
+        RestAssured
+                .given()
+                .queryParam("values", Set.of(1L, 11999L))
+                .header("Authorization", "Bearer " + token)
+                .when()
+                .get("/api/v1/sessions/search/ids")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("$.size()", Matchers.equalTo(1))
+                .body("[0].id", Matchers.equalTo(1));
+    }
+
+    @Test
+    @Order(3)
+    void getAllByIds_unauthorized() {
+        RestAssured
+                .given()
+                .queryParam("values", Set.of(1L, 2L))
+                .when()
+                .get("/api/v1/sessions/search/ids")
+                .then()
+                .log().all()
+                .statusCode(401);
+    }
+
     @Test
     @Order(4)
     void getById_entityNotFoundException() {
@@ -0,0 +1,155 @@
+package dev.session.repository;
+
+import dev.library.test.config.AbstractRepositoryTest;
+import dev.session.mapper.PlaceMapper;
+import dev.session.service.PlaceService;
+import dev.session.service.SeatMapCache;
+import dev.session.service.SessionService;
+import dev.session.service.impl.PlaceServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Нагрузочная проверка захвата мест: несколько потоков одновременно захватывают пары мест одного зала,
+ * пока зал не будет распродан. Места захватываются через {@link PlaceServiceImpl#hold(Long, Set)}. Проверяется отсутствие
+ * двойной продажи и выводится количество захватов в секунду. Запускается в профиле benchmark
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@Import(PlaceServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PlaceHoldBenchmarkTest extends AbstractRepositoryTest {
+    private static final Logger log = LoggerFactory.getLogger(PlaceHoldBenchmarkTest.class);
+
+    private static final int ROWS = 15;
+    private static final int PLACES_IN_ROW = 20;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PlaceService placeService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private PlaceMapper mapper;
+    @MockitoBean
+    private SessionService sessionService;
+    @MockitoBean
+    private SeatMapCache seatMapCache;
+
+    private Long sessionId;
+    private List<Long> placeIds;
+
+    @BeforeEach
+    void init() {
+        sessionId = jdbcTemplate.queryForObject(
+                "INSERT INTO sessions(movie_id, format, hall, date_time, available, created_by, updated_by) " +
+                        "VALUES (1, 'TWO_D', 99, NOW() + INTERVAL '10 days', true, 'test', 'test') RETURNING id",
+                Long.class
+        );
+        for (int row = 1; row <= ROWS; row++) {
+            for (int number = 1; number <= PLACES_IN_ROW; number++) {
+                jdbcTemplate.update(
+                        "INSERT INTO places(session_id, row, number, price, available, created_by, updated_by) " +
+                                "VALUES (?, ?, ?, 300.00, true, 'test', 'test')",
+                        sessionId, row, number
+                );
+            }
+        }
+        placeIds = jdbcTemplate.queryForList("SELECT id FROM places WHERE session_id = ?", Long.class, sessionId);
+    }
+
+    @AfterEach
+    void destroy() {
+        jdbcTemplate.update("DELETE FROM sessions WHERE id = ?", sessionId);
+    }
+
+    @Test
+    void holdAvailable_concurrent_noOversell() throws Exception {
+        Map<Long, AtomicInteger> sold = new ConcurrentHashMap<>();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger holds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                while (sold.size() < placeIds.size() - 1) {
+                    Set<Long> request = randomPair(sold.keySet());
+                    if (request.isEmpty()) {
+                        break;
+                    }
+                    attempts.incrementAndGet();
+                    Set<Long> held = placeService.hold(sessionId, request).heldIds();
+                    if (!held.isEmpty()) {
+                        holds.incrementAndGet();
+                        held.forEach(id -> sold.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet());
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        Assertions.assertTrue(sold.values().stream().allMatch(counter -> counter.get() == 1));
+        Integer unavailable = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM places WHERE session_id = ? AND available = false", Integer.class, sessionId
+        );
+        Assertions.assertEquals(sold.size(), unavailable);
+        log.info("Hall of {} places: {} attempts, {} successful holds in {} s ({} holds/s, {} attempts/s) using {} threads",
+                placeIds.size(), attempts.get(), holds.get(), "%.3f".formatted(seconds),
+                "%.1f".formatted(holds.get() / seconds), "%.1f".formatted(attempts.get() / seconds), THREADS);
+    }
+
+    /**
+     * Получение пары случайных мест зала, которые еще не были проданы на момент вызова
+     * @param soldIds - список идентификаторов проданных мест
+     */
+    private Set<Long> randomPair(Set<Long> soldIds) {
+        List<Long> free = placeIds.stream()
+                .filter(id -> !soldIds.contains(id))
+                .toList();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Long> pair = new HashSet<>();
+        while (pair.size() < Math.min(2, free.size())) {
+            pair.add(free.get(random.nextInt(free.size())));
+        }
+
+        return pair;
+    }
+}
@@ -2,11 +2,13 @@ package dev.session.repository;
 
 import dev.library.test.config.AbstractRepositoryTest;
 import dev.session.entity.Place;
+import dev.session.repository.projection.PlaceAvailability;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -81,4 +83,42 @@ public class PlaceRepositoryTest extends AbstractRepositoryTest {
         optionalLong = repository.findPlaceBySessionIdAndAvailableAndIds(8L, false, Set.of(134L, 235L, 336L));
         Assertions.assertTrue(optionalLong.isEmpty());
     }
+
+    @Test
+    void holdAvailable() {
+        List<Long> ids = repository.holdAvailable(4L, Set.of(35L, 36L, 62L));
+        Assertions.assertEquals(List.of(35L), ids);
+
+        ids = repository.holdAvailable(4L, Set.of(35L));
+        Assertions.assertTrue(ids.isEmpty());
+    }
+
+    @Test
+    void findAvailabilityBySessionIds() {
+        List<PlaceAvailability> availabilities = repository.findAvailabilityBySessionIds(List.of(3L, 4L, 11999L))
+                .stream()
+                .sorted(Comparator.comparing(PlaceAvailability::getSessionId))
+                .toList();
+        Assertions.assertEquals(2, availabilities.size());
+        Assertions.assertEquals(3L, availabilities.get(0).getSessionId());
+        Assertions.assertEquals(25L, availabilities.get(0).getTotal());
+        Assertions.assertEquals(19L, availabilities.get(0).getFree());
+        Assertions.assertNull(availabilities.get(0).getSeats());
+        Assertions.assertEquals(4L, availabilities.get(1).getSessionId());
+        Assertions.assertEquals(25L, availabilities.get(1).getTotal());
+        Assertions.assertEquals(15L, availabilities.get(1).getFree());
+
+        availabilities = repository.findAvailabilityBySessionIds(List.of(11999L));
+        Assertions.assertTrue(availabilities.isEmpty());
+    }
+
+    @Test
+    void findAvailabilityWithSeatsBySessionIds() {
+        List<PlaceAvailability> availabilities = repository.findAvailabilityWithSeatsBySessionIds(List.of(4L));
+        Assertions.assertEquals(1, availabilities.size());
+        Assertions.assertEquals(4L, availabilities.getFirst().getSessionId());
+        Assertions.assertEquals(25L, availabilities.getFirst().getTotal());
+        Assertions.assertEquals(15L, availabilities.getFirst().getFree());
+        Assertions.assertEquals("1111111111000110000011100", availabilities.getFirst().getSeats());
+    }
 }
@@ -0,0 +1,129 @@
+package dev.session.repository;
+
+import dev.library.core.specification.SpecificationBuilder;
+import dev.library.test.config.AbstractQueryPlanTest;
+import dev.session.entity.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Проверка того, что запросы репозиториев сеансов и мест используют индексы
+ */
+@ActiveProfiles("test")
+public class QueryPlanTest extends AbstractQueryPlanTest {
+    private static final Sort CURSOR_SORT = Sort.by(Sort.Direction.DESC, "createdDate", "id");
+    private static final List<Long> PLACE_IDS = List.of(1L, 2L, 3L);
+
+    private final SpecificationBuilder<Session> specificationBuilder = new SpecificationBuilder<>();
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    private Long sessionId;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update(
+                "INSERT INTO sessions(movie_id, format, hall, date_time, available, created_by, updated_by) " +
+                        "SELECT i % 100, 'TWO_D', 100 + i % 10, TIMESTAMP WITH TIME ZONE '2030-01-01 00:00:00+00' + i * INTERVAL '3 hours', " +
+                        "true, 'test', 'test' FROM generate_series(1, 5000) AS i"
+        );
+        sessionId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM sessions", Long.class);
+        jdbcTemplate.update(
+                "INSERT INTO places(session_id, row, number, price, available, created_by, updated_by) " +
+                        "SELECT s.id, r, n, 300.00, true, 'test', 'test' FROM sessions s " +
+                        "CROSS JOIN generate_series(1, 10) AS r CROSS JOIN generate_series(1, 15) AS n " +
+                        "WHERE s.id > ? - 200", sessionId
+        );
+        analyze("sessions", "places");
+    }
+
+    @Test
+    void findAllBySession_Id() {
+        assertIndexScan("places", "places_session_id_row_number_key",
+                () -> placeRepository.findAllBySession_Id(sessionId));
+    }
+
+    @Test
+    void existsBySession_IdAndRowAndNumber() {
+        assertIndexScan("places", "places_session_id_row_number_key",
+                () -> placeRepository.existsBySession_IdAndRowAndNumber(sessionId, 5, 7));
+    }
+
+    @Test
+    void findAllByIds() {
+        assertIndexScan("places", "places_pkey", () -> placeRepository.findAllByIds(PLACE_IDS));
+    }
+
+    @Test
+    void updatePlacesAvailable() {
+        assertIndexScan("places", "places_pkey", () -> placeRepository.updateAvailable(sessionId, PLACE_IDS, false));
+    }
+
+    @Test
+    void findPlaceNotEqualsSessionBySessionIdAndIds() {
+        assertIndexScan("places", "places_pkey",
+                () -> placeRepository.findPlaceNotEqualsSessionBySessionIdAndIds(sessionId, PLACE_IDS));
+    }
+
+    @Test
+    void findPlaceBySessionIdAndAvailableAndIds() {
+        assertIndexScan("places", "places_pkey",
+                () -> placeRepository.findPlaceBySessionIdAndAvailableAndIds(sessionId, false, PLACE_IDS));
+    }
+
+    @Test
+    void holdAvailable() {
+        assertIndexScan("places", "places_pkey", () -> placeRepository.holdAvailable(sessionId, PLACE_IDS));
+    }
+
+    @Test
+    void findAvailabilityBySessionIds() {
+        assertIndexScan("places", "places_session_id_row_number_key",
+                () -> placeRepository.findAvailabilityBySessionIds(List.of(sessionId, sessionId - 1)));
+    }
+
+    @Test
+    void findAvailabilityWithSeatsBySessionIds() {
+        assertIndexScan("places", "places_session_id_row_number_key",
+                () -> placeRepository.findAvailabilityWithSeatsBySessionIds(List.of(sessionId, sessionId - 1)));
+    }
+
+    @Test
+    void existsByHallAndDateTime() {
+        assertIndexScan("sessions", "sessions_hall_date_time_key", () -> sessionRepository.existsByHallAndDateTime(
+                105, OffsetDateTime.of(2030, 1, 2, 0, 0, 0, 0, ZoneOffset.UTC)));
+    }
+
+    @Test
+    void updateSessionAvailable() {
+        assertIndexScan("sessions", "sessions_pkey", () -> sessionRepository.updateAvailable(sessionId, false));
+    }
+
+    @Test
+    void findAll_byMovieId() {
+        assertIndexScan("sessions", "sessions_movie_id_date_time_idx", () -> sessionRepository.findBy(
+                specificationBuilder.equal("movieId", 42L),
+                query -> query.sortBy(CURSOR_SORT).limit(21).all()
+        ));
+    }
+
+    @Test
+    void findAll_byMovieIdAndDate() {
+        OffsetDateTime from = OffsetDateTime.of(2030, 1, 10, 0, 0, 0, 0, ZoneOffset.UTC);
+        assertIndexScan("sessions", "sessions_movie_id_date_time_idx", () -> sessionRepository.findBy(
+                specificationBuilder.equal("movieId", 42L).and(specificationBuilder.between("dateTime", from, from.plusDays(1))),
+                query -> query.sortBy(CURSOR_SORT).limit(21).all()
+        ));
+    }
+}
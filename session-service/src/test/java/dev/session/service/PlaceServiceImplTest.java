@@ -8,6 +8,7 @@ import dev.session.entity.Place;
 import dev.session.entity.Session;
 import dev.session.mapper.PlaceMapper;
 import dev.session.repository.PlaceRepository;
+import dev.session.repository.projection.PlaceAvailability;
 import dev.session.service.impl.PlaceServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,7 +30,8 @@ public class PlaceServiceImplTest {
     final PlaceRepository repository = Mockito.mock(PlaceRepository.class);
     final PlaceMapper mapper = new PlaceMapper();
     final SessionService sessionService = Mockito.mock(SessionService.class);
-    final PlaceService service = new PlaceServiceImpl(repository, mapper, sessionService);
+    final SeatMapCache seatMapCache = Mockito.mock(SeatMapCache.class);
+    final PlaceService service = new PlaceServiceImpl(repository, mapper, sessionService, seatMapCache);
 
     Session entitySessionOne;
     Session entitySessionTwo;
@@ -113,8 +115,8 @@ public class PlaceServiceImplTest {
     @Test
     void getAllBySession_Id_ok() {
         Mockito
-                .when(repository.findAllBySession_Id(Mockito.anyLong()))
-                .thenReturn(List.of(entityPlaceOne));
+                .when(seatMapCache.getPlaces(Mockito.anyLong()))
+                .thenReturn(List.of(mapper.toResponse(entityPlaceOne)));
 
         List<PlaceResponse> responses = service.getAllBySession_Id(1L);
         Assertions.assertNotNull(responses);
@@ -128,14 +130,14 @@ public class PlaceServiceImplTest {
         Assertions.assertEquals(true, responses.getFirst().available());
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findAllBySession_Id(Mockito.anyLong());
+                .verify(seatMapCache, Mockito.times(1))
+                .getPlaces(Mockito.anyLong());
     }
 
     @Test
     void getAllBySession_Id_empty() {
         Mockito
-                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .when(seatMapCache.getPlaces(Mockito.anyLong()))
                 .thenReturn(Collections.emptyList());
 
         List<PlaceResponse> responses = service.getAllBySession_Id(1199L);
@@ -143,8 +145,8 @@ public class PlaceServiceImplTest {
         Assertions.assertTrue(responses.isEmpty());
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findAllBySession_Id(Mockito.anyLong());
+                .verify(seatMapCache, Mockito.times(1))
+                .getPlaces(Mockito.anyLong());
     }
 
     @Test
@@ -204,6 +206,69 @@ public class PlaceServiceImplTest {
                 .findAllByIds(Mockito.anyIterable());
     }
 
+    @Test
+    void getAvailabilityBySessionIds_ok() {
+        PlaceAvailability placeAvailability = Mockito.mock(PlaceAvailability.class);
+        Mockito.when(placeAvailability.getSessionId()).thenReturn(1L);
+        Mockito.when(placeAvailability.getTotal()).thenReturn(2L);
+        Mockito.when(placeAvailability.getFree()).thenReturn(1L);
+
+        Mockito
+                .when(repository.findAvailabilityBySessionIds(Mockito.anyIterable()))
+                .thenReturn(List.of(placeAvailability));
+
+        List<PlaceAvailabilityResponse> responses = service.getAvailabilityBySessionIds(Set.of(1L, 2L), false);
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(1, responses.size());
+        Assertions.assertEquals(1L, responses.getFirst().sessionId());
+        Assertions.assertEquals(2L, responses.getFirst().total());
+        Assertions.assertEquals(1L, responses.getFirst().free());
+        Assertions.assertNull(responses.getFirst().seats());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAvailabilityBySessionIds(Mockito.anyIterable());
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findAvailabilityWithSeatsBySessionIds(Mockito.anyIterable());
+    }
+
+    @Test
+    void getAvailabilityBySessionIds_withSeats() {
+        PlaceAvailability placeAvailability = Mockito.mock(PlaceAvailability.class);
+        Mockito.when(placeAvailability.getSessionId()).thenReturn(1L);
+        Mockito.when(placeAvailability.getTotal()).thenReturn(2L);
+        Mockito.when(placeAvailability.getFree()).thenReturn(1L);
+        Mockito.when(placeAvailability.getSeats()).thenReturn("10");
+
+        Mockito
+                .when(repository.findAvailabilityWithSeatsBySessionIds(Mockito.anyIterable()))
+                .thenReturn(List.of(placeAvailability));
+
+        List<PlaceAvailabilityResponse> responses = service.getAvailabilityBySessionIds(Set.of(1L), true);
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(1, responses.size());
+        Assertions.assertEquals("10", responses.getFirst().seats());
+
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findAvailabilityBySessionIds(Mockito.anyIterable());
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAvailabilityWithSeatsBySessionIds(Mockito.anyIterable());
+    }
+
+    @Test
+    void getAvailabilityBySessionIds_empty() {
+        List<PlaceAvailabilityResponse> responses = service.getAvailabilityBySessionIds(Collections.emptySet(), true);
+        Assertions.assertNotNull(responses);
+        Assertions.assertTrue(responses.isEmpty());
+
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .findAvailabilityWithSeatsBySessionIds(Mockito.anyIterable());
+    }
+
     @Test
     void getById_ok() {
         Mockito
@@ -286,6 +351,9 @@ public class PlaceServiceImplTest {
         Mockito
                 .verify(repository, Mockito.times(1))
                 .save(Mockito.any(Place.class));
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(1L);
     }
 
     @Test
@@ -359,6 +427,12 @@ public class PlaceServiceImplTest {
         Mockito
                 .verify(repository, Mockito.times(1))
                 .save(Mockito.any(Place.class));
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(1L);
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(2L);
     }
 
     @Test
@@ -425,28 +499,31 @@ public class PlaceServiceImplTest {
     @Test
     void deleteById_ok() {
         Mockito
-                .when(repository.existsById(Mockito.anyLong()))
-                .thenReturn(true);
+                .when(repository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(entityPlaceOne));
         Mockito
                 .doNothing()
                 .when(repository)
-                .deleteById(Mockito.anyLong());
+                .delete(Mockito.any(Place.class));
 
         service.deleteById(1L);
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+                .findById(Mockito.anyLong());
         Mockito
                 .verify(repository, Mockito.times(1))
-                .deleteById(Mockito.anyLong());
+                .delete(Mockito.any(Place.class));
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(1L);
     }
 
     @Test
     void deleteById_entityNotFoundException() {
         Mockito
-                .when(repository.existsById(Mockito.anyLong()))
-                .thenReturn(false);
+                .when(repository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.empty());
 
         EntityNotFoundException exception = Assertions
                 .assertThrows(
@@ -459,10 +536,13 @@ public class PlaceServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .existsById(Mockito.anyLong());
+                .findById(Mockito.anyLong());
         Mockito
                 .verify(repository, Mockito.times(0))
-                .deleteById(Mockito.anyLong());
+                .delete(Mockito.any(Place.class));
+        Mockito
+                .verify(seatMapCache, Mockito.times(0))
+                .evict(Mockito.anyLong());
     }
 
     @Test
@@ -477,6 +557,9 @@ public class PlaceServiceImplTest {
         Mockito
                 .verify(repository, Mockito.times(1))
                 .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .updateAvailable(2L, Set.of(26L), false);
     }
 
     @Test
@@ -510,28 +593,97 @@ public class PlaceServiceImplTest {
     @Test
     void getPlaceBySessionIdAndIdsAndAvailable_ok() {
         Mockito
-                .when(repository.findPlaceBySessionIdAndAvailableAndIds(Mockito.anyLong(), Mockito.anyBoolean(), Mockito.anySet()))
+                .when(seatMapCache.findPlace(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean()))
                 .thenReturn(Optional.of(1L));
 
         Long response = service.getPlaceBySessionIdAndIdsAndAvailable(1L, Set.of(1L, 2L), false);
         Assertions.assertEquals(1, response);
 
         Mockito
-                .verify(repository, Mockito.times(1))
-                .findPlaceBySessionIdAndAvailableAndIds(Mockito.anyLong(), Mockito.anyBoolean(), Mockito.anySet());
+                .verify(seatMapCache, Mockito.times(1))
+                .findPlace(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
     }
 
     @Test
     void getPlaceBySessionIdAndIdsAndAvailable_zero() {
         Mockito
-                .when(repository.findPlaceBySessionIdAndAvailableAndIds(Mockito.anyLong(), Mockito.anyBoolean(), Mockito.anySet()))
+                .when(seatMapCache.findPlace(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean()))
                 .thenReturn(Optional.empty());
 
         Long response = service.getPlaceBySessionIdAndIdsAndAvailable(2L, Set.of(99L, 100L), true);
         Assertions.assertEquals(0, response);
 
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .findPlace(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void hold_ok() {
+        Mockito
+                .when(repository.holdAvailable(Mockito.anyLong(), Mockito.anyIterable()))
+                .thenReturn(List.of(26L, 27L));
+
+        PlaceHoldResponse response = service.hold(4L, Set.of(26L, 27L));
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(4L, response.sessionId());
+        Assertions.assertEquals(Set.of(26L, 27L), response.heldIds());
+        Assertions.assertTrue(response.rejectedIds().isEmpty());
+
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findPlaceBySessionIdAndAvailableAndIds(Mockito.anyLong(), Mockito.anyBoolean(), Mockito.anySet());
+                .holdAvailable(Mockito.anyLong(), Mockito.anyIterable());
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .updateAvailable(4L, Set.of(26L, 27L), false);
+    }
+
+    @Test
+    void hold_rejected() {
+        Mockito
+                .when(repository.holdAvailable(Mockito.anyLong(), Mockito.anyIterable()))
+                .thenReturn(List.of(26L));
+        Mockito
+                .doNothing()
+                .when(repository)
+                .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
+
+        PlaceHoldResponse response = service.hold(4L, Set.of(26L, 36L));
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(4L, response.sessionId());
+        Assertions.assertTrue(response.heldIds().isEmpty());
+        Assertions.assertEquals(Set.of(36L), response.rejectedIds());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .holdAvailable(Mockito.anyLong(), Mockito.anyIterable());
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
+        Mockito
+                .verify(seatMapCache, Mockito.times(0))
+                .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
+    }
+
+    @Test
+    void hold_allRejected() {
+        Mockito
+                .when(repository.holdAvailable(Mockito.anyLong(), Mockito.anyIterable()))
+                .thenReturn(Collections.emptyList());
+
+        PlaceHoldResponse response = service.hold(4L, Set.of(36L, 37L));
+        Assertions.assertNotNull(response);
+        Assertions.assertTrue(response.heldIds().isEmpty());
+        Assertions.assertEquals(Set.of(36L, 37L), response.rejectedIds());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .holdAvailable(Mockito.anyLong(), Mockito.anyIterable());
+        Mockito
+                .verify(repository, Mockito.times(0))
+                .updateAvailable(Mockito.anyLong(), Mockito.anyIterable(), Mockito.anyBoolean());
     }
 }
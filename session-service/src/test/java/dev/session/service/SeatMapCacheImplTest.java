@@ -0,0 +1,216 @@
+package dev.session.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.library.domain.session.dto.PlaceResponse;
+import dev.library.domain.session.dto.constant.MovieFormat;
+import dev.session.entity.Place;
+import dev.session.entity.Session;
+import dev.session.mapper.PlaceMapper;
+import dev.session.repository.PlaceRepository;
+import dev.session.service.impl.SeatMapCacheImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatMapCacheImplTest {
+    final PlaceRepository repository = Mockito.mock(PlaceRepository.class);
+    final PlaceMapper mapper = new PlaceMapper();
+
+    MeterRegistry meterRegistry;
+    SeatMapCacheImpl cache;
+
+    Place entityPlaceOne;
+    Place entityPlaceTwo;
+    Place entityPlaceThree;
+
+    @BeforeEach
+    void init() {
+        cache = createCache(100L, Duration.ofMinutes(1));
+
+        Session entitySession = Session.builder()
+                .id(1L)
+                .movieId(1L)
+                .movieFormat(MovieFormat.TWO_D)
+                .hall(2)
+                .dateTime(OffsetDateTime.now().plusDays(1))
+                .available(true)
+                .build();
+
+        entityPlaceOne = Place.builder()
+                .id(30L)
+                .session(entitySession)
+                .row(2)
+                .number(1)
+                .price(BigDecimal.valueOf(300))
+                .available(true)
+                .build();
+        entityPlaceTwo = Place.builder()
+                .id(10L)
+                .session(entitySession)
+                .row(1)
+                .number(2)
+                .price(BigDecimal.valueOf(250))
+                .available(false)
+                .build();
+        entityPlaceThree = Place.builder()
+                .id(20L)
+                .session(entitySession)
+                .row(1)
+                .number(1)
+                .price(BigDecimal.valueOf(250))
+                .available(true)
+                .build();
+    }
+
+    @Test
+    void getPlaces_orderedByRowAndNumber() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne, entityPlaceTwo, entityPlaceThree));
+
+        List<PlaceResponse> responses = cache.getPlaces(1L);
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(3, responses.size());
+        Assertions.assertEquals(20L, responses.get(0).id());
+        Assertions.assertEquals(10L, responses.get(1).id());
+        Assertions.assertEquals(30L, responses.get(2).id());
+        Assertions.assertEquals(1L, responses.get(0).sessionId());
+        Assertions.assertEquals("250.00", responses.get(1).price());
+        Assertions.assertEquals(false, responses.get(1).available());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllBySession_Id(Mockito.anyLong());
+    }
+
+    @Test
+    void getPlaces_hit() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne, entityPlaceTwo));
+
+        cache.getPlaces(1L);
+        cache.getPlaces(1L);
+        cache.getPlaces(1L);
+
+        Assertions.assertEquals(2, meterRegistry.get("session.seat-map.requests").tag("result", "hit").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("session.seat-map.requests").tag("result", "miss").counter().count());
+        Assertions.assertEquals(2.0 / 3, meterRegistry.get("session.seat-map.hit-ratio").gauge().value(), 0.0001);
+        Assertions.assertEquals(1, meterRegistry.get("session.seat-map.rebuild").timer().count());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllBySession_Id(Mockito.anyLong());
+    }
+
+    @Test
+    void getPlaces_expired() {
+        cache = createCache(100L, Duration.ZERO);
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne));
+
+        cache.getPlaces(1L);
+        cache.getPlaces(1L);
+
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .findAllBySession_Id(Mockito.anyLong());
+    }
+
+    @Test
+    void getPlaces_maximumSize() {
+        cache = createCache(2L, Duration.ofMinutes(1));
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne));
+
+        for (long sessionId = 1; sessionId <= 10; sessionId++) {
+            cache.getPlaces(sessionId);
+        }
+        Cache<?, ?> seatMaps = (Cache<?, ?>) ReflectionTestUtils.getField(cache, "seatMaps");
+        Objects.requireNonNull(seatMaps).cleanUp();
+
+        Assertions.assertTrue(seatMaps.estimatedSize() <= 2, "size = " + seatMaps.estimatedSize());
+    }
+
+    @Test
+    void updateAvailable() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne, entityPlaceTwo, entityPlaceThree));
+
+        cache.getPlaces(1L);
+        cache.updateAvailable(1L, Set.of(30L, 20L, 999L), false);
+        List<PlaceResponse> responses = cache.getPlaces(1L);
+        Assertions.assertTrue(responses.stream().noneMatch(PlaceResponse::available));
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllBySession_Id(Mockito.anyLong());
+    }
+
+    @Test
+    void evict() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne));
+
+        cache.getPlaces(1L);
+        cache.evict(1L);
+        cache.getPlaces(1L);
+
+        Mockito
+                .verify(repository, Mockito.times(2))
+                .findAllBySession_Id(Mockito.anyLong());
+    }
+
+    @Test
+    void findPlace_ok() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne, entityPlaceTwo, entityPlaceThree));
+
+        Optional<Long> id = cache.findPlace(1L, Set.of(10L, 30L), false);
+        Assertions.assertTrue(id.isPresent());
+        Assertions.assertEquals(10L, id.get());
+    }
+
+    @Test
+    void findPlace_empty() {
+        Mockito
+                .when(repository.findAllBySession_Id(Mockito.anyLong()))
+                .thenReturn(List.of(entityPlaceOne, entityPlaceTwo, entityPlaceThree));
+
+        Optional<Long> id = cache.findPlace(1L, Set.of(20L, 30L, 999L), false);
+        Assertions.assertTrue(id.isEmpty());
+    }
+
+    /**
+     * Создание кэша с отдельным реестром метрик, чтобы метрики разных экземпляров не пересекались
+     */
+    private SeatMapCacheImpl createCache(long maximumSize, Duration ttl) {
+        meterRegistry = new SimpleMeterRegistry();
+        SeatMapCacheImpl seatMapCache = new SeatMapCacheImpl(repository, mapper, meterRegistry);
+        ReflectionTestUtils.setField(seatMapCache, "maximumSize", maximumSize);
+        ReflectionTestUtils.setField(seatMapCache, "ttl", ttl);
+        seatMapCache.init();
+
+        return seatMapCache;
+    }
+}
@@ -2,11 +2,17 @@ package dev.session.service;
 
 import dev.library.core.exception.EntityAlreadyExistsException;
 import dev.library.core.exception.EntityNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.library.core.pagination.Cursor;
+import dev.library.core.pagination.CursorPage;
 import dev.library.core.specification.SpecificationBuilder;
+import dev.library.core.specification.SpecificationStreamer;
 import dev.library.core.util.DateUtil;
 import dev.library.domain.movie.client.MovieClient;
 import dev.library.domain.rabbitmq.constant.ActionType;
 import dev.library.domain.rabbitmq.constant.ScheduleType;
+import dev.library.domain.session.dto.PlaceAvailabilityResponse;
 import dev.library.domain.session.dto.SessionRequest;
 import dev.library.domain.session.dto.SessionResponse;
 import dev.library.domain.session.dto.SessionSearchRequest;
@@ -22,14 +28,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class SessionServiceImplTest {
@@ -38,7 +49,14 @@ public class SessionServiceImplTest {
     final SpecificationBuilder<Session> specificationBuilder = new SpecificationBuilder<>();
     final MovieClient movieClient = Mockito.mock(MovieClient.class);
     final RabbitMQProducer rabbitMQProducer = Mockito.mock(RabbitMQProducer.class);
-    final SessionService service = new SessionServiceImpl(repository, mapper, specificationBuilder, movieClient, rabbitMQProducer);
+    final SeatMapCache seatMapCache = Mockito.mock(SeatMapCache.class);
+    final PlaceService placeService = Mockito.mock(PlaceService.class);
+    @SuppressWarnings("unchecked")
+    final ObjectProvider<PlaceService> placeServiceProvider = Mockito.mock(ObjectProvider.class);
+    final SpecificationStreamer specificationStreamer = Mockito.mock(SpecificationStreamer.class);
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    final SessionService service = new SessionServiceImpl(repository, mapper, specificationBuilder, movieClient, rabbitMQProducer,
+            seatMapCache, placeServiceProvider, specificationStreamer, objectMapper);
 
     Session entitySessionOne;
     Session entitySessionTwo;
@@ -48,6 +66,9 @@ public class SessionServiceImplTest {
         ReflectionTestUtils.setField(service, "errorSessionIdNotFound", "Сеанс с идентификатором %d не найден");
         ReflectionTestUtils.setField(service, "errorSessionHallAndDateTimeAlreadyExists", "Сеанс в зале %d на время %s уже существует");
         ReflectionTestUtils.setField(service, "errorSessionMovieIdNotFound", "Фильм с идентификатором %d не найден");
+        ReflectionTestUtils.setField(service, "defaultLimit", 100);
+        ReflectionTestUtils.setField(service, "maxLimit", 1000);
+        ReflectionTestUtils.setField(service, "fetchSize", 500);
 
         entitySessionOne = Session.builder()
                 .id(1L)
@@ -72,17 +93,17 @@ public class SessionServiceImplTest {
         List<Session> sessions = List.of(entitySessionOne, entitySessionTwo);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Session>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any()))
                 .thenReturn(sessions);
 
-        List<SessionResponse> responses = service.getAll(new SessionSearchRequest());
+        List<SessionResponse> responses = service.getAll(new SessionSearchRequest()).content();
         Assertions.assertNotNull(responses);
         Assertions.assertFalse(responses.isEmpty());
         Assertions.assertEquals(2, responses.size());
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Session>>any());
+                .findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any());
     }
 
     @Test
@@ -90,12 +111,12 @@ public class SessionServiceImplTest {
         List<Session> sessions = List.of(entitySessionTwo);
 
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Session>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any()))
                 .thenReturn(sessions);
 
         List<SessionResponse> responses = service.getAll(
                 new SessionSearchRequest(1L, LocalDate.now())
-        );
+        ).content();
         Assertions.assertNotNull(responses);
         Assertions.assertFalse(responses.isEmpty());
         Assertions.assertEquals(1, responses.size());
@@ -105,24 +126,56 @@ public class SessionServiceImplTest {
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Session>>any());
+                .findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    void getAll_withAvailability() {
+        List<Session> sessions = List.of(entitySessionOne, entitySessionTwo);
+        PlaceAvailabilityResponse placeAvailability = new PlaceAvailabilityResponse(2L, 25L, 19L, null);
+
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any()))
+                .thenReturn(sessions);
+        Mockito
+                .when(placeServiceProvider.getObject())
+                .thenReturn(placeService);
+        Mockito
+                .when(placeService.getAvailabilityBySessionIds(Set.of(1L, 2L), false))
+                .thenReturn(List.of(placeAvailability));
+
+        List<SessionResponse> responses = service.getAll(new SessionSearchRequest(null, null, true)).content();
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(2, responses.size());
+        Assertions.assertNull(responses.get(0).placeAvailability());
+        Assertions.assertNotNull(responses.get(1).placeAvailability());
+        Assertions.assertEquals(25L, responses.get(1).placeAvailability().total());
+        Assertions.assertEquals(19L, responses.get(1).placeAvailability().free());
+        Assertions.assertNull(responses.get(1).placeAvailability().seats());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any());
+        Mockito
+                .verify(placeService, Mockito.times(1))
+                .getAvailabilityBySessionIds(Set.of(1L, 2L), false);
     }
 
     @Test
     void getAll_empty() {
         Mockito
-                .when(repository.findAll(ArgumentMatchers.<Specification<Session>>any()))
+                .when(repository.findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any()))
                 .thenReturn(Collections.emptyList());
 
         List<SessionResponse> responses = service.getAll(
                 new SessionSearchRequest(1L, LocalDate.now())
-        );
+        ).content();
         Assertions.assertNotNull(responses);
         Assertions.assertTrue(responses.isEmpty());
 
         Mockito
                 .verify(repository, Mockito.times(1))
-                .findAll(ArgumentMatchers.<Specification<Session>>any());
+                .findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any());
     }
 
     @Test
@@ -145,6 +198,78 @@ public class SessionServiceImplTest {
                 .findById(Mockito.anyLong());
     }
 
+    @Test
+    void getAll_nextCursor() {
+        OffsetDateTime createdDate = OffsetDateTime.parse("2025-03-01T10:15:30.123456Z");
+        entitySessionOne.setCreatedDate(createdDate);
+        entitySessionTwo.setCreatedDate(createdDate.minusDays(1));
+
+        Mockito
+                .when(repository.findBy(ArgumentMatchers.<Specification<Session>>any(), ArgumentMatchers.any()))
+                .thenReturn(List.of(entitySessionOne, entitySessionTwo));
+
+        SessionSearchRequest searchRequest = new SessionSearchRequest();
+        searchRequest.setLimit(1);
+        CursorPage<SessionResponse> page = service.getAll(searchRequest);
+        Assertions.assertEquals(1, page.content().size());
+        Assertions.assertEquals(1L, page.content().getFirst().id());
+        Assertions.assertEquals(new Cursor(createdDate, 1L), Cursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void export() {
+        Mockito
+                .doAnswer(invocation -> {
+                    Consumer<List<Session>> action = invocation.getArgument(4);
+                    action.accept(List.of(entitySessionOne));
+                    action.accept(List.of(entitySessionTwo));
+                    return null;
+                })
+                .when(specificationStreamer)
+                .forEachBatch(Mockito.eq(Session.class), ArgumentMatchers.any(), ArgumentMatchers.any(),
+                        Mockito.eq(500), ArgumentMatchers.any());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.export(new SessionSearchRequest(), outputStream);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("{\"id\":1,"));
+        Assertions.assertTrue(lines[1].startsWith("{\"id\":2,"));
+    }
+
+    @Test
+    void getAllByIds_ok() {
+        Mockito
+                .when(repository.findAllById(Mockito.anyIterable()))
+                .thenReturn(List.of(entitySessionOne, entitySessionTwo));
+
+        List<SessionResponse> responses = service.getAllByIds(Set.of(1L, 2L, 999L));
+        Assertions.assertNotNull(responses);
+        Assertions.assertEquals(2, responses.size());
+        Assertions.assertEquals(1L, responses.get(0).id());
+        Assertions.assertEquals(2L, responses.get(1).id());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllById(Mockito.anyIterable());
+    }
+
+    @Test
+    void getAllByIds_empty() {
+        Mockito
+                .when(repository.findAllById(Mockito.anyIterable()))
+                .thenReturn(Collections.emptyList());
+
+        List<SessionResponse> responses = service.getAllByIds(Set.of(998L, 999L));
+        Assertions.assertNotNull(responses);
+        Assertions.assertTrue(responses.isEmpty());
+
+        Mockito
+                .verify(repository, Mockito.times(1))
+                .findAllById(Mockito.anyIterable());
+    }
+
     @Test
     void getById_entityNotFoundException() {
         Mockito
@@ -330,6 +455,9 @@ public class SessionServiceImplTest {
                 .verify(rabbitMQProducer, Mockito.times(2))
                 .sendMessage(Mockito.anyString(), Mockito.any(OffsetDateTime.class), Mockito.any(ActionType.class),
                         Mockito.any(ScheduleType.class));
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(1L);
     }
 
     @Test
@@ -457,6 +585,9 @@ public class SessionServiceImplTest {
         Mockito
                 .verify(rabbitMQProducer, Mockito.times(1))
                 .sendMessage(Mockito.anyString());
+        Mockito
+                .verify(seatMapCache, Mockito.times(1))
+                .evict(1L);
     }
 
     @Test
@@ -1,13 +1,13 @@
 package dev.session.service;
 
-import dev.library.domain.schedule.dto.TaskResponse;
+import dev.library.domain.session.dto.PlaceReleaseRequest;
 import dev.session.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Map;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskServiceImplTest {
@@ -37,20 +37,11 @@ public class TaskServiceImplTest {
                 .when(placeService)
                 .updateAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
 
-        TaskResponse taskResponse = new TaskResponse(
-                Map.of(
-                        "1", 1L,
-                        "2", 2L
-                ),
-                Map.of(
-                        "sessionId", "123",
-                        "available", true
-                )
-        );
-        service.updateAvailablePlacesAfterCheckBookingsBySession(taskResponse);
+        PlaceReleaseRequest request = new PlaceReleaseRequest(123L, new long[] {1L, 2L});
+        service.updateAvailablePlacesAfterCheckBookingsBySession(request);
 
         Mockito
                 .verify(placeService, Mockito.times(1))
-                .updateAvailable(Mockito.anyLong(), Mockito.anySet(), Mockito.anyBoolean());
+                .updateAvailable(123L, Set.of(1L, 2L), Boolean.TRUE);
     }
 }
@@ -1,6 +1,9 @@
 package dev.user.config;
 
+import jakarta.ws.rs.client.ClientBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
 import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.JacksonProvider;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
 import org.keycloak.admin.client.resource.RealmResource;
@@ -8,6 +11,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class KeycloakAdminConfig {
     @Value("${keycloak.admin-client-id}")
@@ -18,16 +23,33 @@ public class KeycloakAdminConfig {
     private String authServerUrl;
     @Value("${keycloak.realm}")
     private String realm;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+    @Value("${threads.virtual.client.max-total:200}")
+    private int virtualMaxTotal;
+    @Value("${threads.virtual.client.max-per-route:50}")
+    private int virtualMaxPerRoute;
+    @Value("${threads.virtual.client.connection-request-timeout:3000}")
+    private long virtualConnectionRequestTimeout;
 
     @Bean
     public Keycloak keycloak() {
-        return KeycloakBuilder.builder()
+        KeycloakBuilder keycloakBuilder = KeycloakBuilder.builder()
                 .serverUrl(authServerUrl)
                 .realm(realm)
                 .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
                 .clientId(adminClientId)
-                .clientSecret(adminClientSecret)
-                .build();
+                .clientSecret(adminClientSecret);
+        if (virtualThreadsEnabled) {
+            keycloakBuilder.resteasyClient(((ResteasyClientBuilder) ClientBuilder.newBuilder())
+                    .connectionPoolSize(virtualMaxTotal)
+                    .maxPooledPerRoute(virtualMaxPerRoute)
+                    .connectionCheckoutTimeout(virtualConnectionRequestTimeout, TimeUnit.MILLISECONDS)
+                    .register(new JacksonProvider(), 100)
+                    .build());
+        }
+
+        return keycloakBuilder.build();
     }
 
     @Bean
@@ -152,7 +152,7 @@ public class UserController {
             }
     )
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('admin', 'manager', 'client')")
+    @PreAuthorize("hasAnyRole('admin', 'manager', 'client', 'service-reader')")
     public ResponseEntity<UserResponse> getById(@PathVariable("id") String id) {
         Authentication authentication = UserDataUtils.getAuthentication();
         if (RoleUtils.checkRole(authentication, "client") && !authentication.getName().equals(id)) {